@@ -0,0 +1,54 @@
+package victor.trabalhoredeneural.redeneuralmlp.benchmarks;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+//Gera conjuntos de dados aleatórios (com semente fixa) no formato dos arquivos do trabalho
+final class DadosSinteticos {
+
+    private DadosSinteticos() {
+    }
+
+    //Valores inteiros entre -50 e 50; a classe depende da soma dos atributos, então a rede consegue aprender
+    static ConjuntoDados gerar(int linhas, int numAtributos, int numClasses, long semente) {
+        Random rand = new Random(semente);
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(numAtributos);
+        double[] valores = new double[numAtributos];
+        for (int i = 0; i < linhas; i++) {
+            double soma = 0.0;
+            for (int a = 0; a < numAtributos; a++) {
+                valores[a] = rand.nextInt(101) - 50;
+                soma += valores[a];
+            }
+            int classe = Math.floorMod((int) soma, numClasses);
+            construtor.adicionar(valores, String.format("C%02d", classe));
+        }
+        return construtor.construir();
+    }
+
+    //Grava o conjunto em um CSV temporário (cabeçalho X1..Xn,classe)
+    static File gravarCsv(ConjuntoDados dados) throws IOException {
+        File arquivo = File.createTempFile("benchmark-", ".csv");
+        arquivo.deleteOnExit();
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo.toPath(), StandardCharsets.UTF_8)) {
+            for (int a = 0; a < dados.getNumeroDeAtributos(); a++)
+                escritor.write("X" + (a + 1) + ",");
+            escritor.write("classe\n");
+            for (int linha = 0; linha < dados.getNumeroDeInstancias(); linha++) {
+                for (int a = 0; a < dados.getNumeroDeAtributos(); a++) {
+                    escritor.write(Integer.toString((int) dados.getValor(linha, a)));
+                    escritor.write(',');
+                }
+                escritor.write(dados.getClasse(linha));
+                escritor.write('\n');
+            }
+        }
+        return arquivo;
+    }
+}
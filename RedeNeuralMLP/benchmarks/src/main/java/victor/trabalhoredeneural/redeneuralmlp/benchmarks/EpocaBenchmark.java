@@ -0,0 +1,141 @@
+package victor.trabalhoredeneural.redeneuralmlp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoAtivacao;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeuralSimples;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizadosSimples;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma época completa de treinamento (mesmo laço do ServicoTreinamento): embaralha a ordem
+ * e passa todas as linhas pela rede, online (tamanhoLote = 1) ou em mini-lotes.
+ * epocaSimples faz o mesmo com a RedeNeuralSimples (float), para comparar as duas precisões.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EpocaBenchmark {
+
+    @Param({"1000", "100000"})
+    public int linhas;
+
+    @Param({"6"})
+    public int numEntradas;
+
+    @Param({"8", "64"})
+    public int numOculta;
+
+    @Param({"5"})
+    public int numSaida;
+
+    @Param({"LOGISTICA"})
+    public FuncaoAtivacao funcao;
+
+    @Param({"1", "32"})
+    public int tamanhoLote;
+
+    private RedeNeural rede;
+    private DadosNormalizados dados;
+    private int[] ordem;
+    private Random rand;
+    private double[] entradasLote;
+    private double[] alvosLote;
+
+    private RedeNeuralSimples redeSimples;
+    private DadosNormalizadosSimples dadosSimples;
+    private float[] entradasLoteSimples;
+    private float[] alvosLoteSimples;
+
+    @Setup
+    public void preparar() {
+        ConjuntoDados conjunto = DadosSinteticos.gerar(linhas, numEntradas, numSaida, 42);
+        rede = new RedeNeural(numEntradas, numOculta, numSaida, funcao, 0.1, conjunto);
+        dados = rede.normalizar(conjunto);
+        ordem = Indices.sequencia(linhas);
+        rand = new Random(7);
+        entradasLote = new double[tamanhoLote * numEntradas];
+        alvosLote = new double[tamanhoLote * numSaida];
+
+        redeSimples = new RedeNeuralSimples(rede, false);
+        dadosSimples = rede.getNormalizador().normalizarSimples(conjunto);
+        entradasLoteSimples = new float[tamanhoLote * numEntradas];
+        alvosLoteSimples = new float[tamanhoLote * numSaida];
+    }
+
+    //Retorna a soma dos erros quadráticos da época
+    @Benchmark
+    public double epoca() {
+        Indices.embaralhar(ordem, rand);
+        double somaErros = 0.0;
+        for (int inicio = 0; inicio < ordem.length; inicio += tamanhoLote) {
+            int tamanho = Math.min(tamanhoLote, ordem.length - inicio);
+            for (int b = 0; b < tamanho; b++) {
+                int linha = ordem[inicio + b];
+                dados.copiarEntradas(linha, entradasLote, b * numEntradas);
+                System.arraycopy(rede.getVetorAlvo(dados.getClasseId(linha)), 0, alvosLote, b * numSaida, numSaida);
+            }
+
+            if (tamanhoLote == 1) {
+                double[] saidas = rede.feedforward(entradasLote);
+                rede.backpropagation(entradasLote, alvosLote);
+                somaErros += somarErros(saidas, 1);
+            } else {
+                double[] saidas = rede.feedforwardLote(entradasLote, tamanho);
+                somaErros += somarErros(saidas, tamanho);
+                rede.backpropagationLote(entradasLote, alvosLote, tamanho);
+            }
+        }
+        return somaErros;
+    }
+
+    //Mesma época em float (o online é um lote de tamanho 1)
+    @Benchmark
+    public double epocaSimples() {
+        Indices.embaralhar(ordem, rand);
+        double somaErros = 0.0;
+        for (int inicio = 0; inicio < ordem.length; inicio += tamanhoLote) {
+            int tamanho = Math.min(tamanhoLote, ordem.length - inicio);
+            for (int b = 0; b < tamanho; b++) {
+                int linha = ordem[inicio + b];
+                dadosSimples.copiarEntradas(linha, entradasLoteSimples, b * numEntradas);
+                System.arraycopy(redeSimples.getVetorAlvo(dadosSimples.getClasseId(linha)), 0, alvosLoteSimples, b * numSaida, numSaida);
+            }
+
+            float[] saidas = redeSimples.feedforwardLote(entradasLoteSimples, tamanho);
+            for (int i = 0; i < tamanho * numSaida; i++) {
+                double erro = alvosLoteSimples[i] - saidas[i];
+                somaErros += 0.5 * (erro * erro);
+            }
+            redeSimples.backpropagationLote(entradasLoteSimples, alvosLoteSimples, tamanho);
+        }
+        return somaErros;
+    }
+
+    private double somarErros(double[] saidas, int tamanho) {
+        double soma = 0.0;
+        for (int i = 0; i < tamanho * numSaida; i++) {
+            double erro = alvosLote[i] - saidas[i];
+            soma += 0.5 * (erro * erro);
+        }
+        return soma;
+    }
+}
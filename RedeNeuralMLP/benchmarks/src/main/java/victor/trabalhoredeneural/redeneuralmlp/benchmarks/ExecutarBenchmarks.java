@@ -0,0 +1,41 @@
+package victor.trabalhoredeneural.redeneuralmlp.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.lang.module.ModuleFinder;
+
+/**
+ * Ponto de entrada do JAR de benchmarks. Aceita as mesmas opções da linha de comando do JMH
+ * e sempre liga o GCProfiler, para que cada resultado venha com a taxa de alocação.
+ * Quando o JDK tem a Vector API, os forks recebem o módulo para usar os núcleos vetoriais.
+ */
+public class ExecutarBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        if (linhaDeComando.shouldHelp()) {
+            linhaDeComando.showHelp();
+            return;
+        }
+        if (linhaDeComando.shouldList()) {
+            new Runner(linhaDeComando).list();
+            return;
+        }
+
+        ChainedOptionsBuilder opcoes = new OptionsBuilder()
+                .parent(linhaDeComando)
+                .addProfiler(GCProfiler.class);
+
+        if (ModuleFinder.ofSystem().find("jdk.incubator.vector").isPresent())
+            opcoes.jvmArgsAppend("--add-modules", "jdk.incubator.vector");
+
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package victor.trabalhoredeneural.redeneuralmlp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.util.LeitorCSV;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+//Leitura de um arquivo CSV inteiro (o arquivo é gerado uma vez e fica no cache do sistema)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeitorCSVBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int linhas;
+
+    @Param({"6", "32"})
+    public int numAtributos;
+
+    private File arquivo;
+
+    @Setup
+    public void preparar() throws IOException {
+        arquivo = DadosSinteticos.gravarCsv(DadosSinteticos.gerar(linhas, numAtributos, 5, 42));
+    }
+
+    @TearDown
+    public void limpar() {
+        arquivo.delete();
+    }
+
+    @Benchmark
+    public ConjuntoDados carregarDados() throws IOException {
+        return LeitorCSV.carregarDados(arquivo);
+    }
+}
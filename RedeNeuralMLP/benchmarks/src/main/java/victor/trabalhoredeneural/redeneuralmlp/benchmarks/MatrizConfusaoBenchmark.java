@@ -0,0 +1,52 @@
+package victor.trabalhoredeneural.redeneuralmlp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoAtivacao;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.util.MatrizConfusao;
+
+import java.util.concurrent.TimeUnit;
+
+//Avaliação de um conjunto de teste inteiro: normalização, predição em lote e contagem
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatrizConfusaoBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int linhas;
+
+    @Param({"8", "64"})
+    public int numOculta;
+
+    @Param({"5", "20"})
+    public int numSaida;
+
+    private RedeNeural rede;
+    private ConjuntoDados dadosTeste;
+
+    @Setup
+    public void preparar() {
+        dadosTeste = DadosSinteticos.gerar(linhas, 6, numSaida, 42);
+        rede = new RedeNeural(6, numOculta, numSaida, FuncaoAtivacao.LOGISTICA, 0.1, dadosTeste);
+    }
+
+    @Benchmark
+    public MatrizConfusao construir() {
+        return new MatrizConfusao(rede, dadosTeste);
+    }
+}
@@ -0,0 +1,86 @@
+package victor.trabalhoredeneural.redeneuralmlp.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoAtivacao;
+import victor.trabalhoredeneural.redeneuralmlp.core.Nucleos;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de uma única instância: net de uma camada, feedforward, feedforward + backpropagation
+ * e a predição reentrante. Cada operação processa uma instância (já normalizada).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedeNeuralBenchmark {
+
+    @Param({"6", "64"})
+    public int numEntradas;
+
+    @Param({"8", "64", "256"})
+    public int numOculta;
+
+    @Param({"5", "20"})
+    public int numSaida;
+
+    @Param({"LOGISTICA", "HIPERBOLICA", "LINEAR", "LOGISTICA_RAPIDA", "HIPERBOLICA_RAPIDA"})
+    public FuncaoAtivacao funcao;
+
+    // Use -p simd=true,false para comparar os núcleos vetoriais com os escalares
+    @Param({"true"})
+    public boolean simd;
+
+    private RedeNeural rede;
+    private double[] entradas;
+    private double[] alvo;
+    private double[] saida;
+
+    @Setup
+    public void preparar() {
+        Nucleos.setSimdAtivo(simd);
+        ConjuntoDados dados = DadosSinteticos.gerar(256, numEntradas, numSaida, 42);
+        rede = new RedeNeural(numEntradas, numOculta, numSaida, funcao, 0.1, dados);
+        entradas = rede.normalizar(dados.getInstancia(0).getEntradas());
+        alvo = rede.getVetorAlvo(dados.getClasseId(0));
+        saida = new double[numSaida];
+    }
+
+    // Net + ativação de todos os neurônios da camada oculta (antigo Neuronio.calcularNet)
+    @Benchmark
+    public double[] calcularSaidasCamada() {
+        return rede.getCamadaOculta().calcularSaidas(entradas, funcao);
+    }
+
+    @Benchmark
+    public double[] feedforward() {
+        return rede.feedforward(entradas);
+    }
+
+    @Benchmark
+    public double[] feedforwardEBackpropagation() {
+        double[] saidas = rede.feedforward(entradas);
+        rede.backpropagation(entradas, alvo);
+        return saidas;
+    }
+
+    @Benchmark
+    public double[] prever() {
+        return rede.prever(entradas, saida);
+    }
+}
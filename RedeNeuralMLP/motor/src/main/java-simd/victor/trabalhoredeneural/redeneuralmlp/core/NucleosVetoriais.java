@@ -0,0 +1,117 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Núcleos implementados com a Vector API (jdk.incubator.vector).
+ * Usa a espécie preferida da plataforma (ex: 4 doubles em AVX2, 8 em AVX-512)
+ * e termina as sobras do vetor com um laço escalar. Em float, o mesmo registrador leva o dobro de elementos.
+ * Só é compilada no perfil "simd" e é carregada por reflexão em Nucleos.
+ */
+final class NucleosVetoriais extends Nucleos {
+
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> ESPECIE_FLOAT = FloatVector.SPECIES_PREFERRED;
+    // Floats com a mesma quantidade de elementos de ESPECIE (metade dos bits): convertidos para double sem sobras
+    // e usados no produto escalar em float, onde vetores mais curtos deixam a redução final mais barata
+    // nos blocos de 64 elementos do OperacoesMatriz
+    private static final VectorSpecies<Float> ESPECIE_FLOAT_MEIA =
+            VectorSpecies.of(float.class, VectorShape.forBitSize(ESPECIE.vectorBitSize() / 2));
+
+    @Override
+    public double produtoEscalar(double[] a, int offA, double[] b, int offB, int n) {
+        DoubleVector acumulador = DoubleVector.zero(ESPECIE);
+        int limite = ESPECIE.loopBound(n);
+        int i = 0;
+        for (; i < limite; i += ESPECIE.length()) {
+            DoubleVector va = DoubleVector.fromArray(ESPECIE, a, offA + i);
+            DoubleVector vb = DoubleVector.fromArray(ESPECIE, b, offB + i);
+            acumulador = va.fma(vb, acumulador);
+        }
+
+        double soma = acumulador.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            soma += a[offA + i] * b[offB + i];
+        }
+        return soma;
+    }
+
+    @Override
+    public void axpy(double alfa, double[] x, int offX, double[] y, int offY, int n) {
+        DoubleVector valfa = DoubleVector.broadcast(ESPECIE, alfa);
+        int limite = ESPECIE.loopBound(n);
+        int i = 0;
+        for (; i < limite; i += ESPECIE.length()) {
+            DoubleVector vx = DoubleVector.fromArray(ESPECIE, x, offX + i);
+            DoubleVector vy = DoubleVector.fromArray(ESPECIE, y, offY + i);
+            vx.fma(valfa, vy).intoArray(y, offY + i);
+        }
+
+        for (; i < n; i++) {
+            y[offY + i] += alfa * x[offX + i];
+        }
+    }
+
+    @Override
+    public float produtoEscalar(float[] a, int offA, float[] b, int offB, int n) {
+        FloatVector acumulador = FloatVector.zero(ESPECIE_FLOAT_MEIA);
+        int limite = ESPECIE_FLOAT_MEIA.loopBound(n);
+        int i = 0;
+        for (; i < limite; i += ESPECIE_FLOAT_MEIA.length()) {
+            FloatVector va = FloatVector.fromArray(ESPECIE_FLOAT_MEIA, a, offA + i);
+            FloatVector vb = FloatVector.fromArray(ESPECIE_FLOAT_MEIA, b, offB + i);
+            acumulador = va.fma(vb, acumulador);
+        }
+
+        float soma = acumulador.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            soma += a[offA + i] * b[offB + i];
+        }
+        return soma;
+    }
+
+    @Override
+    public double produtoEscalarDuplo(float[] a, int offA, float[] b, int offB, int n) {
+        DoubleVector acumulador = DoubleVector.zero(ESPECIE);
+        int limite = ESPECIE_FLOAT_MEIA.loopBound(n);
+        int i = 0;
+        for (; i < limite; i += ESPECIE_FLOAT_MEIA.length()) {
+            DoubleVector va = (DoubleVector) FloatVector.fromArray(ESPECIE_FLOAT_MEIA, a, offA + i)
+                    .convertShape(VectorOperators.F2D, ESPECIE, 0);
+            DoubleVector vb = (DoubleVector) FloatVector.fromArray(ESPECIE_FLOAT_MEIA, b, offB + i)
+                    .convertShape(VectorOperators.F2D, ESPECIE, 0);
+            acumulador = va.fma(vb, acumulador);
+        }
+
+        double soma = acumulador.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            soma += (double) a[offA + i] * b[offB + i];
+        }
+        return soma;
+    }
+
+    @Override
+    public void axpy(float alfa, float[] x, int offX, float[] y, int offY, int n) {
+        FloatVector valfa = FloatVector.broadcast(ESPECIE_FLOAT, alfa);
+        int limite = ESPECIE_FLOAT.loopBound(n);
+        int i = 0;
+        for (; i < limite; i += ESPECIE_FLOAT.length()) {
+            FloatVector vx = FloatVector.fromArray(ESPECIE_FLOAT, x, offX + i);
+            FloatVector vy = FloatVector.fromArray(ESPECIE_FLOAT, y, offY + i);
+            vx.fma(valfa, vy).intoArray(y, offY + i);
+        }
+
+        for (; i < n; i++) {
+            y[offY + i] += alfa * x[offX + i];
+        }
+    }
+
+    @Override
+    public String getNome() {
+        return "vetorial (" + ESPECIE + ")";
+    }
+}
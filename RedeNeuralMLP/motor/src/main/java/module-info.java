@@ -0,0 +1,11 @@
+module victor.trabalhoredeneural.redeneuralmlp.motor {
+    requires jdk.httpserver;
+    requires jdk.jfr;
+
+    exports victor.trabalhoredeneural.redeneuralmlp.cli;
+    exports victor.trabalhoredeneural.redeneuralmlp.core;
+    exports victor.trabalhoredeneural.redeneuralmlp.metricas;
+    exports victor.trabalhoredeneural.redeneuralmlp.model;
+    exports victor.trabalhoredeneural.redeneuralmlp.servidor;
+    exports victor.trabalhoredeneural.redeneuralmlp.util;
+}
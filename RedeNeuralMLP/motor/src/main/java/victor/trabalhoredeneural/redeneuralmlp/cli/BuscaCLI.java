@@ -0,0 +1,223 @@
+package victor.trabalhoredeneural.redeneuralmlp.cli;
+
+import victor.trabalhoredeneural.redeneuralmlp.core.ArquivoModelo;
+import victor.trabalhoredeneural.redeneuralmlp.core.BuscaHiperparametros;
+import victor.trabalhoredeneural.redeneuralmlp.core.ConfiguracaoTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.core.EspacoBusca;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoAtivacao;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoPerda;
+import victor.trabalhoredeneural.redeneuralmlp.core.TipoOtimizador;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoBusca;
+import victor.trabalhoredeneural.redeneuralmlp.util.LeitorCSV;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Ponto de entrada da busca de hiperparâmetros (grade ou aleatória, com divisão sucessiva).
+ * Exemplo:
+ *   java -cp RedeNeuralMLP.jar victor.trabalhoredeneural.redeneuralmlp.cli.BuscaCLI \
+ *        --treino base_treinamento.csv --oculta 4,8,16 --taxa 0.05,0.1,0.2 --funcao logistica,hiperbolica
+ * As listas são separadas por vírgula; no modo --aleatorias a taxa também aceita um intervalo "min:max".
+ */
+public class BuscaCLI {
+
+    private static final String USO = String.join(System.lineSeparator(),
+            "Uso: BuscaCLI --treino <arquivo.csv> [opções]",
+            "  --validacao <arquivo.csv> conjunto usado para comparar as configurações",
+            "                            (sem ele, o treino é dividido com --divisao)",
+            "  --divisao <0..1>          fração para treino no modo arquivo único (padrão 0.8)",
+            "  --teste <arquivo.csv>     avalia a melhor rede neste conjunto ao final",
+            "  --oculta <n,n,...>        neurônios na camada oculta (padrão 8)",
+            "  --funcao <f,f,...>        funções de ativação (padrão logistica)",
+            "  --taxa <t,t,...>          taxas de aprendizado (padrão 0.2); com --aleatorias aceita <min>:<max>",
+            "  --lote <n,n,...>          tamanhos de mini-lote (padrão 1)",
+            "  --otimizador <o,o,...>    otimizadores (padrão sgd)",
+            "  --perda <p,p,...>         funções de perda (padrão quadratica)",
+            "  --momento <n>             momento do momentum/nesterov (padrão 0.9)",
+            "  --agenda <agenda>         agenda da taxa, como no TreinamentoCLI (padrão constante)",
+            "  --aleatorias <n>          sorteia n configurações em vez de percorrer a grade toda",
+            "  --epocas <n>              épocas máximas de cada configuração (padrão 1000)",
+            "  --epocas-iniciais <n>     épocas da primeira rodada (padrão 10)",
+            "  --fator <n>               fica 1/n das configurações a cada rodada (padrão 3)",
+            "  --erro <n>                erro desejado para parar uma configuração (padrão 0.001)",
+            "  --threads <n>             configurações treinadas ao mesmo tempo (padrão: núcleos)",
+            "  --semente <n>             semente dos sorteios e embaralhamentos",
+            "  --mostrar <n>             linhas do placar impressas (padrão 10)",
+            "  --salvar <arquivo.rnm>    grava a melhor rede");
+
+    public static void main(String[] args) {
+        try {
+            System.exit(executar(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.err.println(USO);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler arquivo: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            System.err.println("Busca interrompida.");
+            System.exit(1);
+        }
+    }
+
+    //Executa a busca descrita pelos argumentos e retorna o código de saída
+    static int executar(String[] args) throws IOException, InterruptedException {
+        ConfiguracaoTreinamento base = new ConfiguracaoTreinamento();
+        EspacoBusca espaco = new EspacoBusca();
+        String arquivoTreino = null;
+        String arquivoValidacao = null;
+        String arquivoTeste = null;
+        double divisao = 0.8;
+        String taxas = null;
+        String agenda = null;
+        int aleatorias = 0;
+        int epocasIniciais = 10;
+        int fator = 3;
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        Long semente = null;
+        int mostrar = 10;
+        String arquivoSalvar = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String opcao = args[i];
+            switch (opcao) {
+                case "--treino": arquivoTreino = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--validacao": arquivoValidacao = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--teste": arquivoTeste = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--divisao": divisao = TreinamentoCLI.numero(args, ++i, opcao); break;
+                case "--oculta": espaco.setNumOculta(inteiros(TreinamentoCLI.valor(args, ++i, opcao), opcao)); break;
+                case "--funcao": espaco.setFuncoesAtivacao(funcoes(TreinamentoCLI.valor(args, ++i, opcao))); break;
+                case "--taxa": taxas = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--lote": espaco.setTamanhosLote(inteiros(TreinamentoCLI.valor(args, ++i, opcao), opcao)); break;
+                case "--otimizador": espaco.setOtimizadores(otimizadores(TreinamentoCLI.valor(args, ++i, opcao))); break;
+                case "--perda": espaco.setFuncoesPerda(perdas(TreinamentoCLI.valor(args, ++i, opcao))); break;
+                case "--momento": base.setMomento(TreinamentoCLI.numero(args, ++i, opcao)); break;
+                case "--agenda": agenda = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--aleatorias": aleatorias = TreinamentoCLI.inteiro(args, ++i, opcao); break;
+                case "--epocas": base.setMaxEpocas(TreinamentoCLI.inteiro(args, ++i, opcao)); break;
+                case "--epocas-iniciais": epocasIniciais = TreinamentoCLI.inteiro(args, ++i, opcao); break;
+                case "--fator": fator = TreinamentoCLI.inteiro(args, ++i, opcao); break;
+                case "--erro": base.setErroDesejado(TreinamentoCLI.numero(args, ++i, opcao)); break;
+                case "--threads": numThreads = TreinamentoCLI.inteiro(args, ++i, opcao); break;
+                case "--semente": semente = (long) TreinamentoCLI.inteiro(args, ++i, opcao); break;
+                case "--mostrar": mostrar = TreinamentoCLI.inteiro(args, ++i, opcao); break;
+                case "--salvar": arquivoSalvar = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--ajuda":
+                case "-h":
+                    System.out.println(USO);
+                    return 0;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+            }
+        }
+        if (arquivoTreino == null)
+            throw new IllegalArgumentException("Informe o arquivo de treino com --treino.");
+        if (divisao <= 0 || divisao >= 1)
+            throw new IllegalArgumentException("A divisão deve estar entre 0 e 1.");
+        if (aleatorias < 0 || mostrar <= 0)
+            throw new IllegalArgumentException("--aleatorias e --mostrar devem ser positivos.");
+        if (taxas != null) {
+            int separador = taxas.indexOf(':');
+            if (separador >= 0) {
+                if (aleatorias == 0)
+                    throw new IllegalArgumentException("O intervalo de taxa (min:max) só vale com --aleatorias.");
+                espaco.setIntervaloTaxa(numero(taxas.substring(0, separador), "--taxa"),
+                        numero(taxas.substring(separador + 1), "--taxa"));
+            } else {
+                String[] partes = taxas.split(",");
+                double[] valores = new double[partes.length];
+                for (int k = 0; k < partes.length; k++)
+                    valores[k] = numero(partes[k], "--taxa");
+                espaco.setTaxasAprendizado(valores);
+            }
+        }
+        if (agenda != null)
+            base.setAgendaTaxa(TreinamentoCLI.agenda(agenda, base.getMaxEpocas()));
+
+        Random rand = semente != null ? new Random(semente) : new Random();
+        ConjuntoDados dadosTreino = LeitorCSV.carregarDados(new File(arquivoTreino));
+        ConjuntoDados dadosValidacao;
+        if (arquivoValidacao != null) {
+            dadosValidacao = LeitorCSV.carregarDados(new File(arquivoValidacao));
+        } else {
+            ConjuntoDados[] partes = dadosTreino.dividir(divisao, rand);
+            dadosTreino = partes[0];
+            dadosValidacao = partes[1];
+        }
+
+        List<ConfiguracaoTreinamento> candidatas = aleatorias > 0
+                ? espaco.aleatorias(base, aleatorias, rand)
+                : espaco.grade(base);
+        System.out.println("Instâncias de Treino: " + dadosTreino.getNumeroDeInstancias());
+        System.out.println("Instâncias de Validação: " + dadosValidacao.getNumeroDeInstancias());
+        System.out.println("Configurações: " + candidatas.size() + " em " + numThreads + " threads");
+
+        BuscaHiperparametros busca = new BuscaHiperparametros(numThreads)
+                .setEpocasIniciais(epocasIniciais)
+                .setFatorReducao(fator)
+                .setSemente(rand.nextLong());
+        long inicio = System.nanoTime();
+        List<ResultadoBusca> placar = busca.executar(candidatas, dadosTreino, dadosValidacao);
+        System.out.println(String.format(Locale.ROOT, "Busca concluída em %.2f s", (System.nanoTime() - inicio) / 1e9));
+        System.out.print(BuscaHiperparametros.formatarPlacar(placar, mostrar));
+
+        ResultadoBusca melhor = placar.get(0);
+        if (arquivoSalvar != null) {
+            ArquivoModelo.salvar(melhor.getRede(), new File(arquivoSalvar));
+            System.out.println("Melhor modelo salvo em " + arquivoSalvar);
+        }
+        if (arquivoTeste != null)
+            TreinamentoCLI.avaliar(melhor.getRede(), LeitorCSV.carregarDados(new File(arquivoTeste)));
+        return 0;
+    }
+
+    private static int[] inteiros(String lista, String opcao) {
+        String[] partes = lista.split(",");
+        int[] valores = new int[partes.length];
+        try {
+            for (int k = 0; k < partes.length; k++)
+                valores[k] = Integer.parseInt(partes[k].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Os valores de " + opcao + " devem ser números inteiros.");
+        }
+        return valores;
+    }
+
+    private static double numero(String texto, String opcao) {
+        try {
+            return Double.parseDouble(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Os valores de " + opcao + " devem ser números.");
+        }
+    }
+
+    private static FuncaoAtivacao[] funcoes(String lista) {
+        String[] partes = lista.split(",");
+        FuncaoAtivacao[] valores = new FuncaoAtivacao[partes.length];
+        for (int k = 0; k < partes.length; k++)
+            valores[k] = TreinamentoCLI.funcao(partes[k].trim());
+        return valores;
+    }
+
+    private static TipoOtimizador[] otimizadores(String lista) {
+        String[] partes = lista.split(",");
+        TipoOtimizador[] valores = new TipoOtimizador[partes.length];
+        for (int k = 0; k < partes.length; k++)
+            valores[k] = TreinamentoCLI.otimizador(partes[k].trim());
+        return valores;
+    }
+
+    private static FuncaoPerda[] perdas(String lista) {
+        String[] partes = lista.split(",");
+        FuncaoPerda[] valores = new FuncaoPerda[partes.length];
+        for (int k = 0; k < partes.length; k++)
+            valores[k] = TreinamentoCLI.perda(partes[k].trim());
+        return valores;
+    }
+}
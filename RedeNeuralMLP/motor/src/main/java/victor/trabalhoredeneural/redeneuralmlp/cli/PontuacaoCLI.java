@@ -0,0 +1,86 @@
+package victor.trabalhoredeneural.redeneuralmlp.cli;
+
+import victor.trabalhoredeneural.redeneuralmlp.core.ArquivoModelo;
+import victor.trabalhoredeneural.redeneuralmlp.core.PontuadorArquivo;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Ponto de entrada da pontuação em lote: passa um CSV inteiro (de qualquer tamanho) por um modelo salvo
+ * e grava um CSV com a classe prevista e as pontuações de cada linha, na mesma ordem da entrada
+ * (uma linha mal formada da entrada sai com todos os campos vazios).
+ * Exemplo:
+ *   java -cp RedeNeuralMLP.jar victor.trabalhoredeneural.redeneuralmlp.cli.PontuacaoCLI \
+ *        --modelo rede.rnm --entrada base_teste.csv --saida predicoes.csv --probabilidades
+ * Se a entrada tiver a coluna de classe, a avaliação (acurácia, top-k, log-loss, F1) é impressa ao final.
+ */
+public class PontuacaoCLI {
+
+    private static final String USO = String.join(System.lineSeparator(),
+            "Uso: PontuacaoCLI --modelo <arquivo.rnm> --entrada <arquivo.csv> --saida <arquivo.csv> [opções]",
+            "  --probabilidades          grava também a probabilidade de cada classe",
+            "  --threads <n>             threads que pontuam os blocos do arquivo (padrão: núcleos)");
+
+    public static void main(String[] args) {
+        try {
+            System.exit(executar(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.err.println(USO);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler ou gravar arquivo: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            System.err.println("Pontuação interrompida.");
+            System.exit(1);
+        }
+    }
+
+    //Executa a pontuação descrita pelos argumentos e retorna o código de saída
+    static int executar(String[] args) throws IOException, InterruptedException {
+        String arquivoModelo = null;
+        String arquivoEntrada = null;
+        String arquivoSaida = null;
+        boolean probabilidades = false;
+        int numThreads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String opcao = args[i];
+            switch (opcao) {
+                case "--modelo": arquivoModelo = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--entrada": arquivoEntrada = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--saida": arquivoSaida = TreinamentoCLI.valor(args, ++i, opcao); break;
+                case "--probabilidades": probabilidades = true; break;
+                case "--threads": numThreads = TreinamentoCLI.inteiro(args, ++i, opcao); break;
+                case "--ajuda":
+                case "-h":
+                    System.out.println(USO);
+                    return 0;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+            }
+        }
+        if (arquivoModelo == null || arquivoEntrada == null || arquivoSaida == null)
+            throw new IllegalArgumentException("Informe --modelo, --entrada e --saida.");
+
+        RedeNeural rede = ArquivoModelo.carregar(new File(arquivoModelo));
+        PontuadorArquivo pontuador = new PontuadorArquivo(rede, numThreads, probabilidades);
+        AcumuladorAvaliacao avaliacao = new AcumuladorAvaliacao(rede.getNomesClasses(), TreinamentoCLI.TOP_K);
+
+        long inicio = System.nanoTime();
+        long linhas = pontuador.pontuar(new File(arquivoEntrada), new File(arquivoSaida), avaliacao);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.println(String.format(Locale.ROOT, "%d linhas pontuadas em %.2f s (%.0f linhas/s, %d threads) -> %s",
+                linhas, segundos, linhas / Math.max(segundos, 1e-9), numThreads, arquivoSaida));
+
+        // Só há o que avaliar se a entrada tinha a coluna de classe
+        if (avaliacao.getNumeroDeAmostras() > 0)
+            TreinamentoCLI.imprimirAvaliacao("Acurácia", avaliacao);
+        return 0;
+    }
+}
@@ -0,0 +1,416 @@
+package victor.trabalhoredeneural.redeneuralmlp.cli;
+
+import victor.trabalhoredeneural.redeneuralmlp.core.AcaoPlato;
+import victor.trabalhoredeneural.redeneuralmlp.core.AgendaTaxa;
+import victor.trabalhoredeneural.redeneuralmlp.core.ArquivoModelo;
+import victor.trabalhoredeneural.redeneuralmlp.core.Avaliador;
+import victor.trabalhoredeneural.redeneuralmlp.core.ConfiguracaoTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoAtivacao;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoPerda;
+import victor.trabalhoredeneural.redeneuralmlp.core.OuvinteTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.core.PoliticaPlato;
+import victor.trabalhoredeneural.redeneuralmlp.core.Precisao;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.core.ServicoTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.core.TipoOtimizador;
+import victor.trabalhoredeneural.redeneuralmlp.core.TreinadorParalelo;
+import victor.trabalhoredeneural.redeneuralmlp.core.ValidacaoCruzada;
+import victor.trabalhoredeneural.redeneuralmlp.metricas.MetricasEmMemoria;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoValidacaoCruzada;
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+import victor.trabalhoredeneural.redeneuralmlp.util.ArquivoDespejo;
+import victor.trabalhoredeneural.redeneuralmlp.util.LeitorCSV;
+import victor.trabalhoredeneural.redeneuralmlp.util.MatrizConfusao;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Ponto de entrada de linha de comando: treina sem interface gráfica (ex: em servidores sem tela).
+ * Exemplo:
+ *   java -cp RedeNeuralMLP.jar victor.trabalhoredeneural.redeneuralmlp.cli.TreinamentoCLI \
+ *        --treino base_treinamento.csv --teste base_teste.csv --oculta 8 --epocas 2000 --threads 4 --lote 32 --salvar rede.rnm
+ * Para só avaliar um modelo já treinado: --modelo rede.rnm --teste base_teste.csv
+ * Os eventos JFR de cada época podem ser gravados com -XX:StartFlightRecording=filename=treino.jfr
+ */
+public class TreinamentoCLI {
+
+    // k da acurácia top-k impressa na avaliação
+    static final int TOP_K = 2;
+
+    private static final String USO = String.join(System.lineSeparator(),
+            "Uso: TreinamentoCLI --treino <arquivo.csv> [opções]",
+            "     TreinamentoCLI --modelo <arquivo.rnm> --teste <arquivo.csv>",
+            "  --teste <arquivo.csv>     arquivo de teste (sem ele, o treino é dividido com --divisao)",
+            "  --divisao <0..1>          fração para treino no modo arquivo único (padrão 0.7)",
+            "  --oculta <n>              neurônios na camada oculta (padrão 8)",
+            "  --funcao <nome>           linear | logistica | hiperbolica (padrão logistica);",
+            "                            logistica-rapida | hiperbolica-rapida usam tabela (erro <= 1.2e-5)",
+            "  --perda <nome>            quadratica | entropia-cruzada (softmax na saída) (padrão quadratica)",
+            "  --taxa <n>                taxa de aprendizado, > 0 e <= 1 (padrão 0.2)",
+            "  --epocas <n>              número máximo de épocas (padrão 1000)",
+            "  --erro <n>                erro desejado para parar (padrão 0.001)",
+            "  --lote <n>                tamanho do mini-lote, 1 = online (padrão 1)",
+            "  --threads <n>             threads de treinamento (padrão 1); no modo síncrono, --lote >= 16",
+            "  --hogwild                 com várias threads, atualiza os pesos sem travas",
+            "  --pre-busca               uma thread embaralha e monta os próximos lotes durante o treino",
+            "  --otimizador <nome>       sgd | momentum | nesterov | rmsprop | adam (padrão sgd)",
+            "  --momento <n>             momento do momentum/nesterov, >= 0 e < 1 (padrão 0.9)",
+            "  --agenda <agenda>         constante | degrau:<epocas>:<fator> | exponencial:<fator> |",
+            "                            cosseno[:<taxa minima>] | plato:<paciencia>:<fator> (padrão constante)",
+            "  --precisao <p>            dupla | simples | simples-acumulador-duplo (padrão dupla)",
+            "  --plato <acao>            parar | continuar | reduzir (padrão reduzir)",
+            "  --log <n>                 imprime o erro a cada n épocas (padrão 100)",
+            "  --metricas                imprime contadores e tempos por fase ao final do treino",
+            "  --dobras <k>              validação cruzada k-fold no arquivo de treino (dobras em paralelo)",
+            "                            (cada dobra treina em uma thread: ignora --threads, --hogwild e --plato)",
+            "  --estratificada           com --dobras, mantém a proporção das classes em cada dobra",
+            "  --fluxo                   treina lendo o treino do disco a cada época, em memória constante",
+            "                            (o CSV vira um arquivo de despejo binário; --treino aceita um já gravado)",
+            "  --despejo <arquivo>       com --fluxo, onde gravar o arquivo de despejo (padrão: temporário)",
+            "  --buffer-embaralhamento <n>  com --fluxo, linhas no buffer de embaralhamento (padrão 65536)",
+            "  --salvar <arquivo.rnm>    grava a rede treinada",
+            "  --modelo <arquivo.rnm>    avalia uma rede gravada no conjunto de teste, sem treinar");
+
+    public static void main(String[] args) {
+        try {
+            System.exit(executar(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.err.println(USO);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Erro ao ler arquivo: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            System.err.println("Treinamento interrompido.");
+            System.exit(1);
+        }
+    }
+
+    //Executa o treinamento descrito pelos argumentos e retorna o código de saída
+    static int executar(String[] args) throws IOException, InterruptedException {
+        ConfiguracaoTreinamento configuracao = new ConfiguracaoTreinamento();
+        String arquivoTreino = null;
+        String arquivoTeste = null;
+        double divisao = 0.7;
+        AcaoPlato acaoPlato = AcaoPlato.REDUZIR_TAXA;
+        int intervaloLog = 100;
+        String arquivoSalvar = null;
+        String arquivoModelo = null;
+        boolean imprimirMetricas = false;
+        String agenda = null;
+        int dobras = 0;
+        boolean estratificada = false;
+        boolean fluxo = false;
+        String arquivoDespejo = null;
+        int bufferEmbaralhamento = 65536;
+
+        for (int i = 0; i < args.length; i++) {
+            String opcao = args[i];
+            switch (opcao) {
+                case "--treino": arquivoTreino = valor(args, ++i, opcao); break;
+                case "--teste": arquivoTeste = valor(args, ++i, opcao); break;
+                case "--divisao": divisao = numero(args, ++i, opcao); break;
+                case "--oculta": configuracao.setNumOculta(inteiro(args, ++i, opcao)); break;
+                case "--funcao": configuracao.setFuncaoAtivacao(funcao(valor(args, ++i, opcao))); break;
+                case "--perda": configuracao.setFuncaoPerda(perda(valor(args, ++i, opcao))); break;
+                case "--taxa": configuracao.setTaxaAprendizado(numero(args, ++i, opcao)); break;
+                case "--epocas": configuracao.setMaxEpocas(inteiro(args, ++i, opcao)); break;
+                case "--erro": configuracao.setErroDesejado(numero(args, ++i, opcao)); break;
+                case "--lote": configuracao.setTamanhoLote(inteiro(args, ++i, opcao)); break;
+                case "--threads": configuracao.setNumThreads(inteiro(args, ++i, opcao)); break;
+                case "--hogwild": configuracao.setModoParalelo(TreinadorParalelo.Modo.HOGWILD); break;
+                case "--pre-busca": configuracao.setPreBusca(true); break;
+                case "--otimizador": configuracao.setOtimizador(otimizador(valor(args, ++i, opcao))); break;
+                case "--momento": configuracao.setMomento(numero(args, ++i, opcao)); break;
+                case "--agenda": agenda = valor(args, ++i, opcao); break;
+                case "--precisao": configuracao.setPrecisao(precisao(valor(args, ++i, opcao))); break;
+                case "--plato": acaoPlato = acao(valor(args, ++i, opcao)); break;
+                case "--log": intervaloLog = inteiro(args, ++i, opcao); break;
+                case "--metricas": imprimirMetricas = true; break;
+                case "--dobras": dobras = inteiro(args, ++i, opcao); break;
+                case "--estratificada": estratificada = true; break;
+                case "--fluxo": fluxo = true; break;
+                case "--despejo": arquivoDespejo = valor(args, ++i, opcao); break;
+                case "--buffer-embaralhamento": bufferEmbaralhamento = inteiro(args, ++i, opcao); break;
+                case "--salvar": arquivoSalvar = valor(args, ++i, opcao); break;
+                case "--modelo": arquivoModelo = valor(args, ++i, opcao); break;
+                case "--ajuda":
+                case "-h":
+                    System.out.println(USO);
+                    return 0;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+            }
+        }
+        if (arquivoModelo != null) {
+            if (arquivoTeste == null)
+                throw new IllegalArgumentException("Informe o arquivo de teste com --teste para avaliar o modelo.");
+            long inicio = System.nanoTime();
+            RedeNeural rede = ArquivoModelo.carregar(new File(arquivoModelo));
+            System.out.println(String.format(Locale.ROOT, "Modelo carregado em %.2f ms",
+                    (System.nanoTime() - inicio) / 1e6));
+            avaliar(rede, LeitorCSV.carregarDados(new File(arquivoTeste)));
+            return 0;
+        }
+        if (arquivoTreino == null)
+            throw new IllegalArgumentException("Informe o arquivo de treino com --treino.");
+        if (divisao <= 0 || divisao >= 1)
+            throw new IllegalArgumentException("A divisão deve estar entre 0 e 1.");
+        if (intervaloLog <= 0)
+            throw new IllegalArgumentException("O intervalo de log deve ser maior que 0.");
+        if (agenda != null)
+            configuracao.setAgendaTaxa(agenda(agenda, configuracao.getMaxEpocas()));
+
+        ServicoTreinamento servico = new ServicoTreinamento(configuracao, PoliticaPlato.fixa(acaoPlato));
+        final int intervalo = intervaloLog;
+        servico.adicionarOuvinte(new OuvinteTreinamento() {
+            @Override
+            public void epocaConcluida(int epoca, double erroEpoca) {
+                if (epoca % intervalo == 0)
+                    System.out.println(String.format(Locale.ROOT, "Época %d - erro %.10f", epoca, erroEpoca));
+            }
+
+            @Override
+            public void platoDetectado(int epoca, double desvioPadrao, AcaoPlato acao) {
+                System.out.println(String.format(Locale.ROOT, ">>> Platô na época %d (desvio padrão %.3e): %s",
+                        epoca, desvioPadrao, acao));
+            }
+        });
+
+        MetricasEmMemoria metricas = null;
+        if (imprimirMetricas) {
+            metricas = new MetricasEmMemoria();
+            servico.setMetricas(metricas);
+        }
+
+        if (fluxo) {
+            if (dobras != 0)
+                throw new IllegalArgumentException("--fluxo não pode ser usado com --dobras.");
+            if (bufferEmbaralhamento <= 0)
+                throw new IllegalArgumentException("O buffer de embaralhamento deve ser maior que 0.");
+            // Conferido antes de gravar o arquivo de despejo, que pode ser grande
+            if (configuracao.getPrecisao() != Precisao.DUPLA || configuracao.getNumThreads() > 1)
+                throw new IllegalArgumentException("O treinamento em fluxo usa precisão dupla e uma única thread.");
+            RedeNeural rede = treinarEmFluxo(servico, new File(arquivoTreino),
+                    arquivoDespejo != null ? new File(arquivoDespejo) : null, bufferEmbaralhamento, metricas);
+            if (arquivoSalvar != null) {
+                ArquivoModelo.salvar(rede, new File(arquivoSalvar));
+                System.out.println("Modelo salvo em " + arquivoSalvar);
+            }
+            if (arquivoTeste != null)
+                avaliar(rede, LeitorCSV.carregarDados(new File(arquivoTeste)));
+            return 0;
+        }
+
+        // Prepara os conjuntos de dados
+        ConjuntoDados dadosTreino = LeitorCSV.carregarDados(new File(arquivoTreino));
+        if (dobras != 0) {
+            validarCruzado(configuracao, dadosTreino, dobras, estratificada);
+            return 0;
+        }
+        ConjuntoDados dadosTeste;
+        if (arquivoTeste != null) {
+            dadosTeste = LeitorCSV.carregarDados(new File(arquivoTeste));
+        } else {
+            ConjuntoDados[] partes = dadosTreino.dividir(divisao, new Random());
+            dadosTreino = partes[0];
+            dadosTeste = partes[1];
+        }
+        System.out.println("Instâncias de Treino: " + dadosTreino.getNumeroDeInstancias());
+        System.out.println("Instâncias de Teste: " + dadosTeste.getNumeroDeInstancias());
+
+        long inicio = System.nanoTime();
+        ResultadoTreinamento resultado = servico.treinar(dadosTreino);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.println(String.format(Locale.ROOT, "Treinamento concluído: %d épocas, erro final %.10f, %.2f s",
+                resultado.getEpocasTotal(), resultado.getErroFinal(), segundos));
+        if (metricas != null)
+            System.out.print(metricas.resumo());
+
+        if (arquivoSalvar != null) {
+            ArquivoModelo.salvar(resultado.getRedeTreinada(), new File(arquivoSalvar));
+            System.out.println("Modelo salvo em " + arquivoSalvar);
+        }
+
+        avaliar(resultado.getRedeTreinada(), dadosTeste);
+        return 0;
+    }
+
+    //Treino em fluxo: grava o arquivo de despejo (se --treino for um CSV) e treina lendo-o do disco.
+    //Sem --despejo, o arquivo é temporário e apagado no final
+    private static RedeNeural treinarEmFluxo(ServicoTreinamento servico, File treino, File despejo, int buffer,
+                                             MetricasEmMemoria metricas) throws IOException, InterruptedException {
+        boolean temporario = false;
+        long inicio = System.nanoTime();
+        ArquivoDespejo arquivo;
+        if (ArquivoDespejo.ehDespejo(treino)) {
+            arquivo = ArquivoDespejo.abrir(treino);
+        } else {
+            if (despejo == null) {
+                despejo = File.createTempFile("treino", ".rnmd");
+                temporario = true;
+            }
+            arquivo = ArquivoDespejo.criar(treino, despejo);
+            System.out.println(String.format(Locale.ROOT, "Arquivo de despejo gravado em %.2f s: %s",
+                    (System.nanoTime() - inicio) / 1e9, temporario ? "(temporário)" : despejo.getPath()));
+        }
+        try {
+            System.out.println("Instâncias de Treino: " + arquivo.getNumeroDeLinhas());
+            inicio = System.nanoTime();
+            ResultadoTreinamento resultado = servico.treinarEmFluxo(arquivo, buffer);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            System.out.println(String.format(Locale.ROOT, "Treinamento concluído: %d épocas, erro final %.10f, %.2f s",
+                    resultado.getEpocasTotal(), resultado.getErroFinal(), segundos));
+            if (metricas != null)
+                System.out.print(metricas.resumo());
+            return resultado.getRedeTreinada();
+        } finally {
+            arquivo.close();
+            if (temporario && !despejo.delete())
+                despejo.deleteOnExit();
+        }
+    }
+
+    //Validação cruzada k-fold no conjunto inteiro: imprime cada dobra e as métricas da matriz agregada
+    private static void validarCruzado(ConfiguracaoTreinamento configuracao, ConjuntoDados dados, int dobras,
+                                       boolean estratificada) throws InterruptedException {
+        ValidacaoCruzada validacao = new ValidacaoCruzada(dobras, estratificada, Runtime.getRuntime().availableProcessors());
+        long inicio = System.nanoTime();
+        ResultadoValidacaoCruzada resultado = validacao.executar(configuracao, dados);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        for (int d = 0; d < resultado.getNumeroDeDobras(); d++) {
+            MatrizConfusao matriz = resultado.getMatrizesPorDobra().get(d);
+            System.out.println(String.format(Locale.ROOT, "Dobra %d: %d épocas, erro %.8f, acurácia %d/%d (%.2f%%)",
+                    d + 1, resultado.getEpocas(d), resultado.getErro(d), matriz.getAcertos(), matriz.getTotal(),
+                    100.0 * matriz.getAcuracia()));
+        }
+        MatrizConfusao agregada = resultado.getMatrizAgregada();
+        System.out.println(String.format(Locale.ROOT, "Validação cruzada (%d dobras%s) em %.2f s",
+                dobras, estratificada ? ", estratificada" : "", segundos));
+        System.out.println(String.format(Locale.ROOT, "Acurácia média %.2f%% (desvio %.2f%%), agregada %d/%d, F1 macro %.4f, log-loss %.6f",
+                100.0 * resultado.getAcuraciaMedia(), 100.0 * resultado.getDesvioAcuracia(),
+                agregada.getAcertos(), agregada.getTotal(), agregada.getF1Macro(),
+                resultado.getAvaliacaoAgregada().getLogLoss()));
+        for (int c = 0; c < agregada.getNumeroDeClasses(); c++)
+            System.out.println(String.format(Locale.ROOT, "  %s: precisão %.4f, revocação %.4f, F1 %.4f",
+                    agregada.getListaClasses().get(c), agregada.getPrecisao(c), agregada.getRevocacao(c), agregada.getF1(c)));
+    }
+
+    //Imprime a acurácia da rede no conjunto de teste e as demais métricas da avaliação
+    static void avaliar(RedeNeural rede, ConjuntoDados dadosTeste) {
+        if (dadosTeste.getNumeroDeInstancias() > 0)
+            imprimirAvaliacao("Acurácia no teste", Avaliador.avaliar(rede, dadosTeste, TOP_K));
+    }
+
+    static void imprimirAvaliacao(String titulo, AcumuladorAvaliacao avaliacao) {
+        System.out.println(String.format(Locale.ROOT, "%s: %d/%d (%.2f%%)", titulo, avaliacao.getAcertos(),
+                avaliacao.getNumeroDeAmostras(), 100.0 * avaliacao.getAcuracia()));
+        System.out.println(String.format(Locale.ROOT,
+                "  top-%d %.2f%%, log-loss %.6f, F1 macro %.4f (precisão %.4f, revocação %.4f)",
+                avaliacao.getTopK(), 100.0 * avaliacao.getAcuraciaTopK(), avaliacao.getLogLoss(), avaliacao.getF1Macro(),
+                avaliacao.getPrecisaoMacro(), avaliacao.getRevocacaoMacro()));
+    }
+
+    static String valor(String[] args, int indice, String opcao) {
+        if (indice >= args.length)
+            throw new IllegalArgumentException("Falta o valor de " + opcao);
+        return args[indice];
+    }
+
+    static int inteiro(String[] args, int indice, String opcao) {
+        try {
+            return Integer.parseInt(valor(args, indice, opcao));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("O valor de " + opcao + " deve ser um número inteiro.");
+        }
+    }
+
+    static double numero(String[] args, int indice, String opcao) {
+        try {
+            return Double.parseDouble(valor(args, indice, opcao));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("O valor de " + opcao + " deve ser um número.");
+        }
+    }
+
+    static FuncaoAtivacao funcao(String nome) {
+        try {
+            return FuncaoAtivacao.valueOf(nome.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Função de ativação desconhecida: " + nome);
+        }
+    }
+
+    static FuncaoPerda perda(String nome) {
+        switch (nome.toLowerCase(Locale.ROOT)) {
+            case "quadratica": return FuncaoPerda.ERRO_QUADRATICO;
+            case "entropia-cruzada": return FuncaoPerda.ENTROPIA_CRUZADA;
+            default: throw new IllegalArgumentException("Função de perda desconhecida: " + nome);
+        }
+    }
+
+    private static Precisao precisao(String nome) {
+        try {
+            return Precisao.valueOf(nome.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Precisão desconhecida: " + nome);
+        }
+    }
+
+    static TipoOtimizador otimizador(String nome) {
+        try {
+            return TipoOtimizador.valueOf(nome.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Otimizador desconhecido: " + nome);
+        }
+    }
+
+    // Formato "nome[:parametro[:parametro]]"; o cosseno vai até o número máximo de épocas
+    static AgendaTaxa agenda(String especificacao, int maxEpocas) {
+        String[] partes = especificacao.toLowerCase(Locale.ROOT).split(":");
+        try {
+            switch (partes[0]) {
+                case "constante":
+                    if (partes.length == 1) return AgendaTaxa.constante();
+                    break;
+                case "degrau":
+                    if (partes.length == 3 && Integer.parseInt(partes[1]) > 0)
+                        return AgendaTaxa.degrau(Integer.parseInt(partes[1]), Double.parseDouble(partes[2]));
+                    break;
+                case "exponencial":
+                    if (partes.length == 2) return AgendaTaxa.exponencial(Double.parseDouble(partes[1]));
+                    break;
+                case "cosseno":
+                    if (partes.length <= 2)
+                        return AgendaTaxa.cosseno(maxEpocas, partes.length == 2 ? Double.parseDouble(partes[1]) : 0.0);
+                    break;
+                case "plato":
+                    if (partes.length == 3 && Integer.parseInt(partes[1]) > 0)
+                        return AgendaTaxa.reduzirNoPlato(Integer.parseInt(partes[1]), Double.parseDouble(partes[2]), 1e-6);
+                    break;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            // Cai na mensagem abaixo
+        }
+        throw new IllegalArgumentException("Agenda de taxa inválida: " + especificacao);
+    }
+
+    private static AcaoPlato acao(String nome) {
+        switch (nome.toLowerCase(Locale.ROOT)) {
+            case "parar": return AcaoPlato.PARAR;
+            case "continuar": return AcaoPlato.CONTINUAR;
+            case "reduzir": return AcaoPlato.REDUZIR_TAXA;
+            default: throw new IllegalArgumentException("Ação de platô desconhecida: " + nome);
+        }
+    }
+}
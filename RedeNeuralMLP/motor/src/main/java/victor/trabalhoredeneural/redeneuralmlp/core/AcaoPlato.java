@@ -0,0 +1,10 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Ações possíveis quando o treinamento entra em um platô (o erro parou de cair).
+ */
+public enum AcaoPlato {
+    PARAR,
+    CONTINUAR,
+    REDUZIR_TAXA
+}
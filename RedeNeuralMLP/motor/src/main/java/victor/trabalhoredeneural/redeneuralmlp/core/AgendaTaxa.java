@@ -0,0 +1,62 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import java.util.List;
+
+/**
+ * Agenda da taxa de aprendizado: depois de cada época, o ServicoTreinamento pergunta
+ * qual taxa usar na próxima, passando o histórico de erros que ele já registra.
+ * É independente da detecção de platô por desvio padrão (PoliticaPlato), que continua valendo;
+ * degrau, exponencial e cosseno partem sempre da taxa inicial, então desfazem reduções feitas no platô.
+ */
+@FunctionalInterface
+public interface AgendaTaxa {
+
+    //Taxa para a época seguinte a 'epoca' (contada a partir de 1); historicoErros tem um erro por época
+    double proximaTaxa(int epoca, double taxaInicial, double taxaAtual, List<Double> historicoErros);
+
+    //Mantém a taxa atual (padrão)
+    static AgendaTaxa constante() {
+        return (epoca, taxaInicial, taxaAtual, historico) -> taxaAtual;
+    }
+
+    //Multiplica a taxa inicial por 'fator' a cada 'aCadaEpocas' épocas
+    static AgendaTaxa degrau(int aCadaEpocas, double fator) {
+        return (epoca, taxaInicial, taxaAtual, historico) -> taxaInicial * Math.pow(fator, epoca / aCadaEpocas);
+    }
+
+    //Multiplica a taxa inicial por 'fator' a cada época (fator próximo de 1, ex: 0.99)
+    static AgendaTaxa exponencial(double fator) {
+        return (epoca, taxaInicial, taxaAtual, historico) -> taxaInicial * Math.pow(fator, epoca);
+    }
+
+    //Meio cosseno da taxa inicial até 'taxaMinima' ao longo de 'totalEpocas' épocas
+    static AgendaTaxa cosseno(int totalEpocas, double taxaMinima) {
+        return (epoca, taxaInicial, taxaAtual, historico) -> {
+            double progresso = Math.min(1.0, (double) epoca / totalEpocas);
+            return taxaMinima + 0.5 * (taxaInicial - taxaMinima) * (1.0 + Math.cos(Math.PI * progresso));
+        };
+    }
+
+    //Multiplica a taxa por 'fator' quando o menor erro das últimas 'paciencia' épocas não melhorou
+    //o melhor erro anterior a elas; confere só a cada 'paciencia' épocas, então espera ao menos
+    //'paciencia' épocas entre duas reduções. Nunca desce abaixo de 'taxaMinima'
+    static AgendaTaxa reduzirNoPlato(int paciencia, double fator, double taxaMinima) {
+        return (epoca, taxaInicial, taxaAtual, historico) -> {
+            int n = historico.size();
+            if (epoca % paciencia != 0 || n <= paciencia)
+                return taxaAtual;
+
+            double melhorAntes = Double.MAX_VALUE;
+            for (int i = 0; i < n - paciencia; i++)
+                melhorAntes = Math.min(melhorAntes, historico.get(i));
+            double melhorRecente = Double.MAX_VALUE;
+            for (int i = n - paciencia; i < n; i++)
+                melhorRecente = Math.min(melhorRecente, historico.get(i));
+
+            // Melhora relativa menor que 0,01% conta como sem melhora
+            if (melhorRecente < melhorAntes * (1.0 - 1e-4))
+                return taxaAtual;
+            return Math.max(taxaMinima, taxaAtual * fator);
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava e lê uma rede treinada em um arquivo binário versionado (extensão .rnm).
+ * Layout da versão 2 (little-endian):
+ *   int MAGICO, int versão
+ *   int numEntradas, int numOculta, int numSaida
+ *   texto com o nome da FuncaoAtivacao, texto com o nome da FuncaoPerda, double taxaAprendizado
+ *   int numClasses e um texto por classe (na ordem dos neurônios de saída)
+ *   preenchimento até o próximo múltiplo de 8 bytes
+ *   double[numEntradas] mínimos, double[numEntradas] máximos (do conjunto de treino)
+ *   pesos da camada oculta e depois da camada de saída (o mesmo layout row-major da Camada)
+ * Textos são gravados como int tamanho + bytes UTF-8.
+ * A versão 1 é igual, sem a FuncaoPerda (lida como ERRO_QUADRATICO).
+ * Como os vetores ficam contíguos e alinhados, a leitura mapeia o arquivo e copia cada bloco
+ * de uma vez para os vetores finais, sem interpretar texto nem passar por buffers intermediários.
+ */
+public final class ArquivoModelo {
+
+    public static final String EXTENSAO = ".rnm";
+
+    private static final int MAGICO = 0x504D4E52; // "RNMP" em little-endian
+    private static final int VERSAO = 2;
+
+    private ArquivoModelo() {
+    }
+
+    //Grava a rede (topologia, função, pesos, min/max e classes) no arquivo, substituindo-o se existir
+    public static void salvar(RedeNeural rede, File arquivo) throws IOException {
+        Camada oculta = rede.getCamadaOculta();
+        Camada saida = rede.getCamadaSaida();
+        Normalizador normalizador = rede.getNormalizador();
+
+        byte[] nomeFuncao = rede.getFuncaoAtivacao().name().getBytes(StandardCharsets.UTF_8);
+        byte[] nomePerda = rede.getFuncaoPerda().name().getBytes(StandardCharsets.UTF_8);
+        List<byte[]> nomesClasses = new ArrayList<>();
+        int tamanhoCabecalho = 7 * Integer.BYTES + nomeFuncao.length + nomePerda.length + Double.BYTES + Integer.BYTES;
+        for (String classe : rede.getNomesClasses()) {
+            byte[] nome = classe.getBytes(StandardCharsets.UTF_8);
+            nomesClasses.add(nome);
+            tamanhoCabecalho += Integer.BYTES + nome.length;
+        }
+        int inicioVetores = alinhar(tamanhoCabecalho);
+        int numValores = 2 * oculta.getNumEntradas() + oculta.getPesos().length + saida.getPesos().length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(inicioVetores + numValores * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGICO).putInt(VERSAO);
+        buffer.putInt(oculta.getNumEntradas()).putInt(oculta.getNumNeuronios()).putInt(saida.getNumNeuronios());
+        buffer.putInt(nomeFuncao.length).put(nomeFuncao);
+        buffer.putInt(nomePerda.length).put(nomePerda);
+        buffer.putDouble(rede.getTaxaAprendizado());
+        buffer.putInt(nomesClasses.size());
+        for (byte[] nome : nomesClasses) {
+            buffer.putInt(nome.length).put(nome);
+        }
+
+        buffer.position(inicioVetores);
+        DoubleBuffer vetores = buffer.asDoubleBuffer();
+        vetores.put(normalizador.getMinimos());
+        vetores.put(normalizador.getMaximos());
+        vetores.put(oculta.getPesos());
+        vetores.put(saida.getPesos());
+        buffer.position(0);
+
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+    }
+
+    //Lê uma rede gravada por salvar; ela pode ser usada direto para predição ou continuar o treinamento
+    public static RedeNeural carregar(File arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()).order(ByteOrder.LITTLE_ENDIAN);
+            try {
+                return ler(buffer);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Arquivo de modelo corrompido: " + arquivo.getName(), e);
+            }
+        }
+    }
+
+    private static RedeNeural ler(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGICO)
+            throw new IOException("O arquivo não é um modelo da Rede Neural MLP");
+        int versao = buffer.getInt();
+        if (versao != 1 && versao != VERSAO)
+            throw new IOException("Versão de modelo não suportada: " + versao);
+
+        int numEntradas = buffer.getInt();
+        int numOculta = buffer.getInt();
+        int numSaida = buffer.getInt();
+        if (numEntradas <= 0 || numOculta <= 0 || numSaida <= 0)
+            throw new IllegalArgumentException("Topologia inválida");
+
+        FuncaoAtivacao funcao = FuncaoAtivacao.valueOf(lerTexto(buffer));
+        FuncaoPerda perda = versao >= 2 ? FuncaoPerda.valueOf(lerTexto(buffer)) : FuncaoPerda.ERRO_QUADRATICO;
+        double taxaAprendizado = buffer.getDouble();
+
+        int numClasses = buffer.getInt();
+        if (numClasses != numSaida)
+            throw new IllegalArgumentException("Número de classes diferente do número de saídas");
+        // Cada nome ocupa ao menos o inteiro do tamanho: confere antes de alocar a lista
+        if ((long) numClasses * Integer.BYTES > buffer.remaining())
+            throw new IOException("Arquivo de modelo truncado");
+        List<String> classes = new ArrayList<>(numClasses);
+        for (int i = 0; i < numClasses; i++) {
+            classes.add(lerTexto(buffer));
+        }
+
+        // Os vetores começam alinhados em 8 bytes e são copiados em bloco para os vetores finais
+        buffer.position(alinhar(buffer.position()));
+        DoubleBuffer vetores = buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        // Confere o tamanho antes de alocar (uma topologia corrompida não vira uma alocação gigante)
+        long numValores = 2L * numEntradas + numOculta * (numEntradas + 1L) + numSaida * (numOculta + 1L);
+        if (numValores > vetores.remaining())
+            throw new IOException("Arquivo de modelo truncado");
+        double[] minimos = new double[numEntradas];
+        double[] maximos = new double[numEntradas];
+        double[] pesosOculta = new double[numOculta * (numEntradas + 1)];
+        double[] pesosSaida = new double[numSaida * (numOculta + 1)];
+        vetores.get(minimos);
+        vetores.get(maximos);
+        vetores.get(pesosOculta);
+        vetores.get(pesosSaida);
+
+        RedeNeural rede = new RedeNeural(
+                new Camada(numOculta, numEntradas, pesosOculta),
+                new Camada(numSaida, numOculta, pesosSaida),
+                funcao, taxaAprendizado,
+                new Normalizador(minimos, maximos),
+                classes);
+        rede.setFuncaoPerda(perda);
+        return rede;
+    }
+
+    private static String lerTexto(ByteBuffer buffer) {
+        int tamanho = buffer.getInt();
+        if (tamanho < 0 || tamanho > buffer.remaining())
+            throw new IllegalArgumentException("Texto com tamanho inválido");
+        byte[] bytes = new byte[tamanho];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Próximo múltiplo de 8 (tamanho de um double)
+    private static int alinhar(int posicao) {
+        return (posicao + Double.BYTES - 1) & -Double.BYTES;
+    }
+}
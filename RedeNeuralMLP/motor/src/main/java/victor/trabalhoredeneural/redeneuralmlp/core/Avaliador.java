@@ -0,0 +1,95 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * Avaliação paralela de uma rede: as linhas são divididas em blocos, cada thread do pool comum
+ * soma as predições dos seus blocos em um AcumuladorAvaliacao próprio e, no final, os acumuladores
+ * são combinados. Nenhuma predição fica guardada; a memória extra é só a de um bloco por thread.
+ */
+public final class Avaliador {
+
+    // Linhas de cada bloco passado de uma vez pela rede
+    private static final int LINHAS_POR_BLOCO = 256;
+
+    private Avaliador() {
+    }
+
+    //Avalia a rede em um conjunto rotulado (normalizado com os min/max da rede).
+    //As classes do resultado são as da rede mais as que só existem no conjunto, em ordem alfabética
+    public static AcumuladorAvaliacao avaliar(RedeNeural rede, ConjuntoDados dados, int topK) {
+        TreeSet<String> todas = new TreeSet<>(rede.getNomesClasses());
+        todas.addAll(dados.getListaClassesUnicas());
+        List<String> classes = Collections.unmodifiableList(new ArrayList<>(todas));
+
+        // Tradução feita uma vez por classe, não por instância
+        int[] idReal = dados.traduzirClasses(classes);
+        int[] alvos = new int[dados.getNumeroDeInstancias()];
+        for (int i = 0; i < alvos.length; i++)
+            alvos[i] = idReal[dados.getClasseId(i)];
+        int[] colunaDaSaida = new int[rede.getNomesClasses().size()];
+        for (int i = 0; i < colunaDaSaida.length; i++)
+            colunaDaSaida[i] = Collections.binarySearch(classes, rede.getNomeClasse(i));
+
+        return avaliar(rede, rede.normalizar(dados), alvos, classes, colunaDaSaida, topK);
+    }
+
+    //Avalia a rede em um conjunto já normalizado. alvos[linha] é o id da classe real em 'classes' (-1 = desconhecida)
+    //e colunaDaSaida[i] é a posição em 'classes' do neurônio de saída i
+    public static AcumuladorAvaliacao avaliar(RedeNeural rede, DadosNormalizados dados, int[] alvos,
+                                             List<String> classes, int[] colunaDaSaida, int topK) {
+        int numLinhas = dados.getNumeroDeInstancias();
+        int numBlocos = (numLinhas + LINHAS_POR_BLOCO - 1) / LINHAS_POR_BLOCO;
+        return IntStream.range(0, numBlocos).parallel().collect(
+                () -> new Parcial(rede, classes, colunaDaSaida, topK),
+                (parcial, bloco) -> {
+                    int inicio = bloco * LINHAS_POR_BLOCO;
+                    parcial.avaliar(dados.getValores(), alvos, inicio, Math.min(LINHAS_POR_BLOCO, numLinhas - inicio));
+                },
+                (a, b) -> a.acumulador.combinar(b.acumulador)
+        ).acumulador;
+    }
+
+    // Acumulador de uma thread com os vetores de saída do seu bloco
+    private static final class Parcial {
+        private final RedeNeural rede;
+        private final int[] colunaDaSaida;
+        private final boolean mesmaOrdem;   // As saídas da rede já estão na ordem das classes
+        private final double[] saidas;
+        private final double[] pontuacoes;
+        final AcumuladorAvaliacao acumulador;
+
+        Parcial(RedeNeural rede, List<String> classes, int[] colunaDaSaida, int topK) {
+            this.rede = rede;
+            this.colunaDaSaida = colunaDaSaida;
+            this.mesmaOrdem = classes.equals(rede.getNomesClasses());
+            this.saidas = new double[LINHAS_POR_BLOCO * colunaDaSaida.length];
+            this.pontuacoes = mesmaOrdem ? saidas : new double[LINHAS_POR_BLOCO * classes.size()];
+            this.acumulador = new AcumuladorAvaliacao(classes, topK);
+        }
+
+        void avaliar(double[] valores, int[] alvos, int inicio, int tamanho) {
+            rede.preverSaidasLote(valores, inicio, tamanho, saidas);
+            if (!mesmaOrdem) {
+                // Espalha as saídas nas colunas das classes; as que a rede não tem ficam com -infinito
+                // (nunca previstas)
+                int numSaidas = colunaDaSaida.length;
+                int numClasses = pontuacoes.length / LINHAS_POR_BLOCO;
+                Arrays.fill(pontuacoes, Double.NEGATIVE_INFINITY);
+                for (int b = 0; b < tamanho; b++)
+                    for (int i = 0; i < numSaidas; i++)
+                        pontuacoes[b * numClasses + colunaDaSaida[i]] = saidas[b * numSaidas + i];
+            }
+            acumulador.registrarLote(alvos, inicio, pontuacoes, tamanho);
+        }
+    }
+}
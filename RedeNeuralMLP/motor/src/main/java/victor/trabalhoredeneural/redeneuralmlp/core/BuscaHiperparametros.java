@@ -0,0 +1,174 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoBusca;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Busca de hiperparâmetros com divisão sucessiva (successive halving): todas as configurações treinam
+ * 'epocasIniciais' épocas, só a melhor fração 1/fatorReducao continua, o orçamento de épocas é multiplicado
+ * pelo fator, e assim por diante até sobrar uma (que treina até o seu maxEpocas).
+ * Cada configuração treina em uma única thread; o paralelismo fica entre as configurações, em um pool
+ * de 'numThreads'. Os conjuntos de treino e validação são normalizados uma vez e lidos por todas.
+ * A precisão simples, as várias threads e o platô de cada configuração não se aplicam aqui; a AgendaTaxa sim.
+ */
+public class BuscaHiperparametros {
+
+    // Melhor primeiro: mais acertos na validação e, no empate, menor erro de validação
+    private static final Comparator<Tentativa> POR_DESEMPENHO = Comparator
+            .comparingInt((Tentativa t) -> -t.acertos)
+            .thenComparingDouble(t -> t.erroValidacao);
+
+    private final int numThreads;
+    private int epocasIniciais = 10;
+    private int fatorReducao = 3;
+    private long semente = System.nanoTime();
+
+    public BuscaHiperparametros(int numThreads) {
+        if (numThreads <= 0)
+            throw new IllegalArgumentException("O número de threads deve ser maior que 0.");
+        this.numThreads = numThreads;
+    }
+
+    //Épocas de cada configuração na primeira rodada
+    public BuscaHiperparametros setEpocasIniciais(int epocasIniciais) {
+        if (epocasIniciais <= 0)
+            throw new IllegalArgumentException("As épocas iniciais devem ser maiores que 0.");
+        this.epocasIniciais = epocasIniciais;
+        return this;
+    }
+
+    //A cada rodada fica 1/fator das configurações e o orçamento de épocas é multiplicado pelo fator
+    public BuscaHiperparametros setFatorReducao(int fatorReducao) {
+        if (fatorReducao < 2)
+            throw new IllegalArgumentException("O fator de redução deve ser >= 2.");
+        this.fatorReducao = fatorReducao;
+        return this;
+    }
+
+    //Semente dos pesos iniciais e dos embaralhamentos (cada configuração recebe uma derivada dela)
+    public BuscaHiperparametros setSemente(long semente) {
+        this.semente = semente;
+        return this;
+    }
+
+    //Executa a busca e retorna o placar: quem foi mais longe primeiro e, na mesma rodada, o melhor desempenho
+    public List<ResultadoBusca> executar(List<ConfiguracaoTreinamento> candidatas, ConjuntoDados treino,
+                                         ConjuntoDados validacao) throws InterruptedException {
+        if (candidatas.isEmpty())
+            throw new IllegalArgumentException("Informe ao menos uma configuração.");
+        for (ConfiguracaoTreinamento configuracao : candidatas) {
+            configuracao.validar();
+            if (configuracao.getPrecisao() != Precisao.DUPLA)
+                throw new IllegalArgumentException("A busca de hiperparâmetros só usa a precisão dupla.");
+        }
+        if (validacao.getNumeroDeInstancias() == 0)
+            throw new IllegalArgumentException("O conjunto de validação está vazio.");
+
+        // Dados compartilhados (somente leitura) por todas as tentativas
+        Normalizador normalizador = new Normalizador(treino);
+        DadosNormalizados treinoNormalizado = normalizador.normalizar(treino);
+        DadosNormalizados validacaoNormalizada = normalizador.normalizar(validacao);
+        List<String> classes = treino.getListaClassesUnicas();
+        int[] traducao = validacao.traduzirClasses(classes); // -1 = classe que o treino não tem
+        int[] alvosValidacao = new int[validacao.getNumeroDeInstancias()];
+        for (int i = 0; i < alvosValidacao.length; i++)
+            alvosValidacao[i] = traducao[validacao.getClasseId(i)];
+
+        int[] linhasTreino = Indices.sequencia(treino.getNumeroDeInstancias());
+        int[] linhasValidacao = Indices.sequencia(alvosValidacao.length);
+
+        Random sementes = new Random(semente);
+        List<Tentativa> todas = new ArrayList<>(candidatas.size());
+        for (ConfiguracaoTreinamento configuracao : candidatas)
+            todas.add(new Tentativa(configuracao, normalizador, classes, linhasTreino, sementes.nextLong()));
+
+        ForkJoinPool pool = new ForkJoinPool(numThreads);
+        try {
+            List<Tentativa> vivas = new ArrayList<>(todas);
+            int orcamento = epocasIniciais;
+            int rodada = 0;
+            while (true) {
+                List<Callable<Void>> tarefas = new ArrayList<>(vivas.size());
+                final int epocas = orcamento;
+                for (Tentativa tentativa : vivas) {
+                    tarefas.add(() -> {
+                        tentativa.treinarAte(epocas, treinoNormalizado);
+                        tentativa.avaliar(validacaoNormalizada, linhasValidacao, alvosValidacao);
+                        return null;
+                    });
+                }
+                executar(pool, tarefas);
+
+                boolean todasConcluidas = true;
+                for (Tentativa tentativa : vivas)
+                    todasConcluidas &= tentativa.concluida;
+                if (vivas.size() == 1 || todasConcluidas)
+                    break;
+
+                // Corta as piores; a última que sobrar treina até o seu maxEpocas
+                vivas.sort(POR_DESEMPENHO);
+                vivas = new ArrayList<>(vivas.subList(0, Math.max(1, vivas.size() / fatorReducao)));
+                rodada++;
+                for (Tentativa tentativa : vivas)
+                    tentativa.rodadaAlcancada = rodada;
+                orcamento = proximoOrcamento(orcamento, fatorReducao, vivas.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        todas.sort(Comparator.comparingInt((Tentativa t) -> -t.rodadaAlcancada).thenComparing(POR_DESEMPENHO));
+        List<ResultadoBusca> placar = new ArrayList<>(todas.size());
+        for (Tentativa t : todas)
+            placar.add(new ResultadoBusca(t.configuracao, t.rede, t.epocas, t.erroTreino, t.erroValidacao,
+                    t.acertos, alvosValidacao.length, t.rodadaAlcancada));
+        return Collections.unmodifiableList(placar);
+    }
+
+    //Texto do placar, uma linha por configuração (no máximo 'limite' linhas)
+    public static String formatarPlacar(List<ResultadoBusca> placar, int limite) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%4s %6s %-20s %8s %-10s %5s %-16s %7s %7s %12s %9s%n",
+                "Pos", "Oculta", "Funcao", "Taxa", "Otimizador", "Lote", "Perda", "Rodada", "Epocas",
+                "Erro valid.", "Acuracia"));
+        for (int i = 0; i < Math.min(limite, placar.size()); i++) {
+            ResultadoBusca r = placar.get(i);
+            ConfiguracaoTreinamento c = r.getConfiguracao();
+            sb.append(String.format(Locale.ROOT, "%4d %6d %-20s %8.4f %-10s %5d %-16s %7d %7d %12.8f %8.2f%%%n",
+                    i + 1, c.getNumOculta(), c.getFuncaoAtivacao(), c.getTaxaAprendizado(), c.getOtimizador(),
+                    c.getTamanhoLote(), c.getFuncaoPerda(), r.getRodadaAlcancada(), r.getEpocas(),
+                    r.getErroValidacao(), 100.0 * r.getAcuracia()));
+        }
+        return sb.toString();
+    }
+
+    //Orçamento de épocas da rodada seguinte: multiplica pelo fator sem estourar o int;
+    //se só sobrou uma configuração, ela treina até o seu maxEpocas
+    static int proximoOrcamento(int orcamento, int fatorReducao, int vivas) {
+        return vivas == 1 || orcamento > Integer.MAX_VALUE / fatorReducao
+                ? Integer.MAX_VALUE : orcamento * fatorReducao;
+    }
+
+    private static void executar(ForkJoinPool pool, List<Callable<Void>> tarefas) throws InterruptedException {
+        for (Future<Void> f : pool.invokeAll(tarefas)) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha em uma configuração da busca", e.getCause());
+            }
+        }
+    }
+}
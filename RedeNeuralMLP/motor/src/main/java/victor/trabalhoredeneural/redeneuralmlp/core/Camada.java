@@ -0,0 +1,314 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Representa uma camada da rede.
+ * Os pesos de todos os neurônios ficam em uma única matriz contígua (row-major),
+ * onde cada linha corresponde a um neurônio e a coluna 0 guarda o peso do bias.
+ * As saídas (f(net)) e os gradientes (delta) também ficam em vetores primitivos.
+ */
+public class Camada {
+
+    private final int numNeuronios;
+    private final int numEntradas;
+    private final int largura; // numEntradas + 1 (coluna do bias)
+
+    private final double[] pesos;      // pesos[neuronio * largura + j], j = 0 é o bias
+    private final double[] saidas;     // Última saída calculada de cada neurônio
+    private final double[] gradientes; // Gradiente de erro (delta) de cada neurônio
+
+    private final List<Neuronio> neuronios; // Visões leves sobre os vetores acima
+
+    // Buffers do treinamento em mini-lote, alocados na primeira vez que um lote passa pela camada
+    private double[] saidasLote;       // [tamanhoLote x numNeuronios]
+    private double[] gradientesLote;   // [tamanhoLote x numNeuronios]
+    private double[] gradientePesos;   // Mesmo layout da matriz de pesos
+
+    //Faz a construção da camada
+    public Camada(int numNeuronios, int numEntradasPorNeuronio) {
+        this(numNeuronios, numEntradasPorNeuronio, new Random());
+    }
+
+    //Pesos iniciais sorteados por 'rand' (ex: a Tentativa, para a busca se repetir com a mesma semente)
+    Camada(int numNeuronios, int numEntradasPorNeuronio, Random rand) {
+        this(numNeuronios, numEntradasPorNeuronio, pesosAleatorios(numNeuronios * (numEntradasPorNeuronio + 1), rand));
+    }
+
+    //Cria a camada com uma matriz de pesos já pronta (ex: lida de um arquivo de modelo)
+    //O vetor é usado diretamente, sem cópia
+    Camada(int numNeuronios, int numEntradasPorNeuronio, double[] pesos) {
+        this.numNeuronios = numNeuronios;
+        this.numEntradas = numEntradasPorNeuronio;
+        this.largura = numEntradasPorNeuronio + 1;
+
+        if (pesos.length != numNeuronios * largura)
+            throw new IllegalArgumentException("A matriz de pesos deve ter " + (numNeuronios * largura) + " posições");
+        this.pesos = pesos;
+        this.saidas = new double[numNeuronios];
+        this.gradientes = new double[numNeuronios];
+
+        this.neuronios = new ArrayList<>(numNeuronios);
+        for (int i = 0; i < numNeuronios; i++) {
+            neuronios.add(new Neuronio(this, i));
+        }
+    }
+
+    //Cria uma réplica que compartilha a matriz de pesos da camada original,
+    //mas tem seus próprios vetores de saída, gradientes e buffers de lote
+    Camada(Camada original) {
+        this.numNeuronios = original.numNeuronios;
+        this.numEntradas = original.numEntradas;
+        this.largura = original.largura;
+
+        this.pesos = original.pesos;
+        this.saidas = new double[numNeuronios];
+        this.gradientes = new double[numNeuronios];
+
+        this.neuronios = new ArrayList<>(numNeuronios);
+        for (int i = 0; i < numNeuronios; i++) {
+            neuronios.add(new Neuronio(this, i));
+        }
+    }
+
+    // Inicializa os pesos (incluindo o bias) com valores aleatórios entre -0.5 e +0.5
+    private static double[] pesosAleatorios(int quantidade, Random rand) {
+        double[] pesos = new double[quantidade];
+        for (int i = 0; i < pesos.length; i++) {
+            pesos[i] = rand.nextDouble() - 0.5;
+        }
+        return pesos;
+    }
+
+    //Calcula a saída de TODOS os neurônios desta camada
+    //O vetor retornado é o buffer interno da camada (é sobrescrito na próxima chamada)
+    public double[] calcularSaidas(double[] entradas, FuncaoAtivacao funcao) {
+        Nucleos nucleos = Nucleos.atual();
+        for (int n = 0; n < numNeuronios; n++) {
+            int linha = n * largura;
+            // Peso do bias (multiplicado por uma entrada constante de 1.0) + Σ peso_i * entrada_i
+            saidas[n] = pesos[linha] + nucleos.produtoEscalar(pesos, linha + 1, entradas, 0, numEntradas);
+        }
+        // Ativa a camada inteira de uma vez (os nets ficam no próprio buffer de saídas)
+        funcao.ativar(saidas, saidas, numNeuronios);
+        return saidas;
+    }
+
+    //Calcula os gradientes (delta) dos neurônios quando esta é a camada de saída
+    public void calcularGradientesSaida(double[] valoresDesejados, FuncaoAtivacao funcao) {
+        // Fórmula: (Desejado - Saida) * f'(net)
+        funcao.derivada(saidas, gradientes, numNeuronios);
+        for (int n = 0; n < numNeuronios; n++) {
+            gradientes[n] *= valoresDesejados[n] - saidas[n];
+        }
+    }
+
+    //Saída com softmax (FuncaoPerda.ENTROPIA_CRUZADA): probabilidade de cada neurônio
+    //O vetor retornado é o buffer interno da camada (é sobrescrito na próxima chamada)
+    public double[] calcularSaidasSoftmax(double[] entradas) {
+        Nucleos nucleos = Nucleos.atual();
+        for (int n = 0; n < numNeuronios; n++) {
+            int linha = n * largura;
+            saidas[n] = pesos[linha] + nucleos.produtoEscalar(pesos, linha + 1, entradas, 0, numEntradas);
+        }
+        softmax(saidas, 0, numNeuronios);
+        return saidas;
+    }
+
+    //Gradientes da camada de saída com softmax + entropia cruzada: a derivada das duas juntas
+    //se reduz a (Desejado - Saida), sem a passada de f'(net)
+    public void calcularGradientesSaidaEntropiaCruzada(double[] valoresDesejados) {
+        for (int n = 0; n < numNeuronios; n++) {
+            gradientes[n] = valoresDesejados[n] - saidas[n];
+        }
+    }
+
+    //Calcula os gradientes (delta) dos neurônios quando esta é uma camada oculta
+    public void calcularGradientesOculta(Camada camadaSeguinte, FuncaoAtivacao funcao) {
+        // Fórmula: (Σ (gradiente_seguinte * peso_correspondente)) * f'(net)
+        double[] pesosSeguinte = camadaSeguinte.pesos;
+        double[] gradientesSeguinte = camadaSeguinte.gradientes;
+        int larguraSeguinte = camadaSeguinte.largura;
+
+        for (int n = 0; n < numNeuronios; n++) {
+            gradientes[n] = 0.0;
+        }
+
+        // Percorre a matriz da camada seguinte linha a linha (acesso sequencial na memória)
+        // O peso [n + 1] de cada linha é o que se conecta ao neurônio n (+1 pois o índice 0 é o bias)
+        Nucleos nucleos = Nucleos.atual();
+        for (int k = 0; k < camadaSeguinte.numNeuronios; k++) {
+            nucleos.axpy(gradientesSeguinte[k], pesosSeguinte, k * larguraSeguinte + 1, gradientes, 0, numNeuronios);
+        }
+
+        for (int n = 0; n < numNeuronios; n++) {
+            gradientes[n] *= funcao.derivada(saidas[n]);
+        }
+    }
+
+    //Atualiza todos os pesos desta camada
+    public void atualizarPesos(double[] entradas, double taxaAprendizado) {
+        // Fórmula: novo_peso = peso_antigo + (N * gradiente * entrada)
+        Nucleos nucleos = Nucleos.atual();
+        for (int n = 0; n < numNeuronios; n++) {
+            int linha = n * largura;
+            double passo = taxaAprendizado * gradientes[n];
+
+            // Peso do bias (entrada é 1.0)
+            pesos[linha] += passo;
+
+            nucleos.axpy(passo, entradas, 0, pesos, linha + 1, numEntradas);
+        }
+    }
+
+    //Calcula as saídas da camada para um lote inteiro de entradas ([tamanho x numEntradas], row-major)
+    //O vetor retornado é o buffer interno do lote (é sobrescrito na próxima chamada)
+    public double[] calcularSaidasLote(double[] entradasLote, int tamanho, FuncaoAtivacao funcao) {
+        garantirCapacidadeLote(tamanho);
+        calcularSaidasLote(entradasLote, tamanho, funcao, saidasLote);
+        return saidasLote;
+    }
+
+    //Versão reentrante: escreve as saídas do lote em 'destino' sem alterar nenhum campo da camada
+    //(só lê os pesos), então várias threads podem usá-la ao mesmo tempo com buffers próprios
+    public void calcularSaidasLote(double[] entradasLote, int tamanho, FuncaoAtivacao funcao, double[] destino) {
+        // net = entradas × pesosᵀ + bias, em uma única multiplicação de matrizes
+        OperacoesMatriz.produtoComTransposta(entradasLote, tamanho, numEntradas, pesos, numNeuronios, destino);
+
+        funcao.ativar(destino, destino, tamanho * numNeuronios);
+    }
+
+    //Versão em lote de calcularSaidasSoftmax (softmax em cada linha do lote)
+    public double[] calcularSaidasLoteSoftmax(double[] entradasLote, int tamanho) {
+        garantirCapacidadeLote(tamanho);
+        calcularSaidasLoteSoftmax(entradasLote, tamanho, saidasLote);
+        return saidasLote;
+    }
+
+    //Versão reentrante de calcularSaidasLoteSoftmax (escreve em 'destino', só lê os pesos)
+    public void calcularSaidasLoteSoftmax(double[] entradasLote, int tamanho, double[] destino) {
+        OperacoesMatriz.produtoComTransposta(entradasLote, tamanho, numEntradas, pesos, numNeuronios, destino);
+        for (int b = 0; b < tamanho; b++) {
+            softmax(destino, b * numNeuronios, numNeuronios);
+        }
+    }
+
+    //Versão em lote de calcularGradientesSaidaEntropiaCruzada
+    public void calcularGradientesSaidaLoteEntropiaCruzada(double[] alvosLote, int tamanho) {
+        for (int i = 0; i < tamanho * numNeuronios; i++) {
+            gradientesLote[i] = alvosLote[i] - saidasLote[i];
+        }
+    }
+
+    //Calcula os gradientes do lote quando esta é a camada de saída
+    public void calcularGradientesSaidaLote(double[] alvosLote, int tamanho, FuncaoAtivacao funcao) {
+        funcao.derivada(saidasLote, gradientesLote, tamanho * numNeuronios);
+        for (int i = 0; i < tamanho * numNeuronios; i++) {
+            gradientesLote[i] *= alvosLote[i] - saidasLote[i];
+        }
+    }
+
+    //Calcula os gradientes do lote quando esta é uma camada oculta
+    public void calcularGradientesOcultaLote(Camada camadaSeguinte, int tamanho, FuncaoAtivacao funcao) {
+        // Σ (gradiente_seguinte * peso_correspondente) para todo o lote: deltas × pesos
+        OperacoesMatriz.produtoPropagacao(camadaSeguinte.gradientesLote, tamanho, camadaSeguinte.numNeuronios,
+                camadaSeguinte.pesos, numNeuronios, gradientesLote);
+
+        for (int i = 0; i < tamanho * numNeuronios; i++) {
+            gradientesLote[i] *= funcao.derivada(saidasLote[i]);
+        }
+    }
+
+    //Aplica uma única atualização com a média dos gradientes do lote
+    public void atualizarPesosLote(double[] entradasLote, int tamanho, double taxaAprendizado) {
+        calcularGradientePesosLote(entradasLote, tamanho);
+        aplicarGradientePesos(gradientePesos, taxaAprendizado / tamanho);
+    }
+
+    //Calcula (sem aplicar) a soma dos gradientes dos pesos no lote: deltasᵀ × entradas
+    public void calcularGradientePesosLote(double[] entradasLote, int tamanho) {
+        Arrays.fill(gradientePesos, 0.0);
+        OperacoesMatriz.acumularGradientePesos(gradientesLote, entradasLote, tamanho, numNeuronios, numEntradas, gradientePesos);
+    }
+
+    //Soma passo * gradiente em todos os pesos (gradiente no mesmo layout da matriz de pesos)
+    public void aplicarGradientePesos(double[] gradiente, double passo) {
+        Nucleos.atual().axpy(passo, gradiente, 0, pesos, 0, pesos.length);
+    }
+
+    // Softmax estável de v[inicio, inicio + n): subtrai o maior net antes do exp (log-sum-exp),
+    // então nenhum exp estoura mesmo com nets grandes
+    private static void softmax(double[] v, int inicio, int n) {
+        double maior = v[inicio];
+        for (int i = 1; i < n; i++) {
+            maior = Math.max(maior, v[inicio + i]);
+        }
+        double soma = 0.0;
+        for (int i = 0; i < n; i++) {
+            double e = Math.exp(v[inicio + i] - maior);
+            v[inicio + i] = e;
+            soma += e;
+        }
+        double inverso = 1.0 / soma;
+        for (int i = 0; i < n; i++) {
+            v[inicio + i] *= inverso;
+        }
+    }
+
+    //Aloca (ou aumenta) os buffers do lote
+    private void garantirCapacidadeLote(int tamanho) {
+        if (saidasLote == null || saidasLote.length < tamanho * numNeuronios) {
+            saidasLote = new double[tamanho * numNeuronios];
+            gradientesLote = new double[tamanho * numNeuronios];
+        }
+        if (gradientePesos == null) {
+            gradientePesos = new double[pesos.length];
+        }
+    }
+
+    public List<Neuronio> getNeuronios() {
+        return neuronios;
+    }
+
+    //Retorna um neurônio específico pelo seu índice
+    public Neuronio getNeuronio(int indice) {
+        return neuronios.get(indice);
+    }
+
+    public int getNumNeuronios() {
+        return numNeuronios;
+    }
+
+    public int getNumEntradas() {
+        return numEntradas;
+    }
+
+    //Quantidade de colunas de cada linha da matriz de pesos (entradas + bias)
+    public int getLargura() {
+        return largura;
+    }
+
+    public double[] getPesos() {
+        return pesos;
+    }
+
+    public double[] getSaidas() {
+        return saidas;
+    }
+
+    public double[] getGradientes() {
+        return gradientes;
+    }
+
+    public double[] getSaidasLote() {
+        return saidasLote;
+    }
+
+    //Soma dos gradientes dos pesos do último lote (mesmo layout da matriz de pesos)
+    public double[] getGradientePesos() {
+        return gradientePesos;
+    }
+}
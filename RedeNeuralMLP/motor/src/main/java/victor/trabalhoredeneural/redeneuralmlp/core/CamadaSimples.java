@@ -0,0 +1,114 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import java.util.Arrays;
+
+/**
+ * Versão em float (32 bits) da Camada, usada pela RedeNeuralSimples.
+ * Mesmo layout da matriz de pesos (uma linha por neurônio, coluna 0 = bias), mas só com o
+ * caminho em lote: o treinamento online é um lote de tamanho 1.
+ */
+public class CamadaSimples {
+
+    private final int numNeuronios;
+    private final int numEntradas;
+    private final int largura; // numEntradas + 1 (coluna do bias)
+    private final boolean acumuladorDuplo;
+
+    private final float[] pesos;       // pesos[neuronio * largura + j], j = 0 é o bias
+    private final float[] gradientePesos;
+
+    // Buffers do lote, alocados (ou aumentados) conforme o tamanho do lote
+    private float[] saidasLote = new float[0];      // [tamanhoLote x numNeuronios]
+    private float[] gradientesLote = new float[0];  // [tamanhoLote x numNeuronios]
+
+    //Cria a camada convertendo os pesos de uma Camada em double
+    public CamadaSimples(Camada origem, boolean acumuladorDuplo) {
+        this.numNeuronios = origem.getNumNeuronios();
+        this.numEntradas = origem.getNumEntradas();
+        this.largura = origem.getLargura();
+        this.acumuladorDuplo = acumuladorDuplo;
+
+        double[] pesosOrigem = origem.getPesos();
+        this.pesos = new float[pesosOrigem.length];
+        for (int i = 0; i < pesos.length; i++) {
+            pesos[i] = (float) pesosOrigem[i];
+        }
+        this.gradientePesos = new float[pesos.length];
+    }
+
+    //Cria uma Camada em double com os pesos atuais (ex: para salvar ou avaliar a rede)
+    public Camada paraCamada() {
+        double[] pesosDuplos = new double[pesos.length];
+        for (int i = 0; i < pesos.length; i++) {
+            pesosDuplos[i] = pesos[i];
+        }
+        return new Camada(numNeuronios, numEntradas, pesosDuplos);
+    }
+
+    //Calcula as saídas da camada para um lote inteiro de entradas ([tamanho x numEntradas], row-major)
+    //O vetor retornado é o buffer interno do lote (é sobrescrito na próxima chamada)
+    public float[] calcularSaidasLote(float[] entradasLote, int tamanho, FuncaoAtivacao funcao) {
+        garantirCapacidadeLote(tamanho);
+        calcularSaidasLote(entradasLote, tamanho, funcao, saidasLote);
+        return saidasLote;
+    }
+
+    //Versão reentrante: escreve as saídas do lote em 'destino' sem alterar nenhum campo da camada
+    public void calcularSaidasLote(float[] entradasLote, int tamanho, FuncaoAtivacao funcao, float[] destino) {
+        OperacoesMatriz.produtoComTransposta(entradasLote, tamanho, numEntradas, pesos, numNeuronios, destino, acumuladorDuplo);
+        funcao.ativar(destino, destino, tamanho * numNeuronios);
+    }
+
+    //Calcula os gradientes do lote quando esta é a camada de saída
+    public void calcularGradientesSaidaLote(float[] alvosLote, int tamanho, FuncaoAtivacao funcao) {
+        funcao.derivada(saidasLote, gradientesLote, tamanho * numNeuronios);
+        for (int i = 0; i < tamanho * numNeuronios; i++) {
+            gradientesLote[i] *= alvosLote[i] - saidasLote[i];
+        }
+    }
+
+    //Calcula os gradientes do lote quando esta é uma camada oculta
+    public void calcularGradientesOcultaLote(CamadaSimples camadaSeguinte, int tamanho, FuncaoAtivacao funcao) {
+        OperacoesMatriz.produtoPropagacao(camadaSeguinte.gradientesLote, tamanho, camadaSeguinte.numNeuronios,
+                camadaSeguinte.pesos, numNeuronios, gradientesLote);
+
+        for (int i = 0; i < tamanho * numNeuronios; i++) {
+            gradientesLote[i] *= (float) funcao.derivada(saidasLote[i]);
+        }
+    }
+
+    //Calcula (sem aplicar) a soma dos gradientes dos pesos no lote: deltasᵀ × entradas
+    public void calcularGradientePesosLote(float[] entradasLote, int tamanho) {
+        Arrays.fill(gradientePesos, 0.0f);
+        OperacoesMatriz.acumularGradientePesos(gradientesLote, entradasLote, tamanho, numNeuronios, numEntradas, gradientePesos);
+    }
+
+    //Soma passo * gradientePesos em todos os pesos
+    public void aplicarGradientePesos(float passo) {
+        Nucleos.atual().axpy(passo, gradientePesos, 0, pesos, 0, pesos.length);
+    }
+
+    //Aloca (ou aumenta) os buffers do lote
+    private void garantirCapacidadeLote(int tamanho) {
+        if (saidasLote.length < tamanho * numNeuronios) {
+            saidasLote = new float[tamanho * numNeuronios];
+            gradientesLote = new float[tamanho * numNeuronios];
+        }
+    }
+
+    public int getNumNeuronios() {
+        return numNeuronios;
+    }
+
+    public int getNumEntradas() {
+        return numEntradas;
+    }
+
+    public float[] getPesos() {
+        return pesos;
+    }
+
+    public float[] getSaidasLote() {
+        return saidasLote;
+    }
+}
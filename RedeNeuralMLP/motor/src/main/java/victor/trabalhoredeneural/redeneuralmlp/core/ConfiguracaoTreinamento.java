@@ -0,0 +1,230 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Hiperparâmetros de um treinamento. Os valores padrão são os mesmos da interface gráfica;
+ * os setters retornam a própria configuração para poderem ser encadeados.
+ */
+public class ConfiguracaoTreinamento {
+
+    private int numOculta = 8;
+    private FuncaoAtivacao funcaoAtivacao = FuncaoAtivacao.LOGISTICA;
+    private double taxaAprendizado = 0.2;
+    private int maxEpocas = 1000;
+    private double erroDesejado = 0.001;
+    private int tamanhoLote = 1;           // 1 = treinamento online
+    private int numThreads = 1;            // 1 = treina na própria thread
+    private TreinadorParalelo.Modo modoParalelo = TreinadorParalelo.Modo.SINCRONO;
+    private Precisao precisao = Precisao.DUPLA;
+    private TipoOtimizador otimizador = TipoOtimizador.SGD;
+    private double momento = 0.9;          // Usado pelo MOMENTUM e pelo NESTEROV
+    private AgendaTaxa agendaTaxa = AgendaTaxa.constante();
+    private FuncaoPerda funcaoPerda = FuncaoPerda.ERRO_QUADRATICO;
+    private boolean preBusca = false;      // Uma thread prepara os próximos lotes enquanto a rede treina
+
+    // Detecção de platô: desvio padrão dos últimos erros abaixo do limiar
+    private int janelaPlato = 10;
+    private double limiarPlato = 0.00001;
+    private double fatorReducaoTaxa = 0.90;
+
+    //Confere os valores e lança IllegalArgumentException com a mensagem do primeiro inválido
+    public void validar() {
+        if (taxaAprendizado <= 0 || taxaAprendizado > 1)
+            throw new IllegalArgumentException("A Taxa de Aprendizado (N) deve ser > 0 e <= 1.");
+        if (numOculta <= 0 || maxEpocas <= 0)
+            throw new IllegalArgumentException("Épocas e Camada Oculta devem ser maiores que 0.");
+        if (tamanhoLote <= 0 || numThreads <= 0)
+            throw new IllegalArgumentException("O Tamanho do Lote e o número de Threads devem ser maiores que 0.");
+        if (numThreads > 1 && modoParalelo == TreinadorParalelo.Modo.SINCRONO
+                && tamanhoLote < TreinadorParalelo.LOTE_MINIMO_SINCRONO)
+            throw new IllegalArgumentException("Com várias threads no modo síncrono, o Tamanho do Lote deve ser de pelo menos "
+                    + TreinadorParalelo.LOTE_MINIMO_SINCRONO + " (por thread); use lotes maiores ou o modo Hogwild.");
+        if (precisao != Precisao.DUPLA && numThreads > 1)
+            throw new IllegalArgumentException("A precisão simples (float) ainda não suporta várias threads.");
+        if (precisao != Precisao.DUPLA && otimizador != TipoOtimizador.SGD)
+            throw new IllegalArgumentException("A precisão simples (float) só usa o otimizador SGD.");
+        if (precisao != Precisao.DUPLA && funcaoPerda != FuncaoPerda.ERRO_QUADRATICO)
+            throw new IllegalArgumentException("A precisão simples (float) só usa o erro quadrático.");
+        if (preBusca && (precisao != Precisao.DUPLA || numThreads > 1))
+            throw new IllegalArgumentException("A pré-busca de lotes usa precisão dupla e uma única thread de treino.");
+        if (momento < 0 || momento >= 1)
+            throw new IllegalArgumentException("O momento deve ser >= 0 e < 1.");
+        if (janelaPlato < 2 || fatorReducaoTaxa <= 0 || fatorReducaoTaxa >= 1)
+            throw new IllegalArgumentException("A janela do platô deve ser >= 2 e o fator de redução deve estar entre 0 e 1.");
+    }
+
+    //Cópia independente (ex: um ponto do EspacoBusca parte da configuração base)
+    public ConfiguracaoTreinamento copiar() {
+        ConfiguracaoTreinamento copia = new ConfiguracaoTreinamento();
+        copia.numOculta = numOculta;
+        copia.funcaoAtivacao = funcaoAtivacao;
+        copia.taxaAprendizado = taxaAprendizado;
+        copia.maxEpocas = maxEpocas;
+        copia.erroDesejado = erroDesejado;
+        copia.tamanhoLote = tamanhoLote;
+        copia.numThreads = numThreads;
+        copia.modoParalelo = modoParalelo;
+        copia.precisao = precisao;
+        copia.otimizador = otimizador;
+        copia.momento = momento;
+        copia.agendaTaxa = agendaTaxa;
+        copia.funcaoPerda = funcaoPerda;
+        copia.preBusca = preBusca;
+        copia.janelaPlato = janelaPlato;
+        copia.limiarPlato = limiarPlato;
+        copia.fatorReducaoTaxa = fatorReducaoTaxa;
+        return copia;
+    }
+
+    public int getNumOculta() {
+        return numOculta;
+    }
+
+    public ConfiguracaoTreinamento setNumOculta(int numOculta) {
+        this.numOculta = numOculta;
+        return this;
+    }
+
+    public FuncaoAtivacao getFuncaoAtivacao() {
+        return funcaoAtivacao;
+    }
+
+    public ConfiguracaoTreinamento setFuncaoAtivacao(FuncaoAtivacao funcaoAtivacao) {
+        this.funcaoAtivacao = funcaoAtivacao;
+        return this;
+    }
+
+    public double getTaxaAprendizado() {
+        return taxaAprendizado;
+    }
+
+    public ConfiguracaoTreinamento setTaxaAprendizado(double taxaAprendizado) {
+        this.taxaAprendizado = taxaAprendizado;
+        return this;
+    }
+
+    public int getMaxEpocas() {
+        return maxEpocas;
+    }
+
+    public ConfiguracaoTreinamento setMaxEpocas(int maxEpocas) {
+        this.maxEpocas = maxEpocas;
+        return this;
+    }
+
+    public double getErroDesejado() {
+        return erroDesejado;
+    }
+
+    public ConfiguracaoTreinamento setErroDesejado(double erroDesejado) {
+        this.erroDesejado = erroDesejado;
+        return this;
+    }
+
+    public int getTamanhoLote() {
+        return tamanhoLote;
+    }
+
+    public ConfiguracaoTreinamento setTamanhoLote(int tamanhoLote) {
+        this.tamanhoLote = tamanhoLote;
+        return this;
+    }
+
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    public ConfiguracaoTreinamento setNumThreads(int numThreads) {
+        this.numThreads = numThreads;
+        return this;
+    }
+
+    public TreinadorParalelo.Modo getModoParalelo() {
+        return modoParalelo;
+    }
+
+    public ConfiguracaoTreinamento setModoParalelo(TreinadorParalelo.Modo modoParalelo) {
+        this.modoParalelo = modoParalelo;
+        return this;
+    }
+
+    public Precisao getPrecisao() {
+        return precisao;
+    }
+
+    public ConfiguracaoTreinamento setPrecisao(Precisao precisao) {
+        this.precisao = precisao;
+        return this;
+    }
+
+    public boolean isPreBusca() {
+        return preBusca;
+    }
+
+    public ConfiguracaoTreinamento setPreBusca(boolean preBusca) {
+        this.preBusca = preBusca;
+        return this;
+    }
+
+    public TipoOtimizador getOtimizador() {
+        return otimizador;
+    }
+
+    public ConfiguracaoTreinamento setOtimizador(TipoOtimizador otimizador) {
+        this.otimizador = otimizador;
+        return this;
+    }
+
+    public double getMomento() {
+        return momento;
+    }
+
+    public ConfiguracaoTreinamento setMomento(double momento) {
+        this.momento = momento;
+        return this;
+    }
+
+    public AgendaTaxa getAgendaTaxa() {
+        return agendaTaxa;
+    }
+
+    public ConfiguracaoTreinamento setAgendaTaxa(AgendaTaxa agendaTaxa) {
+        this.agendaTaxa = agendaTaxa;
+        return this;
+    }
+
+    public FuncaoPerda getFuncaoPerda() {
+        return funcaoPerda;
+    }
+
+    public ConfiguracaoTreinamento setFuncaoPerda(FuncaoPerda funcaoPerda) {
+        this.funcaoPerda = funcaoPerda;
+        return this;
+    }
+
+    public int getJanelaPlato() {
+        return janelaPlato;
+    }
+
+    public ConfiguracaoTreinamento setJanelaPlato(int janelaPlato) {
+        this.janelaPlato = janelaPlato;
+        return this;
+    }
+
+    public double getLimiarPlato() {
+        return limiarPlato;
+    }
+
+    public ConfiguracaoTreinamento setLimiarPlato(double limiarPlato) {
+        this.limiarPlato = limiarPlato;
+        return this;
+    }
+
+    public double getFatorReducaoTaxa() {
+        return fatorReducaoTaxa;
+    }
+
+    public ConfiguracaoTreinamento setFatorReducaoTaxa(double fatorReducaoTaxa) {
+        this.fatorReducaoTaxa = fatorReducaoTaxa;
+        return this;
+    }
+}
@@ -0,0 +1,112 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.LoteAmostras;
+import victor.trabalhoredeneural.redeneuralmlp.util.PreBuscaLotes;
+
+/**
+ * Uma época alimentada pela PreBuscaLotes (treino em fluxo e pré-busca em memória): a thread de treino
+ * só pega lotes já embaralhados e normalizados e os passa pela rede, online (SGD com lote 1) ou em
+ * mini-lotes. Cada lote da pré-busca contém vários mini-lotes inteiros; nada é alocado por amostra.
+ */
+final class EpocaPreBuscada {
+
+    private final RedeNeural rede;
+    private final PreBuscaLotes fila;
+    private final int tamanhoLote;
+    private final boolean emLotes;
+    private final int numAtributos;
+    private final int numSaidas;
+    private final double[] entradasLote;
+    private final double[] alvosLote;
+
+    EpocaPreBuscada(RedeNeural rede, PreBuscaLotes fila, int tamanhoLote, boolean emLotes) {
+        this.rede = rede;
+        this.fila = fila;
+        this.tamanhoLote = tamanhoLote;
+        this.emLotes = emLotes;
+        this.numAtributos = rede.getCamadaOculta().getNumEntradas();
+        this.numSaidas = rede.getCamadaSaida().getNumNeuronios();
+        this.entradasLote = new double[tamanhoLote * numAtributos];
+        this.alvosLote = new double[tamanhoLote * numSaidas];
+    }
+
+    //Linhas de cada lote da pré-busca: por volta de 'linhasDesejadas', arredondado para mini-lotes inteiros
+    static int linhasPorLote(int linhasDesejadas, int tamanhoLote) {
+        return Math.max(1, linhasDesejadas / tamanhoLote) * tamanhoLote;
+    }
+
+    // Consome os lotes de uma época e retorna a soma dos erros quadráticos
+    // Se 'tempos' não for null, soma nele o tempo de cada fase e a espera por lotes
+    double treinar(TemposFases tempos) throws InterruptedException {
+        double somaErrosQuadradicos = 0.0;
+        while (true) {
+            long t0 = tempos != null ? System.nanoTime() : 0;
+            LoteAmostras lote = fila.proximo();
+            if (tempos != null)
+                tempos.espera += System.nanoTime() - t0;
+            if (lote == null)
+                return somaErrosQuadradicos;
+
+            int tamanho = lote.getTamanho();
+            for (int inicio = 0; inicio < tamanho; inicio += tamanhoLote) {
+                int n = Math.min(tamanhoLote, tamanho - inicio);
+                somaErrosQuadradicos += emLotes ? treinarLote(lote, inicio, n, tempos) : treinarAmostra(lote, inicio, tempos);
+            }
+            fila.devolver(lote);
+        }
+    }
+
+    private double treinarAmostra(LoteAmostras lote, int linha, TemposFases tempos) {
+        System.arraycopy(lote.getEntradas(), linha * numAtributos, entradasLote, 0, numAtributos);
+        double[] vetorAlvo = rede.getVetorAlvo(lote.getClasses()[linha]);
+        double[] saidasRede;
+        if (tempos == null) {
+            saidasRede = rede.feedforward(entradasLote);
+            rede.backpropagation(entradasLote, vetorAlvo);
+        } else {
+            long t0 = System.nanoTime();
+            saidasRede = rede.feedforward(entradasLote);
+            long t1 = System.nanoTime();
+            rede.calcularGradientes(vetorAlvo);
+            long t2 = System.nanoTime();
+            rede.atualizarPesos(entradasLote);
+            tempos.forward += t1 - t0;
+            tempos.backward += t2 - t1;
+            tempos.atualizacao += System.nanoTime() - t2;
+        }
+        double soma = 0.0;
+        for (int i = 0; i < vetorAlvo.length; i++) {
+            double erro = vetorAlvo[i] - saidasRede[i];
+            soma += 0.5 * (erro * erro);
+        }
+        return soma;
+    }
+
+    private double treinarLote(LoteAmostras lote, int inicio, int tamanho, TemposFases tempos) {
+        // Linhas contíguas no lote da pré-busca: uma cópia só para as entradas
+        System.arraycopy(lote.getEntradas(), inicio * numAtributos, entradasLote, 0, tamanho * numAtributos);
+        int[] classes = lote.getClasses();
+        for (int b = 0; b < tamanho; b++)
+            System.arraycopy(rede.getVetorAlvo(classes[inicio + b]), 0, alvosLote, b * numSaidas, numSaidas);
+
+        long t0 = tempos != null ? System.nanoTime() : 0;
+        double[] saidasLote = rede.feedforwardLote(entradasLote, tamanho);
+        double soma = 0.0;
+        for (int i = 0; i < tamanho * numSaidas; i++) {
+            double erro = alvosLote[i] - saidasLote[i];
+            soma += 0.5 * (erro * erro);
+        }
+        if (tempos == null) {
+            rede.backpropagationLote(entradasLote, alvosLote, tamanho);
+        } else {
+            long t1 = System.nanoTime();
+            rede.calcularGradientesLote(entradasLote, alvosLote, tamanho);
+            long t2 = System.nanoTime();
+            rede.aplicarGradientesLote(tamanho);
+            tempos.forward += t1 - t0;
+            tempos.backward += t2 - t1;
+            tempos.atualizacao += System.nanoTime() - t2;
+        }
+        return soma;
+    }
+}
@@ -0,0 +1,158 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Valores candidatos de cada hiperparâmetro para a BuscaHiperparametros.
+ * A grade é o produto cartesiano das listas; a busca aleatória sorteia pontos dessa grade sem repetição
+ * e, se houver um intervalo de taxa definido, sorteia a taxa em escala logarítmica dentro dele.
+ * Um hiperparâmetro sem valores candidatos fica com o valor da configuração base.
+ */
+public class EspacoBusca {
+
+    private List<Integer> numOculta = Collections.emptyList();
+    private List<Double> taxasAprendizado = Collections.emptyList();
+    private List<FuncaoAtivacao> funcoesAtivacao = Collections.emptyList();
+    private List<Integer> tamanhosLote = Collections.emptyList();
+    private List<TipoOtimizador> otimizadores = Collections.emptyList();
+    private List<FuncaoPerda> funcoesPerda = Collections.emptyList();
+
+    // Intervalo da taxa na busca aleatória (taxaMinima <= 0 = usa a lista de taxas)
+    private double taxaMinima;
+    private double taxaMaxima;
+
+    public EspacoBusca setNumOculta(int... valores) {
+        List<Integer> lista = new ArrayList<>();
+        for (int v : valores) lista.add(v);
+        this.numOculta = lista;
+        return this;
+    }
+
+    public EspacoBusca setTaxasAprendizado(double... valores) {
+        List<Double> lista = new ArrayList<>();
+        for (double v : valores) lista.add(v);
+        this.taxasAprendizado = lista;
+        return this;
+    }
+
+    public EspacoBusca setFuncoesAtivacao(FuncaoAtivacao... valores) {
+        this.funcoesAtivacao = Arrays.asList(valores.clone());
+        return this;
+    }
+
+    public EspacoBusca setTamanhosLote(int... valores) {
+        List<Integer> lista = new ArrayList<>();
+        for (int v : valores) lista.add(v);
+        this.tamanhosLote = lista;
+        return this;
+    }
+
+    public EspacoBusca setOtimizadores(TipoOtimizador... valores) {
+        this.otimizadores = Arrays.asList(valores.clone());
+        return this;
+    }
+
+    public EspacoBusca setFuncoesPerda(FuncaoPerda... valores) {
+        this.funcoesPerda = Arrays.asList(valores.clone());
+        return this;
+    }
+
+    //Na busca aleatória, a taxa é sorteada entre 'minima' e 'maxima' (uniforme no logaritmo)
+    public EspacoBusca setIntervaloTaxa(double minima, double maxima) {
+        if (minima <= 0 || maxima > 1 || minima > maxima)
+            throw new IllegalArgumentException("O intervalo da taxa deve estar em (0, 1] com mínima <= máxima.");
+        this.taxaMinima = minima;
+        this.taxaMaxima = maxima;
+        return this;
+    }
+
+    //Número de pontos da grade
+    public long getTamanho() {
+        long tamanho = 1;
+        for (int n : dimensoes())
+            tamanho *= n;
+        return tamanho;
+    }
+
+    //Todas as combinações, cada uma uma cópia de 'base' com os valores do ponto
+    public List<ConfiguracaoTreinamento> grade(ConfiguracaoTreinamento base) {
+        long tamanho = getTamanho();
+        if (tamanho > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("A grade tem combinações demais; use a busca aleatória.");
+        List<ConfiguracaoTreinamento> pontos = new ArrayList<>((int) tamanho);
+        for (long i = 0; i < tamanho; i++)
+            pontos.add(ponto(base, i));
+        return pontos;
+    }
+
+    //'quantidade' pontos sorteados sem repetição (a grade toda, embaralhada, se ela for menor)
+    public List<ConfiguracaoTreinamento> aleatorias(ConfiguracaoTreinamento base, int quantidade, Random rand) {
+        if (quantidade <= 0)
+            throw new IllegalArgumentException("A quantidade de configurações deve ser maior que 0.");
+        long tamanho = getTamanho();
+        boolean taxaContinua = taxaMinima > 0;
+        List<ConfiguracaoTreinamento> pontos = new ArrayList<>(quantidade);
+
+        if (tamanho <= quantidade && !taxaContinua) {
+            pontos.addAll(grade(base));
+            Collections.shuffle(pontos, rand);
+            return pontos;
+        }
+        // Índices já sorteados; com taxa contínua um mesmo índice pode repetir
+        Set<Long> usados = new HashSet<>();
+        while (pontos.size() < quantidade) {
+            long indice = (long) (rand.nextDouble() * tamanho);
+            if (!taxaContinua && !usados.add(indice))
+                continue;
+            ConfiguracaoTreinamento configuracao = ponto(base, indice);
+            if (taxaContinua) {
+                double log = Math.log(taxaMinima) + rand.nextDouble() * (Math.log(taxaMaxima) - Math.log(taxaMinima));
+                configuracao.setTaxaAprendizado(Math.exp(log));
+            }
+            pontos.add(configuracao);
+        }
+        return pontos;
+    }
+
+    // Decodifica o índice da grade (base mista, uma casa por hiperparâmetro)
+    private ConfiguracaoTreinamento ponto(ConfiguracaoTreinamento base, long indice) {
+        ConfiguracaoTreinamento configuracao = base.copiar();
+        if (!numOculta.isEmpty()) {
+            configuracao.setNumOculta(numOculta.get((int) (indice % numOculta.size())));
+            indice /= numOculta.size();
+        }
+        if (!taxasAprendizado.isEmpty()) {
+            configuracao.setTaxaAprendizado(taxasAprendizado.get((int) (indice % taxasAprendizado.size())));
+            indice /= taxasAprendizado.size();
+        }
+        if (!funcoesAtivacao.isEmpty()) {
+            configuracao.setFuncaoAtivacao(funcoesAtivacao.get((int) (indice % funcoesAtivacao.size())));
+            indice /= funcoesAtivacao.size();
+        }
+        if (!tamanhosLote.isEmpty()) {
+            configuracao.setTamanhoLote(tamanhosLote.get((int) (indice % tamanhosLote.size())));
+            indice /= tamanhosLote.size();
+        }
+        if (!otimizadores.isEmpty()) {
+            configuracao.setOtimizador(otimizadores.get((int) (indice % otimizadores.size())));
+            indice /= otimizadores.size();
+        }
+        if (!funcoesPerda.isEmpty())
+            configuracao.setFuncaoPerda(funcoesPerda.get((int) (indice % funcoesPerda.size())));
+        return configuracao;
+    }
+
+    private int[] dimensoes() {
+        return new int[]{
+                Math.max(1, numOculta.size()), Math.max(1, taxasAprendizado.size()),
+                Math.max(1, funcoesAtivacao.size()), Math.max(1, tamanhosLote.size()),
+                Math.max(1, otimizadores.size()), Math.max(1, funcoesPerda.size())
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Enum que encapsula as Funções de Transferência (Ativação) e suas derivadas
+ * Cada função (Linear, Logística, Hiperbólica) é uma instância deste enum
+ * e implementa os métodos 'ativar' e 'derivada'.
+ * * As fórmulas são baseadas no documento do trabalho
+ * * As versões _RAPIDA trocam Math.exp/Math.tanh por uma tabela (TabelaLogistica),
+ *   com erro máximo (da função e da derivada) em getErroMaximo; são opcionais e nunca usadas por padrão.
+ */
+public enum FuncaoAtivacao {
+
+    /**
+     * Função Linear
+     * f(net) = net / 10
+     * f'(net) = 1 / 10
+     */
+    LINEAR {
+        @Override
+        public double ativar(double net) {
+            return net / 10.0;
+        }
+
+        @Override
+        public void ativar(double[] nets, double[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = nets[i] / 10.0;
+        }
+
+        @Override
+        public void ativar(float[] nets, float[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = nets[i] / 10.0f;
+        }
+
+        @Override
+        public double derivada(double saida) {
+            return 1.0 / 10.0;
+        }
+    },
+
+    /**
+     * Função Logística (Sigmoid)
+     * f(net) = 1 / (1 + e^(-net))
+     * f'(net) = f(net) * (1 - f(net))
+     */
+    LOGISTICA {
+        @Override
+        public double ativar(double net) {
+            return 1.0 / (1.0 + Math.exp(-net));
+        }
+
+        @Override
+        public void ativar(double[] nets, double[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = 1.0 / (1.0 + Math.exp(-nets[i]));
+        }
+
+        @Override
+        public void ativar(float[] nets, float[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = (float) (1.0 / (1.0 + Math.exp(-nets[i])));
+        }
+
+        @Override
+        public double derivada(double saida) {
+            return saida * (1.0 - saida);
+        }
+
+        @Override
+        public void derivada(double[] saidas, double[] derivadas, int n) {
+            for (int i = 0; i < n; i++)
+                derivadas[i] = saidas[i] * (1.0 - saidas[i]);
+        }
+    },
+
+    /**
+     * Função Tangente Hiperbólica (tanh)
+     * f(net) = (1 - e^(-2*net)) / (1 + e^(-2*net))  (Equivalente a Math.tanh(net))
+     * f'(net) = 1 - (f(net)^2)
+     */
+    HIPERBOLICA {
+        @Override
+        public double ativar(double net) {
+            return Math.tanh(net);
+        }
+
+        @Override
+        public void ativar(double[] nets, double[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = Math.tanh(nets[i]);
+        }
+
+        @Override
+        public void ativar(float[] nets, float[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = (float) Math.tanh(nets[i]);
+        }
+
+        @Override
+        public double derivada(double saida) {
+            return 1.0 - (saida * saida);
+        }
+
+        @Override
+        public void derivada(double[] saidas, double[] derivadas, int n) {
+            for (int i = 0; i < n; i++)
+                derivadas[i] = 1.0 - (saidas[i] * saidas[i]);
+        }
+    },
+
+    /**
+     * Logística aproximada por tabela (erro máximo 3e-6)
+     * f'(net) = f(net) * (1 - f(net)), como na exata
+     */
+    LOGISTICA_RAPIDA(TabelaLogistica.ERRO_MAXIMO_LOGISTICA) {
+        @Override
+        public double ativar(double net) {
+            return TabelaLogistica.logistica(net);
+        }
+
+        @Override
+        public void ativar(double[] nets, double[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = TabelaLogistica.logistica(nets[i]);
+        }
+
+        @Override
+        public void ativar(float[] nets, float[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = (float) TabelaLogistica.logistica(nets[i]);
+        }
+
+        @Override
+        public double derivada(double saida) {
+            return saida * (1.0 - saida);
+        }
+
+        @Override
+        public void derivada(double[] saidas, double[] derivadas, int n) {
+            for (int i = 0; i < n; i++)
+                derivadas[i] = saidas[i] * (1.0 - saidas[i]);
+        }
+    },
+
+    /**
+     * Tangente hiperbólica aproximada pela mesma tabela: 2 * logistica(2 * net) - 1 (erro máximo 6e-6;
+     * 1.2e-5 na derivada, que é o valor de getErroMaximo)
+     * f'(net) = 1 - (f(net)^2), como na exata
+     */
+    HIPERBOLICA_RAPIDA(TabelaLogistica.ERRO_MAXIMO_HIPERBOLICA) {
+        @Override
+        public double ativar(double net) {
+            return TabelaLogistica.hiperbolica(net);
+        }
+
+        @Override
+        public void ativar(double[] nets, double[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = TabelaLogistica.hiperbolica(nets[i]);
+        }
+
+        @Override
+        public void ativar(float[] nets, float[] saidas, int n) {
+            for (int i = 0; i < n; i++)
+                saidas[i] = (float) TabelaLogistica.hiperbolica(nets[i]);
+        }
+
+        @Override
+        public double derivada(double saida) {
+            return 1.0 - (saida * saida);
+        }
+
+        @Override
+        public void derivada(double[] saidas, double[] derivadas, int n) {
+            for (int i = 0; i < n; i++)
+                derivadas[i] = 1.0 - (saidas[i] * saidas[i]);
+        }
+    };
+
+    // Maior diferença absoluta em relação à função exata (0 nas funções exatas)
+    private final double erroMaximo;
+
+    FuncaoAtivacao() {
+        this(0.0);
+    }
+
+    FuncaoAtivacao(double erroMaximo) {
+        this.erroMaximo = erroMaximo;
+    }
+
+    //Metodo abstrato para calcular a saida da função de ativação
+    public abstract double ativar(double net);
+
+    //Metodo abstrato para calcular a derivada da função de ativação
+    public abstract double derivada(double saida);
+
+    //Ativa os n primeiros valores de 'nets' em 'saidas' (pode ser o mesmo vetor) em um único laço
+    public void ativar(double[] nets, double[] saidas, int n) {
+        for (int i = 0; i < n; i++)
+            saidas[i] = ativar(nets[i]);
+    }
+
+    //Derivada (a partir das saídas) dos n primeiros valores, em um único laço
+    public void derivada(double[] saidas, double[] derivadas, int n) {
+        for (int i = 0; i < n; i++)
+            derivadas[i] = derivada(saidas[i]);
+    }
+
+    //Versões em float (Precisao.SIMPLES); a função é calculada em double e arredondada para float
+    //(cada constante sobrescreve a ativação com o seu próprio laço)
+    public void ativar(float[] nets, float[] saidas, int n) {
+        for (int i = 0; i < n; i++)
+            saidas[i] = (float) ativar(nets[i]);
+    }
+
+    public void derivada(float[] saidas, float[] derivadas, int n) {
+        for (int i = 0; i < n; i++)
+            derivadas[i] = (float) derivada(saidas[i]);
+    }
+
+    public double getErroMaximo() {
+        return erroMaximo;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+// Função de perda minimizada pelo treinamento (define também a ativação da camada de saída)
+public enum FuncaoPerda {
+    // Erro quadrático 0.5 * Σ(alvo - saída)², com a FuncaoAtivacao também na camada de saída (padrão)
+    ERRO_QUADRATICO,
+    // Entropia cruzada -log(p[classe]) com softmax na camada de saída; o gradiente fundido é alvo - p
+    ENTROPIA_CRUZADA
+}
@@ -0,0 +1,35 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Representa um unico neuronio na rede
+ * É apenas uma visão leve sobre a linha correspondente da matriz de pesos
+ * da Camada; os pesos, a saida e o gradiente (delta) ficam nos vetores da camada
+ */
+public class Neuronio {
+
+    private final Camada camada;
+    private final int indice; // Linha deste neurônio na matriz de pesos da camada
+
+    public Neuronio(Camada camada, int indice) {
+        this.camada = camada;
+        this.indice = indice;
+    }
+
+    public double getSaida() {
+        return camada.getSaidas()[indice];
+    }
+
+    public double getGradiente() {
+        return camada.getGradientes()[indice];
+    }
+
+    //Retorna o peso de índice informado (o índice 0 é o peso do bias)
+    public double getPeso(int indicePeso) {
+        return camada.getPesos()[indice * camada.getLargura() + indicePeso];
+    }
+
+    //Quantidade de pesos do neurônio (entradas + bias)
+    public int getNumeroDePesos() {
+        return camada.getLargura();
+    }
+}
@@ -0,0 +1,108 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizadosSimples;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Normalização min-max presa aos mínimos e máximos do conjunto de TREINO.
+ * Fórmula: (Valor - Min) / (Max - Min), com 0.0 quando Max == Min.
+ * A mesma instância é usada para pré-normalizar conjuntos inteiros (uma vez por conjunto)
+ * e para normalizar entradas avulsas na hora da inferência.
+ */
+public class Normalizador implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] minimos;
+    private final double[] maximos;
+    private final double[] escalas; // 1 / (Max - Min), ou 0.0 quando a coluna é constante
+
+    public Normalizador(double[] minimos, double[] maximos) {
+        this.minimos = minimos.clone();
+        this.maximos = maximos.clone();
+        this.escalas = new double[minimos.length];
+
+        for (int i = 0; i < minimos.length; i++) {
+            double denominador = maximos[i] - minimos[i];
+            // Se max == min (ou seja, todos os valores da coluna são iguais)
+            // a escala fica 0.0 para evitar a divisão por zero (NaN)
+            escalas[i] = (denominador == 0) ? 0.0 : 1.0 / denominador;
+        }
+    }
+
+    // Cria o normalizador a partir dos min/max calculados no conjunto de treino
+    public Normalizador(ConjuntoDados dadosTreino) {
+        this(paraVetor(dadosTreino.getMinimos()), paraVetor(dadosTreino.getMaximos()));
+    }
+
+    // Normaliza entradas[de ...] em destino[para ...] sem alocar (pode ser o mesmo vetor)
+    public void aplicar(double[] entradas, int de, double[] destino, int para) {
+        for (int i = 0; i < minimos.length; i++) {
+            destino[para + i] = (entradas[de + i] - minimos[i]) * escalas[i];
+        }
+    }
+
+    public double[] aplicar(double[] entradas) {
+        double[] normalizadas = new double[minimos.length];
+        aplicar(entradas, 0, normalizadas, 0);
+        return normalizadas;
+    }
+
+    // Normaliza o conjunto inteiro de uma só vez, coluna por coluna
+    public DadosNormalizados normalizar(ConjuntoDados dados) {
+        int numLinhas = dados.getNumeroDeInstancias();
+        int numAtributos = dados.getNumeroDeAtributos();
+        double[] valores = new double[numLinhas * numAtributos];
+
+        for (int a = 0; a < numAtributos; a++) {
+            double[] coluna = dados.getColuna(a);
+            double min = minimos[a];
+            double escala = escalas[a];
+            for (int linha = 0; linha < numLinhas; linha++) {
+                valores[linha * numAtributos + a] = (coluna[linha] - min) * escala;
+            }
+        }
+        return new DadosNormalizados(dados, valores);
+    }
+
+    // Igual a normalizar, mas guarda a matriz em float (metade da memória)
+    public DadosNormalizadosSimples normalizarSimples(ConjuntoDados dados) {
+        int numLinhas = dados.getNumeroDeInstancias();
+        int numAtributos = dados.getNumeroDeAtributos();
+        float[] valores = new float[numLinhas * numAtributos];
+
+        for (int a = 0; a < numAtributos; a++) {
+            double[] coluna = dados.getColuna(a);
+            double min = minimos[a];
+            double escala = escalas[a];
+            for (int linha = 0; linha < numLinhas; linha++) {
+                valores[linha * numAtributos + a] = (float) ((coluna[linha] - min) * escala);
+            }
+        }
+        return new DadosNormalizadosSimples(dados, valores);
+    }
+
+    public int getNumeroDeAtributos() {
+        return minimos.length;
+    }
+
+    public double[] getMinimos() {
+        return minimos.clone();
+    }
+
+    public double[] getMaximos() {
+        return maximos.clone();
+    }
+
+    private static double[] paraVetor(List<Double> valores) {
+        double[] vetor = new double[valores.size()];
+        for (int i = 0; i < vetor.length; i++) {
+            vetor[i] = valores.get(i);
+        }
+        return vetor;
+    }
+}
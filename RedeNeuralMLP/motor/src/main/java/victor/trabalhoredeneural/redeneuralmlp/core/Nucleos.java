@@ -0,0 +1,120 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Camada de núcleos numéricos usados nos laços internos da rede (produto escalar e AXPY).
+ * Existem duas implementações: a escalar (sempre disponível) e a vetorial, que usa a
+ * Vector API (jdk.incubator.vector) e só existe quando o projeto é compilado com o
+ * perfil "simd" e executado com --add-modules jdk.incubator.vector.
+ *
+ * A implementação inicial é escolhida pela propriedade de sistema "redeneural.simd"
+ * (padrão true) e pode ser trocada em tempo de execução com setSimdAtivo.
+ */
+public abstract class Nucleos {
+
+    private static final String CLASSE_VETORIAL = "victor.trabalhoredeneural.redeneuralmlp.core.NucleosVetoriais";
+
+    private static final Nucleos ESCALAR = new NucleosEscalares();
+    private static final Nucleos VETORIAL = carregarVetorial();
+
+    private static volatile Nucleos atual =
+            (VETORIAL != null && Boolean.parseBoolean(System.getProperty("redeneural.simd", "true"))) ? VETORIAL : ESCALAR;
+
+    Nucleos() {
+    }
+
+    //Retorna a implementação em uso
+    public static Nucleos atual() {
+        return atual;
+    }
+
+    //Liga ou desliga a implementação vetorial (sem efeito se ela não estiver disponível)
+    //Retorna o nome da implementação que ficou em uso, para quem chamou exibir
+    public static String setSimdAtivo(boolean ativo) {
+        Nucleos escolhido = (ativo && VETORIAL != null) ? VETORIAL : ESCALAR;
+        atual = escolhido;
+        return escolhido.getNome();
+    }
+
+    public static boolean isSimdDisponivel() {
+        return VETORIAL != null;
+    }
+
+    //Calcula Σ a[offA + i] * b[offB + i] para i em [0, n)
+    public abstract double produtoEscalar(double[] a, int offA, double[] b, int offB, int n);
+
+    //Calcula y[offY + i] += alfa * x[offX + i] para i em [0, n)
+    public abstract void axpy(double alfa, double[] x, int offX, double[] y, int offY, int n);
+
+    //Versões em float (Precisao.SIMPLES): mesma semântica, metade da largura de cada elemento
+    public abstract float produtoEscalar(float[] a, int offA, float[] b, int offB, int n);
+
+    //Produto escalar de vetores float com a soma feita em double (Precisao.SIMPLES_ACUMULADOR_DUPLO)
+    public abstract double produtoEscalarDuplo(float[] a, int offA, float[] b, int offB, int n);
+
+    public abstract void axpy(float alfa, float[] x, int offX, float[] y, int offY, int n);
+
+    public abstract String getNome();
+
+    // Tenta carregar a implementação vetorial; retorna null se a classe não foi compilada
+    // ou se o módulo jdk.incubator.vector não estiver presente nesta JVM
+    private static Nucleos carregarVetorial() {
+        try {
+            ModuleLayer.boot().findModule("jdk.incubator.vector")
+                    .ifPresent(modulo -> Nucleos.class.getModule().addReads(modulo));
+            Class<?> classe = Class.forName(CLASSE_VETORIAL);
+            return (Nucleos) classe.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    // Implementação escalar, usada como alternativa quando a Vector API não está disponível
+    private static final class NucleosEscalares extends Nucleos {
+
+        @Override
+        public double produtoEscalar(double[] a, int offA, double[] b, int offB, int n) {
+            double soma = 0.0;
+            for (int i = 0; i < n; i++) {
+                soma += a[offA + i] * b[offB + i];
+            }
+            return soma;
+        }
+
+        @Override
+        public void axpy(double alfa, double[] x, int offX, double[] y, int offY, int n) {
+            for (int i = 0; i < n; i++) {
+                y[offY + i] += alfa * x[offX + i];
+            }
+        }
+
+        @Override
+        public float produtoEscalar(float[] a, int offA, float[] b, int offB, int n) {
+            float soma = 0.0f;
+            for (int i = 0; i < n; i++) {
+                soma += a[offA + i] * b[offB + i];
+            }
+            return soma;
+        }
+
+        @Override
+        public double produtoEscalarDuplo(float[] a, int offA, float[] b, int offB, int n) {
+            double soma = 0.0;
+            for (int i = 0; i < n; i++) {
+                soma += (double) a[offA + i] * b[offB + i];
+            }
+            return soma;
+        }
+
+        @Override
+        public void axpy(float alfa, float[] x, int offX, float[] y, int offY, int n) {
+            for (int i = 0; i < n; i++) {
+                y[offY + i] += alfa * x[offX + i];
+            }
+        }
+
+        @Override
+        public String getNome() {
+            return "escalar";
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Núcleos de multiplicação de matrizes usados no treinamento em mini-lote.
+ * Todas as matrizes são vetores primitivos em ordem row-major, e as matrizes de
+ * pesos seguem o layout da Camada (coluna 0 = bias, colunas 1..n = entradas).
+ * Os laços são divididos em blocos para que os pedaços das duas matrizes
+ * envolvidas continuem no cache enquanto são reutilizados; o laço mais interno
+ * de cada bloco é delegado aos Nucleos (escalares ou vetoriais).
+ * Cada núcleo tem uma versão em float, usada pela RedeNeuralSimples.
+ */
+public final class OperacoesMatriz {
+
+    // Tamanho do bloco (em elementos). 64 x 64 doubles = 32 KB, cabe no cache L1/L2 (16 KB em float)
+    static final int BLOCO = 64;
+
+    private OperacoesMatriz() {
+    }
+
+    /**
+     * Calcula saida = entradas × pesosᵀ + bias
+     * entradas: [linhas x colunas], pesos: [numNeuronios x (colunas + 1)], saida: [linhas x numNeuronios]
+     */
+    public static void produtoComTransposta(double[] entradas, int linhas, int colunas,
+                                            double[] pesos, int numNeuronios, double[] saida) {
+        int largura = colunas + 1;
+        Nucleos nucleos = Nucleos.atual();
+
+        // Começa cada net com o peso do bias do neurônio
+        for (int b = 0; b < linhas; b++) {
+            int linhaSaida = b * numNeuronios;
+            for (int n = 0; n < numNeuronios; n++) {
+                saida[linhaSaida + n] = pesos[n * largura];
+            }
+        }
+
+        for (int i0 = 0; i0 < colunas; i0 += BLOCO) {
+            int iMax = Math.min(i0 + BLOCO, colunas);
+            for (int b0 = 0; b0 < linhas; b0 += BLOCO) {
+                int bMax = Math.min(b0 + BLOCO, linhas);
+                for (int n0 = 0; n0 < numNeuronios; n0 += BLOCO) {
+                    int nMax = Math.min(n0 + BLOCO, numNeuronios);
+
+                    for (int b = b0; b < bMax; b++) {
+                        int linhaEntrada = b * colunas;
+                        int linhaSaida = b * numNeuronios;
+                        for (int n = n0; n < nMax; n++) {
+                            int linhaPesos = n * largura + 1;
+                            saida[linhaSaida + n] += nucleos.produtoEscalar(
+                                    entradas, linhaEntrada + i0, pesos, linhaPesos + i0, iMax - i0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Propaga os deltas da camada seguinte para trás: saida = deltas × pesos (sem a coluna do bias)
+     * deltas: [linhas x numSeguinte], pesos: [numSeguinte x (numNeuronios + 1)], saida: [linhas x numNeuronios]
+     */
+    public static void produtoPropagacao(double[] deltas, int linhas, int numSeguinte,
+                                         double[] pesos, int numNeuronios, double[] saida) {
+        int largura = numNeuronios + 1;
+        Nucleos nucleos = Nucleos.atual();
+
+        for (int i = 0; i < linhas * numNeuronios; i++) {
+            saida[i] = 0.0;
+        }
+
+        for (int k0 = 0; k0 < numSeguinte; k0 += BLOCO) {
+            int kMax = Math.min(k0 + BLOCO, numSeguinte);
+            for (int h0 = 0; h0 < numNeuronios; h0 += BLOCO) {
+                int hMax = Math.min(h0 + BLOCO, numNeuronios);
+                for (int b = 0; b < linhas; b++) {
+                    int linhaDeltas = b * numSeguinte;
+                    int linhaSaida = b * numNeuronios;
+                    for (int k = k0; k < kMax; k++) {
+                        nucleos.axpy(deltas[linhaDeltas + k], pesos, k * largura + 1 + h0,
+                                saida, linhaSaida + h0, hMax - h0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Acumula o gradiente dos pesos: gradiente += deltasᵀ × [1 | entradas]
+     * deltas: [linhas x numNeuronios], entradas: [linhas x colunas], gradiente: [numNeuronios x (colunas + 1)]
+     */
+    public static void acumularGradientePesos(double[] deltas, double[] entradas, int linhas,
+                                              int numNeuronios, int colunas, double[] gradiente) {
+        int largura = colunas + 1;
+        Nucleos nucleos = Nucleos.atual();
+
+        for (int n0 = 0; n0 < numNeuronios; n0 += BLOCO) {
+            int nMax = Math.min(n0 + BLOCO, numNeuronios);
+            for (int i0 = 0; i0 < colunas; i0 += BLOCO) {
+                int iMax = Math.min(i0 + BLOCO, colunas);
+                boolean primeiroBloco = (i0 == 0);
+                for (int b = 0; b < linhas; b++) {
+                    int linhaDeltas = b * numNeuronios;
+                    int linhaEntrada = b * colunas;
+                    for (int n = n0; n < nMax; n++) {
+                        double g = deltas[linhaDeltas + n];
+                        int linhaGradiente = n * largura;
+                        if (primeiroBloco) {
+                            gradiente[linhaGradiente] += g; // Entrada do bias é 1.0
+                        }
+                        nucleos.axpy(g, entradas, linhaEntrada + i0, gradiente, linhaGradiente + 1 + i0, iMax - i0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Versão float de produtoComTransposta; com acumuladorDuplo, cada bloco do produto escalar é somado em double
+     * entradas: [linhas x colunas], pesos: [numNeuronios x (colunas + 1)], saida: [linhas x numNeuronios]
+     */
+    public static void produtoComTransposta(float[] entradas, int linhas, int colunas,
+                                            float[] pesos, int numNeuronios, float[] saida, boolean acumuladorDuplo) {
+        int largura = colunas + 1;
+        Nucleos nucleos = Nucleos.atual();
+
+        // Começa cada net com o peso do bias do neurônio
+        for (int b = 0; b < linhas; b++) {
+            int linhaSaida = b * numNeuronios;
+            for (int n = 0; n < numNeuronios; n++) {
+                saida[linhaSaida + n] = pesos[n * largura];
+            }
+        }
+
+        for (int i0 = 0; i0 < colunas; i0 += BLOCO) {
+            int iMax = Math.min(i0 + BLOCO, colunas);
+            for (int b0 = 0; b0 < linhas; b0 += BLOCO) {
+                int bMax = Math.min(b0 + BLOCO, linhas);
+                for (int n0 = 0; n0 < numNeuronios; n0 += BLOCO) {
+                    int nMax = Math.min(n0 + BLOCO, numNeuronios);
+
+                    for (int b = b0; b < bMax; b++) {
+                        int linhaEntrada = b * colunas;
+                        int linhaSaida = b * numNeuronios;
+                        for (int n = n0; n < nMax; n++) {
+                            int linhaPesos = n * largura + 1;
+                            saida[linhaSaida + n] += acumuladorDuplo
+                                    ? (float) nucleos.produtoEscalarDuplo(entradas, linhaEntrada + i0, pesos, linhaPesos + i0, iMax - i0)
+                                    : nucleos.produtoEscalar(entradas, linhaEntrada + i0, pesos, linhaPesos + i0, iMax - i0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Versão float de produtoPropagacao
+     * deltas: [linhas x numSeguinte], pesos: [numSeguinte x (numNeuronios + 1)], saida: [linhas x numNeuronios]
+     */
+    public static void produtoPropagacao(float[] deltas, int linhas, int numSeguinte,
+                                         float[] pesos, int numNeuronios, float[] saida) {
+        int largura = numNeuronios + 1;
+        Nucleos nucleos = Nucleos.atual();
+
+        for (int i = 0; i < linhas * numNeuronios; i++) {
+            saida[i] = 0.0f;
+        }
+
+        for (int k0 = 0; k0 < numSeguinte; k0 += BLOCO) {
+            int kMax = Math.min(k0 + BLOCO, numSeguinte);
+            for (int h0 = 0; h0 < numNeuronios; h0 += BLOCO) {
+                int hMax = Math.min(h0 + BLOCO, numNeuronios);
+                for (int b = 0; b < linhas; b++) {
+                    int linhaDeltas = b * numSeguinte;
+                    int linhaSaida = b * numNeuronios;
+                    for (int k = k0; k < kMax; k++) {
+                        nucleos.axpy(deltas[linhaDeltas + k], pesos, k * largura + 1 + h0,
+                                saida, linhaSaida + h0, hMax - h0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Versão float de acumularGradientePesos
+     * deltas: [linhas x numNeuronios], entradas: [linhas x colunas], gradiente: [numNeuronios x (colunas + 1)]
+     */
+    public static void acumularGradientePesos(float[] deltas, float[] entradas, int linhas,
+                                              int numNeuronios, int colunas, float[] gradiente) {
+        int largura = colunas + 1;
+        Nucleos nucleos = Nucleos.atual();
+
+        for (int n0 = 0; n0 < numNeuronios; n0 += BLOCO) {
+            int nMax = Math.min(n0 + BLOCO, numNeuronios);
+            for (int i0 = 0; i0 < colunas; i0 += BLOCO) {
+                int iMax = Math.min(i0 + BLOCO, colunas);
+                boolean primeiroBloco = (i0 == 0);
+                for (int b = 0; b < linhas; b++) {
+                    int linhaDeltas = b * numNeuronios;
+                    int linhaEntrada = b * colunas;
+                    for (int n = n0; n < nMax; n++) {
+                        float g = deltas[linhaDeltas + n];
+                        int linhaGradiente = n * largura;
+                        if (primeiroBloco) {
+                            gradiente[linhaGradiente] += g; // Entrada do bias é 1.0
+                        }
+                        nucleos.axpy(g, entradas, linhaEntrada + i0, gradiente, linhaGradiente + 1 + i0, iMax - i0);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Aplica os gradientes de um lote nos pesos de uma camada.
+ * Cada camada tem o seu próprio otimizador, e o estado de cada peso (velocidade,
+ * médias móveis) fica em vetores primitivos no mesmo layout da matriz de pesos.
+ * O gradiente segue a convenção da Camada: já é a direção de descida (peso += taxa * gradiente)
+ * e chega somado no lote; a média é feita aqui, dividindo pelo tamanho do lote.
+ */
+public abstract class Otimizador {
+
+    // Constantes das médias móveis (valores usuais da literatura)
+    static final double DECAIMENTO_RMSPROP = 0.9;
+    static final double BETA1_ADAM = 0.9;
+    static final double BETA2_ADAM = 0.999;
+    static final double EPSILON = 1e-8;
+
+    private final TipoOtimizador tipo;
+
+    Otimizador(TipoOtimizador tipo) {
+        this.tipo = tipo;
+    }
+
+    //Cria um otimizador (com estado zerado) para uma matriz de 'numPesos' pesos
+    //'momento' é usado pelo MOMENTUM e pelo NESTEROV
+    public static Otimizador criar(TipoOtimizador tipo, int numPesos, double momento) {
+        switch (tipo) {
+            case MOMENTUM: return new Momentum(numPesos, momento, false);
+            case NESTEROV: return new Momentum(numPesos, momento, true);
+            case RMSPROP: return new RmsProp(numPesos);
+            case ADAM: return new Adam(numPesos);
+            default: return new Sgd();
+        }
+    }
+
+    //Atualiza 'pesos' com a soma dos gradientes de 'tamanhoLote' instâncias
+    public void aplicar(double[] pesos, double[] somaGradientes, int tamanhoLote, double taxa) {
+        iniciarPasso();
+        aplicarFaixa(pesos, somaGradientes, 0, pesos.length, tamanhoLote, taxa);
+    }
+
+    //Começa um passo de atualização; depois, cada faixa dos pesos recebe aplicarFaixa uma vez
+    //(o Adam conta os passos para a correção de viés)
+    void iniciarPasso() {
+    }
+
+    //Atualiza só pesos[de, ate) no passo atual. Faixas disjuntas podem ser atualizadas por threads diferentes
+    abstract void aplicarFaixa(double[] pesos, double[] somaGradientes, int de, int ate, int tamanhoLote, double taxa);
+
+    public TipoOtimizador getTipo() {
+        return tipo;
+    }
+
+    // peso += (taxa / tamanhoLote) * somaGradientes
+    private static final class Sgd extends Otimizador {
+        Sgd() {
+            super(TipoOtimizador.SGD);
+        }
+
+        @Override
+        void aplicarFaixa(double[] pesos, double[] somaGradientes, int de, int ate, int tamanhoLote, double taxa) {
+            Nucleos.atual().axpy(taxa / tamanhoLote, somaGradientes, de, pesos, de, ate - de);
+        }
+    }
+
+    // v = momento * v + g; peso += taxa * v (Nesterov: peso += taxa * (momento * v + g))
+    private static final class Momentum extends Otimizador {
+        private final double[] velocidade;
+        private final double momento;
+        private final boolean nesterov;
+
+        Momentum(int numPesos, double momento, boolean nesterov) {
+            super(nesterov ? TipoOtimizador.NESTEROV : TipoOtimizador.MOMENTUM);
+            this.velocidade = new double[numPesos];
+            this.momento = momento;
+            this.nesterov = nesterov;
+        }
+
+        @Override
+        void aplicarFaixa(double[] pesos, double[] somaGradientes, int de, int ate, int tamanhoLote, double taxa) {
+            double escala = 1.0 / tamanhoLote;
+            for (int i = de; i < ate; i++) {
+                double g = somaGradientes[i] * escala;
+                double v = momento * velocidade[i] + g;
+                velocidade[i] = v;
+                pesos[i] += taxa * (nesterov ? momento * v + g : v);
+            }
+        }
+    }
+
+    // s = p * s + (1 - p) * g²; peso += taxa * g / (sqrt(s) + epsilon)
+    private static final class RmsProp extends Otimizador {
+        private final double[] mediaQuadrados;
+
+        RmsProp(int numPesos) {
+            super(TipoOtimizador.RMSPROP);
+            this.mediaQuadrados = new double[numPesos];
+        }
+
+        @Override
+        void aplicarFaixa(double[] pesos, double[] somaGradientes, int de, int ate, int tamanhoLote, double taxa) {
+            double escala = 1.0 / tamanhoLote;
+            for (int i = de; i < ate; i++) {
+                double g = somaGradientes[i] * escala;
+                double s = DECAIMENTO_RMSPROP * mediaQuadrados[i] + (1.0 - DECAIMENTO_RMSPROP) * g * g;
+                mediaQuadrados[i] = s;
+                pesos[i] += taxa * g / (Math.sqrt(s) + EPSILON);
+            }
+        }
+    }
+
+    // m e v: médias móveis de g e g², com correção de viés pelo número de passos
+    private static final class Adam extends Otimizador {
+        private final double[] media;
+        private final double[] mediaQuadrados;
+        private long passos;
+
+        Adam(int numPesos) {
+            super(TipoOtimizador.ADAM);
+            this.media = new double[numPesos];
+            this.mediaQuadrados = new double[numPesos];
+        }
+
+        @Override
+        void iniciarPasso() {
+            passos++;
+        }
+
+        @Override
+        void aplicarFaixa(double[] pesos, double[] somaGradientes, int de, int ate, int tamanhoLote, double taxa) {
+            double escala = 1.0 / tamanhoLote;
+            // Correção de viés aplicada direto no passo: taxa * sqrt(1 - b2^t) / (1 - b1^t)
+            double passo = taxa * Math.sqrt(1.0 - Math.pow(BETA2_ADAM, passos)) / (1.0 - Math.pow(BETA1_ADAM, passos));
+            for (int i = de; i < ate; i++) {
+                double g = somaGradientes[i] * escala;
+                double m = BETA1_ADAM * media[i] + (1.0 - BETA1_ADAM) * g;
+                double v = BETA2_ADAM * mediaQuadrados[i] + (1.0 - BETA2_ADAM) * g * g;
+                media[i] = m;
+                mediaQuadrados[i] = v;
+                pesos[i] += passo * m / (Math.sqrt(v) + EPSILON);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Recebe o andamento do ServicoTreinamento (ex: a janela de treinamento ou o log da linha de comando).
+ * Os métodos são chamados na thread de treinamento, então devem retornar rápido.
+ */
+public interface OuvinteTreinamento {
+
+    //Chamado ao final de cada época com o erro médio da época
+    void epocaConcluida(int epoca, double erroEpoca);
+
+    //Chamado depois que a política de platô respondeu
+    default void platoDetectado(int epoca, double desvioPadrao, AcaoPlato acao) {
+    }
+}
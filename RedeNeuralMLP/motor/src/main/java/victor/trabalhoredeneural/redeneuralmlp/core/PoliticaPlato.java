@@ -0,0 +1,18 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Decide o que fazer quando o ServicoTreinamento detecta um platô.
+ * Na interface gráfica a decisão é do usuário; em execuções sem tela
+ * usa-se uma política fixa (ex: sempre reduzir a taxa).
+ */
+@FunctionalInterface
+public interface PoliticaPlato {
+
+    //Chamado pela thread de treinamento, que fica parada até a resposta
+    AcaoPlato decidir(int epoca, double erroEpoca, double desvioPadrao) throws InterruptedException;
+
+    //Política que responde sempre a mesma ação
+    static PoliticaPlato fixa(AcaoPlato acao) {
+        return (epoca, erroEpoca, desvioPadrao) -> acao;
+    }
+}
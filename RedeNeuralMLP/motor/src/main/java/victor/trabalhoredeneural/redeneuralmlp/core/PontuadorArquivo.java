@@ -0,0 +1,374 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+import victor.trabalhoredeneural.redeneuralmlp.util.LeitorCSV;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Pontuação em lote de um arquivo CSV (com ou sem a coluna de classe) por uma rede treinada, com memória limitada.
+ * A thread que chama lê o arquivo em blocos de bytes terminados em quebra de linha; cada bloco vai para uma
+ * thread do pool, que o converte, normaliza, passa pela rede em lotes e formata as linhas de saída
+ * (classe prevista, pontuação de cada classe e, opcionalmente, as probabilidades). Os blocos prontos são
+ * gravados na ordem em que foram lidos, por um FileChannel, então a saída tem a mesma ordem da entrada.
+ * Há um número fixo de blocos reaproveitados (BLOCOS_POR_THREAD por thread): a memória não depende do
+ * tamanho do arquivo, e a leitura espera quando todos estão em uso.
+ * Uma linha mal formada (ou com valor inválido) vira uma linha de saída com todos os campos vazios, então a
+ * linha i da saída é sempre a linha i da entrada; só as linhas em branco não geram saída.
+ */
+public class PontuadorArquivo {
+
+    // Bytes do arquivo de entrada em cada bloco (cresce só se uma linha não couber)
+    private static final int TAMANHO_BLOCO = 256 * 1024;
+    // Blocos em circulação por thread: um sendo pontuado e outro lido ou gravado
+    private static final int BLOCOS_POR_THREAD = 2;
+    // Linhas passadas de uma vez pela rede
+    private static final int LINHAS_POR_LOTE = 256;
+    // Casas decimais das pontuações gravadas
+    private static final int CASAS_DECIMAIS = 6;
+    private static final double ESCALA_DECIMAIS = 1e6;
+    // Maior valor gravado: sinal, 19 dígitos, o ponto e as casas (ou Double.toString, com até 24)
+    private static final int BYTES_POR_VALOR = 28;
+
+    private final RedeNeural rede;
+    private final int numThreads;
+    private final boolean probabilidades;
+    private final int tamanhoBloco;
+    private final int numAtributos;
+    private final int numSaidas;
+    private final byte[][] nomesClasses;
+
+    public PontuadorArquivo(RedeNeural rede, int numThreads, boolean probabilidades) {
+        this(rede, numThreads, probabilidades, TAMANHO_BLOCO);
+    }
+
+    // Com o tamanho de bloco escolhido (os testes usam blocos minúsculos para ter muitas fronteiras)
+    PontuadorArquivo(RedeNeural rede, int numThreads, boolean probabilidades, int tamanhoBloco) {
+        if (numThreads <= 0)
+            throw new IllegalArgumentException("O número de threads deve ser maior que 0.");
+        if (tamanhoBloco <= 0)
+            throw new IllegalArgumentException("O tamanho do bloco deve ser maior que 0.");
+        this.rede = rede;
+        this.numThreads = numThreads;
+        this.probabilidades = probabilidades;
+        this.tamanhoBloco = tamanhoBloco;
+        this.numAtributos = rede.getCamadaOculta().getNumEntradas();
+        this.numSaidas = rede.getCamadaSaida().getNumNeuronios();
+        this.nomesClasses = new byte[numSaidas][];
+        for (int c = 0; c < numSaidas; c++)
+            nomesClasses[c] = rede.getNomeClasse(c).getBytes(StandardCharsets.UTF_8);
+    }
+
+    //Pontua cada linha de 'entrada' e grava o resultado em 'saida' (sobrescrita). Se o arquivo tiver a coluna
+    //de classe e 'avaliacao' não for null (com as classes da rede), as predições também são somadas nela;
+    //classes que a rede não conhece contam como erro. Retorna o número de linhas pontuadas (sem as rejeitadas)
+    public long pontuar(File entrada, File saida, AcumuladorAvaliacao avaliacao) throws IOException, InterruptedException {
+        if (avaliacao != null && !avaliacao.getClasses().equals(rede.getNomesClasses()))
+            throw new IllegalArgumentException("A avaliação deve ter as mesmas classes da rede.");
+
+        try (FileChannel leitura = FileChannel.open(entrada.toPath(), StandardOpenOption.READ);
+             FileChannel escrita = FileChannel.open(saida.toPath(), StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long inicioDados = LeitorCSV.inicioDosDados(leitura);
+            int numColunas = LeitorCSV.contarColunas(leitura, inicioDados);
+            if (numColunas != numAtributos && numColunas != numAtributos + 1)
+                throw new IOException("O arquivo tem " + numColunas + " colunas; a rede espera " + numAtributos
+                        + " atributos, seguidos ou não da classe.");
+            boolean comClasse = numColunas == numAtributos + 1;
+            gravar(escrita, ByteBuffer.wrap(cabecalho(comClasse).getBytes(StandardCharsets.UTF_8)));
+
+            LeitorBlocos leitor = new LeitorBlocos(leitura, inicioDados, tamanhoBloco);
+            List<Bloco> blocos = new ArrayList<>();
+            ArrayDeque<Bloco> livres = new ArrayDeque<>();
+            for (int i = 0; i < BLOCOS_POR_THREAD * numThreads; i++) {
+                Bloco bloco = new Bloco(comClasse, avaliacao != null ? new AcumuladorAvaliacao(
+                        avaliacao.getClasses(), avaliacao.getTopK()) : null);
+                blocos.add(bloco);
+                livres.add(bloco);
+            }
+
+            // Futuros na ordem de leitura: o primeiro é sempre o próximo a ser gravado
+            ArrayDeque<Future<Bloco>> pendentes = new ArrayDeque<>();
+            ForkJoinPool pool = new ForkJoinPool(numThreads);
+            long linhas = 0;
+            try {
+                while (true) {
+                    if (livres.isEmpty()) {
+                        Bloco pronto = obter(pendentes.poll());
+                        linhas += pronto.gravar(escrita);
+                        livres.add(pronto);
+                    }
+                    Bloco bloco = livres.poll();
+                    if (!leitor.encher(bloco)) break;
+                    pendentes.add(pool.submit((Callable<Bloco>) bloco::processar));
+                }
+                while (!pendentes.isEmpty())
+                    linhas += obter(pendentes.poll()).gravar(escrita);
+            } finally {
+                pool.shutdownNow();
+            }
+
+            if (avaliacao != null && comClasse)
+                for (Bloco bloco : blocos)
+                    avaliacao.combinar(bloco.avaliacao);
+            return linhas;
+        }
+    }
+
+    // classe_prevista, pontuacao_<classe>..., probabilidade_<classe>... e, se a entrada tiver, a classe real
+    private String cabecalho(boolean comClasse) {
+        StringBuilder sb = new StringBuilder("classe_prevista");
+        for (String classe : rede.getNomesClasses())
+            sb.append(",pontuacao_").append(classe);
+        if (probabilidades)
+            for (String classe : rede.getNomesClasses())
+                sb.append(",probabilidade_").append(classe);
+        if (comClasse)
+            sb.append(",classe");
+        return sb.append('\n').toString();
+    }
+
+    private static void gravar(FileChannel canal, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining())
+            canal.write(bytes);
+    }
+
+    private static Bloco obter(Future<Bloco> futuro) throws IOException, InterruptedException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // Lê o arquivo em blocos que terminam em quebra de linha; o pedaço da última linha incompleta
+    // fica guardado e abre o próximo bloco
+    private static final class LeitorBlocos {
+
+        private final FileChannel canal;
+        private final long tamanho;
+        private final int tamanhoBloco;
+        private long posicao;
+        private ByteBuffer sobra = ByteBuffer.allocate(0);
+
+        LeitorBlocos(FileChannel canal, long inicio, int tamanhoBloco) throws IOException {
+            this.canal = canal;
+            this.tamanho = canal.size();
+            this.tamanhoBloco = tamanhoBloco;
+            this.posicao = inicio;
+        }
+
+        // Enche a entrada do bloco com as próximas linhas completas; retorna false no fim do arquivo
+        boolean encher(Bloco bloco) throws IOException {
+            ByteBuffer bytes = bloco.entrada;
+            bytes.clear();
+            sobra.flip();
+            if (sobra.remaining() > bytes.capacity())
+                bytes = ByteBuffer.allocate(sobra.remaining() * 2);
+            bytes.put(sobra);
+            sobra.clear();
+
+            while (true) {
+                while (posicao < tamanho && bytes.hasRemaining()) {
+                    int lidos = canal.read(bytes, posicao);
+                    if (lidos < 0) posicao = tamanho;
+                    else posicao += lidos;
+                }
+                if (posicao >= tamanho) {
+                    // Fim do arquivo: o bloco leva o que sobrou, mesmo sem quebra de linha no final
+                    bytes.flip();
+                    bloco.entrada = bytes;
+                    return bytes.hasRemaining();
+                }
+                int ultimaQuebra = bytes.position() - 1;
+                while (ultimaQuebra >= 0 && bytes.get(ultimaQuebra) != '\n') ultimaQuebra--;
+                if (ultimaQuebra < 0) {
+                    // Nenhuma linha completa no bloco: dobra o bloco e continua lendo
+                    ByteBuffer maior = ByteBuffer.allocate(bytes.capacity() * 2);
+                    bytes.flip();
+                    maior.put(bytes);
+                    bytes = maior;
+                    continue;
+                }
+                bytes.flip();
+                int resto = bytes.limit() - (ultimaQuebra + 1);
+                if (resto > sobra.capacity())
+                    sobra = ByteBuffer.allocate(Math.max(resto, tamanhoBloco));
+                bytes.position(ultimaQuebra + 1);
+                sobra.put(bytes);
+                bytes.position(0);
+                bytes.limit(ultimaQuebra + 1);
+                bloco.entrada = bytes;
+                return true;
+            }
+        }
+    }
+
+    // Um bloco do arquivo e tudo o que uma thread precisa para pontuá-lo, reaproveitado de bloco em bloco
+    private final class Bloco implements LeitorCSV.DestinoLinhas {
+
+        ByteBuffer entrada = ByteBuffer.allocate(tamanhoBloco);
+        private ByteBuffer saida = ByteBuffer.allocate(tamanhoBloco);
+        private final boolean comClasse;
+        private final AcumuladorAvaliacao avaliacao;   // Só quando há classe e avaliação pedida
+        private final double[] entradas = new double[LINHAS_POR_LOTE * numAtributos];
+        private final double[] pontuacoes = new double[LINHAS_POR_LOTE * numSaidas];
+        private final int[] classes = new int[LINHAS_POR_LOTE];     // Ids locais do bloco (-1 sem classe)
+        private final int[] alvos = new int[LINHAS_POR_LOTE];       // Ids na rede (-1 = classe desconhecida)
+        private final byte[] digitos = new byte[20];
+        // Rótulos vistos neste bloco e o id de cada um na rede
+        private final List<byte[]> rotulos = new ArrayList<>();
+        private int[] idNaRede = new int[8];
+        private int numLinhasLote;
+        private long linhas;
+
+        Bloco(boolean comClasse, AcumuladorAvaliacao avaliacao) {
+            this.comClasse = comClasse;
+            this.avaliacao = comClasse ? avaliacao : null;
+        }
+
+        // Converte, pontua e formata todas as linhas do bloco (roda em uma thread do pool)
+        Bloco processar() {
+            saida.clear();
+            rotulos.clear();
+            linhas = 0;
+            numLinhasLote = 0;
+            LeitorCSV.lerLinhas(entrada, numAtributos, comClasse, this);
+            descarregar();
+            saida.flip();
+            return this;
+        }
+
+        // Grava a saída formatada e retorna o número de linhas
+        long gravar(FileChannel canal) throws IOException {
+            PontuadorArquivo.gravar(canal, saida);
+            return linhas;
+        }
+
+        @Override
+        public int idDaClasse(String classe) {
+            if (rotulos.size() == idNaRede.length)
+                idNaRede = Arrays.copyOf(idNaRede, idNaRede.length * 2);
+            idNaRede[rotulos.size()] = rede.getNomesClasses().indexOf(classe);
+            rotulos.add(classe.getBytes(StandardCharsets.UTF_8));
+            return rotulos.size() - 1;
+        }
+
+        @Override
+        public void adicionar(double[] valores, int idClasse) {
+            rede.normalizar(valores, 0, entradas, numLinhasLote * numAtributos);
+            classes[numLinhasLote] = idClasse;
+            if (++numLinhasLote == LINHAS_POR_LOTE)
+                descarregar();
+        }
+
+        @Override
+        public void rejeitar() {
+            // A linha pulada ocupa o seu lugar na saída com os campos vazios; o lote pendente
+            // é escrito antes para não trocar a ordem
+            descarregar();
+            int virgulas = (probabilidades ? 2 * numSaidas : numSaidas) + (comClasse ? 1 : 0);
+            garantirEspaco(virgulas + 1);
+            for (int i = 0; i < virgulas; i++)
+                saida.put((byte) ',');
+            saida.put((byte) '\n');
+        }
+
+        // Passa o lote acumulado pela rede e escreve as linhas de saída
+        private void descarregar() {
+            int tamanho = numLinhasLote;
+            if (tamanho == 0) return;
+            rede.preverSaidasLote(entradas, 0, tamanho, pontuacoes);
+            if (avaliacao != null) {
+                for (int b = 0; b < tamanho; b++)
+                    alvos[b] = idNaRede[classes[b]];
+                avaliacao.registrarLote(alvos, 0, pontuacoes, tamanho);
+            }
+            for (int b = 0; b < tamanho; b++)
+                escreverLinha(b * numSaidas, comClasse ? rotulos.get(classes[b]) : null);
+            linhas += tamanho;
+            numLinhasLote = 0;
+        }
+
+        private void escreverLinha(int offset, byte[] rotulo) {
+            int colunas = probabilidades ? 2 * numSaidas : numSaidas;
+            int maximo = 64 + colunas * (BYTES_POR_VALOR + 1) + (rotulo != null ? rotulo.length + 1 : 0);
+            int prevista = 0;
+            for (int c = 1; c < numSaidas; c++)
+                if (pontuacoes[offset + c] > pontuacoes[offset + prevista]) prevista = c;
+            garantirEspaco(maximo + nomesClasses[prevista].length);
+
+            saida.put(nomesClasses[prevista]);
+            for (int c = 0; c < numSaidas; c++) {
+                saida.put((byte) ',');
+                escreverDecimal(pontuacoes[offset + c]);
+            }
+            if (probabilidades) {
+                // Com softmax as pontuações já são probabilidades; senão, as negativas são zeradas e o resto
+                // é dividido pela soma (a mesma regra do log-loss do AcumuladorAvaliacao)
+                boolean softmax = rede.getFuncaoPerda() == FuncaoPerda.ENTROPIA_CRUZADA;
+                double soma = 0.0;
+                for (int c = 0; c < numSaidas; c++)
+                    soma += Math.max(pontuacoes[offset + c], 0.0);
+                for (int c = 0; c < numSaidas; c++) {
+                    double p = pontuacoes[offset + c];
+                    saida.put((byte) ',');
+                    escreverDecimal(softmax ? p : soma > 0 ? Math.max(p, 0.0) / soma : 1.0 / numSaidas);
+                }
+            }
+            if (rotulo != null) {
+                saida.put((byte) ',');
+                saida.put(rotulo);
+            }
+            saida.put((byte) '\n');
+        }
+
+        // Escreve o valor com CASAS_DECIMAIS casas, sem criar Strings (Double.toString para valores fora da faixa)
+        private void escreverDecimal(double valor) {
+            double escalado = Math.abs(valor) * ESCALA_DECIMAIS;
+            if (!(escalado < 9e18)) {
+                saida.put(Double.toString(valor).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            long inteiro = Math.round(escalado);
+            if (valor < 0 && inteiro != 0) saida.put((byte) '-');
+            escreverInteiro(inteiro / (long) ESCALA_DECIMAIS, 1);
+            saida.put((byte) '.');
+            escreverInteiro(inteiro % (long) ESCALA_DECIMAIS, CASAS_DECIMAIS);
+        }
+
+        // Escreve o inteiro não negativo com pelo menos 'minimoDigitos' dígitos (zeros à esquerda)
+        private void escreverInteiro(long valor, int minimoDigitos) {
+            int n = 0;
+            do {
+                digitos[n++] = (byte) ('0' + valor % 10);
+                valor /= 10;
+            } while (valor > 0);
+            while (n < minimoDigitos) digitos[n++] = '0';
+            while (n > 0) saida.put(digitos[--n]);
+        }
+
+        // A saída só cresce se as linhas do bloco formatadas não couberem (fica no tamanho já alcançado)
+        private void garantirEspaco(int bytes) {
+            if (saida.remaining() >= bytes) return;
+            ByteBuffer maior = ByteBuffer.allocate(Math.max(saida.capacity() * 2, saida.position() + bytes));
+            saida.flip();
+            maior.put(saida);
+            saida = maior;
+        }
+    }
+}
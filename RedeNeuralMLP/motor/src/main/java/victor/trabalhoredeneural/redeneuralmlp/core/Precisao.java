@@ -0,0 +1,11 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+// Precisão numérica de pesos, ativações e dados normalizados durante o treinamento
+public enum Precisao {
+    // double (64 bits) em tudo; é o padrão e o formato dos arquivos de modelo
+    DUPLA,
+    // float (32 bits): metade da memória e da banda nos laços de lote
+    SIMPLES,
+    // float (32 bits), mas os produtos escalares do feedforward são somados em double
+    SIMPLES_ACUMULADOR_DUPLO
+}
@@ -0,0 +1,419 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A classe principal que gerencia a Rede Neural Multilayer Perceptron (MLP).
+ * Ela contém as camadas, a lógica de feedforward, backpropagation e o
+ * loop de treinamento.
+ */
+public class RedeNeural {
+
+    // Quantidade de linhas que cada tarefa processa na predição em lote paralela
+    private static final int LINHAS_POR_TAREFA = 256;
+
+    private final Camada camadaOculta;
+    private final Camada camadaSaida;
+    private final FuncaoAtivacao funcaoAtivacao;
+    private double taxaAprendizado;
+
+    // Regra de atualização do caminho em lote (um otimizador, com o seu estado, por camada)
+    private Otimizador otimizadorOculta;
+    private Otimizador otimizadorSaida;
+    private double momento;
+
+    // ERRO_QUADRATICO usa a funcaoAtivacao também na saída; ENTROPIA_CRUZADA usa softmax
+    private FuncaoPerda funcaoPerda = FuncaoPerda.ERRO_QUADRATICO;
+
+    // Vetor alvo de cada classe pelo id (ex: classe 0 -> [1, 0, 0]); o id é o índice do neurônio de saída
+    // e o mesmo id do ConjuntoDados de treino, então o treino não procura nomes
+    private final double[][] vetoresAlvo;
+
+    // Nome de cada classe pelo índice do neurônio de saída
+    private final List<String> nomesClasses;
+
+    // Normalização presa aos min/max do conjunto de treino
+    private final Normalizador normalizador;
+
+    // Buffers do caminho de predição, um por thread (a predição não escreve em campos da rede)
+    private final ThreadLocal<BufferInferencia> buffersInferencia = ThreadLocal.withInitial(BufferInferencia::new);
+
+    public RedeNeural(int numEntrada, int numOculta, int numSaida,
+                      FuncaoAtivacao funcaoAtivacao, double taxaAprendizado,
+                      ConjuntoDados dadosTreino) {
+        this(new Camada(numOculta, numEntrada),
+                new Camada(numSaida, numOculta), // A entrada da Saída é a Oculta
+                funcaoAtivacao, taxaAprendizado,
+                new Normalizador(dadosTreino), // Armazena os valores min/max para normalização
+                dadosTreino.getListaClassesUnicas());
+
+        System.out.println("Mapa de classes criado: " + this.nomesClasses);
+    }
+
+    //Monta a rede a partir de camadas já existentes (ex: carregadas pelo ArquivoModelo)
+    RedeNeural(Camada camadaOculta, Camada camadaSaida, FuncaoAtivacao funcaoAtivacao, double taxaAprendizado,
+               Normalizador normalizador, List<String> listaClasses) {
+        // Cada classe é um neurônio de saída: o id da classe indexa o vetor alvo
+        if (listaClasses.size() != camadaSaida.getNumNeuronios())
+            throw new IllegalArgumentException("A rede tem " + camadaSaida.getNumNeuronios()
+                    + " neurônios de saída, mas " + listaClasses.size() + " classes.");
+        this.camadaOculta = camadaOculta;
+        this.camadaSaida = camadaSaida;
+        this.funcaoAtivacao = funcaoAtivacao;
+        this.taxaAprendizado = taxaAprendizado;
+        this.normalizador = normalizador;
+
+        // Cria os vetores alvo
+        int numSaida = camadaSaida.getNumNeuronios();
+        this.vetoresAlvo = new double[listaClasses.size()][numSaida];
+        for (int i = 0; i < listaClasses.size(); i++)
+            vetoresAlvo[i][i] = 1.0; // Ex: [1, 0, 0] para a classe 0
+        this.nomesClasses = new ArrayList<>(listaClasses);
+        usarOtimizador(TipoOtimizador.SGD, 0.0);
+    }
+
+    //Construtor usado por criarReplica: compartilha pesos, classes e normalizador
+    private RedeNeural(RedeNeural original) {
+        this.camadaOculta = new Camada(original.camadaOculta);
+        this.camadaSaida = new Camada(original.camadaSaida);
+        this.funcaoAtivacao = original.funcaoAtivacao;
+        this.taxaAprendizado = original.taxaAprendizado;
+        this.vetoresAlvo = original.vetoresAlvo;
+        this.nomesClasses = original.nomesClasses;
+        this.normalizador = original.normalizador;
+        this.funcaoPerda = original.funcaoPerda;
+        // Cada réplica tem o seu próprio estado de otimizador (ex: Hogwild)
+        usarOtimizador(original.otimizadorSaida.getTipo(), original.momento);
+    }
+
+    //Cria uma réplica que lê e escreve nas MESMAS matrizes de pesos desta rede,
+    //mas com saídas, gradientes e buffers próprios (uma por thread de treinamento)
+    public RedeNeural criarReplica() {
+        return new RedeNeural(this);
+    }
+
+    //Executa uma entrada pela rede
+    //O vetor retornado é o buffer da camada de saída, sobrescrito na próxima chamada
+    public double[] feedforward(double[] entradas) {
+        //Passa pela camada oculta
+        double[] saidasOculta = camadaOculta.calcularSaidas(entradas, funcaoAtivacao);
+
+        //Passa pela camada de saída
+        if (funcaoPerda == FuncaoPerda.ENTROPIA_CRUZADA)
+            return camadaSaida.calcularSaidasSoftmax(saidasOculta);
+        return camadaSaida.calcularSaidas(saidasOculta, funcaoAtivacao);
+    }
+
+    //Predição reentrante de uma entrada já normalizada: usa buffers da thread atual
+    //e escreve as ativações da camada de saída em 'saida' (alocado se for null)
+    public double[] prever(double[] entradasNormalizadas, double[] saida) {
+        if (saida == null) saida = new double[camadaSaida.getNumNeuronios()];
+        BufferInferencia buffer = buffersInferencia.get();
+        buffer.garantirCapacidade(1);
+        camadaOculta.calcularSaidasLote(entradasNormalizadas, 1, funcaoAtivacao, buffer.oculta);
+        calcularSaidasLoteSaida(buffer.oculta, 1, saida);
+        return saida;
+    }
+
+    //Predição reentrante de 'tamanho' linhas já normalizadas, contíguas em entradas a partir da linha
+    //'linhaInicial': escreve as ativações da camada de saída em saidas[0, tamanho * numSaidas)
+    public void preverSaidasLote(double[] entradas, int linhaInicial, int tamanho, double[] saidas) {
+        BufferInferencia buffer = buffersInferencia.get();
+        buffer.garantirCapacidade(tamanho);
+        double[] entradasBloco = entradas;
+        if (linhaInicial != 0) {
+            int numEntradas = camadaOculta.getNumEntradas();
+            System.arraycopy(entradas, linhaInicial * numEntradas, buffer.entradas, 0, tamanho * numEntradas);
+            entradasBloco = buffer.entradas;
+        }
+        camadaOculta.calcularSaidasLote(entradasBloco, tamanho, funcaoAtivacao, buffer.oculta);
+        calcularSaidasLoteSaida(buffer.oculta, tamanho, saidas);
+    }
+
+    //Predição reentrante: índice da classe prevista para uma entrada já normalizada
+    public int preverClasse(double[] entradasNormalizadas) {
+        BufferInferencia buffer = buffersInferencia.get();
+        buffer.garantirCapacidade(1);
+        camadaOculta.calcularSaidasLote(entradasNormalizadas, 1, funcaoAtivacao, buffer.oculta);
+        calcularSaidasLoteSaida(buffer.oculta, 1, buffer.saida);
+        return indiceDoMaior(buffer.saida, 0, camadaSaida.getNumNeuronios());
+    }
+
+    //Prevê a classe (índice) de cada linha de entradas BRUTAS; a normalização é feita aqui.
+    //Lotes grandes são divididos em blocos processados em paralelo
+    public int[] preverLote(double[][] entradas) {
+        int numEntradas = camadaOculta.getNumEntradas();
+        int[] classes = new int[entradas.length];
+        int numBlocos = (entradas.length + LINHAS_POR_TAREFA - 1) / LINHAS_POR_TAREFA;
+
+        IntStream.range(0, numBlocos).parallel().forEach(bloco -> {
+            int inicio = bloco * LINHAS_POR_TAREFA;
+            int tamanho = Math.min(LINHAS_POR_TAREFA, entradas.length - inicio);
+            BufferInferencia buffer = buffersInferencia.get();
+            buffer.garantirCapacidade(tamanho);
+            for (int b = 0; b < tamanho; b++) {
+                normalizador.aplicar(entradas[inicio + b], 0, buffer.entradas, b * numEntradas);
+            }
+            preverBloco(buffer, tamanho, classes, inicio);
+        });
+        return classes;
+    }
+
+    //Prevê a classe (índice) de cada linha de um conjunto já normalizado, em blocos paralelos
+    public int[] preverLote(DadosNormalizados dados) {
+        int numEntradas = camadaOculta.getNumEntradas();
+        int numLinhas = dados.getNumeroDeInstancias();
+        double[] valores = dados.getValores();
+        int[] classes = new int[numLinhas];
+        int numBlocos = (numLinhas + LINHAS_POR_TAREFA - 1) / LINHAS_POR_TAREFA;
+
+        IntStream.range(0, numBlocos).parallel().forEach(bloco -> {
+            int inicio = bloco * LINHAS_POR_TAREFA;
+            int tamanho = Math.min(LINHAS_POR_TAREFA, numLinhas - inicio);
+            BufferInferencia buffer = buffersInferencia.get();
+            buffer.garantirCapacidade(tamanho);
+            // As linhas do bloco já são contíguas na matriz normalizada
+            System.arraycopy(valores, inicio * numEntradas, buffer.entradas, 0, tamanho * numEntradas);
+            preverBloco(buffer, tamanho, classes, inicio);
+        });
+        return classes;
+    }
+
+    // Feedforward de um bloco (entradas já em buffer.entradas) e argmax de cada linha
+    private void preverBloco(BufferInferencia buffer, int tamanho, int[] classes, int destino) {
+        int numSaida = camadaSaida.getNumNeuronios();
+        camadaOculta.calcularSaidasLote(buffer.entradas, tamanho, funcaoAtivacao, buffer.oculta);
+        calcularSaidasLoteSaida(buffer.oculta, tamanho, buffer.saida);
+        for (int b = 0; b < tamanho; b++) {
+            classes[destino + b] = indiceDoMaior(buffer.saida, b * numSaida, numSaida);
+        }
+    }
+
+    // Camada de saída de um lote, com a ativação da função de perda (reentrante)
+    private void calcularSaidasLoteSaida(double[] saidasOculta, int tamanho, double[] destino) {
+        if (funcaoPerda == FuncaoPerda.ENTROPIA_CRUZADA)
+            camadaSaida.calcularSaidasLoteSoftmax(saidasOculta, tamanho, destino);
+        else
+            camadaSaida.calcularSaidasLote(saidasOculta, tamanho, funcaoAtivacao, destino);
+    }
+
+    // Índice (relativo a 'inicio') do maior valor em v[inicio, inicio + n)
+    private static int indiceDoMaior(double[] v, int inicio, int n) {
+        int indiceMax = 0;
+        for (int i = 1; i < n; i++) {
+            if (v[inicio + i] > v[inicio + indiceMax]) {
+                indiceMax = i;
+            }
+        }
+        return indiceMax;
+    }
+
+    //Calcula erros e atualiza pesos
+    public void backpropagation(double[] entradas, double[] vetorAlvo) {
+        calcularGradientes(vetorAlvo);
+        atualizarPesos(entradas);
+    }
+
+    //Primeira metade do backpropagation: gradientes (deltas) das duas camadas, sem mexer nos pesos
+    public void calcularGradientes(double[] vetorAlvo) {
+        //Calcular Gradientes (Deltas) da Camada de Saída
+        if (funcaoPerda == FuncaoPerda.ENTROPIA_CRUZADA)
+            camadaSaida.calcularGradientesSaidaEntropiaCruzada(vetorAlvo);
+        else
+            camadaSaida.calcularGradientesSaida(vetorAlvo, funcaoAtivacao);
+
+        //Calcular Gradientes da Camada Oculta
+        camadaOculta.calcularGradientesOculta(camadaSaida, funcaoAtivacao);
+    }
+
+    //Segunda metade do backpropagation: aplica os gradientes calculados nos pesos
+    public void atualizarPesos(double[] entradas) {
+        // Atualizar Pesos da Camada de Saída
+        // A entrada para a camada de saída são as saídas da camada oculta
+        camadaSaida.atualizarPesos(camadaOculta.getSaidas(), taxaAprendizado);
+
+        // Atualizar Pesos da Camada Oculta
+        // A entrada para a camada oculta são as entradas da rede
+        camadaOculta.atualizarPesos(entradas, taxaAprendizado);
+    }
+
+    //Executa um lote de entradas ([tamanho x numEntrada], row-major) pela rede
+    //Retorna as saídas do lote ([tamanho x numSaida]), buffer sobrescrito na próxima chamada
+    public double[] feedforwardLote(double[] entradasLote, int tamanho) {
+        double[] saidasOculta = camadaOculta.calcularSaidasLote(entradasLote, tamanho, funcaoAtivacao);
+        if (funcaoPerda == FuncaoPerda.ENTROPIA_CRUZADA)
+            return camadaSaida.calcularSaidasLoteSoftmax(saidasOculta, tamanho);
+        return camadaSaida.calcularSaidasLote(saidasOculta, tamanho, funcaoAtivacao);
+    }
+
+    //Backpropagation do lote inteiro, com uma única atualização de pesos por camada
+    //Deve ser chamado logo após o feedforwardLote do mesmo lote
+    public void backpropagationLote(double[] entradasLote, double[] alvosLote, int tamanho) {
+        calcularGradientesLote(entradasLote, alvosLote, tamanho);
+        aplicarGradientesLote(tamanho);
+    }
+
+    //Aplica nos pesos a média dos gradientes calculados por calcularGradientesLote
+    public void aplicarGradientesLote(int tamanho) {
+        aplicarGradientes(camadaOculta.getGradientePesos(), camadaSaida.getGradientePesos(), tamanho);
+    }
+
+    //Aplica, com o otimizador configurado, somas de gradientes de 'tamanho' instâncias
+    //(no layout das matrizes de pesos; ex: a redução do TreinadorParalelo)
+    public void aplicarGradientes(double[] somaGradienteOculta, double[] somaGradienteSaida, int tamanho) {
+        otimizadorSaida.aplicar(camadaSaida.getPesos(), somaGradienteSaida, tamanho, taxaAprendizado);
+        otimizadorOculta.aplicar(camadaOculta.getPesos(), somaGradienteOculta, tamanho, taxaAprendizado);
+    }
+
+    //Versão de aplicarGradientes dividida entre threads: iniciarPassoGradientes uma vez por passo e
+    //depois aplicarGradientesFaixa em faixas disjuntas. A faixa [de, ate) indexa os pesos da camada
+    //oculta seguidos pelos da camada de saída
+    void iniciarPassoGradientes() {
+        otimizadorOculta.iniciarPasso();
+        otimizadorSaida.iniciarPasso();
+    }
+
+    void aplicarGradientesFaixa(double[] somaGradienteOculta, double[] somaGradienteSaida, int de, int ate, int tamanho) {
+        double[] pesosOculta = camadaOculta.getPesos();
+        int fimOculta = Math.min(ate, pesosOculta.length);
+        if (de < fimOculta)
+            otimizadorOculta.aplicarFaixa(pesosOculta, somaGradienteOculta, de, fimOculta, tamanho, taxaAprendizado);
+        int inicioSaida = Math.max(de, pesosOculta.length) - pesosOculta.length;
+        int fimSaida = ate - pesosOculta.length;
+        if (inicioSaida < fimSaida)
+            otimizadorSaida.aplicarFaixa(camadaSaida.getPesos(), somaGradienteSaida, inicioSaida, fimSaida,
+                    tamanho, taxaAprendizado);
+    }
+
+    //Troca a regra de atualização do caminho em lote; o estado (velocidade, médias) começa zerado
+    //O caminho online (backpropagation) é sempre o SGD simples
+    public void usarOtimizador(TipoOtimizador tipo, double momento) {
+        this.momento = momento;
+        this.otimizadorOculta = Otimizador.criar(tipo, camadaOculta.getPesos().length, momento);
+        this.otimizadorSaida = Otimizador.criar(tipo, camadaSaida.getPesos().length, momento);
+    }
+
+    public TipoOtimizador getTipoOtimizador() {
+        return otimizadorSaida.getTipo();
+    }
+
+    //Calcula, SEM aplicar, a soma dos gradientes dos pesos de um lote
+    //O resultado fica em getGradientePesos() de cada camada
+    public void calcularGradientesLote(double[] entradasLote, double[] alvosLote, int tamanho) {
+        if (funcaoPerda == FuncaoPerda.ENTROPIA_CRUZADA)
+            camadaSaida.calcularGradientesSaidaLoteEntropiaCruzada(alvosLote, tamanho);
+        else
+            camadaSaida.calcularGradientesSaidaLote(alvosLote, tamanho, funcaoAtivacao);
+        camadaOculta.calcularGradientesOcultaLote(camadaSaida, tamanho, funcaoAtivacao);
+
+        camadaSaida.calcularGradientePesosLote(camadaOculta.getSaidasLote(), tamanho);
+        camadaOculta.calcularGradientePesosLote(entradasLote, tamanho);
+    }
+
+    // Normaliza um vetor de valores de entrada, usa os Mínimos e Máximos guardados do conjunto de treino.
+    public double[] normalizar(double[] entradas) {
+        return normalizador.aplicar(entradas);
+    }
+
+    // Normaliza entradas[de ...] em destino[para ...] sem alocar (pode ser o mesmo vetor)
+    public void normalizar(double[] entradas, int de, double[] destino, int para) {
+        normalizador.aplicar(entradas, de, destino, para);
+    }
+
+    // Normaliza um conjunto inteiro de uma vez (para treino ou avaliação)
+    public DadosNormalizados normalizar(ConjuntoDados dados) {
+        return normalizador.normalizar(dados);
+    }
+
+    public Normalizador getNormalizador() {
+        return normalizador;
+    }
+
+    // Vetor alvo do id de classe (ex: 0 -> [1, 0, 0]); não deve ser alterado
+    public double[] getVetorAlvo(int idClasse) {
+        return vetoresAlvo[idClasse];
+    }
+
+    //Retorna o nome da classe com base na saída da rede
+    public String getClassificacao(double[] saidaDaRede) {
+        int indiceMax = 0;
+        double valorMax = -1;
+
+        // Encontra o neurônio de saída com o maior valor
+        for (int i = 0; i < saidaDaRede.length; i++) {
+            if (saidaDaRede[i] > valorMax) {
+                valorMax = saidaDaRede[i];
+                indiceMax = i;
+            }
+        }
+
+        // O índice do neurônio é o id da classe
+        return nomesClasses.get(indiceMax);
+    }
+
+    //Nome da classe correspondente ao índice de um neurônio de saída
+    public String getNomeClasse(int indice) {
+        return nomesClasses.get(indice);
+    }
+
+    //Nomes das classes na ordem dos neurônios de saída
+    public List<String> getNomesClasses() {
+        return Collections.unmodifiableList(nomesClasses);
+    }
+
+    public FuncaoPerda getFuncaoPerda() {
+        return funcaoPerda;
+    }
+
+    //Troca a função de perda (e com ela a ativação da camada de saída); não mexe nos pesos
+    public void setFuncaoPerda(FuncaoPerda funcaoPerda) {
+        this.funcaoPerda = funcaoPerda;
+    }
+
+    public FuncaoAtivacao getFuncaoAtivacao() {
+        return funcaoAtivacao;
+    }
+
+    public Camada getCamadaOculta() {
+        return camadaOculta;
+    }
+
+    public Camada getCamadaSaida() {
+        return camadaSaida;
+    }
+
+    public double getTaxaAprendizado() {
+        return taxaAprendizado;
+    }
+
+    //Atualiza a taxa sem o aviso no console (usado para manter as réplicas em dia com a rede principal)
+    void sincronizarTaxaAprendizado(double taxa) {
+        this.taxaAprendizado = taxa;
+    }
+
+    public void setTaxaAprendizado(double novaTaxa) {
+        this.taxaAprendizado = novaTaxa;
+        System.out.println(">>> Taxa de aprendizado reduzida para: " + this.taxaAprendizado);
+    }
+
+    // Buffers de ativação de uma thread para a predição (crescem conforme o tamanho do bloco)
+    private class BufferInferencia {
+        private double[] entradas = new double[0];
+        private double[] oculta = new double[0];
+        private double[] saida = new double[0];
+
+        void garantirCapacidade(int linhas) {
+            if (oculta.length < linhas * camadaOculta.getNumNeuronios()) {
+                entradas = new double[linhas * camadaOculta.getNumEntradas()];
+                oculta = new double[linhas * camadaOculta.getNumNeuronios()];
+                saida = new double[linhas * camadaSaida.getNumNeuronios()];
+            }
+        }
+    }
+}
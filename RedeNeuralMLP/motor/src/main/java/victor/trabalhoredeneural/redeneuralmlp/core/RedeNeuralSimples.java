@@ -0,0 +1,133 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizadosSimples;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Versão em float (32 bits) da RedeNeural, para treino e predição em lote com Precisao.SIMPLES.
+ * É criada a partir de uma RedeNeural (mesma topologia, função, normalizador e classes) e volta
+ * para double com paraRedeNeural(), que é o formato usado pela avaliação e pelo ArquivoModelo.
+ */
+public class RedeNeuralSimples {
+
+    // Quantidade de linhas que cada tarefa processa na predição em lote paralela
+    private static final int LINHAS_POR_TAREFA = 256;
+
+    private final CamadaSimples camadaOculta;
+    private final CamadaSimples camadaSaida;
+    private final FuncaoAtivacao funcaoAtivacao;
+    private final Normalizador normalizador;
+    private final List<String> nomesClasses;
+    private final float[][] vetoresAlvo;
+    private double taxaAprendizado;
+
+    //Converte a rede em double; com acumuladorDuplo, os produtos escalares do feedforward são somados em double
+    public RedeNeuralSimples(RedeNeural origem, boolean acumuladorDuplo) {
+        this.camadaOculta = new CamadaSimples(origem.getCamadaOculta(), acumuladorDuplo);
+        this.camadaSaida = new CamadaSimples(origem.getCamadaSaida(), acumuladorDuplo);
+        this.funcaoAtivacao = origem.getFuncaoAtivacao();
+        this.normalizador = origem.getNormalizador();
+        this.nomesClasses = origem.getNomesClasses();
+        this.taxaAprendizado = origem.getTaxaAprendizado();
+
+        this.vetoresAlvo = new float[nomesClasses.size()][camadaSaida.getNumNeuronios()];
+        for (int i = 0; i < nomesClasses.size(); i++)
+            vetoresAlvo[i][i] = 1.0f;
+    }
+
+    //Cria uma RedeNeural (double) com os pesos atuais desta rede
+    public RedeNeural paraRedeNeural() {
+        return new RedeNeural(camadaOculta.paraCamada(), camadaSaida.paraCamada(),
+                funcaoAtivacao, taxaAprendizado, normalizador, nomesClasses);
+    }
+
+    //Executa um lote de entradas ([tamanho x numEntrada], row-major) pela rede
+    //Retorna as saídas do lote ([tamanho x numSaida]), buffer sobrescrito na próxima chamada
+    public float[] feedforwardLote(float[] entradasLote, int tamanho) {
+        float[] saidasOculta = camadaOculta.calcularSaidasLote(entradasLote, tamanho, funcaoAtivacao);
+        return camadaSaida.calcularSaidasLote(saidasOculta, tamanho, funcaoAtivacao);
+    }
+
+    //Backpropagation do lote inteiro, com uma única atualização de pesos por camada
+    //Deve ser chamado logo após o feedforwardLote do mesmo lote
+    public void backpropagationLote(float[] entradasLote, float[] alvosLote, int tamanho) {
+        calcularGradientesLote(entradasLote, alvosLote, tamanho);
+        aplicarGradientesLote(tamanho);
+    }
+
+    //Calcula, SEM aplicar, a soma dos gradientes dos pesos de um lote
+    public void calcularGradientesLote(float[] entradasLote, float[] alvosLote, int tamanho) {
+        camadaSaida.calcularGradientesSaidaLote(alvosLote, tamanho, funcaoAtivacao);
+        camadaOculta.calcularGradientesOcultaLote(camadaSaida, tamanho, funcaoAtivacao);
+
+        camadaSaida.calcularGradientePesosLote(camadaOculta.getSaidasLote(), tamanho);
+        camadaOculta.calcularGradientePesosLote(entradasLote, tamanho);
+    }
+
+    //Aplica nos pesos a média dos gradientes calculados por calcularGradientesLote
+    public void aplicarGradientesLote(int tamanho) {
+        float passo = (float) (taxaAprendizado / tamanho);
+        camadaSaida.aplicarGradientePesos(passo);
+        camadaOculta.aplicarGradientePesos(passo);
+    }
+
+    //Prevê a classe (índice) de cada linha de um conjunto já normalizado, em blocos paralelos
+    public int[] preverLote(DadosNormalizadosSimples dados) {
+        int numEntradas = camadaOculta.getNumEntradas();
+        int numOculta = camadaOculta.getNumNeuronios();
+        int numSaida = camadaSaida.getNumNeuronios();
+        int numLinhas = dados.getNumeroDeInstancias();
+        float[] valores = dados.getValores();
+        int[] classes = new int[numLinhas];
+        int numBlocos = (numLinhas + LINHAS_POR_TAREFA - 1) / LINHAS_POR_TAREFA;
+
+        IntStream.range(0, numBlocos).parallel().forEach(bloco -> {
+            int inicio = bloco * LINHAS_POR_TAREFA;
+            int tamanho = Math.min(LINHAS_POR_TAREFA, numLinhas - inicio);
+            float[] entradas = new float[tamanho * numEntradas];
+            float[] oculta = new float[tamanho * numOculta];
+            float[] saida = new float[tamanho * numSaida];
+
+            System.arraycopy(valores, inicio * numEntradas, entradas, 0, tamanho * numEntradas);
+            camadaOculta.calcularSaidasLote(entradas, tamanho, funcaoAtivacao, oculta);
+            camadaSaida.calcularSaidasLote(oculta, tamanho, funcaoAtivacao, saida);
+            for (int b = 0; b < tamanho; b++) {
+                int indiceMax = 0;
+                for (int i = 1; i < numSaida; i++) {
+                    if (saida[b * numSaida + i] > saida[b * numSaida + indiceMax]) {
+                        indiceMax = i;
+                    }
+                }
+                classes[inicio + b] = indiceMax;
+            }
+        });
+        return classes;
+    }
+
+    // Vetor alvo do id de classe (ex: 0 -> [1, 0, 0]); não deve ser alterado
+    public float[] getVetorAlvo(int idClasse) {
+        return vetoresAlvo[idClasse];
+    }
+
+    public Normalizador getNormalizador() {
+        return normalizador;
+    }
+
+    public CamadaSimples getCamadaOculta() {
+        return camadaOculta;
+    }
+
+    public CamadaSimples getCamadaSaida() {
+        return camadaSaida;
+    }
+
+    public double getTaxaAprendizado() {
+        return taxaAprendizado;
+    }
+
+    public void setTaxaAprendizado(double novaTaxa) {
+        this.taxaAprendizado = novaTaxa;
+    }
+}
@@ -0,0 +1,485 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.metricas.Contador;
+import victor.trabalhoredeneural.redeneuralmlp.metricas.EventoEpoca;
+import victor.trabalhoredeneural.redeneuralmlp.metricas.EventoPlato;
+import victor.trabalhoredeneural.redeneuralmlp.metricas.EventoTaxaAprendizado;
+import victor.trabalhoredeneural.redeneuralmlp.metricas.Histograma;
+import victor.trabalhoredeneural.redeneuralmlp.metricas.Metricas;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizadosSimples;
+import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.util.ArquivoDespejo;
+import victor.trabalhoredeneural.redeneuralmlp.util.EmbaralhadorFluxo;
+import victor.trabalhoredeneural.redeneuralmlp.util.FonteLotes;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+import victor.trabalhoredeneural.redeneuralmlp.util.LotesEmMemoria;
+import victor.trabalhoredeneural.redeneuralmlp.util.PreBuscaLotes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Laço de treinamento independente da interface gráfica.
+ * Cria a rede, percorre as épocas (online, em mini-lotes, com o TreinadorParalelo ou em float),
+ * avisa os ouvintes a cada época e, quando detecta um platô, pergunta à PoliticaPlato o que fazer.
+ * Depois de cada época a AgendaTaxa configurada pode trocar a taxa de aprendizado.
+ * Pode ser usado pela UI (em uma Task) ou pela linha de comando, sem tela.
+ * Cada época gera um evento JFR (EventoEpoca) e alimenta as Metricas configuradas; o tempo de cada
+ * fase (forward, backward, atualização) só é medido quando o evento está ligado ou há métricas.
+ */
+public class ServicoTreinamento {
+
+    // Linhas lidas do arquivo de despejo por vez no treinamento em fluxo
+    private static final int LINHAS_POR_BLOCO = 4096;
+    // Pré-busca: lotes em circulação (buffer duplo) e linhas aproximadas de cada um
+    private static final int LOTES_PRE_BUSCA = 2;
+    private static final int LINHAS_PRE_BUSCA = 1024;
+
+    private final ConfiguracaoTreinamento configuracao;
+    private final PoliticaPlato politicaPlato;
+    private final List<OuvinteTreinamento> ouvintes = new CopyOnWriteArrayList<>();
+    private Metricas metricas = Metricas.NENHUMA;
+
+    // Pedido de parada vindo de outra thread; é conferido ao final de cada época
+    private volatile boolean interrompido;
+
+    public ServicoTreinamento(ConfiguracaoTreinamento configuracao, PoliticaPlato politicaPlato) {
+        configuracao.validar();
+        this.configuracao = configuracao;
+        this.politicaPlato = politicaPlato;
+    }
+
+    public void adicionarOuvinte(OuvinteTreinamento ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    public void removerOuvinte(OuvinteTreinamento ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    //Define onde as métricas do treinamento são registradas (padrão: Metricas.NENHUMA)
+    public void setMetricas(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
+    //Pede para o treinamento terminar depois da época atual
+    public void interromper() {
+        interrompido = true;
+    }
+
+    //Treina uma nova rede com o conjunto informado (a normalização usa os min/max dele)
+    public ResultadoTreinamento treinar(ConjuntoDados dadosTreino) throws InterruptedException {
+        // Instancia a Rede Neural
+        RedeNeural rede = new RedeNeural(
+                dadosTreino.getNumeroDeAtributos(),
+                configuracao.getNumOculta(),
+                dadosTreino.getNumeroDeClasses(),
+                configuracao.getFuncaoAtivacao(),
+                configuracao.getTaxaAprendizado(),
+                dadosTreino
+        );
+        configurarRede(rede);
+
+        // Em precisão simples, pesos e dados normalizados ficam em float durante todo o treino
+        // e a rede volta para double no final
+        boolean simples = configuracao.getPrecisao() != Precisao.DUPLA;
+        RedeNeuralSimples redeSimples = simples
+                ? new RedeNeuralSimples(rede, configuracao.getPrecisao() == Precisao.SIMPLES_ACUMULADOR_DUPLO) : null;
+        DadosNormalizadosSimples treinoSimples = simples ? rede.getNormalizador().normalizarSimples(dadosTreino) : null;
+        // Normaliza o conjunto de treino uma única vez, antes das épocas
+        DadosNormalizados treinoNormalizado = simples ? null : rede.normalizar(dadosTreino);
+
+        // A cada época só a ordem das linhas é embaralhada; as colunas não se movem
+        int[] ordemTreino = Indices.sequencia(dadosTreino.getNumeroDeInstancias());
+        Random rand = new Random();
+
+        // Com mais de uma thread, as épocas são divididas entre réplicas da rede
+        TreinadorParalelo treinadorParalelo = configuracao.getNumThreads() > 1
+                ? new TreinadorParalelo(rede, configuracao.getNumThreads(), configuracao.getTamanhoLote(), configuracao.getModoParalelo())
+                : null;
+
+        // Com a pré-busca, embaralhar e montar os lotes fica com outra thread
+        PreBuscaLotes preBusca = configuracao.isPreBusca()
+                ? criarPreBusca(new LotesEmMemoria(treinoNormalizado, rand), dadosTreino.getNumeroDeAtributos()) : null;
+        EpocaPreBuscada epocaPreBuscada = preBusca != null
+                ? new EpocaPreBuscada(rede, preBusca, configuracao.getTamanhoLote(), treinaEmLotes()) : null;
+
+        Epoca epoca = tempos -> {
+            if (epocaPreBuscada != null)
+                return epocaPreBuscada.treinar(tempos);
+            Indices.embaralhar(ordemTreino, rand);
+            if (redeSimples != null)
+                return treinarEpocaSimples(redeSimples, treinoSimples, ordemTreino, configuracao.getTamanhoLote(), tempos);
+            if (treinadorParalelo != null)
+                return treinadorParalelo.treinarEpoca(treinoNormalizado, ordemTreino, tempos);
+            if (treinaEmLotes())
+                return treinarEpocaEmLotes(rede, treinoNormalizado, ordemTreino, configuracao.getTamanhoLote(), tempos);
+            return treinarEpocaOnline(rede, treinoNormalizado, ordemTreino, tempos);
+        };
+
+        try {
+            ResultadoTreinamento resultado = executarEpocas(rede, redeSimples, ordemTreino.length, epoca);
+            if (redeSimples != null)
+                return new ResultadoTreinamento(redeSimples.paraRedeNeural(), resultado.getErroFinal(),
+                        resultado.getEpocasTotal(), resultado.getHistoricoErros());
+            return resultado;
+        } finally {
+            if (treinadorParalelo != null)
+                treinadorParalelo.encerrar();
+            if (preBusca != null)
+                preBusca.encerrar();
+        }
+    }
+
+    //Treina uma nova rede lendo o arquivo de despejo do disco a cada época, em blocos de ordem sorteada
+    //e com um buffer de embaralhamento de 'capacidadeEmbaralhamento' linhas: a memória usada não depende
+    //do número de linhas do arquivo. A normalização usa os min/max calculados na criação do arquivo.
+    //A leitura do disco é sempre feita pela thread de pré-busca, em paralelo com o treino
+    public ResultadoTreinamento treinarEmFluxo(ArquivoDespejo arquivo, int capacidadeEmbaralhamento)
+            throws InterruptedException, IOException {
+        if (configuracao.getPrecisao() != Precisao.DUPLA || configuracao.getNumThreads() > 1)
+            throw new IllegalArgumentException("O treinamento em fluxo usa precisão dupla e uma única thread.");
+
+        Normalizador normalizador = new Normalizador(arquivo.getMinimos(), arquivo.getMaximos());
+        List<String> classes = arquivo.getNomesClasses();
+        RedeNeural rede = new RedeNeural(
+                new Camada(configuracao.getNumOculta(), arquivo.getNumeroDeAtributos()),
+                new Camada(classes.size(), configuracao.getNumOculta()),
+                configuracao.getFuncaoAtivacao(), configuracao.getTaxaAprendizado(), normalizador, classes);
+        configurarRede(rede);
+
+        EmbaralhadorFluxo fonte = new EmbaralhadorFluxo(arquivo, normalizador, capacidadeEmbaralhamento,
+                LINHAS_POR_BLOCO, new Random());
+        PreBuscaLotes preBusca = criarPreBusca(fonte, arquivo.getNumeroDeAtributos());
+        EpocaPreBuscada epoca = new EpocaPreBuscada(rede, preBusca, configuracao.getTamanhoLote(), treinaEmLotes());
+        try {
+            return executarEpocas(rede, null, arquivo.getNumeroDeLinhas(), epoca::treinar);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            preBusca.encerrar();
+        }
+    }
+
+    private PreBuscaLotes criarPreBusca(FonteLotes fonte, int numAtributos) {
+        return new PreBuscaLotes(fonte, LOTES_PRE_BUSCA,
+                EpocaPreBuscada.linhasPorLote(LINHAS_PRE_BUSCA, configuracao.getTamanhoLote()), numAtributos);
+    }
+
+    // Os otimizadores trabalham sobre a matriz de gradientes, então com eles o online vira lote de 1
+    private boolean treinaEmLotes() {
+        return configuracao.getTamanhoLote() > 1 || configuracao.getOtimizador() != TipoOtimizador.SGD;
+    }
+
+    // Otimizador e função de perda da configuração
+    private void configurarRede(RedeNeural rede) {
+        rede.usarOtimizador(configuracao.getOtimizador(), configuracao.getMomento());
+        // O erro da época continua sendo o quadrático (sobre as probabilidades, na entropia cruzada),
+        // para que erroDesejado e o gráfico de erros sejam comparáveis entre as funções de perda
+        rede.setFuncaoPerda(configuracao.getFuncaoPerda());
+    }
+
+    // Laço das épocas, comum a todos os modos: eventos, ouvintes, detecção de platô e agenda da taxa.
+    // 'redeSimples', se não for null, recebe as mudanças de taxa junto com 'rede'
+    private ResultadoTreinamento executarEpocas(RedeNeural rede, RedeNeuralSimples redeSimples, long numAmostras,
+                                                Epoca epoca) throws InterruptedException {
+        double taxaAprendizadoAtual = configuracao.getTaxaAprendizado();
+        List<Double> historicoErros = new ArrayList<>();
+        List<Double> historicoSomenteLeitura = Collections.unmodifiableList(historicoErros);
+        LinkedList<Double> ultimosErros = new LinkedList<>();
+
+        int epocaAtual = 0;
+        double erroEpoca = 1.0;
+        boolean treinamentoAtivo = true;
+        interrompido = false;
+
+        TemposFases tempos = new TemposFases();
+        MedidasTreino medidas = new MedidasTreino(metricas);
+
+        while (epocaAtual < configuracao.getMaxEpocas() && erroEpoca > configuracao.getErroDesejado()
+                && treinamentoAtivo && !interrompido) {
+            if (Thread.interrupted())
+                throw new InterruptedException("Treinamento interrompido");
+
+            EventoEpoca evento = new EventoEpoca();
+            boolean medirFases = evento.isEnabled() || metricas != Metricas.NENHUMA;
+            TemposFases temposEpoca = medirFases ? tempos : null;
+            tempos.zerar();
+            evento.begin();
+            long inicioEpoca = System.nanoTime();
+
+            double somaErrosQuadradicos = epoca.treinar(temposEpoca);
+
+            long duracaoEpoca = System.nanoTime() - inicioEpoca;
+            evento.end();
+            epocaAtual++;
+            erroEpoca = somaErrosQuadradicos / numAmostras;
+            historicoErros.add(erroEpoca);
+
+            double amostrasPorSegundo = duracaoEpoca > 0 ? numAmostras * 1e9 / duracaoEpoca : 0.0;
+            if (evento.shouldCommit()) {
+                evento.epoca = epocaAtual;
+                evento.amostras = numAmostras;
+                evento.amostrasPorSegundo = amostrasPorSegundo;
+                evento.erro = erroEpoca;
+                evento.taxaAprendizado = taxaAprendizadoAtual;
+                evento.tempoForward = tempos.forward;
+                evento.tempoBackward = tempos.backward;
+                evento.tempoAtualizacao = tempos.atualizacao;
+                evento.tempoEspera = tempos.espera;
+                evento.commit();
+            }
+            medidas.registrarEpoca(numAmostras, duracaoEpoca, amostrasPorSegundo, temposEpoca);
+
+            for (OuvinteTreinamento ouvinte : ouvintes)
+                ouvinte.epocaConcluida(epocaAtual, erroEpoca);
+
+            // Logica de detecção de plato
+            ultimosErros.add(erroEpoca);
+            if (ultimosErros.size() > configuracao.getJanelaPlato())
+                ultimosErros.removeFirst();
+
+            if (ultimosErros.size() == configuracao.getJanelaPlato()) {
+                double desvioPadrao = calcularDesvioPadrao(ultimosErros);
+
+                if (desvioPadrao <= configuracao.getLimiarPlato()) {
+                    EventoPlato eventoPlato = new EventoPlato();
+                    eventoPlato.begin();
+                    AcaoPlato acao = politicaPlato.decidir(epocaAtual, erroEpoca, desvioPadrao);
+                    eventoPlato.end();
+                    if (eventoPlato.shouldCommit()) {
+                        eventoPlato.epoca = epocaAtual;
+                        eventoPlato.erro = erroEpoca;
+                        eventoPlato.desvioPadrao = desvioPadrao;
+                        eventoPlato.acao = acao.name();
+                        eventoPlato.commit();
+                    }
+                    medidas.platos.incrementar();
+
+                    if (acao == AcaoPlato.PARAR) {
+                        treinamentoAtivo = false;
+                    }
+                    else if (acao == AcaoPlato.REDUZIR_TAXA) {
+                        double taxaAnterior = taxaAprendizadoAtual;
+                        taxaAprendizadoAtual *= configuracao.getFatorReducaoTaxa();
+                        rede.sincronizarTaxaAprendizado(taxaAprendizadoAtual);
+                        if (redeSimples != null)
+                            redeSimples.setTaxaAprendizado(taxaAprendizadoAtual);
+                        registrarMudancaTaxa(epocaAtual, taxaAnterior, taxaAprendizadoAtual, medidas);
+                    }
+                    for (OuvinteTreinamento ouvinte : ouvintes)
+                        ouvinte.platoDetectado(epocaAtual, desvioPadrao, acao);
+                    ultimosErros.clear();
+                }
+            }
+
+            // Agenda da taxa (degrau, cosseno, redução no platô...), sem aviso no console a cada troca
+            double taxaAgendada = configuracao.getAgendaTaxa().proximaTaxa(epocaAtual,
+                    configuracao.getTaxaAprendizado(), taxaAprendizadoAtual, historicoSomenteLeitura);
+            if (taxaAgendada != taxaAprendizadoAtual) {
+                double taxaAnterior = taxaAprendizadoAtual;
+                taxaAprendizadoAtual = taxaAgendada;
+                rede.sincronizarTaxaAprendizado(taxaAprendizadoAtual);
+                if (redeSimples != null)
+                    redeSimples.setTaxaAprendizado(taxaAprendizadoAtual);
+                registrarMudancaTaxa(epocaAtual, taxaAnterior, taxaAprendizadoAtual, medidas);
+            }
+        }
+
+        return new ResultadoTreinamento(rede, erroEpoca, epocaAtual, historicoErros);
+    }
+
+    // Treina uma época e retorna a soma dos erros quadráticos; 'tempos' pode ser null
+    private interface Epoca {
+        double treinar(TemposFases tempos) throws InterruptedException;
+    }
+
+    // Evento JFR e contador de uma troca da taxa de aprendizado
+    private static void registrarMudancaTaxa(int epoca, double taxaAnterior, double taxaNova, MedidasTreino medidas) {
+        EventoTaxaAprendizado eventoTaxa = new EventoTaxaAprendizado();
+        if (eventoTaxa.shouldCommit()) {
+            eventoTaxa.epoca = epoca;
+            eventoTaxa.taxaAnterior = taxaAnterior;
+            eventoTaxa.taxaNova = taxaNova;
+            eventoTaxa.commit();
+        }
+        medidas.mudancasTaxa.incrementar();
+    }
+
+    // Treina uma época uma instância por vez e retorna a soma dos erros quadráticos
+    // Se 'tempos' não for null, soma nele o tempo de cada fase (também usado pela BuscaHiperparametros)
+    static double treinarEpocaOnline(RedeNeural rede, DadosNormalizados dados, int[] ordem, TemposFases tempos) {
+        double somaErrosQuadradicos = 0.0;
+        double[] entradasNormalizadas = new double[dados.getNumeroDeAtributos()];
+        for (int linha : ordem) {
+            dados.copiarEntradas(linha, entradasNormalizadas, 0);
+            double[] vetorAlvo = rede.getVetorAlvo(dados.getClasseId(linha));
+            double[] saidasRede;
+            if (tempos == null) {
+                saidasRede = rede.feedforward(entradasNormalizadas);
+                rede.backpropagation(entradasNormalizadas, vetorAlvo);
+            } else {
+                long t0 = System.nanoTime();
+                saidasRede = rede.feedforward(entradasNormalizadas);
+                long t1 = System.nanoTime();
+                rede.calcularGradientes(vetorAlvo);
+                long t2 = System.nanoTime();
+                rede.atualizarPesos(entradasNormalizadas);
+                tempos.forward += t1 - t0;
+                tempos.backward += t2 - t1;
+                tempos.atualizacao += System.nanoTime() - t2;
+            }
+            for (int i = 0; i < vetorAlvo.length; i++) {
+                double erro = vetorAlvo[i] - saidasRede[i];
+                somaErrosQuadradicos += 0.5 * (erro * erro);
+            }
+        }
+        return somaErrosQuadradicos;
+    }
+
+    // Treina uma época em mini-lotes e retorna a soma dos erros quadráticos
+    // As instâncias de cada lote são copiadas para matrizes contíguas e passam juntas pela rede
+    static double treinarEpocaEmLotes(RedeNeural rede, DadosNormalizados dados, int[] ordem, int tamanhoLote,
+                                      TemposFases tempos) {
+        int numEntradas = dados.getNumeroDeAtributos();
+        int numSaidas = rede.getCamadaSaida().getNumNeuronios();
+        double[] entradasLote = new double[tamanhoLote * numEntradas];
+        double[] alvosLote = new double[tamanhoLote * numSaidas];
+        double somaErrosQuadradicos = 0.0;
+
+        for (int inicio = 0; inicio < ordem.length; inicio += tamanhoLote) {
+            int tamanho = Math.min(tamanhoLote, ordem.length - inicio);
+
+            // Monta o lote (uma linha por instância)
+            for (int b = 0; b < tamanho; b++) {
+                int linha = ordem[inicio + b];
+                dados.copiarEntradas(linha, entradasLote, b * numEntradas);
+                System.arraycopy(rede.getVetorAlvo(dados.getClasseId(linha)), 0, alvosLote, b * numSaidas, numSaidas);
+            }
+
+            long t0 = tempos != null ? System.nanoTime() : 0;
+            double[] saidasLote = rede.feedforwardLote(entradasLote, tamanho);
+            for (int i = 0; i < tamanho * numSaidas; i++) {
+                double erro = alvosLote[i] - saidasLote[i];
+                somaErrosQuadradicos += 0.5 * (erro * erro);
+            }
+            if (tempos == null) {
+                rede.backpropagationLote(entradasLote, alvosLote, tamanho);
+            } else {
+                long t1 = System.nanoTime();
+                rede.calcularGradientesLote(entradasLote, alvosLote, tamanho);
+                long t2 = System.nanoTime();
+                rede.aplicarGradientesLote(tamanho);
+                tempos.forward += t1 - t0;
+                tempos.backward += t2 - t1;
+                tempos.atualizacao += System.nanoTime() - t2;
+            }
+        }
+        return somaErrosQuadradicos;
+    }
+
+    // Treina uma época em float (online = lotes de tamanho 1) e retorna a soma dos erros quadráticos
+    static double treinarEpocaSimples(RedeNeuralSimples rede, DadosNormalizadosSimples dados, int[] ordem,
+                                       int tamanhoLote, TemposFases tempos) {
+        int numEntradas = dados.getNumeroDeAtributos();
+        int numSaidas = rede.getCamadaSaida().getNumNeuronios();
+        float[] entradasLote = new float[tamanhoLote * numEntradas];
+        float[] alvosLote = new float[tamanhoLote * numSaidas];
+        double somaErrosQuadradicos = 0.0;
+
+        for (int inicio = 0; inicio < ordem.length; inicio += tamanhoLote) {
+            int tamanho = Math.min(tamanhoLote, ordem.length - inicio);
+
+            for (int b = 0; b < tamanho; b++) {
+                int linha = ordem[inicio + b];
+                dados.copiarEntradas(linha, entradasLote, b * numEntradas);
+                System.arraycopy(rede.getVetorAlvo(dados.getClasseId(linha)), 0, alvosLote, b * numSaidas, numSaidas);
+            }
+
+            long t0 = tempos != null ? System.nanoTime() : 0;
+            float[] saidasLote = rede.feedforwardLote(entradasLote, tamanho);
+            for (int i = 0; i < tamanho * numSaidas; i++) {
+                double erro = alvosLote[i] - saidasLote[i];
+                somaErrosQuadradicos += 0.5 * (erro * erro);
+            }
+            if (tempos == null) {
+                rede.backpropagationLote(entradasLote, alvosLote, tamanho);
+            } else {
+                long t1 = System.nanoTime();
+                rede.calcularGradientesLote(entradasLote, alvosLote, tamanho);
+                long t2 = System.nanoTime();
+                rede.aplicarGradientesLote(tamanho);
+                tempos.forward += t1 - t0;
+                tempos.backward += t2 - t1;
+                tempos.atualizacao += System.nanoTime() - t2;
+            }
+        }
+        return somaErrosQuadradicos;
+    }
+
+    // Contadores e histogramas do treinamento, buscados uma vez por treino
+    private static class MedidasTreino {
+        private final Contador epocas;
+        private final Contador amostras;
+        private final Contador platos;
+        private final Contador mudancasTaxa;
+        private final Histograma duracaoEpoca;
+        private final Histograma amostrasPorSegundo;
+        private final Histograma forward;
+        private final Histograma backward;
+        private final Histograma atualizacao;
+        private final Histograma espera;
+
+        MedidasTreino(Metricas metricas) {
+            epocas = metricas.contador("treino.epocas");
+            amostras = metricas.contador("treino.amostras");
+            platos = metricas.contador("treino.platos");
+            mudancasTaxa = metricas.contador("treino.mudancas_taxa");
+            duracaoEpoca = metricas.histograma("treino.epoca_ns");
+            amostrasPorSegundo = metricas.histograma("treino.amostras_por_segundo");
+            forward = metricas.histograma("treino.forward_ns");
+            backward = metricas.histograma("treino.backward_ns");
+            atualizacao = metricas.histograma("treino.atualizacao_ns");
+            espera = metricas.histograma("treino.espera_lotes_ns");
+        }
+
+        void registrarEpoca(long numAmostras, long duracaoNanos, double porSegundo, TemposFases tempos) {
+            epocas.incrementar();
+            amostras.incrementar(numAmostras);
+            duracaoEpoca.registrar(duracaoNanos);
+            amostrasPorSegundo.registrar(Math.round(porSegundo));
+            if (tempos != null) {
+                forward.registrar(tempos.forward);
+                backward.registrar(tempos.backward);
+                atualizacao.registrar(tempos.atualizacao);
+                espera.registrar(tempos.espera);
+            }
+        }
+    }
+
+    private static double calcularDesvioPadrao(List<Double> lista) {
+        double resultado = 0.0;
+
+        if (lista != null && lista.size() >= 2) {
+            double soma = 0.0;
+            for (double val : lista)
+                soma += val;
+            double media = soma / lista.size();
+            double somaVariancia = 0.0;
+            for (double val : lista)
+                somaVariancia += Math.pow(val - media, 2);
+            double variancia = somaVariancia / (lista.size() - 1);
+
+            resultado = Math.sqrt(variancia);
+        }
+        return resultado;
+    }
+}
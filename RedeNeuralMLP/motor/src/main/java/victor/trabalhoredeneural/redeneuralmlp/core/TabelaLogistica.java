@@ -0,0 +1,50 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+/**
+ * Logística aproximada por tabela com interpolação linear, usada pelas funções *_RAPIDA.
+ * A tabela cobre [-16, 16] com 64 pontos por unidade (2049 doubles, ~16 KB, cabe no cache L1).
+ * Erro da interpolação: no máximo h²/8 * max|f''| = (1/64)²/8 * 0.0963 ≈ 3e-6; fora do intervalo
+ * o valor satura em f(±16), que difere do exato em menos de 1.2e-7.
+ * A tangente hiperbólica sai da mesma tabela: tanh(x) = 2 * logistica(2x) - 1 (erro ≤ 6e-6).
+ * Os erros máximos também valem para as derivadas calculadas a partir das saídas: na logística
+ * |s(1-s) - t(1-t)| = |s-t|·|1-s-t| ≤ |s-t|, mas na tangente |s² - t²| = |s-t|·|s+t| ≤ 2|s-t|,
+ * por isso o erro documentado da hiperbólica é 1.2e-5.
+ */
+final class TabelaLogistica {
+
+    static final double ERRO_MAXIMO_LOGISTICA = 3e-6;
+    static final double ERRO_MAXIMO_HIPERBOLICA = 1.2e-5;
+
+    private static final double LIMITE = 16.0;
+    private static final int PONTOS_POR_UNIDADE = 64;
+    private static final int ULTIMO = (int) (2 * LIMITE * PONTOS_POR_UNIDADE);
+    private static final double[] VALORES = new double[ULTIMO + 2]; // +1 para ler [i + 1] sem checar no último ponto
+
+    static {
+        for (int i = 0; i <= ULTIMO; i++) {
+            double x = (double) i / PONTOS_POR_UNIDADE - LIMITE;
+            VALORES[i] = 1.0 / (1.0 + Math.exp(-x));
+        }
+        VALORES[ULTIMO + 1] = VALORES[ULTIMO];
+    }
+
+    private TabelaLogistica() {
+    }
+
+    static double logistica(double x) {
+        double posicao = (x + LIMITE) * PONTOS_POR_UNIDADE;
+        if (posicao <= 0.0)
+            return VALORES[0];
+        if (posicao >= ULTIMO)
+            return VALORES[ULTIMO];
+        if (posicao != posicao)                 // NaN continua NaN, como em Math.exp
+            return posicao;
+        int i = (int) posicao;
+        double fracao = posicao - i;
+        return VALORES[i] + fracao * (VALORES[i + 1] - VALORES[i]);
+    }
+
+    static double hiperbolica(double x) {
+        return 2.0 * logistica(2.0 * x) - 1.0;
+    }
+}
@@ -0,0 +1,23 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+// Tempo gasto (em nanossegundos) em cada fase do treinamento durante uma época
+final class TemposFases {
+    long forward;
+    long backward;
+    long atualizacao;
+    long espera;     // Thread de treino esperando a pré-busca de lotes
+
+    void zerar() {
+        forward = 0;
+        backward = 0;
+        atualizacao = 0;
+        espera = 0;
+    }
+
+    void somar(TemposFases outros) {
+        forward += outros.forward;
+        backward += outros.backward;
+        atualizacao += outros.atualizacao;
+        espera += outros.espera;
+    }
+}
@@ -0,0 +1,89 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Uma configuração em treinamento em uma única thread, usada pela BuscaHiperparametros e pela ValidacaoCruzada.
+ * Treina só as linhas informadas de um DadosNormalizados compartilhado (a ordem delas é própria),
+ * então várias tentativas podem ler o mesmo conjunto ao mesmo tempo sem copiá-lo.
+ */
+class Tentativa {
+
+    final ConfiguracaoTreinamento configuracao;
+    final RedeNeural rede;
+    private final int[] ordem;
+    private final Random rand;
+    private final List<Double> historicoErros = new ArrayList<>();
+    private final List<Double> historicoSomenteLeitura = Collections.unmodifiableList(historicoErros);
+    private double taxaAtual;
+
+    int epocas;
+    double erroTreino = 1.0;
+    boolean concluida;
+    double erroValidacao;
+    int acertos;
+    int rodadaAlcancada;
+
+    //'linhas' são os índices do conjunto de treino usados por esta tentativa (o vetor é copiado)
+    Tentativa(ConfiguracaoTreinamento configuracao, Normalizador normalizador, List<String> classes,
+              int[] linhas, long semente) {
+        this.configuracao = configuracao;
+        this.taxaAtual = configuracao.getTaxaAprendizado();
+        this.rand = new Random(semente);
+        // Os pesos iniciais também saem da semente: a mesma semente repete a tentativa
+        this.rede = new RedeNeural(
+                new Camada(configuracao.getNumOculta(), normalizador.getNumeroDeAtributos(), rand),
+                new Camada(classes.size(), configuracao.getNumOculta(), rand),
+                configuracao.getFuncaoAtivacao(), taxaAtual, normalizador, classes);
+        rede.usarOtimizador(configuracao.getOtimizador(), configuracao.getMomento());
+        rede.setFuncaoPerda(configuracao.getFuncaoPerda());
+        this.ordem = linhas.clone();
+    }
+
+    // Continua o treino até 'limite' épocas no total (ou até o maxEpocas / erroDesejado)
+    void treinarAte(int limite, DadosNormalizados dados) {
+        int ate = Math.min(limite, configuracao.getMaxEpocas());
+        while (epocas < ate && !concluida) {
+            Indices.embaralhar(ordem, rand);
+            double soma;
+            if (configuracao.getTamanhoLote() > 1 || configuracao.getOtimizador() != TipoOtimizador.SGD)
+                soma = ServicoTreinamento.treinarEpocaEmLotes(rede, dados, ordem, configuracao.getTamanhoLote(), null);
+            else
+                soma = ServicoTreinamento.treinarEpocaOnline(rede, dados, ordem, null);
+            epocas++;
+            erroTreino = soma / ordem.length;
+            historicoErros.add(erroTreino);
+
+            double taxaAgendada = configuracao.getAgendaTaxa().proximaTaxa(epocas,
+                    configuracao.getTaxaAprendizado(), taxaAtual, historicoSomenteLeitura);
+            if (taxaAgendada != taxaAtual) {
+                taxaAtual = taxaAgendada;
+                rede.sincronizarTaxaAprendizado(taxaAtual);
+            }
+            concluida = erroTreino <= configuracao.getErroDesejado() || epocas >= configuracao.getMaxEpocas();
+        }
+    }
+
+    // Avalia a rede nas 'linhas' de 'dados' (na thread atual, sem o pool comum) e guarda o erro
+    // quadrático médio e os acertos. alvos[linha] é o índice da classe real (-1 = classe desconhecida pela rede)
+    AcumuladorAvaliacao avaliar(DadosNormalizados dados, int[] linhas, int[] alvos) {
+        AcumuladorAvaliacao avaliacao = new AcumuladorAvaliacao(rede.getNomesClasses(), 1);
+        double[] entradas = new double[dados.getNumeroDeAtributos()];
+        double[] saida = new double[rede.getCamadaSaida().getNumNeuronios()];
+        for (int linha : linhas) {
+            dados.copiarEntradas(linha, entradas, 0);
+            rede.prever(entradas, saida);
+            avaliacao.registrar(alvos[linha], saida, 0);
+        }
+        erroValidacao = avaliacao.getErroQuadratico();
+        acertos = (int) avaliacao.getAcertos();
+        return avaliacao;
+    }
+}
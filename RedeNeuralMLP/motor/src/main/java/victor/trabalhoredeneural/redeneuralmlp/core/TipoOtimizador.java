@@ -0,0 +1,15 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+// Regra de atualização dos pesos a partir dos gradientes de um lote
+public enum TipoOtimizador {
+    // Gradiente descendente simples: peso += taxa * gradiente (padrão)
+    SGD,
+    // Soma uma fração ('momento') do passo anterior ao passo atual
+    MOMENTUM,
+    // Momentum de Nesterov: o gradiente é aplicado já considerando o próximo passo de momentum
+    NESTEROV,
+    // Divide o passo pela raiz da média móvel dos gradientes ao quadrado
+    RMSPROP,
+    // Momentum + RMSProp com correção de viés (taxas típicas entre 0.001 e 0.01)
+    ADAM
+}
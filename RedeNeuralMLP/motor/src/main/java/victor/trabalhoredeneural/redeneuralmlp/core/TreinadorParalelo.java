@@ -0,0 +1,285 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+
+/**
+ * Treinamento com paralelismo de dados.
+ * Cada época (a ordem embaralhada das linhas) é dividida entre as threads de um pool fixo, e cada
+ * thread trabalha sobre uma réplica da rede (criarReplica) que compartilha os pesos
+ * com a rede principal, mas tem suas próprias saídas, gradientes e buffers de lote.
+ * As threads são disparadas uma vez por época; no modo síncrono elas se encontram em barreiras
+ * a cada passo, e a soma dos gradientes e a atualização dos pesos também são divididas entre elas.
+ */
+public class TreinadorParalelo {
+
+    // Menor lote por thread aceito no modo síncrono (ConfiguracaoTreinamento.validar): com lotes menores,
+    // as duas barreiras de cada passo custam mais do que o cálculo e várias threads ficam mais lentas que uma
+    public static final int LOTE_MINIMO_SINCRONO = 16;
+
+    // Forma de combinar o trabalho das threads nos pesos da rede
+    public enum Modo {
+        // A cada passo, cada thread calcula o gradiente da sua fatia do lote global (tamanhoLote linhas);
+        // os gradientes são somados e aplicados uma única vez: dá os mesmos pesos que o treino em lotes
+        // de tamanhoLote * numThreads em uma thread, na mesma ordem
+        SINCRONO,
+        // Cada thread treina a sua parte da época escrevendo direto nos pesos
+        // compartilhados, sem travas (Hogwild!)
+        HOGWILD
+    }
+
+    private final RedeNeural rede;
+    private final int tamanhoLote;
+    private final Modo modo;
+    private final ExecutorService pool;
+    private final List<Trabalhador> trabalhadores;
+    // Soma dos gradientes de todas as réplicas no passo síncrono (cada thread preenche a sua faixa)
+    private final double[] somaGradienteOculta;
+    private final double[] somaGradienteSaida;
+
+    public TreinadorParalelo(RedeNeural rede, int numThreads, int tamanhoLote, Modo modo) {
+        if (numThreads <= 0 || tamanhoLote <= 0)
+            throw new IllegalArgumentException("O número de threads e o tamanho do lote devem ser maiores que 0.");
+        this.rede = rede;
+        this.tamanhoLote = tamanhoLote;
+        this.modo = modo;
+        // Um pool fixo: no modo síncrono todas as tarefas precisam rodar ao mesmo tempo (esperam nas barreiras)
+        this.pool = Executors.newFixedThreadPool(numThreads, tarefa -> {
+            Thread thread = new Thread(tarefa, "treinador-paralelo");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.somaGradienteOculta = new double[rede.getCamadaOculta().getPesos().length];
+        this.somaGradienteSaida = new double[rede.getCamadaSaida().getPesos().length];
+
+        this.trabalhadores = new ArrayList<>(numThreads);
+        int numEntradas = rede.getCamadaOculta().getNumEntradas();
+        int numSaidas = rede.getCamadaSaida().getNumNeuronios();
+        for (int t = 0; t < numThreads; t++) {
+            trabalhadores.add(new Trabalhador(rede.criarReplica(), tamanhoLote, numEntradas, numSaidas));
+        }
+    }
+
+    //Treina uma época percorrendo as linhas na ordem informada e retorna a soma dos erros quadráticos
+    public double treinarEpoca(DadosNormalizados dados, int[] ordem) throws InterruptedException {
+        return treinarEpoca(dados, ordem, null);
+    }
+
+    // Igual a treinarEpoca, somando em 'tempos' (se não for null) o tempo de cada fase em todas as threads
+    double treinarEpoca(DadosNormalizados dados, int[] ordem, TemposFases tempos) throws InterruptedException {
+        // A taxa pode ter sido alterada (ex: redução no platô) desde a época anterior
+        for (Trabalhador t : trabalhadores) {
+            t.replica.sincronizarTaxaAprendizado(rede.getTaxaAprendizado());
+            t.tempos = tempos != null ? new TemposFases() : null;
+        }
+
+        double somaErros = modo == Modo.HOGWILD
+                ? treinarEpocaHogwild(dados, ordem)
+                : treinarEpocaSincrona(dados, ordem);
+
+        if (tempos != null) {
+            for (Trabalhador t : trabalhadores) {
+                tempos.somar(t.tempos);
+            }
+        }
+        return somaErros;
+    }
+
+    //Libera as threads do pool
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    private double treinarEpocaSincrona(DadosNormalizados dados, int[] ordem) throws InterruptedException {
+        int numThreads = trabalhadores.size();
+        int passoGlobal = tamanhoLote * numThreads;
+        int numPassos = (ordem.length + passoGlobal - 1) / passoGlobal;
+        // Duas barreiras por passo. Fases pares: todas as réplicas calcularam os gradientes (a última a chegar
+        // inicia o passo do otimizador); ímpares: todas as faixas dos pesos foram atualizadas, então o próximo
+        // passo já lê os pesos novos. Se uma thread falhar, ela encerra o Phaser e as outras saem das barreiras
+        Phaser barreiras = new Phaser(numThreads) {
+            @Override
+            protected boolean onAdvance(int fase, int registrados) {
+                if (fase % 2 == 0)
+                    rede.iniciarPassoGradientes();
+                return false;
+            }
+        };
+
+        // Cada thread soma e aplica uma faixa contínua dos pesos (oculta seguida da saída)
+        int numPesos = somaGradienteOculta.length + somaGradienteSaida.length;
+        List<Callable<Double>> tarefas = new ArrayList<>(numThreads);
+        for (int t = 0; t < numThreads; t++) {
+            int indice = t;
+            int de = (int) ((long) numPesos * t / numThreads);
+            int ate = (int) ((long) numPesos * (t + 1) / numThreads);
+            tarefas.add(() -> {
+                Trabalhador trabalhador = trabalhadores.get(indice);
+                double erro = 0.0;
+                try {
+                    for (int p = 0; p < numPassos; p++) {
+                        int inicioPasso = p * passoGlobal;
+                        int inicio = Math.min(inicioPasso + indice * tamanhoLote, ordem.length);
+                        erro += trabalhador.calcularGradientes(dados, ordem, inicio,
+                                Math.min(inicio + tamanhoLote, ordem.length));
+                        if (barreiras.awaitAdvanceInterruptibly(barreiras.arrive()) < 0) break;
+                        reduzirEAplicar(de, ate, Math.min(passoGlobal, ordem.length - inicioPasso), trabalhador.tempos);
+                        if (barreiras.awaitAdvanceInterruptibly(barreiras.arrive()) < 0) break;
+                    }
+                } catch (RuntimeException | Error | InterruptedException e) {
+                    barreiras.forceTermination();
+                    throw e;
+                }
+                return erro;
+            });
+        }
+        return executar(tarefas);
+    }
+
+    // Soma a faixa [de, ate) dos gradientes de todas as réplicas e a aplica nos pesos compartilhados
+    private void reduzirEAplicar(int de, int ate, int amostrasNoPasso, TemposFases tempos) {
+        long inicio = tempos != null ? System.nanoTime() : 0;
+        int limiteOculta = somaGradienteOculta.length;
+        reduzir(somaGradienteOculta, de, Math.min(ate, limiteOculta), true);
+        reduzir(somaGradienteSaida, Math.max(de, limiteOculta) - limiteOculta, ate - limiteOculta, false);
+        rede.aplicarGradientesFaixa(somaGradienteOculta, somaGradienteSaida, de, ate, amostrasNoPasso);
+        if (tempos != null)
+            tempos.atualizacao += System.nanoTime() - inicio;
+    }
+
+    // soma[de, ate) = Σ gradientes[de, ate) das réplicas que tiveram linhas neste passo
+    private void reduzir(double[] soma, int de, int ate, boolean oculta) {
+        if (de >= ate) return;
+        boolean primeira = true;
+        for (Trabalhador t : trabalhadores) {
+            if (t.tamanhoPasso == 0) continue;
+            double[] gradiente = (oculta ? t.replica.getCamadaOculta() : t.replica.getCamadaSaida()).getGradientePesos();
+            if (primeira)
+                System.arraycopy(gradiente, de, soma, de, ate - de);
+            else
+                Nucleos.atual().axpy(1.0, gradiente, de, soma, de, ate - de);
+            primeira = false;
+        }
+    }
+
+    private double treinarEpocaHogwild(DadosNormalizados dados, int[] ordem) throws InterruptedException {
+        // Cada thread recebe uma fatia contínua da época e a percorre inteira sem sincronizar
+        int numThreads = trabalhadores.size();
+        int tamanhoFatia = (ordem.length + numThreads - 1) / numThreads;
+
+        List<Callable<Double>> tarefas = new ArrayList<>(numThreads);
+        for (int t = 0; t < numThreads; t++) {
+            int de = t * tamanhoFatia;
+            int ate = Math.min(de + tamanhoFatia, ordem.length);
+            if (de >= ate) break;
+            Trabalhador trabalhador = trabalhadores.get(t);
+            tarefas.add(() -> trabalhador.treinarFatia(dados, ordem, de, ate));
+        }
+        return executar(tarefas);
+    }
+
+    //Executa as tarefas no pool e soma os erros retornados
+    private double executar(List<Callable<Double>> tarefas) throws InterruptedException {
+        double soma = 0.0;
+        for (Future<Double> f : pool.invokeAll(tarefas)) {
+            try {
+                soma += f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha em uma thread de treinamento", e.getCause());
+            }
+        }
+        return soma;
+    }
+
+    // Estado privado de cada thread: a réplica da rede e os buffers do lote
+    private static class Trabalhador {
+        private final RedeNeural replica;
+        private final int tamanhoLote;
+        private final int numEntradas;
+        private final int numSaidas;
+        private final double[] entradasLote;
+        private final double[] alvosLote;
+        // Linhas da fatia desta thread no passo síncrono atual (0 se a época acabou antes dela)
+        private int tamanhoPasso;
+        // Tempos desta thread na época atual (null quando não estão sendo medidos)
+        private TemposFases tempos;
+
+        Trabalhador(RedeNeural replica, int tamanhoLote, int numEntradas, int numSaidas) {
+            this.replica = replica;
+            this.tamanhoLote = tamanhoLote;
+            this.numEntradas = numEntradas;
+            this.numSaidas = numSaidas;
+            this.entradasLote = new double[tamanhoLote * numEntradas];
+            this.alvosLote = new double[tamanhoLote * numSaidas];
+        }
+
+        //Modo síncrono: feedforward + gradientes das instâncias [de, ate), sem alterar os pesos
+        double calcularGradientes(DadosNormalizados dados, int[] ordem, int de, int ate) {
+            int tamanho = montarLote(dados, ordem, de, ate);
+            tamanhoPasso = tamanho;
+            if (tamanho == 0) return 0.0;
+            if (tempos == null) {
+                double erro = somarErros(replica.feedforwardLote(entradasLote, tamanho), tamanho);
+                replica.calcularGradientesLote(entradasLote, alvosLote, tamanho);
+                return erro;
+            }
+            long t0 = System.nanoTime();
+            double erro = somarErros(replica.feedforwardLote(entradasLote, tamanho), tamanho);
+            long t1 = System.nanoTime();
+            replica.calcularGradientesLote(entradasLote, alvosLote, tamanho);
+            tempos.forward += t1 - t0;
+            tempos.backward += System.nanoTime() - t1;
+            return erro;
+        }
+
+        //Modo Hogwild: treina as instâncias [de, ate) atualizando direto os pesos compartilhados
+        double treinarFatia(DadosNormalizados dados, int[] ordem, int de, int ate) {
+            double erro = 0.0;
+            for (int inicio = de; inicio < ate; inicio += tamanhoLote) {
+                int tamanho = montarLote(dados, ordem, inicio, Math.min(inicio + tamanhoLote, ate));
+                if (tempos == null) {
+                    erro += somarErros(replica.feedforwardLote(entradasLote, tamanho), tamanho);
+                    replica.backpropagationLote(entradasLote, alvosLote, tamanho);
+                    continue;
+                }
+                long t0 = System.nanoTime();
+                erro += somarErros(replica.feedforwardLote(entradasLote, tamanho), tamanho);
+                long t1 = System.nanoTime();
+                replica.calcularGradientesLote(entradasLote, alvosLote, tamanho);
+                long t2 = System.nanoTime();
+                replica.aplicarGradientesLote(tamanho);
+                tempos.forward += t1 - t0;
+                tempos.backward += t2 - t1;
+                tempos.atualizacao += System.nanoTime() - t2;
+            }
+            return erro;
+        }
+
+        //Copia as linhas ordem[de, ate) (já normalizadas) para o buffer do lote e retorna o tamanho do lote
+        private int montarLote(DadosNormalizados dados, int[] ordem, int de, int ate) {
+            for (int i = de; i < ate; i++) {
+                int linha = ordem[i];
+                dados.copiarEntradas(linha, entradasLote, (i - de) * numEntradas);
+                System.arraycopy(replica.getVetorAlvo(dados.getClasseId(linha)), 0, alvosLote, (i - de) * numSaidas, numSaidas);
+            }
+            return ate - de;
+        }
+
+        private double somarErros(double[] saidasLote, int tamanho) {
+            double soma = 0.0;
+            for (int i = 0; i < tamanho * numSaidas; i++) {
+                double erro = alvosLote[i] - saidasLote[i];
+                soma += 0.5 * (erro * erro);
+            }
+            return soma;
+        }
+    }
+}
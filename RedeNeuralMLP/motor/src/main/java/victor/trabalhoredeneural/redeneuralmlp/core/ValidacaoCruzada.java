@@ -0,0 +1,160 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoValidacaoCruzada;
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Validação cruzada k-fold (simples ou estratificada), com as dobras treinadas em paralelo.
+ * As dobras são vetores de índices sobre um único DadosNormalizados, normalizado uma vez com
+ * os min/max do conjunto inteiro; nenhuma instância é copiada. Cada dobra treina em uma thread
+ * (como na BuscaHiperparametros), então k dobras em k núcleos levam o tempo de uma.
+ * Por isso o numThreads e o modoParalelo da configuração não se aplicam aqui, nem a pré-busca
+ * e a detecção de platô; a AgendaTaxa sim.
+ */
+public class ValidacaoCruzada {
+
+    private final int numDobras;
+    private final boolean estratificada;
+    private final int numThreads;
+    private long semente = System.nanoTime();
+
+    public ValidacaoCruzada(int numDobras, boolean estratificada, int numThreads) {
+        if (numDobras < 2)
+            throw new IllegalArgumentException("O número de dobras deve ser >= 2.");
+        if (numThreads <= 0)
+            throw new IllegalArgumentException("O número de threads deve ser maior que 0.");
+        this.numDobras = numDobras;
+        this.estratificada = estratificada;
+        this.numThreads = numThreads;
+    }
+
+    //Semente da divisão em dobras, dos pesos iniciais e dos embaralhamentos
+    public ValidacaoCruzada setSemente(long semente) {
+        this.semente = semente;
+        return this;
+    }
+
+    //Treina uma rede por dobra com a configuração informada e avalia cada uma na sua parte de teste
+    public ResultadoValidacaoCruzada executar(ConfiguracaoTreinamento configuracao, ConjuntoDados dados)
+            throws InterruptedException {
+        configuracao.validar();
+        if (configuracao.getPrecisao() != Precisao.DUPLA)
+            throw new IllegalArgumentException("A validação cruzada só usa a precisão dupla.");
+        int numLinhas = dados.getNumeroDeInstancias();
+        if (numLinhas < numDobras)
+            throw new IllegalArgumentException("O conjunto tem menos instâncias do que dobras.");
+
+        Normalizador normalizador = new Normalizador(dados);
+        DadosNormalizados normalizados = normalizador.normalizar(dados);
+        List<String> classes = dados.getListaClassesUnicas();
+        int[] alvos = new int[numLinhas];
+        for (int i = 0; i < numLinhas; i++)
+            alvos[i] = dados.getClasseId(i);
+
+        Random rand = new Random(semente);
+        int[][] dobras = criarDobras(dados, numDobras, estratificada, rand);
+        AcumuladorAvaliacao[] avaliacoes = new AcumuladorAvaliacao[numDobras];
+        List<Tentativa> tentativas = new ArrayList<>(numDobras);
+        List<Callable<Void>> tarefas = new ArrayList<>(numDobras);
+        for (int d = 0; d < numDobras; d++) {
+            int[] teste = dobras[d];
+            int dobra = d;
+            Tentativa tentativa = new Tentativa(configuracao, normalizador, classes,
+                    Indices.complemento(teste, numLinhas), rand.nextLong());
+            tentativas.add(tentativa);
+            tarefas.add(() -> {
+                tentativa.treinarAte(configuracao.getMaxEpocas(), normalizados);
+                avaliacoes[dobra] = tentativa.avaliar(normalizados, teste, alvos);
+                return null;
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(numThreads, numDobras));
+        try {
+            for (Future<Void> f : pool.invokeAll(tarefas)) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Falha no treinamento de uma dobra", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        int[] epocas = new int[numDobras];
+        for (int d = 0; d < numDobras; d++)
+            epocas[d] = tentativas.get(d).epocas;
+        return new ResultadoValidacaoCruzada(Arrays.asList(avaliacoes), epocas);
+    }
+
+    //Divide as linhas em k dobras de teste (tamanhos diferem em no máximo 1).
+    //Na estratificada, as linhas de cada classe são embaralhadas e distribuídas em rodízio,
+    //então cada dobra mantém a proporção das classes do conjunto
+    public static int[][] criarDobras(ConjuntoDados dados, int k, boolean estratificada, Random rand) {
+        int numLinhas = dados.getNumeroDeInstancias();
+        int[] dobraDaLinha = new int[numLinhas];
+        int[] tamanhos = new int[k];
+        int proxima = 0;
+
+        if (estratificada) {
+            // Agrupa as linhas por classe sem criar listas: contagem + deslocamentos
+            int numClasses = dados.getNumeroDeClasses();
+            int[] inicio = new int[numClasses + 1];
+            for (int i = 0; i < numLinhas; i++)
+                inicio[dados.getClasseId(i) + 1]++;
+            for (int c = 0; c < numClasses; c++)
+                inicio[c + 1] += inicio[c];
+            int[] porClasse = new int[numLinhas];
+            int[] preenchidas = inicio.clone();
+            for (int i = 0; i < numLinhas; i++)
+                porClasse[preenchidas[dados.getClasseId(i)]++] = i;
+
+            for (int c = 0; c < numClasses; c++) {
+                // Fisher-Yates só no trecho da classe
+                for (int i = inicio[c + 1] - 1; i > inicio[c]; i--) {
+                    int j = inicio[c] + rand.nextInt(i - inicio[c] + 1);
+                    int temp = porClasse[i];
+                    porClasse[i] = porClasse[j];
+                    porClasse[j] = temp;
+                }
+            }
+            // O rodízio continua de uma classe para a outra, o que equilibra os tamanhos
+            for (int linha : porClasse) {
+                dobraDaLinha[linha] = proxima;
+                tamanhos[proxima]++;
+                proxima = (proxima + 1) % k;
+            }
+        } else {
+            int[] ordem = Indices.sequencia(numLinhas);
+            Indices.embaralhar(ordem, rand);
+            for (int linha : ordem) {
+                dobraDaLinha[linha] = proxima;
+                tamanhos[proxima]++;
+                proxima = (proxima + 1) % k;
+            }
+        }
+
+        int[][] dobras = new int[k][];
+        for (int d = 0; d < k; d++)
+            dobras[d] = new int[tamanhos[d]];
+        int[] posicao = new int[k];
+        for (int i = 0; i < numLinhas; i++) {
+            int d = dobraDaLinha[i];
+            dobras[d][posicao[d]++] = i;
+        }
+        return dobras;
+    }
+}
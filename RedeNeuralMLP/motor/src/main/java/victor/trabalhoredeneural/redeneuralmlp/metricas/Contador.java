@@ -0,0 +1,11 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+//Contador monotônico (ex: épocas, amostras processadas)
+public interface Contador {
+
+    void incrementar(long quantidade);
+
+    default void incrementar() {
+        incrementar(1);
+    }
+}
@@ -0,0 +1,52 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+//Evento JFR de uma época de treinamento (a duração do evento é a duração da época)
+@Name("redeneural.Epoca")
+@Label("Época de Treinamento")
+@Category({"Rede Neural MLP", "Treinamento"})
+@StackTrace(false)
+public class EventoEpoca extends Event {
+
+    @Label("Época")
+    public int epoca;
+
+    @Label("Amostras")
+    public long amostras;
+
+    @Label("Amostras por Segundo")
+    public double amostrasPorSegundo;
+
+    @Label("Erro Médio")
+    public double erro;
+
+    @Label("Taxa de Aprendizado")
+    public double taxaAprendizado;
+
+    @Label("Tempo de Feedforward")
+    @Description("Soma entre as threads de treinamento")
+    @Timespan(Timespan.NANOSECONDS)
+    public long tempoForward;
+
+    @Label("Tempo de Backpropagation")
+    @Description("Cálculo dos gradientes, soma entre as threads de treinamento")
+    @Timespan(Timespan.NANOSECONDS)
+    public long tempoBackward;
+
+    @Label("Tempo de Atualização dos Pesos")
+    @Description("Soma entre as threads de treinamento")
+    @Timespan(Timespan.NANOSECONDS)
+    public long tempoAtualizacao;
+
+    @Label("Espera por Lotes")
+    @Description("Tempo em que a thread de treino esperou a pré-busca de lotes")
+    @Timespan(Timespan.NANOSECONDS)
+    public long tempoEspera;
+}
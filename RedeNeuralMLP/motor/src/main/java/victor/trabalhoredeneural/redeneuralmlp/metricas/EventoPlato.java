@@ -0,0 +1,27 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Evento JFR de um platô detectado; a duração é o tempo que a política levou para decidir
+@Name("redeneural.Plato")
+@Label("Platô Detectado")
+@Category({"Rede Neural MLP", "Treinamento"})
+@StackTrace(false)
+public class EventoPlato extends Event {
+
+    @Label("Época")
+    public int epoca;
+
+    @Label("Erro Médio")
+    public double erro;
+
+    @Label("Desvio Padrão")
+    public double desvioPadrao;
+
+    @Label("Ação")
+    public String acao;
+}
@@ -0,0 +1,24 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+//Evento JFR emitido quando a taxa de aprendizado muda durante o treinamento
+@Name("redeneural.TaxaAprendizado")
+@Label("Mudança da Taxa de Aprendizado")
+@Category({"Rede Neural MLP", "Treinamento"})
+@StackTrace(false)
+public class EventoTaxaAprendizado extends Event {
+
+    @Label("Época")
+    public int epoca;
+
+    @Label("Taxa Anterior")
+    public double taxaAnterior;
+
+    @Label("Taxa Nova")
+    public double taxaNova;
+}
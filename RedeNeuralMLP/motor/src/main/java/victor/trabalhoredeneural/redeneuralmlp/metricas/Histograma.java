@@ -0,0 +1,7 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+//Distribuição de valores inteiros não negativos (ex: tempos em nanossegundos)
+public interface Histograma {
+
+    void registrar(long valor);
+}
@@ -0,0 +1,84 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma sem travas com faixas logarítmicas: 8 faixas por potência de 2
+ * (erro relativo de até ~9% nos percentis), então p50/p99 saem sem guardar cada medida.
+ */
+public class HistogramaLogaritmico implements Histograma {
+
+    private static final int SUBFAIXAS = 8;                 // Faixas por potência de 2
+    private static final int BITS_SUBFAIXA = 3;             // log2(SUBFAIXAS)
+    private static final int NUM_FAIXAS = 64 * SUBFAIXAS;
+
+    private final AtomicLongArray faixas = new AtomicLongArray(NUM_FAIXAS);
+    private final LongAdder contagem = new LongAdder();
+    private final LongAdder soma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    @Override
+    public void registrar(long valor) {
+        valor = Math.max(valor, 0);
+        faixas.incrementAndGet(faixa(valor));
+        contagem.increment();
+        soma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    //Valor abaixo do qual ficam 'percentil' das medidas (ex: 0.99); 0 se ainda não há medidas
+    public long percentil(double percentil) {
+        long total = 0;
+        long[] contagens = new long[NUM_FAIXAS];
+        for (int i = 0; i < NUM_FAIXAS; i++) {
+            contagens[i] = faixas.get(i);
+            total += contagens[i];
+        }
+        if (total == 0)
+            return 0;
+
+        long alvo = Math.max(1, (long) Math.ceil(percentil * total));
+        long acumulado = 0;
+        for (int i = 0; i < NUM_FAIXAS; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo)
+                return Math.min(limiteSuperior(i), maximo.get());
+        }
+        return maximo.get();
+    }
+
+    public long getContagem() {
+        return contagem.sum();
+    }
+
+    public double getMedia() {
+        long n = contagem.sum();
+        return n > 0 ? (double) soma.sum() / n : 0.0;
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    // Faixa do valor: até SUBFAIXAS cada valor tem a sua; depois, SUBFAIXAS por potência de 2
+    private static int faixa(long valor) {
+        if (valor < SUBFAIXAS)
+            return (int) valor;
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);  // valor está em [2^expoente, 2^(expoente+1))
+        int sub = (int) (valor >>> (expoente - BITS_SUBFAIXA)) & (SUBFAIXAS - 1);
+        return (expoente - BITS_SUBFAIXA + 1) * SUBFAIXAS + sub;
+    }
+
+    // Maior valor que cai na faixa informada
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBFAIXAS)
+            return indice;
+        int expoente = indice / SUBFAIXAS + BITS_SUBFAIXA - 1;
+        int sub = indice % SUBFAIXAS;
+        long base = 1L << expoente;
+        long largura = 1L << (expoente - BITS_SUBFAIXA);
+        return base + (sub + 1) * largura - 1;
+    }
+}
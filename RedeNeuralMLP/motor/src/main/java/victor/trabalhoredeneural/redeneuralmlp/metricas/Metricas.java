@@ -0,0 +1,31 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+/**
+ * Ponto de extensão para as métricas do treinamento e do servidor.
+ * Quem quiser exportar para outro sistema implementa esta interface; MetricasEmMemoria guarda
+ * tudo na própria JVM e NENHUMA descarta as medidas (padrão, sem custo).
+ * Os nomes seguem o formato "area.medida_unidade" (ex: "treino.forward_ns").
+ */
+public interface Metricas {
+
+    Metricas NENHUMA = new Metricas() {
+        private final Contador contador = quantidade -> { };
+        private final Histograma histograma = valor -> { };
+
+        @Override
+        public Contador contador(String nome) {
+            return contador;
+        }
+
+        @Override
+        public Histograma histograma(String nome) {
+            return histograma;
+        }
+    };
+
+    //Retorna o contador com o nome informado (sempre o mesmo objeto para o mesmo nome)
+    Contador contador(String nome);
+
+    //Retorna o histograma com o nome informado (sempre o mesmo objeto para o mesmo nome)
+    Histograma histograma(String nome);
+}
@@ -0,0 +1,51 @@
+package victor.trabalhoredeneural.redeneuralmlp.metricas;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//Guarda contadores e histogramas na memória; resumo() lista tudo em ordem alfabética
+public class MetricasEmMemoria implements Metricas {
+
+    private final Map<String, ContadorEmMemoria> contadores = new ConcurrentHashMap<>();
+    private final Map<String, HistogramaLogaritmico> histogramas = new ConcurrentHashMap<>();
+
+    @Override
+    public ContadorEmMemoria contador(String nome) {
+        return contadores.computeIfAbsent(nome, n -> new ContadorEmMemoria());
+    }
+
+    @Override
+    public HistogramaLogaritmico histograma(String nome) {
+        return histogramas.computeIfAbsent(nome, n -> new HistogramaLogaritmico());
+    }
+
+    //Uma métrica por linha: "nome valor" para contadores e contagem/média/p50/p99/máximo para histogramas
+    public String resumo() {
+        StringBuilder texto = new StringBuilder();
+        for (Map.Entry<String, ContadorEmMemoria> c : new TreeMap<>(contadores).entrySet())
+            texto.append(c.getKey()).append(' ').append(c.getValue().getValor()).append(System.lineSeparator());
+        for (Map.Entry<String, HistogramaLogaritmico> h : new TreeMap<>(histogramas).entrySet()) {
+            HistogramaLogaritmico histograma = h.getValue();
+            texto.append(String.format(Locale.ROOT, "%s contagem=%d media=%.1f p50=%d p99=%d max=%d%n",
+                    h.getKey(), histograma.getContagem(), histograma.getMedia(),
+                    histograma.percentil(0.50), histograma.percentil(0.99), histograma.getMaximo()));
+        }
+        return texto.toString();
+    }
+
+    public static class ContadorEmMemoria implements Contador {
+        private final LongAdder valor = new LongAdder();
+
+        @Override
+        public void incrementar(long quantidade) {
+            valor.add(quantidade);
+        }
+
+        public long getValor() {
+            return valor.sum();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package victor.trabalhoredeneural.redeneuralmlp.model;
+
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+import victor.trabalhoredeneural.redeneuralmlp.util.LeitorCSV;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Conjunto de dados armazenado por colunas.
+ * Cada atributo é um vetor primitivo (colunas[atributo][linha]) e a classe de cada linha
+ * é um id inteiro que indexa o dicionário ordenado de nomes de classes.
+ * As linhas são acessadas pelo índice; Instancia é apenas um cursor leve sobre uma linha.
+ */
+public class ConjuntoDados {
+
+    private final int numLinhas;
+    private final double[][] colunas;          // colunas[atributo][linha]
+    private final int[] classes;               // Id da classe de cada linha
+    private final List<String> nomesClasses;   // Dicionário ordenado: id -> nome da classe
+    private final List<Double> minimos;
+    private final List<Double> maximos;
+
+    // Cria o conjunto e calcula os min/max de cada coluna
+    public ConjuntoDados(double[][] colunas, int[] classes, int numLinhas, List<String> nomesClasses) {
+        this.numLinhas = numLinhas;
+        this.colunas = colunas;
+        this.classes = classes;
+        this.nomesClasses = Collections.unmodifiableList(new ArrayList<>(nomesClasses));
+        this.minimos = new ArrayList<>();
+        this.maximos = new ArrayList<>();
+
+        calcularMinMax();
+    }
+
+    // Cria o conjunto reaproveitando min/max já calculados (ex: partes de um conjunto maior)
+    public ConjuntoDados(double[][] colunas, int[] classes, int numLinhas, List<String> nomesClasses,
+                         List<Double> minimos, List<Double> maximos) {
+        this.numLinhas = numLinhas;
+        this.colunas = colunas;
+        this.classes = classes;
+        this.nomesClasses = Collections.unmodifiableList(new ArrayList<>(nomesClasses));
+        this.minimos = minimos;
+        this.maximos = maximos;
+    }
+
+    // Metodo privado para inicializar os valores min/max de cada coluna
+    private void calcularMinMax() {
+        if (numLinhas > 0) {
+            for (double[] coluna : colunas) {
+                double min = Double.MAX_VALUE;
+                double max = -Double.MAX_VALUE;
+                for (int i = 0; i < numLinhas; i++) {
+                    double valor = coluna[i];
+                    if (valor < min) min = valor;
+                    if (valor > max) max = valor;
+                }
+                minimos.add(min);
+                maximos.add(max);
+            }
+        }
+    }
+
+    // Copia as linhas informadas para um novo conjunto, mantendo min/max e o dicionário de classes
+    public ConjuntoDados subconjunto(int[] linhas) {
+        double[][] novasColunas = new double[colunas.length][linhas.length];
+        int[] novasClasses = new int[linhas.length];
+        for (int i = 0; i < linhas.length; i++) {
+            int linha = linhas[i];
+            for (int a = 0; a < colunas.length; a++) {
+                novasColunas[a][i] = colunas[a][linha];
+            }
+            novasClasses[i] = classes[linha];
+        }
+        return new ConjuntoDados(novasColunas, novasClasses, linhas.length, nomesClasses, minimos, maximos);
+    }
+
+    // Divide as linhas embaralhadas em dois conjuntos: [0] treino (porcentagemTreino) e [1] teste
+    public ConjuntoDados[] dividir(double porcentagemTreino, Random rand) {
+        int[] todasLinhas = Indices.sequencia(numLinhas);
+        Indices.embaralhar(todasLinhas, rand);
+
+        int pontoDivisao = (int) (numLinhas * porcentagemTreino);
+        return new ConjuntoDados[] {
+                subconjunto(Arrays.copyOfRange(todasLinhas, 0, pontoDivisao)),
+                subconjunto(Arrays.copyOfRange(todasLinhas, pontoDivisao, numLinhas))
+        };
+    }
+
+    public int getNumeroDeInstancias() {
+        return numLinhas;
+    }
+
+    // Valor do atributo na linha informada
+    public double getValor(int linha, int atributo) {
+        return colunas[atributo][linha];
+    }
+
+    // Copia os atributos de uma linha para destino[offset ...]
+    public void copiarEntradas(int linha, double[] destino, int offset) {
+        for (int a = 0; a < colunas.length; a++) {
+            destino[offset + a] = colunas[a][linha];
+        }
+    }
+
+    public double[] getColuna(int atributo) {
+        return colunas[atributo];
+    }
+
+    public int getClasseId(int linha) {
+        return classes[linha];
+    }
+
+    public String getClasse(int linha) {
+        return nomesClasses.get(classes[linha]);
+    }
+
+    // Cursor para a linha informada
+    public Instancia getInstancia(int linha) {
+        return new Instancia(this, linha);
+    }
+
+    // Visão (somente leitura) das linhas como Instancias, criadas sob demanda
+    public List<Instancia> getInstancias() {
+        return new AbstractList<Instancia>() {
+            @Override
+            public Instancia get(int indice) {
+                return getInstancia(indice);
+            }
+
+            @Override
+            public int size() {
+                return numLinhas;
+            }
+        };
+    }
+
+    public List<Double> getMinimos() {
+        return minimos;
+    }
+
+    public List<Double> getMaximos() {
+        return maximos;
+    }
+
+    public List<String> getListaClassesUnicas() {
+        return nomesClasses;
+    }
+
+    public int getNumeroDeClasses() {
+        return nomesClasses.size();
+    }
+
+    // Traduz os ids deste conjunto para os índices em outro dicionário de classes (ex: as saídas
+    // de uma rede treinada com outro arquivo): traducao[id] = posição em 'outrasClasses', ou -1
+    public int[] traduzirClasses(List<String> outrasClasses) {
+        int[] traducao = new int[nomesClasses.size()];
+        for (int id = 0; id < traducao.length; id++)
+            traducao[id] = outrasClasses.indexOf(nomesClasses.get(id));
+        return traducao;
+    }
+
+    public int getNumeroDeAtributos() {
+        return colunas.length;
+    }
+
+    /**
+     * Monta um ConjuntoDados linha a linha (usado pelos leitores de arquivo).
+     * As colunas crescem por duplicação e, no final, os ids das classes são
+     * renumerados para seguir a ordem alfabética dos nomes.
+     * Vários construtores (ex: um por pedaço de arquivo lido em paralelo)
+     * podem ser juntados em um único conjunto com combinar.
+     */
+    public static class Construtor implements LeitorCSV.DestinoLinhas {
+
+        private final int numAtributos;
+        private double[][] colunas;
+        private int[] classes;
+        private int numLinhas;
+        private final Map<String, Integer> idsClasses = new HashMap<>();
+        private final List<String> nomesPorOrdemDeChegada = new ArrayList<>();
+
+        public Construtor(int numAtributos) {
+            this.numAtributos = numAtributos;
+            this.colunas = new double[numAtributos][1024];
+            this.classes = new int[1024];
+        }
+
+        // Adiciona uma linha; 'valores' precisa ter numAtributos posições
+        public void adicionar(double[] valores, String classe) {
+            adicionar(valores, idDaClasse(classe));
+        }
+
+        // Adiciona uma linha cuja classe já foi registrada com idDaClasse
+        @Override
+        public void adicionar(double[] valores, int idClasse) {
+            garantirCapacidade(numLinhas + 1);
+            for (int a = 0; a < numAtributos; a++) {
+                colunas[a][numLinhas] = valores[a];
+            }
+            classes[numLinhas] = idClasse;
+            numLinhas++;
+        }
+
+        // Retorna o id (local a este construtor) da classe, registrando-a se for nova
+        @Override
+        public int idDaClasse(String classe) {
+            Integer id = idsClasses.get(classe);
+            if (id == null) {
+                id = nomesPorOrdemDeChegada.size();
+                idsClasses.put(classe, id);
+                nomesPorOrdemDeChegada.add(classe);
+            }
+            return id;
+        }
+
+        public int getNumeroDeLinhas() {
+            return numLinhas;
+        }
+
+        public ConjuntoDados construir() {
+            return combinar(Collections.singletonList(this));
+        }
+
+        // Junta as linhas de vários construtores (na ordem da lista) em um único conjunto
+        public static ConjuntoDados combinar(List<Construtor> partes) {
+            int numAtributos = partes.get(0).numAtributos;
+
+            // Dicionário global em ordem alfabética (mesma ordem usada pela RedeNeural)
+            TreeSet<String> todosOsNomes = new TreeSet<>();
+            int totalLinhas = 0;
+            for (Construtor parte : partes) {
+                todosOsNomes.addAll(parte.nomesPorOrdemDeChegada);
+                totalLinhas += parte.numLinhas;
+            }
+            List<String> nomesOrdenados = new ArrayList<>(todosOsNomes);
+
+            double[][] colunasFinais = new double[numAtributos][totalLinhas];
+            int[] classesFinais = new int[totalLinhas];
+            int destino = 0;
+            for (Construtor parte : partes) {
+                // Converte os ids locais da parte para os ids globais
+                int[] novoId = new int[parte.nomesPorOrdemDeChegada.size()];
+                for (int i = 0; i < novoId.length; i++) {
+                    novoId[i] = Collections.binarySearch(nomesOrdenados, parte.nomesPorOrdemDeChegada.get(i));
+                }
+
+                for (int a = 0; a < numAtributos; a++) {
+                    System.arraycopy(parte.colunas[a], 0, colunasFinais[a], destino, parte.numLinhas);
+                }
+                for (int i = 0; i < parte.numLinhas; i++) {
+                    classesFinais[destino + i] = novoId[parte.classes[i]];
+                }
+                destino += parte.numLinhas;
+            }
+            return new ConjuntoDados(colunasFinais, classesFinais, totalLinhas, nomesOrdenados);
+        }
+
+        private void garantirCapacidade(int capacidade) {
+            if (capacidade > classes.length) {
+                int novaCapacidade = Math.max(capacidade, classes.length * 2);
+                for (int a = 0; a < numAtributos; a++) {
+                    colunas[a] = Arrays.copyOf(colunas[a], novaCapacidade);
+                }
+                classes = Arrays.copyOf(classes, novaCapacidade);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package victor.trabalhoredeneural.redeneuralmlp.model;
+
+/**
+ * Matriz de atributos já normalizada de um ConjuntoDados.
+ * Os valores ficam em um único vetor row-major ([numLinhas x numAtributos]), então
+ * copiar uma linha para o lote de treinamento é um único System.arraycopy.
+ * É criada uma vez por conjunto (Normalizador.normalizar) e reutilizada em todas as épocas;
+ * as classes continuam sendo lidas do conjunto original.
+ */
+public class DadosNormalizados {
+
+    private final ConjuntoDados dadosOriginais;
+    private final double[] valores;
+    private final int numLinhas;
+    private final int numAtributos;
+
+    public DadosNormalizados(ConjuntoDados dadosOriginais, double[] valores) {
+        this.dadosOriginais = dadosOriginais;
+        this.valores = valores;
+        this.numLinhas = dadosOriginais.getNumeroDeInstancias();
+        this.numAtributos = dadosOriginais.getNumeroDeAtributos();
+    }
+
+    // Copia a linha normalizada para destino[offset ...]
+    public void copiarEntradas(int linha, double[] destino, int offset) {
+        System.arraycopy(valores, linha * numAtributos, destino, offset, numAtributos);
+    }
+
+    public double getValor(int linha, int atributo) {
+        return valores[linha * numAtributos + atributo];
+    }
+
+    // Vetor completo (row-major); a linha i começa em i * getNumeroDeAtributos()
+    public double[] getValores() {
+        return valores;
+    }
+
+    public String getClasse(int linha) {
+        return dadosOriginais.getClasse(linha);
+    }
+
+    public int getClasseId(int linha) {
+        return dadosOriginais.getClasseId(linha);
+    }
+
+    public int getNumeroDeInstancias() {
+        return numLinhas;
+    }
+
+    public int getNumeroDeAtributos() {
+        return numAtributos;
+    }
+
+    public ConjuntoDados getDadosOriginais() {
+        return dadosOriginais;
+    }
+}
@@ -0,0 +1,50 @@
+package victor.trabalhoredeneural.redeneuralmlp.model;
+
+/**
+ * Versão em float (32 bits) de DadosNormalizados, usada no treinamento com Precisao.SIMPLES.
+ * Mesmo layout row-major ([numLinhas x numAtributos]), com metade da memória.
+ */
+public class DadosNormalizadosSimples {
+
+    private final ConjuntoDados dadosOriginais;
+    private final float[] valores;
+    private final int numLinhas;
+    private final int numAtributos;
+
+    public DadosNormalizadosSimples(ConjuntoDados dadosOriginais, float[] valores) {
+        this.dadosOriginais = dadosOriginais;
+        this.valores = valores;
+        this.numLinhas = dadosOriginais.getNumeroDeInstancias();
+        this.numAtributos = dadosOriginais.getNumeroDeAtributos();
+    }
+
+    // Copia a linha normalizada para destino[offset ...]
+    public void copiarEntradas(int linha, float[] destino, int offset) {
+        System.arraycopy(valores, linha * numAtributos, destino, offset, numAtributos);
+    }
+
+    // Vetor completo (row-major); a linha i começa em i * getNumeroDeAtributos()
+    public float[] getValores() {
+        return valores;
+    }
+
+    public String getClasse(int linha) {
+        return dadosOriginais.getClasse(linha);
+    }
+
+    public int getClasseId(int linha) {
+        return dadosOriginais.getClasseId(linha);
+    }
+
+    public int getNumeroDeInstancias() {
+        return numLinhas;
+    }
+
+    public int getNumeroDeAtributos() {
+        return numAtributos;
+    }
+
+    public ConjuntoDados getDadosOriginais() {
+        return dadosOriginais;
+    }
+}
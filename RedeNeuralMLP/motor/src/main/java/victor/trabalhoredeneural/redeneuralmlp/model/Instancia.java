@@ -0,0 +1,62 @@
+package victor.trabalhoredeneural.redeneuralmlp.model;
+
+/**
+ * Representa uma única instância (ou linha) dos dados.
+ * É um cursor leve sobre uma linha do ConjuntoDados: não copia os valores,
+ * apenas guarda o conjunto e o índice da linha.
+ */
+public class Instancia {
+
+    private final ConjuntoDados dados;
+    private final int linha;
+
+    public Instancia(ConjuntoDados dados, int linha) {
+        this.dados = dados;
+        this.linha = linha;
+    }
+
+    // Valor do atributo de índice informado (0 = X1)
+    public double getEntrada(int atributo) {
+        return dados.getValor(linha, atributo);
+    }
+
+    // Copia os valores de entrada para um novo vetor
+    public double[] getEntradas() {
+        double[] entradas = new double[dados.getNumeroDeAtributos()];
+        dados.copiarEntradas(linha, entradas, 0);
+        return entradas;
+    }
+
+    public String getClasse() {
+        return dados.getClasse(linha);
+    }
+
+    public int getLinha() {
+        return linha;
+    }
+
+    public int getNumeroDeEntradas() {
+        return dados.getNumeroDeAtributos();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Instancia)) return false;
+        Instancia outra = (Instancia) o;
+        return linha == outra.linha && dados == outra.dados;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(dados) + linha;
+    }
+
+    @Override
+    public String toString() {
+        return "Instancia{" +
+                "linha=" + linha +
+                ", classe='" + getClasse() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package victor.trabalhoredeneural.redeneuralmlp.model;
+
+/**
+ * Lote de amostras já normalizadas em vetores primitivos reaproveitáveis:
+ * as entradas ficam row-major ([capacidade x numAtributos]) e a classe de cada linha é um id.
+ * É preenchido pela leitura em fluxo e consumido pelo laço de treinamento, sem alocação por amostra.
+ */
+public class LoteAmostras {
+
+    private final double[] entradas;
+    private final int[] classes;
+    private final int numAtributos;
+    private int tamanho;
+
+    public LoteAmostras(int capacidade, int numAtributos) {
+        this.entradas = new double[capacidade * numAtributos];
+        this.classes = new int[capacidade];
+        this.numAtributos = numAtributos;
+    }
+
+    // Linha i começa em i * getNumeroDeAtributos()
+    public double[] getEntradas() {
+        return entradas;
+    }
+
+    public int[] getClasses() {
+        return classes;
+    }
+
+    public int getCapacidade() {
+        return classes.length;
+    }
+
+    public int getNumeroDeAtributos() {
+        return numAtributos;
+    }
+
+    // Linhas válidas no lote (as primeiras 'tamanho' posições)
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+}
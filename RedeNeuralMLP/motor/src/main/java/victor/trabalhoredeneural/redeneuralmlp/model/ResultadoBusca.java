@@ -0,0 +1,70 @@
+package victor.trabalhoredeneural.redeneuralmlp.model;
+
+import victor.trabalhoredeneural.redeneuralmlp.core.ConfiguracaoTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+
+/**
+ * Uma linha do placar da BuscaHiperparametros: a configuração testada, a rede como ficou
+ * e as medidas no conjunto de validação na última rodada que ela alcançou.
+ */
+public class ResultadoBusca {
+
+    private final ConfiguracaoTreinamento configuracao;
+    private final RedeNeural rede;
+    private final int epocas;
+    private final double erroTreino;
+    private final double erroValidacao;
+    private final int acertos;
+    private final int totalValidacao;
+    private final int rodadaAlcancada;
+
+    public ResultadoBusca(ConfiguracaoTreinamento configuracao, RedeNeural rede, int epocas, double erroTreino,
+                          double erroValidacao, int acertos, int totalValidacao, int rodadaAlcancada) {
+        this.configuracao = configuracao;
+        this.rede = rede;
+        this.epocas = epocas;
+        this.erroTreino = erroTreino;
+        this.erroValidacao = erroValidacao;
+        this.acertos = acertos;
+        this.totalValidacao = totalValidacao;
+        this.rodadaAlcancada = rodadaAlcancada;
+    }
+
+    public ConfiguracaoTreinamento getConfiguracao() {
+        return configuracao;
+    }
+
+    public RedeNeural getRede() {
+        return rede;
+    }
+
+    public int getEpocas() {
+        return epocas;
+    }
+
+    public double getErroTreino() {
+        return erroTreino;
+    }
+
+    //Erro quadrático médio por instância no conjunto de validação
+    public double getErroValidacao() {
+        return erroValidacao;
+    }
+
+    public int getAcertos() {
+        return acertos;
+    }
+
+    public int getTotalValidacao() {
+        return totalValidacao;
+    }
+
+    public double getAcuracia() {
+        return totalValidacao > 0 ? (double) acertos / totalValidacao : 0.0;
+    }
+
+    //Última rodada da divisão sucessiva em que a configuração ainda estava viva (0 = só a primeira)
+    public int getRodadaAlcancada() {
+        return rodadaAlcancada;
+    }
+}
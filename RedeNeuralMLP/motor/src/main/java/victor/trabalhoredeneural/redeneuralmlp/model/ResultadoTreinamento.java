@@ -5,8 +5,8 @@ import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
 import java.util.List;
 
 /**
- * POJO simples para carregar os resultados do treinamento da Task (thread)
- * de volta para o MainController (UI thread)
+ * POJO simples para carregar os resultados do ServicoTreinamento (thread de treino)
+ * de volta para quem o chamou (MainController na UI thread ou a linha de comando)
  */
 public class ResultadoTreinamento {
 
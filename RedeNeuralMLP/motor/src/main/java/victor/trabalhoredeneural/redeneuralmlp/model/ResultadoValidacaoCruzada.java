@@ -0,0 +1,86 @@
+package victor.trabalhoredeneural.redeneuralmlp.model;
+
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+import victor.trabalhoredeneural.redeneuralmlp.util.MatrizConfusao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado da ValidacaoCruzada: a avaliação e as medidas de cada dobra e a avaliação agregada
+ * (os acumuladores das dobras combinados), de onde saem as métricas gerais.
+ */
+public class ResultadoValidacaoCruzada {
+
+    private final List<AcumuladorAvaliacao> avaliacoesPorDobra;
+    private final AcumuladorAvaliacao avaliacaoAgregada;
+    private final int[] epocasPorDobra;
+
+    public ResultadoValidacaoCruzada(List<AcumuladorAvaliacao> avaliacoesPorDobra, int[] epocasPorDobra) {
+        this.avaliacoesPorDobra = Collections.unmodifiableList(avaliacoesPorDobra);
+        AcumuladorAvaliacao agregada = new AcumuladorAvaliacao(avaliacoesPorDobra.get(0).getClasses(),
+                avaliacoesPorDobra.get(0).getTopK());
+        for (AcumuladorAvaliacao a : avaliacoesPorDobra)
+            agregada.combinar(a);
+        this.avaliacaoAgregada = agregada;
+        this.epocasPorDobra = epocasPorDobra;
+    }
+
+    public int getNumeroDeDobras() {
+        return avaliacoesPorDobra.size();
+    }
+
+    public List<AcumuladorAvaliacao> getAvaliacoesPorDobra() {
+        return avaliacoesPorDobra;
+    }
+
+    //Cada instância aparece uma vez, prevista pela rede que não a viu
+    public AcumuladorAvaliacao getAvaliacaoAgregada() {
+        return avaliacaoAgregada;
+    }
+
+    public List<MatrizConfusao> getMatrizesPorDobra() {
+        List<MatrizConfusao> matrizes = new ArrayList<>(avaliacoesPorDobra.size());
+        for (AcumuladorAvaliacao a : avaliacoesPorDobra)
+            matrizes.add(a.getMatriz());
+        return matrizes;
+    }
+
+    //Soma das matrizes das dobras
+    public MatrizConfusao getMatrizAgregada() {
+        return avaliacaoAgregada.getMatriz();
+    }
+
+    public int getEpocas(int dobra) {
+        return epocasPorDobra[dobra];
+    }
+
+    //Erro quadrático médio por instância na parte de teste da dobra
+    public double getErro(int dobra) {
+        return avaliacoesPorDobra.get(dobra).getErroQuadratico();
+    }
+
+    public double getAcuracia(int dobra) {
+        return avaliacoesPorDobra.get(dobra).getAcuracia();
+    }
+
+    //Média das acurácias das dobras
+    public double getAcuraciaMedia() {
+        double soma = 0.0;
+        for (AcumuladorAvaliacao a : avaliacoesPorDobra)
+            soma += a.getAcuracia();
+        return soma / avaliacoesPorDobra.size();
+    }
+
+    //Desvio padrão (amostral) das acurácias das dobras
+    public double getDesvioAcuracia() {
+        int n = avaliacoesPorDobra.size();
+        if (n < 2) return 0.0;
+        double media = getAcuraciaMedia();
+        double soma = 0.0;
+        for (AcumuladorAvaliacao a : avaliacoesPorDobra)
+            soma += (a.getAcuracia() - media) * (a.getAcuracia() - media);
+        return Math.sqrt(soma / (n - 1));
+    }
+}
@@ -0,0 +1,130 @@
+package victor.trabalhoredeneural.redeneuralmlp.servidor;
+
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Junta pedidos de predição que chegam ao mesmo tempo em micro-lotes.
+ * Uma thread despachante espera o primeiro pedido e então continua recolhendo pedidos
+ * até o lote ficar cheio (tamanhoMaximo) ou o tempo de espera acabar (esperaMaximaNanos);
+ * o lote inteiro passa de uma vez por RedeNeural.preverLote.
+ */
+public class AgrupadorLotes {
+
+    private final RedeNeural rede;
+    private final int tamanhoMaximo;
+    private final long esperaMaximaNanos;
+    private final MetricasServidor metricas;
+    private final BlockingQueue<Pedido> fila = new LinkedBlockingQueue<>();
+    private final Thread despachante;
+    private final Object trava = new Object();
+    private volatile boolean ativo = true;
+
+    public AgrupadorLotes(RedeNeural rede, int tamanhoMaximo, long esperaMaximaNanos, MetricasServidor metricas) {
+        if (tamanhoMaximo <= 0 || esperaMaximaNanos < 0)
+            throw new IllegalArgumentException("O lote máximo deve ser > 0 e a espera máxima >= 0");
+        this.rede = rede;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.esperaMaximaNanos = esperaMaximaNanos;
+        this.metricas = metricas;
+
+        this.despachante = new Thread(this::despachar, "agrupador-lotes");
+        this.despachante.setDaemon(true);
+        this.despachante.start();
+    }
+
+    //Coloca uma entrada (valores BRUTOS, sem normalizar) na fila; o futuro recebe o índice da classe prevista
+    public CompletableFuture<Integer> enviar(double[] entradas) {
+        Pedido pedido = new Pedido(entradas);
+        // A admissão e o encerramento não se intercalam: depois que encerrar desliga 'ativo',
+        // nenhum pedido entra na fila (e os que entraram antes serão respondidos ou recebem erro)
+        synchronized (trava) {
+            if (ativo) {
+                fila.add(pedido);
+                return pedido.resposta;
+            }
+        }
+        pedido.resposta.completeExceptionally(new IllegalStateException("Agrupador encerrado"));
+        return pedido.resposta;
+    }
+
+    //Para a thread despachante; pedidos ainda na fila recebem erro
+    public void encerrar() {
+        synchronized (trava) {
+            ativo = false;
+        }
+        despachante.interrupt();
+        falharRestantes();
+    }
+
+    private void despachar() {
+        List<Pedido> lote = new ArrayList<>(tamanhoMaximo);
+        try {
+            while (ativo) {
+                try {
+                    montarLote(lote);
+                } catch (InterruptedException e) {
+                    break;
+                }
+
+                try {
+                    double[][] entradas = new double[lote.size()][];
+                    for (int i = 0; i < entradas.length; i++)
+                        entradas[i] = lote.get(i).entradas;
+                    int[] classes = rede.preverLote(entradas);
+                    metricas.registrarLote();
+                    for (int i = 0; i < classes.length; i++)
+                        lote.get(i).resposta.complete(classes[i]);
+                } catch (RuntimeException e) {
+                    for (Pedido pedido : lote)
+                        pedido.resposta.completeExceptionally(e);
+                }
+                lote.clear();
+            }
+        } finally {
+            // Um lote interrompido no meio da montagem e o que sobrou na fila recebem erro
+            for (Pedido pedido : lote)
+                pedido.resposta.completeExceptionally(new IllegalStateException("Agrupador encerrado"));
+            falharRestantes();
+        }
+    }
+
+    private void falharRestantes() {
+        List<Pedido> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        for (Pedido pedido : restantes)
+            pedido.resposta.completeExceptionally(new IllegalStateException("Agrupador encerrado"));
+    }
+
+    // Espera o primeiro pedido e recolhe os seguintes até encher o lote ou acabar o tempo
+    private void montarLote(List<Pedido> lote) throws InterruptedException {
+        lote.add(fila.take());
+        long limite = System.nanoTime() + esperaMaximaNanos;
+        while (lote.size() < tamanhoMaximo) {
+            // Pega de uma vez tudo o que já está na fila
+            fila.drainTo(lote, tamanhoMaximo - lote.size());
+            long restante = limite - System.nanoTime();
+            if (lote.size() >= tamanhoMaximo || restante <= 0)
+                break;
+            Pedido proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null)
+                break;
+            lote.add(proximo);
+        }
+    }
+
+    private static class Pedido {
+        private final double[] entradas;
+        private final CompletableFuture<Integer> resposta = new CompletableFuture<>();
+
+        Pedido(double[] entradas) {
+            this.entradas = entradas;
+        }
+    }
+}
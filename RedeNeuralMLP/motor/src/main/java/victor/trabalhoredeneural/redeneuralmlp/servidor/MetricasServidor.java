@@ -0,0 +1,73 @@
+package victor.trabalhoredeneural.redeneuralmlp.servidor;
+
+import victor.trabalhoredeneural.redeneuralmlp.metricas.HistogramaLogaritmico;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores e histograma de latência do servidor, atualizados sem travas por várias threads.
+ * A latência vai para um HistogramaLogaritmico em microssegundos.
+ */
+public class MetricasServidor {
+
+    private final long inicioNanos = System.nanoTime();
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder amostras = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final HistogramaLogaritmico latenciaMicros = new HistogramaLogaritmico();
+
+    //Registra uma requisição concluída com a quantidade de amostras e a latência total
+    public void registrarRequisicao(int numAmostras, long latenciaNanos) {
+        requisicoes.increment();
+        amostras.add(numAmostras);
+        latenciaMicros.registrar(latenciaNanos / 1000);
+    }
+
+    public void registrarLote() {
+        lotes.increment();
+    }
+
+    public void registrarErro() {
+        erros.increment();
+    }
+
+    //Latência (em microssegundos) abaixo da qual ficam 'percentil' das requisições (ex: 0.99)
+    public long percentilMicros(double percentil) {
+        return latenciaMicros.percentil(percentil);
+    }
+
+    //Requisições por segundo desde a criação das métricas
+    public double getVazao() {
+        double segundos = (System.nanoTime() - inicioNanos) / 1e9;
+        return segundos > 0 ? requisicoes.sum() / segundos : 0.0;
+    }
+
+    public long getRequisicoes() {
+        return requisicoes.sum();
+    }
+
+    public long getAmostras() {
+        return amostras.sum();
+    }
+
+    public long getLotes() {
+        return lotes.sum();
+    }
+
+    public long getErros() {
+        return erros.sum();
+    }
+
+    //Resumo em texto (uma métrica por linha, "nome valor")
+    public String resumo() {
+        long numLotes = getLotes();
+        return String.format(Locale.ROOT,
+                "requisicoes %d%namostras %d%nerros %d%nlotes %d%ntamanho_medio_lote %.2f%n"
+                        + "latencia_p50_us %d%nlatencia_p99_us %d%nvazao_req_s %.1f%n",
+                getRequisicoes(), getAmostras(), getErros(), numLotes,
+                numLotes > 0 ? (double) getAmostras() / numLotes : 0.0,
+                percentilMicros(0.50), percentilMicros(0.99), getVazao());
+    }
+}
@@ -0,0 +1,217 @@
+package victor.trabalhoredeneural.redeneuralmlp.servidor;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import victor.trabalhoredeneural.redeneuralmlp.core.ArquivoModelo;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP local (apenas localhost) que faz predições com uma rede treinada.
+ * Cada requisição roda em uma thread virtual quando a JVM oferece (Java 21+) e, nas versões
+ * anteriores, em um pool de threads comum. As linhas de todas as requisições simultâneas
+ * são juntadas em micro-lotes pelo AgrupadorLotes antes de passar pela rede.
+ *
+ * Rotas:
+ *   POST /prever   corpo com uma entrada por linha (valores separados por vírgula, sem a classe);
+ *                  a resposta tem o nome da classe prevista de cada linha, na mesma ordem
+ *   GET  /metricas contadores, latência p50/p99 e vazão
+ */
+public class ServidorInferencia {
+
+    private static final String USO = String.join(System.lineSeparator(),
+            "Uso: ServidorInferencia --modelo <arquivo.rnm> [opções]",
+            "  --porta <n>               porta em localhost (padrão 8080)",
+            "  --lote-maximo <n>         máximo de entradas por micro-lote (padrão 64)",
+            "  --espera-maxima-us <n>    tempo máximo, em microssegundos, esperando o lote encher (padrão 500)");
+
+    private final RedeNeural rede;
+    private final int numEntradas;
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final AgrupadorLotes agrupador;
+    private final MetricasServidor metricas = new MetricasServidor();
+
+    public ServidorInferencia(RedeNeural rede, int porta, int loteMaximo, long esperaMaximaNanos) throws IOException {
+        this.rede = rede;
+        this.numEntradas = rede.getCamadaOculta().getNumEntradas();
+        this.agrupador = new AgrupadorLotes(rede, loteMaximo, esperaMaximaNanos, metricas);
+        this.executor = criarExecutorPorRequisicao();
+
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), 0);
+        this.servidor.setExecutor(executor);
+        this.servidor.createContext("/prever", this::tratarPrevisao);
+        this.servidor.createContext("/metricas", this::tratarMetricas);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    //Para de aceitar conexões e libera as threads
+    public void encerrar() {
+        servidor.stop(0);
+        agrupador.encerrar();
+        executor.shutdown();
+    }
+
+    //Porta em que o servidor está escutando (útil quando foi criado com a porta 0)
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    public MetricasServidor getMetricas() {
+        return metricas;
+    }
+
+    private void tratarPrevisao(HttpExchange troca) throws IOException {
+        long inicio = System.nanoTime();
+        try {
+            if (!"POST".equals(troca.getRequestMethod())) {
+                responder(troca, 405, "Use POST\n");
+                return;
+            }
+
+            List<double[]> linhas;
+            try {
+                linhas = lerEntradas(troca.getRequestBody());
+            } catch (IllegalArgumentException e) {
+                metricas.registrarErro();
+                responder(troca, 400, e.getMessage() + "\n");
+                return;
+            }
+
+            // Cada linha vai para a fila do agrupador; a thread da requisição só espera as respostas
+            List<CompletableFuture<Integer>> respostas = new ArrayList<>(linhas.size());
+            for (double[] linha : linhas)
+                respostas.add(agrupador.enviar(linha));
+
+            StringBuilder corpo = new StringBuilder();
+            for (CompletableFuture<Integer> resposta : respostas)
+                corpo.append(rede.getNomeClasse(resposta.join())).append('\n');
+
+            responder(troca, 200, corpo.toString());
+            metricas.registrarRequisicao(linhas.size(), System.nanoTime() - inicio);
+        } catch (CompletionException e) {
+            metricas.registrarErro();
+            responder(troca, 500, "Falha na predição: " + e.getCause() + "\n");
+        } finally {
+            troca.close();
+        }
+    }
+
+    private void tratarMetricas(HttpExchange troca) throws IOException {
+        try {
+            responder(troca, 200, metricas.resumo());
+        } finally {
+            troca.close();
+        }
+    }
+
+    // Lê o corpo: uma entrada por linha, numEntradas valores separados por vírgula
+    private List<double[]> lerEntradas(InputStream corpo) throws IOException {
+        String texto = new String(lerTudo(corpo), StandardCharsets.UTF_8);
+        List<double[]> linhas = new ArrayList<>();
+        for (String linha : texto.split("\n")) {
+            linha = linha.trim();
+            if (linha.isEmpty())
+                continue;
+            String[] valores = linha.split(",");
+            if (valores.length != numEntradas)
+                throw new IllegalArgumentException("Cada linha deve ter " + numEntradas + " valores: " + linha);
+            double[] entradas = new double[numEntradas];
+            for (int i = 0; i < numEntradas; i++) {
+                try {
+                    entradas[i] = Double.parseDouble(valores[i].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Valor inválido: " + valores[i]);
+                }
+            }
+            linhas.add(entradas);
+        }
+        if (linhas.isEmpty())
+            throw new IllegalArgumentException("Nenhuma entrada enviada");
+        return linhas;
+    }
+
+    private static byte[] lerTudo(InputStream entrada) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int lidos;
+        while ((lidos = entrada.read(buffer)) != -1)
+            saida.write(buffer, 0, lidos);
+        return saida.toByteArray();
+    }
+
+    private static void responder(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    // Uma thread virtual por requisição (Executors.newVirtualThreadPerTaskExecutor, Java 21+).
+    // O método é procurado por reflexão porque o projeto também compila e roda em versões anteriores,
+    // onde o servidor usa um pool que cria threads conforme a demanda
+    private static ExecutorService criarExecutorPorRequisicao() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public static void main(String[] args) {
+        String arquivoModelo = null;
+        int porta = 8080;
+        int loteMaximo = 64;
+        long esperaMaximaMicros = 500;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String opcao = args[i];
+                if (i + 1 >= args.length)
+                    throw new IllegalArgumentException("Falta o valor de " + opcao);
+                String valor = args[++i];
+                switch (opcao) {
+                    case "--modelo": arquivoModelo = valor; break;
+                    case "--porta": porta = Integer.parseInt(valor); break;
+                    case "--lote-maximo": loteMaximo = Integer.parseInt(valor); break;
+                    case "--espera-maxima-us": esperaMaximaMicros = Long.parseLong(valor); break;
+                    default: throw new IllegalArgumentException("Opção desconhecida: " + opcao);
+                }
+            }
+            if (arquivoModelo == null)
+                throw new IllegalArgumentException("Informe o modelo com --modelo.");
+
+            RedeNeural rede = ArquivoModelo.carregar(new File(arquivoModelo));
+            ServidorInferencia servidor = new ServidorInferencia(rede, porta, loteMaximo, esperaMaximaMicros * 1000);
+            Runtime.getRuntime().addShutdownHook(new Thread(servidor::encerrar));
+            servidor.iniciar();
+            System.out.println("Servidor de inferência em http://localhost:" + servidor.getPorta() + "/prever");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Erro: " + e.getMessage());
+            System.err.println(USO);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Erro ao iniciar o servidor: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
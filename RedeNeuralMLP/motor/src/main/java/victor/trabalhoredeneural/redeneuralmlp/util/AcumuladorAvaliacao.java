@@ -0,0 +1,183 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import java.util.List;
+
+/**
+ * Acumulador de avaliação em fluxo: recebe predições (uma a uma ou em lotes) sem guardá-las e,
+ * de uma única passada, dá a matriz de confusão, precisão/revocação/F1 por classe, médias macro e micro,
+ * log-loss, acurácia top-k e o erro quadrático médio.
+ * Não é thread-safe: cada thread usa o seu e, no final, os acumuladores são juntados com combinar,
+ * que é associativo (a ordem em que as partes são somadas só muda arredondamentos das somas em double).
+ * As classes são indexadas pelo id (posição em getClasses); uma classe real -1 (desconhecida)
+ * conta como erro, mas fica fora da matriz.
+ */
+public class AcumuladorAvaliacao {
+
+    // Probabilidade mínima usada no log-loss (evita log(0))
+    private static final double PROBABILIDADE_MINIMA = 1e-15;
+
+    private final List<String> classes;
+    private final int topK;
+    private final int[][] contagens;    // contagens[real][prevista]
+    private long numAmostras;
+    private long acertos;
+    private long desconhecidas;
+    // Só as amostras registradas com pontuações entram no log-loss, no top-k e no erro quadrático
+    private long comPontuacoes;
+    private long acertosTopK;
+    private double somaLogLoss;
+    private double somaErroQuadratico;
+
+    public AcumuladorAvaliacao(List<String> classes, int topK) {
+        if (topK <= 0)
+            throw new IllegalArgumentException("O k da acurácia top-k deve ser maior que 0.");
+        this.classes = classes;
+        this.topK = topK;
+        this.contagens = new int[classes.size()][classes.size()];
+    }
+
+    //Registra só a classe prevista (sem pontuações: não entra no log-loss nem no top-k)
+    public void registrar(int classeReal, int classePrevista) {
+        contar(classeReal, classePrevista);
+    }
+
+    //Registra uma predição pelas pontuações de cada classe em pontuacoes[offset, offset + numClasses):
+    //a prevista é a de maior pontuação (a primeira, no empate). Para o log-loss as pontuações são
+    //tratadas como probabilidades depois de zerar as negativas e dividir pela soma (com softmax, já somam 1).
+    //Uma pontuação -infinito marca uma classe que o modelo não tem: nunca é prevista e vale 0 no erro quadrático
+    public void registrar(int classeReal, double[] pontuacoes, int offset) {
+        int numClasses = contagens.length;
+        int prevista = 0;
+        double soma = 0.0;
+        double somaQuadrados = 0.0;
+        for (int c = 0; c < numClasses; c++) {
+            double p = pontuacoes[offset + c];
+            if (p > pontuacoes[offset + prevista]) prevista = c;
+            if (p > 0) soma += p;
+            double erro = (c == classeReal ? 1.0 : 0.0) - (p == Double.NEGATIVE_INFINITY ? 0.0 : p);
+            somaQuadrados += erro * erro;
+        }
+        contar(classeReal, prevista);
+        comPontuacoes++;
+        somaErroQuadratico += 0.5 * somaQuadrados;
+
+        if (classeReal < 0) {
+            somaLogLoss -= Math.log(PROBABILIDADE_MINIMA);
+            return;
+        }
+        double pontuacaoReal = pontuacoes[offset + classeReal];
+        double probabilidade = soma > 0 ? Math.max(pontuacaoReal, 0.0) / soma : 1.0 / numClasses;
+        somaLogLoss -= Math.log(Math.max(probabilidade, PROBABILIDADE_MINIMA));
+
+        // Posição da classe real no ranking: quantas classes pontuaram mais do que ela
+        int acima = 0;
+        for (int c = 0; c < numClasses && acima < topK; c++)
+            if (pontuacoes[offset + c] > pontuacaoReal) acima++;
+        if (acima < topK) acertosTopK++;
+    }
+
+    //Registra 'tamanho' predições com as pontuações em linhas contíguas (row-major, numClasses por linha);
+    //classesReais[inicio + b] é a classe real da linha b
+    public void registrarLote(int[] classesReais, int inicio, double[] pontuacoes, int tamanho) {
+        int numClasses = contagens.length;
+        for (int b = 0; b < tamanho; b++)
+            registrar(classesReais[inicio + b], pontuacoes, b * numClasses);
+    }
+
+    //Soma o outro acumulador (com as mesmas classes e o mesmo k) neste e retorna este
+    public AcumuladorAvaliacao combinar(AcumuladorAvaliacao outro) {
+        if (!outro.classes.equals(classes) || outro.topK != topK)
+            throw new IllegalArgumentException("Os acumuladores devem ter as mesmas classes e o mesmo k.");
+        for (int r = 0; r < contagens.length; r++)
+            for (int p = 0; p < contagens.length; p++)
+                contagens[r][p] += outro.contagens[r][p];
+        numAmostras += outro.numAmostras;
+        acertos += outro.acertos;
+        desconhecidas += outro.desconhecidas;
+        comPontuacoes += outro.comPontuacoes;
+        acertosTopK += outro.acertosTopK;
+        somaLogLoss += outro.somaLogLoss;
+        somaErroQuadratico += outro.somaErroQuadratico;
+        return this;
+    }
+
+    private void contar(int classeReal, int classePrevista) {
+        numAmostras++;
+        if (classeReal < 0) {
+            desconhecidas++;
+            return;
+        }
+        contagens[classeReal][classePrevista]++;
+        if (classeReal == classePrevista) acertos++;
+    }
+
+    public List<String> getClasses() {
+        return classes;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    //Matriz de confusão (cópia), de onde saem as métricas por classe e as médias macro
+    public MatrizConfusao getMatriz() {
+        return new MatrizConfusao(classes, contagens);
+    }
+
+    public long getNumeroDeAmostras() {
+        return numAmostras;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    //Amostras cuja classe real não está em getClasses (contadas como erro)
+    public long getDesconhecidas() {
+        return desconhecidas;
+    }
+
+    public double getAcuracia() {
+        return numAmostras > 0 ? (double) acertos / numAmostras : 0.0;
+    }
+
+    //Micro média: com uma classe por amostra, precisão, revocação e F1 micro são iguais à acurácia
+    public double getF1Micro() {
+        return getAcuracia();
+    }
+
+    public double getPrecisaoMacro() {
+        MatrizConfusao matriz = getMatriz();
+        double soma = 0.0;
+        for (int c = 0; c < classes.size(); c++)
+            soma += matriz.getPrecisao(c);
+        return classes.isEmpty() ? 0.0 : soma / classes.size();
+    }
+
+    public double getRevocacaoMacro() {
+        MatrizConfusao matriz = getMatriz();
+        double soma = 0.0;
+        for (int c = 0; c < classes.size(); c++)
+            soma += matriz.getRevocacao(c);
+        return classes.isEmpty() ? 0.0 : soma / classes.size();
+    }
+
+    public double getF1Macro() {
+        return getMatriz().getF1Macro();
+    }
+
+    //Entropia cruzada média das amostras com pontuações
+    public double getLogLoss() {
+        return comPontuacoes > 0 ? somaLogLoss / comPontuacoes : 0.0;
+    }
+
+    //Fração das amostras com pontuações em que a classe real ficou entre as k maiores
+    public double getAcuraciaTopK() {
+        return comPontuacoes > 0 ? (double) acertosTopK / comPontuacoes : 0.0;
+    }
+
+    //Erro quadrático médio (0.5 * soma dos quadrados por amostra, como o erro das épocas)
+    public double getErroQuadratico() {
+        return comPontuacoes > 0 ? somaErroQuadratico / comPontuacoes : 0.0;
+    }
+}
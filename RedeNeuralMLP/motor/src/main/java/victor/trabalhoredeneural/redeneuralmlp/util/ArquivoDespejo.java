@@ -0,0 +1,294 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arquivo binário de despejo (spill) para o treinamento em fluxo de conjuntos maiores que a memória.
+ * É criado a partir do CSV em uma única passada em fluxo, que também calcula os min/max e o dicionário
+ * de classes. Cada linha vira um registro de tamanho fixo (atributos brutos em double + id da classe),
+ * então qualquer bloco de linhas é lido com uma única leitura posicional.
+ * Formato: cabeçalho | registros | rodapé (nomes das classes na ordem de chegada, mínimos, máximos).
+ */
+public class ArquivoDespejo implements Closeable {
+
+    private static final int MAGICO = 0x524E4D44; // "RNMD"
+    private static final int VERSAO = 1;
+    private static final int TAMANHO_CABECALHO = 32;
+    // Registros acumulados antes de cada escrita no disco
+    private static final int REGISTROS_POR_ESCRITA = 8192;
+
+    private final FileChannel canal;
+    private final int numAtributos;
+    private final long numLinhas;
+    private final double[] minimos;
+    private final double[] maximos;
+    private final List<String> nomesClasses;  // Em ordem alfabética (a mesma da RedeNeural)
+    private final int[] idOrdenado;           // Id na ordem de chegada -> id na ordem alfabética
+
+    private ArquivoDespejo(FileChannel canal, int numAtributos, long numLinhas, double[] minimos, double[] maximos,
+                           List<String> nomesPorChegada) {
+        this.canal = canal;
+        this.numAtributos = numAtributos;
+        this.numLinhas = numLinhas;
+        this.minimos = minimos;
+        this.maximos = maximos;
+
+        List<String> ordenados = new ArrayList<>(nomesPorChegada);
+        Collections.sort(ordenados);
+        this.nomesClasses = Collections.unmodifiableList(ordenados);
+        this.idOrdenado = new int[nomesPorChegada.size()];
+        for (int i = 0; i < idOrdenado.length; i++)
+            idOrdenado[i] = Collections.binarySearch(ordenados, nomesPorChegada.get(i));
+    }
+
+    //Primeira passada: lê o CSV em fluxo e grava o arquivo de despejo em 'destino' (que fica aberto para leitura)
+    public static ArquivoDespejo criar(File csv, File destino) throws IOException {
+        FileChannel canal = FileChannel.open(destino.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Escritor escritor = new Escritor(canal);
+            int numAtributos = LeitorCSV.percorrer(csv, escritor);
+            escritor.terminar(numAtributos);
+            if (escritor.numLinhas == 0)
+                throw new IOException("O arquivo não tem nenhuma linha de dados: " + csv.getName());
+            return new ArquivoDespejo(canal, numAtributos, escritor.numLinhas, escritor.minimos, escritor.maximos,
+                    escritor.nomesPorChegada);
+        } catch (UncheckedIOException e) {
+            descartar(canal, destino);
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            descartar(canal, destino);
+            throw e;
+        }
+    }
+
+    // Fecha e apaga um arquivo de despejo gravado só em parte
+    private static void descartar(FileChannel canal, File destino) throws IOException {
+        canal.close();
+        Files.deleteIfExists(destino.toPath());
+    }
+
+    //Abre um arquivo de despejo já gravado (ex: para treinar de novo sem reler o CSV)
+    public static ArquivoDespejo abrir(File arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ);
+        try {
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+            lerTudo(canal, cabecalho, 0);
+            cabecalho.flip();
+            if (cabecalho.getInt() != MAGICO)
+                throw new IOException("Não é um arquivo de despejo: " + arquivo.getName());
+            int versao = cabecalho.getInt();
+            if (versao != VERSAO)
+                throw new IOException("Versão de arquivo de despejo não suportada: " + versao);
+            int numAtributos = cabecalho.getInt();
+            long numLinhas = cabecalho.getLong();
+            long posicaoRodape = cabecalho.getLong();
+            // O rodapé fica logo depois do último registro e vai até o fim do arquivo
+            if (numAtributos <= 0 || numLinhas <= 0 || numLinhas > (canal.size() - TAMANHO_CABECALHO)
+                    / (numAtributos * (long) Double.BYTES + Integer.BYTES)
+                    || posicaoRodape != TAMANHO_CABECALHO + numLinhas * (numAtributos * (long) Double.BYTES + Integer.BYTES))
+                throw new IOException("Cabeçalho do arquivo de despejo inválido: " + arquivo.getName());
+            long tamanhoRodape = canal.size() - posicaoRodape;
+
+            DataInputStream rodape = new DataInputStream(Channels.newInputStream(canal.position(posicaoRodape)));
+            int numClasses = rodape.readInt();
+            // Cada nome ocupa ao menos os 2 bytes do tamanho
+            if (numClasses <= 0 || numClasses > tamanhoRodape / 2)
+                throw new IOException("Rodapé do arquivo de despejo inválido: " + arquivo.getName());
+            List<String> nomes = new ArrayList<>(numClasses);
+            for (int i = 0; i < numClasses; i++)
+                nomes.add(rodape.readUTF());
+            double[] minimos = new double[numAtributos];
+            double[] maximos = new double[numAtributos];
+            for (int a = 0; a < numAtributos; a++)
+                minimos[a] = rodape.readDouble();
+            for (int a = 0; a < numAtributos; a++)
+                maximos[a] = rodape.readDouble();
+            if (canal.position() != canal.size())
+                throw new IOException("Rodapé do arquivo de despejo inválido: " + arquivo.getName());
+            return new ArquivoDespejo(canal, numAtributos, numLinhas, minimos, maximos, nomes);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    //Confere os 4 primeiros bytes para saber se o arquivo é de despejo (e não um CSV)
+    public static boolean ehDespejo(File arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer magico = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            return canal.read(magico, 0) == 4 && magico.getInt(0) == MAGICO;
+        }
+    }
+
+    //Bytes de cada linha no arquivo
+    public int getTamanhoRegistro() {
+        return numAtributos * Double.BYTES + Integer.BYTES;
+    }
+
+    //Buffer para 'linhas' registros, já na ordem de bytes do arquivo
+    public ByteBuffer criarBuffer(int linhas) {
+        return ByteBuffer.allocate(linhas * getTamanhoRegistro()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    //Lê até 'quantidade' registros a partir de 'primeiraLinha' para 'destino' (que é limpo antes);
+    //retorna quantos foram lidos. Pode ser chamado de várias threads (leitura posicional)
+    public int lerRegistros(long primeiraLinha, int quantidade, ByteBuffer destino) throws IOException {
+        int linhas = (int) Math.min(quantidade, numLinhas - primeiraLinha);
+        destino.clear();
+        destino.limit(linhas * getTamanhoRegistro());
+        lerTudo(canal, destino, TAMANHO_CABECALHO + primeiraLinha * getTamanhoRegistro());
+        destino.flip();
+        return linhas;
+    }
+
+    //Copia os atributos brutos do registro 'indice' do buffer para destino[offset ...]
+    //e retorna o id da classe (na ordem alfabética de getNomesClasses)
+    public int decodificar(ByteBuffer registros, int indice, double[] destino, int offset) {
+        int posicao = indice * getTamanhoRegistro();
+        for (int a = 0; a < numAtributos; a++)
+            destino[offset + a] = registros.getDouble(posicao + a * Double.BYTES);
+        return idOrdenado[registros.getInt(posicao + numAtributos * Double.BYTES)];
+    }
+
+    public int getNumeroDeAtributos() {
+        return numAtributos;
+    }
+
+    public long getNumeroDeLinhas() {
+        return numLinhas;
+    }
+
+    public double[] getMinimos() {
+        return minimos.clone();
+    }
+
+    public double[] getMaximos() {
+        return maximos.clone();
+    }
+
+    public List<String> getNomesClasses() {
+        return nomesClasses;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private static void lerTudo(FileChannel canal, ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            int lidos = canal.read(destino, posicao);
+            if (lidos < 0)
+                throw new IOException("Fim inesperado do arquivo de despejo");
+            posicao += lidos;
+        }
+    }
+
+    // Recebe as linhas do LeitorCSV, atualiza min/max e grava os registros em blocos
+    private static final class Escritor implements LeitorCSV.DestinoLinhas {
+        private final FileChannel canal;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> nomesPorChegada = new ArrayList<>();
+        private ByteBuffer buffer;
+        private double[] minimos;
+        private double[] maximos;
+        private long numLinhas;
+        private long posicao = TAMANHO_CABECALHO;
+
+        Escritor(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        @Override
+        public int idDaClasse(String classe) {
+            Integer id = ids.get(classe);
+            if (id == null) {
+                id = nomesPorChegada.size();
+                ids.put(classe, id);
+                nomesPorChegada.add(classe);
+            }
+            return id;
+        }
+
+        @Override
+        public void adicionar(double[] valores, int idClasse) {
+            if (buffer == null) {
+                // Primeira linha: agora o número de atributos é conhecido
+                buffer = ByteBuffer.allocate(REGISTROS_POR_ESCRITA * (valores.length * Double.BYTES + Integer.BYTES))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                minimos = new double[valores.length];
+                maximos = new double[valores.length];
+                Arrays.fill(minimos, Double.MAX_VALUE);
+                Arrays.fill(maximos, -Double.MAX_VALUE);
+            }
+            for (int a = 0; a < valores.length; a++) {
+                double valor = valores[a];
+                if (valor < minimos[a]) minimos[a] = valor;
+                if (valor > maximos[a]) maximos[a] = valor;
+                buffer.putDouble(valor);
+            }
+            buffer.putInt(idClasse);
+            numLinhas++;
+            if (!buffer.hasRemaining()) {
+                try {
+                    descarregar();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        private void descarregar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                posicao += canal.write(buffer, posicao);
+            buffer.clear();
+        }
+
+        // Grava o que faltou, o rodapé e, por último, o cabeçalho
+        void terminar(int numAtributos) throws IOException {
+            if (buffer != null)
+                descarregar();
+            else {
+                minimos = new double[numAtributos];
+                maximos = new double[numAtributos];
+            }
+            long posicaoRodape = posicao;
+            canal.position(posicaoRodape);
+            DataOutputStream rodape = new DataOutputStream(Channels.newOutputStream(canal));
+            rodape.writeInt(nomesPorChegada.size());
+            for (String nome : nomesPorChegada)
+                rodape.writeUTF(nome);
+            for (double v : minimos)
+                rodape.writeDouble(v);
+            for (double v : maximos)
+                rodape.writeDouble(v);
+            rodape.flush();
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO).order(ByteOrder.LITTLE_ENDIAN);
+            cabecalho.putInt(MAGICO).putInt(VERSAO).putInt(numAtributos).putLong(numLinhas).putLong(posicaoRodape);
+            cabecalho.flip();
+            long p = 0;
+            while (cabecalho.hasRemaining())
+                p += canal.write(cabecalho, p);
+        }
+    }
+}
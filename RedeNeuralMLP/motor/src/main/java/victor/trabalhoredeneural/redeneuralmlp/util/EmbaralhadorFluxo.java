@@ -0,0 +1,167 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import victor.trabalhoredeneural.redeneuralmlp.core.Normalizador;
+import victor.trabalhoredeneural.redeneuralmlp.model.LoteAmostras;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Leitura em fluxo de uma época de um ArquivoDespejo, com embaralhamento aproximado em memória constante:
+ * os blocos de 'linhasPorBloco' linhas são lidos em uma ordem sorteada a cada época (permutação afim,
+ * sem vetor de índices) e as linhas passam por um buffer de embaralhamento de 'capacidade' linhas,
+ * do qual cada nova linha expulsa uma linha sorteada. No fim do arquivo o que sobrou no buffer é embaralhado.
+ * As linhas saem normalizadas nos vetores de um LoteAmostras.
+ */
+public class EmbaralhadorFluxo implements FonteLotes {
+
+    private final ArquivoDespejo arquivo;
+    private final Normalizador normalizador;
+    private final Random rand;
+    private final int numAtributos;
+    private final int linhasPorBloco;
+    private final long numBlocos;
+
+    // Buffer de embaralhamento (linhas já normalizadas)
+    private final double[] bufferEntradas;
+    private final int[] bufferClasses;
+    private int ocupadas;
+
+    // Bloco atual lido do disco
+    private final ByteBuffer bytesBloco;
+    private int linhasNoBloco;
+    private int proximaDoBloco;
+
+    // Permutação dos blocos da época: bloco(i) = (a * i + b) mod numBlocos, com a e numBlocos primos entre si
+    private long passo;
+    private long deslocamento;
+    private long blocosLidos;
+    private boolean sobraEmbaralhada;
+
+    public EmbaralhadorFluxo(ArquivoDespejo arquivo, Normalizador normalizador, int capacidade, int linhasPorBloco,
+                             Random rand) {
+        if (capacidade <= 0 || linhasPorBloco <= 0)
+            throw new IllegalArgumentException("O buffer de embaralhamento e o bloco devem ter ao menos 1 linha.");
+        this.arquivo = arquivo;
+        this.normalizador = normalizador;
+        this.rand = rand;
+        this.numAtributos = arquivo.getNumeroDeAtributos();
+        this.linhasPorBloco = linhasPorBloco;
+        this.numBlocos = (arquivo.getNumeroDeLinhas() + linhasPorBloco - 1) / linhasPorBloco;
+        this.bufferEntradas = new double[capacidade * numAtributos];
+        this.bufferClasses = new int[capacidade];
+        this.bytesBloco = arquivo.criarBuffer(linhasPorBloco);
+        iniciarEpoca();
+    }
+
+    //Recomeça do início do arquivo com uma nova ordem de blocos
+    @Override
+    public void iniciarEpoca() {
+        passo = sortearPasso();
+        deslocamento = (long) (rand.nextDouble() * numBlocos);
+        blocosLidos = 0;
+        sobraEmbaralhada = false;
+        linhasNoBloco = 0;
+        proximaDoBloco = 0;
+        ocupadas = 0;
+    }
+
+    //Preenche o lote com as próximas linhas da época; retorna false quando a época acabou (lote vazio)
+    //Erros de leitura saem como UncheckedIOException
+    @Override
+    public boolean preencher(LoteAmostras lote) {
+        double[] entradasLote = lote.getEntradas();
+        int[] classesLote = lote.getClasses();
+        int capacidadeBuffer = bufferClasses.length;
+        int n = 0;
+
+        while (n < lote.getCapacidade()) {
+            if (proximaDoBloco == linhasNoBloco && !lerProximoBloco()) {
+                // Arquivo acabou: esvazia o buffer (embaralhado uma vez em lerProximoBloco)
+                if (ocupadas == 0) break;
+                ocupadas--;
+                copiar(bufferEntradas, bufferClasses, ocupadas, entradasLote, classesLote, n++);
+                continue;
+            }
+            int indiceNoBloco = proximaDoBloco++;
+            if (ocupadas < capacidadeBuffer) {
+                // Ainda enchendo o buffer
+                decodificar(indiceNoBloco, ocupadas++);
+            } else {
+                // A linha sorteada sai para o lote e a nova ocupa o lugar dela
+                int sorteada = rand.nextInt(capacidadeBuffer);
+                copiar(bufferEntradas, bufferClasses, sorteada, entradasLote, classesLote, n++);
+                decodificar(indiceNoBloco, sorteada);
+            }
+        }
+        lote.setTamanho(n);
+        return n > 0;
+    }
+
+    // Lê o próximo bloco da permutação; no fim do arquivo embaralha o buffer e retorna false
+    private boolean lerProximoBloco() {
+        if (blocosLidos == numBlocos) {
+            if (!sobraEmbaralhada) {
+                embaralharBuffer();
+                sobraEmbaralhada = true;
+            }
+            return false;
+        }
+        long bloco = (passo * blocosLidos + deslocamento) % numBlocos;
+        blocosLidos++;
+        try {
+            linhasNoBloco = arquivo.lerRegistros(bloco * linhasPorBloco, linhasPorBloco, bytesBloco);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        proximaDoBloco = 0;
+        return true;
+    }
+
+    // Decodifica a linha do bloco direto na posição do buffer e a normaliza no lugar
+    private void decodificar(int indiceNoBloco, int posicao) {
+        int offset = posicao * numAtributos;
+        bufferClasses[posicao] = arquivo.decodificar(bytesBloco, indiceNoBloco, bufferEntradas, offset);
+        normalizador.aplicar(bufferEntradas, offset, bufferEntradas, offset);
+    }
+
+    private void copiar(double[] entradas, int[] classes, int de, double[] entradasDestino, int[] classesDestino, int para) {
+        System.arraycopy(entradas, de * numAtributos, entradasDestino, para * numAtributos, numAtributos);
+        classesDestino[para] = classes[de];
+    }
+
+    // Fisher-Yates nas linhas ocupadas do buffer
+    private void embaralharBuffer() {
+        for (int i = ocupadas - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            for (int a = 0; a < numAtributos; a++) {
+                double temp = bufferEntradas[i * numAtributos + a];
+                bufferEntradas[i * numAtributos + a] = bufferEntradas[j * numAtributos + a];
+                bufferEntradas[j * numAtributos + a] = temp;
+            }
+            int temp = bufferClasses[i];
+            bufferClasses[i] = bufferClasses[j];
+            bufferClasses[j] = temp;
+        }
+    }
+
+    // Passo da permutação afim: um número em [1, numBlocos) primo com numBlocos
+    private long sortearPasso() {
+        if (numBlocos <= 2) return 1;
+        while (true) {
+            long candidato = 1 + (long) (rand.nextDouble() * (numBlocos - 1));
+            if (mdc(candidato, numBlocos) == 1) return candidato;
+        }
+    }
+
+    private static long mdc(long a, long b) {
+        while (b != 0) {
+            long resto = a % b;
+            a = b;
+            b = resto;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,17 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.LoteAmostras;
+
+/**
+ * Origem das linhas de uma época, já embaralhadas e normalizadas, entregues em LoteAmostras.
+ * Implementada pelo EmbaralhadorFluxo (disco) e pelo LotesEmMemoria; a PreBuscaLotes chama
+ * estes métodos em uma thread própria.
+ */
+public interface FonteLotes {
+
+    //Recomeça a época (nova ordem das linhas)
+    void iniciarEpoca();
+
+    //Preenche o lote com as próximas linhas da época; retorna false quando a época acabou (lote vazio)
+    boolean preencher(LoteAmostras lote);
+}
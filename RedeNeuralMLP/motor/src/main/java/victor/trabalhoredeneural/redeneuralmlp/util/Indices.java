@@ -0,0 +1,40 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import java.util.Random;
+
+//Classe utilitaria para vetores de índices de linhas (ordem das instâncias em uma época, divisões treino/teste)
+public class Indices {
+
+    //Retorna o vetor [0, 1, ..., n - 1]
+    public static int[] sequencia(int n) {
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    //Embaralha o vetor no próprio lugar (Fisher-Yates), sem mover as instâncias
+    public static void embaralhar(int[] indices, Random rand) {
+        for (int i = indices.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = indices[i];
+            indices[i] = indices[j];
+            indices[j] = temp;
+        }
+    }
+
+    //Retorna, em ordem crescente, os índices de [0, n) que não estão em 'linhas' (ex: o treino de uma dobra)
+    public static int[] complemento(int[] linhas, int n) {
+        boolean[] excluida = new boolean[n];
+        for (int linha : linhas) {
+            excluida[linha] = true;
+        }
+        int[] resto = new int[n - linhas.length];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (!excluida[i]) resto[k++] = i;
+        }
+        return resto;
+    }
+}
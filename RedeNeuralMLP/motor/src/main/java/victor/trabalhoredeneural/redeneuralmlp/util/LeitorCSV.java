@@ -0,0 +1,505 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+//Classe utilitaria responsavel por ler os arquivos CSV e transforma em um objeto ConjuntoDados
+//O arquivo é mapeado em memória e lido direto dos bytes (sem criar Strings por campo);
+//o número de colunas vem do cabeçalho (N atributos + 1 coluna de classe, sempre a última)
+public class LeitorCSV {
+
+    // Arquivos acima deste tamanho são divididos em pedaços lidos em paralelo
+    private static final long TAMANHO_MINIMO_PARALELO = 8L * 1024 * 1024;
+    // Tamanho alvo de cada pedaço (também precisa caber em um único MappedByteBuffer)
+    private static final long TAMANHO_PEDACO = 64L * 1024 * 1024;
+    // Bloco lido por vez na leitura em fluxo (percorrer)
+    private static final int TAMANHO_LEITURA = 4 * 1024 * 1024;
+
+    /**
+     * Quem recebe as linhas lidas: o ConjuntoDados.Construtor (tudo em memória)
+     * ou um destino em fluxo, como o escritor do ArquivoDespejo.
+     */
+    public interface DestinoLinhas {
+
+        //Id da classe no destino; chamado só na primeira vez que o rótulo aparece
+        int idDaClasse(String classe);
+
+        //Recebe uma linha; 'valores' é reaproveitado na próxima chamada
+        void adicionar(double[] valores, int idClasse);
+
+        //Avisado de cada linha mal formada ou com valor inválido que foi pulada, na ordem em que aparece
+        //(linhas em branco não contam). Quem precisa manter a saída alinhada com a entrada sobrescreve
+        default void rejeitar() {
+        }
+    }
+
+    //Lê um arquivo CSV e o converte em um ConjuntoDados
+    public static ConjuntoDados carregarDados(File arquivo) throws IOException, NumberFormatException {
+        return carregarDados(arquivo, 0);
+    }
+
+    //Igual a carregarDados(File), mas com o tamanho dos pedaços fixo (0 = automático); usado nos testes
+    //para forçar a divisão de arquivos pequenos
+    static ConjuntoDados carregarDados(File arquivo, long tamanhoPedaco) throws IOException {
+
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+
+            // Le a linha do cabeçalho (X1, X2, ..., classe) apenas para contar as colunas
+            long fimCabecalho = proximaQuebraDeLinha(canal, 0);
+            if (fimCabecalho < 0 && tamanho == 0) {
+                throw new IOException("Arquivo vazio: " + arquivo.getName());
+            }
+            long inicioDados = (fimCabecalho < 0) ? tamanho : fimCabecalho + 1;
+            int numColunas = contarColunas(canal, inicioDados);
+            if (numColunas < 2) {
+                throw new IOException("O cabeçalho precisa de ao menos um atributo e a coluna de classe.");
+            }
+            int numAtributos = numColunas - 1;
+
+            // Divide o restante do arquivo em pedaços que terminam em quebras de linha
+            List<long[]> pedacos = dividirEmPedacos(canal, inicioDados, tamanho, tamanhoPedaco);
+
+            List<ConjuntoDados.Construtor> partes = new ArrayList<>();
+            if (pedacos.size() == 1) {
+                partes.add(lerPedaco(mapear(canal, pedacos.get(0)), numAtributos));
+            }
+            else {
+                List<Callable<ConjuntoDados.Construtor>> tarefas = new ArrayList<>();
+                for (long[] pedaco : pedacos) {
+                    ByteBuffer bytes = mapear(canal, pedaco);
+                    tarefas.add(() -> lerPedaco(bytes, numAtributos));
+                }
+                for (Future<ConjuntoDados.Construtor> f : ForkJoinPool.commonPool().invokeAll(tarefas)) {
+                    partes.add(obter(f));
+                }
+            }
+            if (partes.isEmpty()) {
+                partes.add(new ConjuntoDados.Construtor(numAtributos));
+            }
+
+            // Cria e retorna o ConjuntoDados, que calculará min/max automaticamente
+            return ConjuntoDados.Construtor.combinar(partes);
+        }
+    }
+
+    //Lê o arquivo do início ao fim em blocos de tamanho fixo, entregando cada linha ao destino.
+    //A memória usada não depende do tamanho do arquivo (só cresce se uma linha não couber no bloco).
+    //Retorna o número de atributos (colunas do cabeçalho menos a classe)
+    public static int percorrer(File arquivo, DestinoLinhas destino) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo.toPath(), StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            long fimCabecalho = proximaQuebraDeLinha(canal, 0);
+            if (fimCabecalho < 0 && tamanho == 0) {
+                throw new IOException("Arquivo vazio: " + arquivo.getName());
+            }
+            long posicao = (fimCabecalho < 0) ? tamanho : fimCabecalho + 1;
+            int numColunas = contarColunas(canal, posicao);
+            if (numColunas < 2) {
+                throw new IOException("O cabeçalho precisa de ao menos um atributo e a coluna de classe.");
+            }
+            int numAtributos = numColunas - 1;
+
+            LeitorPedaco leitor = new LeitorPedaco(numAtributos, true, destino);
+            ByteBuffer bloco = ByteBuffer.allocate(TAMANHO_LEITURA);
+            while (true) {
+                int lidos = canal.read(bloco, posicao);
+                if (lidos > 0) posicao += lidos;
+                boolean fim = lidos < 0 || posicao >= tamanho;
+
+                bloco.flip();
+                if (fim) {
+                    leitor.ler(bloco.slice());
+                    return numAtributos;
+                }
+                int ultimaQuebra = bloco.limit() - 1;
+                while (ultimaQuebra >= 0 && bloco.get(ultimaQuebra) != '\n') ultimaQuebra--;
+                if (ultimaQuebra < 0) {
+                    // Nenhuma linha completa no bloco: dobra o bloco e continua lendo
+                    ByteBuffer maior = ByteBuffer.allocate(bloco.capacity() * 2);
+                    maior.put(bloco);
+                    bloco = maior;
+                    continue;
+                }
+                ByteBuffer linhasCompletas = bloco.duplicate();
+                linhasCompletas.limit(ultimaQuebra + 1);
+                leitor.ler(linhasCompletas.slice());
+
+                // O pedaço da última linha incompleta vai para o começo do bloco
+                bloco.position(ultimaQuebra + 1);
+                bloco.compact();
+            }
+        }
+    }
+
+    //Posição do primeiro byte depois do cabeçalho (o arquivo não pode ser vazio)
+    public static long inicioDosDados(FileChannel canal) throws IOException {
+        long fimCabecalho = proximaQuebraDeLinha(canal, 0);
+        if (fimCabecalho < 0 && canal.size() == 0) {
+            throw new IOException("Arquivo vazio");
+        }
+        return (fimCabecalho < 0) ? canal.size() : fimCabecalho + 1;
+    }
+
+    //Lê as linhas de bytes[0, limit) e as entrega ao destino. Usado por quem divide o arquivo em blocos
+    //por conta própria. Sem a coluna de classe (comClasse false), todas as colunas são atributos e o id é -1
+    public static void lerLinhas(ByteBuffer bytes, int numAtributos, boolean comClasse, DestinoLinhas destino) {
+        new LeitorPedaco(numAtributos, comClasse, destino).ler(bytes);
+    }
+
+    private static ByteBuffer mapear(FileChannel canal, long[] pedaco) throws IOException {
+        return canal.map(FileChannel.MapMode.READ_ONLY, pedaco[0], pedaco[1] - pedaco[0]);
+    }
+
+    // Lê um pedaço do arquivo em um novo construtor
+    private static ConjuntoDados.Construtor lerPedaco(ByteBuffer bytes, int numAtributos) {
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(numAtributos);
+        new LeitorPedaco(numAtributos, true, construtor).ler(bytes);
+        return construtor;
+    }
+
+    // Retorna a posição do próximo '\n' a partir de 'inicio', ou -1 se não houver
+    private static long proximaQuebraDeLinha(FileChannel canal, long inicio) throws IOException {
+        ByteBuffer bloco = ByteBuffer.allocate(8192);
+        long posicao = inicio;
+        while (true) {
+            bloco.clear();
+            int lidos = canal.read(bloco, posicao);
+            if (lidos <= 0) return -1;
+            for (int i = 0; i < lidos; i++) {
+                if (bloco.get(i) == '\n') return posicao + i;
+            }
+            posicao += lidos;
+        }
+    }
+
+    //Conta as colunas do cabeçalho (número de vírgulas + 1)
+    public static int contarColunas(FileChannel canal, long tamanhoCabecalho) throws IOException {
+        ByteBuffer cabecalho = ByteBuffer.allocate((int) tamanhoCabecalho);
+        canal.read(cabecalho, 0);
+        int colunas = 1;
+        for (int i = 0; i < cabecalho.position(); i++) {
+            if (cabecalho.get(i) == ',') colunas++;
+        }
+        return colunas;
+    }
+
+    // Cria os intervalos [inicio, fim) de cada pedaço, sempre terminando logo após um '\n'
+    private static List<long[]> dividirEmPedacos(FileChannel canal, long inicio, long fim, long tamanhoFixo)
+            throws IOException {
+        List<long[]> pedacos = new ArrayList<>();
+        if (inicio >= fim) return pedacos;
+
+        long tamanhoPedaco = fim - inicio;
+        if (tamanhoFixo > 0) {
+            tamanhoPedaco = tamanhoFixo;
+        }
+        else if (tamanhoPedaco > TAMANHO_MINIMO_PARALELO) {
+            int numThreads = ForkJoinPool.commonPool().getParallelism();
+            tamanhoPedaco = Math.min(TAMANHO_PEDACO, Math.max(TAMANHO_MINIMO_PARALELO / 2, (fim - inicio) / numThreads));
+        }
+
+        long atual = inicio;
+        while (atual < fim) {
+            long alvo = atual + tamanhoPedaco;
+            long proximo;
+            if (alvo >= fim) {
+                proximo = fim;
+            }
+            else {
+                long quebra = proximaQuebraDeLinha(canal, alvo);
+                proximo = (quebra < 0) ? fim : quebra + 1;
+            }
+            pedacos.add(new long[]{atual, proximo});
+            atual = proximo;
+        }
+        return pedacos;
+    }
+
+    private static ConjuntoDados.Construtor obter(Future<ConjuntoDados.Construtor> futuro) throws IOException {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Leitura interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Lê as linhas de um pedaço do arquivo direto dos bytes.
+     * Os números são convertidos sem criar Strings (com fallback para Double.parseDouble
+     * nos casos raros que o caminho rápido não cobre com exatidão), e os rótulos das
+     * classes são comparados como bytes; só rótulos novos viram String.
+     * O mesmo leitor pode ler vários blocos seguidos (o dicionário de rótulos é mantido).
+     */
+    private static final class LeitorPedaco {
+
+        // 10^0 .. 10^22 são representados exatamente em double
+        private static final double[] POTENCIAS_10 = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+        private static final long LIMITE_MANTISSA_EXATA = 1L << 53;
+
+        private ByteBuffer bytes;
+        private final int numAtributos;
+        private final boolean comClasse;
+        private final DestinoLinhas destino;
+        private final double[] valores;
+        private final RotulosEmBytes rotulos = new RotulosEmBytes();
+
+        LeitorPedaco(int numAtributos, boolean comClasse, DestinoLinhas destino) {
+            this.numAtributos = numAtributos;
+            this.comClasse = comClasse;
+            this.destino = destino;
+            this.valores = new double[numAtributos];
+        }
+
+        // Processa as linhas de bytes[0, limit)
+        void ler(ByteBuffer bytes) {
+            this.bytes = bytes;
+            int limite = bytes.limit();
+            int inicio = 0;
+            while (inicio < limite) {
+                int fim = inicio;
+                while (fim < limite && bytes.get(fim) != '\n') fim++;
+                processarLinha(inicio, fim);
+                inicio = fim + 1;
+            }
+        }
+
+        private void processarLinha(int inicio, int fim) {
+            // Ignora o '\r' de arquivos gerados no Windows
+            if (fim > inicio && bytes.get(fim - 1) == '\r') fim--;
+
+            // Se a linha estiver em branco, pula
+            if (ignorarEspacos(inicio, fim) == fim) return;
+
+            int campo = inicio;
+            for (int a = 0; a < numAtributos; a++) {
+                int virgula = campo;
+                while (virgula < fim && bytes.get(virgula) != ',') virgula++;
+                // Sem a coluna de classe, o último atributo vai até o fim da linha
+                boolean ultimo = !comClasse && a == numAtributos - 1;
+                if ((virgula == fim) != ultimo) {
+                    avisar("Aviso: Pulando linha mal formada: ", inicio, fim);
+                    return;
+                }
+                try {
+                    valores[a] = lerDouble(campo, virgula);
+                } catch (NumberFormatException e) {
+                    avisar("Aviso: Pulando linha com valor numérico inválido: ", inicio, fim);
+                    return;
+                }
+                campo = virgula + 1;
+            }
+            if (!comClasse) {
+                destino.adicionar(valores, -1);
+                return;
+            }
+
+            // Lê a última coluna (classe); não pode haver colunas a mais
+            for (int i = campo; i < fim; i++) {
+                if (bytes.get(i) == ',') {
+                    avisar("Aviso: Pulando linha mal formada: ", inicio, fim);
+                    return;
+                }
+            }
+            int inicioRotulo = ignorarEspacos(campo, fim);
+            int fimRotulo = fim;
+            while (fimRotulo > inicioRotulo && ehEspaco(bytes.get(fimRotulo - 1))) fimRotulo--;
+
+            destino.adicionar(valores, rotulos.id(bytes, inicioRotulo, fimRotulo, destino));
+        }
+
+        // Converte os bytes [inicio, fim) em double
+        private double lerDouble(int inicio, int fim) {
+            inicio = ignorarEspacos(inicio, fim);
+            while (fim > inicio && ehEspaco(bytes.get(fim - 1))) fim--;
+
+            int i = inicio;
+            boolean negativo = false;
+            if (i < fim && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+                negativo = bytes.get(i) == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int digitosSignificativos = 0;
+            int expoente = 0;
+            boolean temDigito = false;
+            boolean exato = true;
+
+            // Parte inteira
+            while (i < fim && ehDigito(bytes.get(i))) {
+                temDigito = true;
+                if (digitosSignificativos < 18) {
+                    mantissa = mantissa * 10 + (bytes.get(i) - '0');
+                    if (mantissa != 0) digitosSignificativos++;
+                }
+                else {
+                    expoente++;
+                    if (bytes.get(i) != '0') exato = false;
+                }
+                i++;
+            }
+
+            // Parte fracionária
+            if (i < fim && bytes.get(i) == '.') {
+                i++;
+                while (i < fim && ehDigito(bytes.get(i))) {
+                    temDigito = true;
+                    if (digitosSignificativos < 18) {
+                        mantissa = mantissa * 10 + (bytes.get(i) - '0');
+                        if (mantissa != 0) digitosSignificativos++;
+                        expoente--;
+                    }
+                    else if (bytes.get(i) != '0') {
+                        exato = false;
+                    }
+                    i++;
+                }
+            }
+
+            // Expoente (ex: 1.5e-3)
+            if (temDigito && i < fim && (bytes.get(i) == 'e' || bytes.get(i) == 'E')) {
+                i++;
+                boolean expoenteNegativo = false;
+                if (i < fim && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+                    expoenteNegativo = bytes.get(i) == '-';
+                    i++;
+                }
+                int valorExpoente = 0;
+                boolean temDigitoExpoente = false;
+                while (i < fim && ehDigito(bytes.get(i))) {
+                    temDigitoExpoente = true;
+                    if (valorExpoente < 10000) valorExpoente = valorExpoente * 10 + (bytes.get(i) - '0');
+                    i++;
+                }
+                if (!temDigitoExpoente) return lerDoubleLento(inicio, fim);
+                expoente += expoenteNegativo ? -valorExpoente : valorExpoente;
+            }
+
+            // Sobrou algo que não é número (ex: "NaN", hexadecimal, lixo): o caminho lento decide
+            if (!temDigito || i != fim) return lerDoubleLento(inicio, fim);
+
+            if (mantissa == 0) return negativo ? -0.0 : 0.0;
+
+            // Caminho rápido exato: mantissa e potência de 10 representáveis sem arredondamento
+            if (exato && mantissa < LIMITE_MANTISSA_EXATA && expoente >= -22 && expoente <= 22) {
+                double valor = (expoente >= 0) ? mantissa * POTENCIAS_10[expoente] : mantissa / POTENCIAS_10[-expoente];
+                return negativo ? -valor : valor;
+            }
+            return lerDoubleLento(inicio, fim);
+        }
+
+        // Caminho lento: cria a String só para este campo
+        private double lerDoubleLento(int inicio, int fim) {
+            return Double.parseDouble(texto(inicio, fim).trim());
+        }
+
+        private int ignorarEspacos(int inicio, int fim) {
+            while (inicio < fim && ehEspaco(bytes.get(inicio))) inicio++;
+            return inicio;
+        }
+
+        private String texto(int inicio, int fim) {
+            byte[] copia = new byte[fim - inicio];
+            for (int i = 0; i < copia.length; i++) {
+                copia[i] = bytes.get(inicio + i);
+            }
+            return new String(copia, StandardCharsets.UTF_8);
+        }
+
+        private void avisar(String mensagem, int inicio, int fim) {
+            System.err.println(mensagem + texto(inicio, fim));
+            destino.rejeitar();
+        }
+
+        private static boolean ehDigito(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean ehEspaco(byte b) {
+            return b == ' ' || b == '\t';
+        }
+    }
+
+    // Dicionário de rótulos de classe indexado pelos bytes do rótulo (tabela hash com endereçamento aberto)
+    private static final class RotulosEmBytes {
+
+        private byte[][] chaves = new byte[16][];
+        private int[] ids = new int[16];
+        private int quantidade;
+
+        // Retorna o id do rótulo no destino, registrando-o (e criando a String) só na primeira vez
+        int id(ByteBuffer bytes, int inicio, int fim, DestinoLinhas destino) {
+            int hash = hash(bytes, inicio, fim);
+            int mascara = chaves.length - 1;
+            int posicao = hash & mascara;
+            while (chaves[posicao] != null) {
+                if (iguais(chaves[posicao], bytes, inicio, fim)) return ids[posicao];
+                posicao = (posicao + 1) & mascara;
+            }
+
+            byte[] chave = new byte[fim - inicio];
+            for (int i = 0; i < chave.length; i++) {
+                chave[i] = bytes.get(inicio + i);
+            }
+            int id = destino.idDaClasse(new String(chave, StandardCharsets.UTF_8));
+            chaves[posicao] = chave;
+            ids[posicao] = id;
+            quantidade++;
+            if (quantidade * 2 > chaves.length) crescer();
+            return id;
+        }
+
+        private void crescer() {
+            byte[][] chavesAntigas = chaves;
+            int[] idsAntigos = ids;
+            chaves = new byte[chavesAntigas.length * 2][];
+            ids = new int[chavesAntigas.length * 2];
+            int mascara = chaves.length - 1;
+            for (int i = 0; i < chavesAntigas.length; i++) {
+                if (chavesAntigas[i] == null) continue;
+                int posicao = Arrays.hashCode(chavesAntigas[i]) & mascara;
+                while (chaves[posicao] != null) posicao = (posicao + 1) & mascara;
+                chaves[posicao] = chavesAntigas[i];
+                ids[posicao] = idsAntigos[i];
+            }
+        }
+
+        // Mesmo cálculo de Arrays.hashCode(byte[]), para que o rehash em crescer() seja consistente
+        private static int hash(ByteBuffer bytes, int inicio, int fim) {
+            int h = 1;
+            for (int i = inicio; i < fim; i++) {
+                h = 31 * h + bytes.get(i);
+            }
+            return h;
+        }
+
+        private static boolean iguais(byte[] chave, ByteBuffer bytes, int inicio, int fim) {
+            if (chave.length != fim - inicio) return false;
+            for (int i = 0; i < chave.length; i++) {
+                if (chave[i] != bytes.get(inicio + i)) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.LoteAmostras;
+
+import java.util.Random;
+
+/**
+ * Fonte de lotes sobre um DadosNormalizados em memória: a cada época embaralha a ordem das linhas
+ * e copia as linhas, nessa ordem, para os lotes (uma cópia de linha e um id de classe por amostra).
+ */
+public class LotesEmMemoria implements FonteLotes {
+
+    private final DadosNormalizados dados;
+    private final Random rand;
+    private final int[] ordem;
+    private int proxima;
+
+    public LotesEmMemoria(DadosNormalizados dados, Random rand) {
+        this.dados = dados;
+        this.rand = rand;
+        this.ordem = Indices.sequencia(dados.getNumeroDeInstancias());
+    }
+
+    @Override
+    public void iniciarEpoca() {
+        Indices.embaralhar(ordem, rand);
+        proxima = 0;
+    }
+
+    @Override
+    public boolean preencher(LoteAmostras lote) {
+        double[] entradas = lote.getEntradas();
+        int[] classes = lote.getClasses();
+        int numAtributos = dados.getNumeroDeAtributos();
+        int n = Math.min(lote.getCapacidade(), ordem.length - proxima);
+        for (int b = 0; b < n; b++) {
+            int linha = ordem[proxima++];
+            dados.copiarEntradas(linha, entradas, b * numAtributos);
+            classes[b] = dados.getClasseId(linha);
+        }
+        lote.setTamanho(n);
+        return n > 0;
+    }
+}
@@ -0,0 +1,128 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import victor.trabalhoredeneural.redeneuralmlp.core.Avaliador;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.util.List;
+
+//Matriz de Confusão e as métricas por classe que saem dela. É montada a partir de um AcumuladorAvaliacao
+//(Avaliador.avaliar) ou de contagens já feitas.
+public class MatrizConfusao {
+
+    // contagens[real][prevista], com as classes indexadas pelo id em listaClasses
+    // Ex: classes [CA, CB, CC] -> { {13, 2, 0},
+    //                              { 2, 10, 3}, ... }
+    private final int[][] contagens;
+    private final List<String> listaClasses; // Lista ordenada de classes (para as colunas/linhas)
+
+    //Atalho para Avaliador.avaliar(rede, dadosTeste, 1).getMatriz(): avalia a rede no conjunto de teste
+    public MatrizConfusao(RedeNeural rede, ConjuntoDados dadosTeste) {
+        this(Avaliador.avaliar(rede, dadosTeste, 1));
+    }
+
+    private MatrizConfusao(AcumuladorAvaliacao avaliacao) {
+        this(avaliacao.getClasses(), avaliacao.getMatriz().contagens);
+    }
+
+    //Monta a matriz a partir das contagens já feitas: contagens[real][prevista], na ordem de listaClasses
+    public MatrizConfusao(List<String> listaClasses, int[][] contagens) {
+        this.listaClasses = listaClasses;
+        this.contagens = new int[listaClasses.size()][];
+        for (int r = 0; r < listaClasses.size(); r++)
+            this.contagens[r] = contagens[r].clone();
+    }
+
+    //Soma célula a célula várias matrizes com as mesmas classes (ex: uma por dobra da validação cruzada)
+    public static MatrizConfusao combinar(List<MatrizConfusao> matrizes) {
+        List<String> classes = matrizes.get(0).getListaClasses();
+        int[][] soma = new int[classes.size()][classes.size()];
+        for (MatrizConfusao m : matrizes) {
+            if (!m.getListaClasses().equals(classes))
+                throw new IllegalArgumentException("As matrizes de confusão devem ter as mesmas classes.");
+            for (int r = 0; r < classes.size(); r++)
+                for (int p = 0; p < classes.size(); p++)
+                    soma[r][p] += m.contagens[r][p];
+        }
+        return new MatrizConfusao(classes, soma);
+    }
+
+    // Retorna a lista ordenada de classes, usado para criar as colunas e linhas da tabela na UI
+    public List<String> getListaClasses() {
+        return listaClasses;
+    }
+
+    // Número de classes (linhas e colunas)
+    public int getNumeroDeClasses() {
+        return listaClasses.size();
+    }
+
+    // Retorna o valor de uma célula pelos ids das classes (posições em getListaClasses)
+    public int getValor(int classeReal, int classePredita) {
+        return contagens[classeReal][classePredita];
+    }
+
+    // Retorna o valor de uma célula pelos nomes das classes
+    public int getValor(String classeReal, String classePredita) {
+        return contagens[indice(classeReal)][indice(classePredita)];
+    }
+
+    // Total de instâncias contadas
+    public int getTotal() {
+        int total = 0;
+        for (int[] linha : contagens)
+            for (int valor : linha)
+                total += valor;
+        return total;
+    }
+
+    // Soma da diagonal (predições corretas)
+    public int getAcertos() {
+        int acertos = 0;
+        for (int c = 0; c < contagens.length; c++)
+            acertos += contagens[c][c];
+        return acertos;
+    }
+
+    public double getAcuracia() {
+        int total = getTotal();
+        return total > 0 ? (double) getAcertos() / total : 0.0;
+    }
+
+    // Das instâncias previstas como 'classe', a fração que era dela (0 se nenhuma foi prevista)
+    public double getPrecisao(int classe) {
+        int previstas = 0;
+        for (int[] linha : contagens)
+            previstas += linha[classe];
+        return previstas > 0 ? (double) contagens[classe][classe] / previstas : 0.0;
+    }
+
+    // Das instâncias que eram de 'classe', a fração prevista corretamente (0 se não havia nenhuma)
+    public double getRevocacao(int classe) {
+        int reais = 0;
+        for (int valor : contagens[classe])
+            reais += valor;
+        return reais > 0 ? (double) contagens[classe][classe] / reais : 0.0;
+    }
+
+    public double getF1(int classe) {
+        double precisao = getPrecisao(classe);
+        double revocacao = getRevocacao(classe);
+        return precisao + revocacao > 0 ? 2 * precisao * revocacao / (precisao + revocacao) : 0.0;
+    }
+
+    // Média simples do F1 de cada classe
+    public double getF1Macro() {
+        double soma = 0.0;
+        for (int c = 0; c < contagens.length; c++)
+            soma += getF1(c);
+        return contagens.length == 0 ? 0.0 : soma / contagens.length;
+    }
+
+    private int indice(String classe) {
+        int indice = listaClasses.indexOf(classe);
+        if (indice < 0)
+            throw new IllegalArgumentException("Classe fora da matriz de confusão: " + classe);
+        return indice;
+    }
+}
@@ -0,0 +1,101 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import victor.trabalhoredeneural.redeneuralmlp.model.LoteAmostras;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pré-busca de lotes: uma thread produtora chama a FonteLotes (embaralhar, ler do disco, normalizar,
+ * copiar as linhas) enquanto a thread de treino consome os lotes já prontos.
+ * Os 'numLotes' LoteAmostras são criados uma vez e circulam entre duas filas circulares limitadas
+ * (livres -> prontos -> livres), então nada é alocado por lote nem por amostra. Com 2 lotes é um
+ * buffer duplo: um é preenchido enquanto o outro é treinado.
+ * A produtora emenda uma época na outra; o fim de cada época é marcado por um lote vazio.
+ * Ela nunca é interrompida: a fonte pode estar lendo um FileChannel, e uma interrupção no meio
+ * da leitura fecha o canal do ArquivoDespejo (ClosedByInterruptException). Para encerrar, uma
+ * flag é conferida entre um lote e outro e a produtora termina sozinha.
+ */
+public class PreBuscaLotes {
+
+    // Espera máxima por um lote livre antes de conferir de novo a flag de encerramento
+    private static final long ESPERA_LIVRE_MS = 20;
+    // Espera máxima do encerrar() pela produtora (um lote em leitura no disco precisa terminar)
+    private static final long ESPERA_ENCERRAMENTO_MS = 5000;
+
+    private final FonteLotes fonte;
+    private final BlockingQueue<LoteAmostras> livres;
+    private final BlockingQueue<LoteAmostras> prontos;
+    // Colocado em 'prontos' quando a fonte falha (a fila tem uma vaga a mais para ele)
+    private final LoteAmostras sinalFalha = new LoteAmostras(0, 0);
+    private final Thread produtora;
+    private volatile RuntimeException falha;
+    private volatile boolean encerrada;
+
+    public PreBuscaLotes(FonteLotes fonte, int numLotes, int linhasPorLote, int numAtributos) {
+        if (numLotes < 2 || linhasPorLote <= 0)
+            throw new IllegalArgumentException("A pré-busca precisa de ao menos 2 lotes com ao menos 1 linha.");
+        this.fonte = fonte;
+        this.livres = new ArrayBlockingQueue<>(numLotes);
+        this.prontos = new ArrayBlockingQueue<>(numLotes + 1);
+        for (int i = 0; i < numLotes; i++)
+            livres.add(new LoteAmostras(linhasPorLote, numAtributos));
+
+        this.produtora = new Thread(this::produzir, "pre-busca-lotes");
+        this.produtora.setDaemon(true);
+        this.produtora.start();
+    }
+
+    //Próximo lote da época atual, ou null no fim da época. O lote deve voltar com devolver()
+    //Erros da fonte (ex: UncheckedIOException da leitura) são relançados aqui
+    public LoteAmostras proximo() throws InterruptedException {
+        LoteAmostras lote = prontos.take();
+        if (lote == sinalFalha)
+            throw falha;
+        if (lote.getTamanho() == 0) {
+            livres.add(lote);
+            return null;
+        }
+        return lote;
+    }
+
+    //Devolve um lote já treinado para a produtora reaproveitar
+    public void devolver(LoteAmostras lote) {
+        livres.add(lote);
+    }
+
+    //Para a thread produtora (no fim do treino ou em caso de erro) e espera ela terminar o lote atual.
+    //Retorna false se ela não terminou dentro da espera (continua como daemon e para no próximo lote)
+    public boolean encerrar() {
+        encerrada = true;
+        try {
+            produtora.join(ESPERA_ENCERRAMENTO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !produtora.isAlive();
+    }
+
+    private void produzir() {
+        try {
+            while (!encerrada) {
+                fonte.iniciarEpoca();
+                boolean temLinhas = true;
+                while (temLinhas && !encerrada) {
+                    LoteAmostras lote = livres.poll(ESPERA_LIVRE_MS, TimeUnit.MILLISECONDS);
+                    if (lote == null)
+                        continue;
+                    temLinhas = fonte.preencher(lote);
+                    // Só circulam numLotes lotes, então 'prontos' sempre tem vaga
+                    prontos.add(lote);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Ninguém interrompe a produtora; se acontecer, ela só termina
+        } catch (RuntimeException e) {
+            falha = e;
+            prontos.add(sinalFalha);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AgendaTaxaTest {
+
+    private static final double TOLERANCIA = 1e-12;
+    private static final List<Double> SEM_HISTORICO = Collections.emptyList();
+
+    @Test
+    void constanteMantemATaxaAtual() {
+        assertEquals(0.07, AgendaTaxa.constante().proximaTaxa(50, 0.1, 0.07, SEM_HISTORICO));
+    }
+
+    // A taxa cai exatamente nas épocas múltiplas de 'aCadaEpocas'
+    @Test
+    void degrauMudaNasFronteiras() {
+        AgendaTaxa degrau = AgendaTaxa.degrau(10, 0.5);
+        assertEquals(0.1, degrau.proximaTaxa(1, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.1, degrau.proximaTaxa(9, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.05, degrau.proximaTaxa(10, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.05, degrau.proximaTaxa(19, 0.1, 0.05, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.025, degrau.proximaTaxa(20, 0.1, 0.05, SEM_HISTORICO), TOLERANCIA);
+    }
+
+    @Test
+    void exponencialParteDaTaxaInicial() {
+        AgendaTaxa exponencial = AgendaTaxa.exponencial(0.9);
+        assertEquals(0.09, exponencial.proximaTaxa(1, 0.1, 0.5, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.1 * 0.729, exponencial.proximaTaxa(3, 0.1, 0.5, SEM_HISTORICO), TOLERANCIA);
+    }
+
+    // Começa na taxa inicial, passa pela média na metade e fica na mínima depois do total de épocas
+    @Test
+    void cossenoNasFronteiras() {
+        AgendaTaxa cosseno = AgendaTaxa.cosseno(100, 0.01);
+        assertEquals(0.1, cosseno.proximaTaxa(0, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.01 + 0.045 * (1 + Math.cos(Math.PI / 100)), cosseno.proximaTaxa(1, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.055, cosseno.proximaTaxa(50, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.01, cosseno.proximaTaxa(100, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+        assertEquals(0.01, cosseno.proximaTaxa(150, 0.1, 0.1, SEM_HISTORICO), TOLERANCIA);
+    }
+
+    // Só reduz a cada 'paciencia' épocas, quando as últimas 'paciencia' não melhoraram o melhor erro anterior
+    @Test
+    void reduzirNoPlatoRespeitaAPaciencia() {
+        AgendaTaxa agenda = AgendaTaxa.reduzirNoPlato(3, 0.5, 0.001);
+        List<Double> historico = new ArrayList<>();
+        double taxa = 0.1;
+        // Ainda não há épocas anteriores à janela: mantém
+        historico.addAll(List.of(1.0, 1.0, 1.0));
+        assertEquals(taxa, agenda.proximaTaxa(3, 0.1, taxa, historico));
+
+        // Erro parado: fora das épocas múltiplas de 3 mantém, na época 6 reduz
+        historico.addAll(List.of(1.0, 1.0));
+        assertEquals(taxa, agenda.proximaTaxa(5, 0.1, taxa, historico));
+        historico.add(1.0);
+        taxa = agenda.proximaTaxa(6, 0.1, taxa, historico);
+        assertEquals(0.05, taxa, TOLERANCIA);
+
+        // Melhorou dentro da janela: mantém
+        historico.addAll(List.of(0.9, 1.0, 1.0));
+        assertEquals(taxa, agenda.proximaTaxa(9, 0.1, taxa, historico));
+
+        // Melhora menor que 0,01% conta como parado
+        historico.addAll(List.of(0.89999, 0.9, 0.9));
+        assertEquals(0.025, agenda.proximaTaxa(12, 0.1, taxa, historico), TOLERANCIA);
+    }
+
+    @Test
+    void reduzirNoPlatoNaoDesceAbaixoDaMinima() {
+        AgendaTaxa agenda = AgendaTaxa.reduzirNoPlato(2, 0.1, 0.004);
+        List<Double> historico = new ArrayList<>(List.of(1.0, 1.0, 1.0, 1.0));
+        assertEquals(0.004, agenda.proximaTaxa(4, 0.1, 0.01, historico), TOLERANCIA);
+        historico.addAll(List.of(1.0, 1.0));
+        assertEquals(0.004, agenda.proximaTaxa(6, 0.1, 0.004, historico), TOLERANCIA);
+    }
+}
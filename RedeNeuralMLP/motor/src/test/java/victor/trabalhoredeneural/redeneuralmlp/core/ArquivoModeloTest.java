@@ -0,0 +1,155 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArquivoModeloTest {
+
+    @TempDir
+    Path pasta;
+
+    @Test
+    void salvarECarregarDaAMesmaRede() throws IOException {
+        verificarIdaEVolta(FuncaoAtivacao.LOGISTICA, FuncaoPerda.ERRO_QUADRATICO);
+        verificarIdaEVolta(FuncaoAtivacao.HIPERBOLICA, FuncaoPerda.ENTROPIA_CRUZADA);
+        verificarIdaEVolta(FuncaoAtivacao.LOGISTICA_RAPIDA, FuncaoPerda.ERRO_QUADRATICO);
+    }
+
+    @Test
+    void magicoErradoDaIOException() throws IOException {
+        File arquivo = salvar(treinar(FuncaoAtivacao.LOGISTICA, FuncaoPerda.ERRO_QUADRATICO));
+        alterarInt(arquivo, 0, 0x0BADCAFE);
+        assertThrows(IOException.class, () -> ArquivoModelo.carregar(arquivo));
+    }
+
+    @Test
+    void versaoDesconhecidaDaIOException() throws IOException {
+        for (int versao : new int[]{0, 3, 99, -1}) {
+            File arquivo = salvar(treinar(FuncaoAtivacao.LOGISTICA, FuncaoPerda.ERRO_QUADRATICO));
+            alterarInt(arquivo, 4, versao);
+            assertThrows(IOException.class, () -> ArquivoModelo.carregar(arquivo), "versão " + versao);
+        }
+    }
+
+    @Test
+    void topologiaCorrompidaDaIOException() throws IOException {
+        // numEntradas, numOculta e numSaida: zero, negativo e grande demais para o arquivo
+        for (int posicao : new int[]{8, 12, 16}) {
+            for (int valor : new int[]{0, -5, 1 << 20, Integer.MAX_VALUE}) {
+                File arquivo = salvar(treinar(FuncaoAtivacao.LOGISTICA, FuncaoPerda.ERRO_QUADRATICO));
+                alterarInt(arquivo, posicao, valor);
+                assertThrows(IOException.class, () -> ArquivoModelo.carregar(arquivo), posicao + " = " + valor);
+            }
+        }
+    }
+
+    // O número de classes (igual ao de saídas, para passar da primeira verificação) grande demais para o arquivo
+    @Test
+    void numeroDeClassesCorrompidoDaIOException() throws IOException {
+        RedeNeural rede = treinar(FuncaoAtivacao.LOGISTICA, FuncaoPerda.ERRO_QUADRATICO);
+        // Magia, versão, 3 inteiros da topologia, os dois nomes (tamanho + bytes) e a taxa
+        long posicaoClasses = 5 * Integer.BYTES
+                + Integer.BYTES + rede.getFuncaoAtivacao().name().getBytes(StandardCharsets.UTF_8).length
+                + Integer.BYTES + rede.getFuncaoPerda().name().getBytes(StandardCharsets.UTF_8).length
+                + Double.BYTES;
+        for (int valor : new int[]{-1, 0, 4, 1 << 20, Integer.MAX_VALUE}) {
+            File arquivo = salvar(rede);
+            alterarInt(arquivo, posicaoClasses, valor);
+            assertThrows(IOException.class, () -> ArquivoModelo.carregar(arquivo), "classes = " + valor);
+            if (valor > 0) {
+                alterarInt(arquivo, 16, valor);
+                assertThrows(IOException.class, () -> ArquivoModelo.carregar(arquivo), "saídas e classes = " + valor);
+            }
+        }
+    }
+
+    // Cortado em qualquer ponto, o arquivo dá IOException (e não BufferUnderflowException)
+    @Test
+    void arquivoTruncadoDaIOException() throws IOException {
+        File original = salvar(treinar(FuncaoAtivacao.LOGISTICA, FuncaoPerda.ENTROPIA_CRUZADA));
+        byte[] bytes = Files.readAllBytes(original.toPath());
+        for (int tamanho = 0; tamanho < bytes.length; tamanho++) {
+            File cortado = pasta.resolve("cortado" + tamanho + ArquivoModelo.EXTENSAO).toFile();
+            Files.write(cortado.toPath(), Arrays.copyOf(bytes, tamanho));
+            assertThrows(IOException.class, () -> ArquivoModelo.carregar(cortado), "tamanho " + tamanho);
+        }
+    }
+
+    private void verificarIdaEVolta(FuncaoAtivacao funcao, FuncaoPerda perda) throws IOException {
+        RedeNeural original = treinar(funcao, perda);
+        RedeNeural carregada = ArquivoModelo.carregar(salvar(original));
+
+        assertEquals(original.getFuncaoAtivacao(), carregada.getFuncaoAtivacao());
+        assertEquals(original.getFuncaoPerda(), carregada.getFuncaoPerda());
+        assertEquals(original.getTaxaAprendizado(), carregada.getTaxaAprendizado());
+        assertEquals(original.getNomesClasses(), carregada.getNomesClasses());
+        assertEquals(original.getCamadaOculta().getNumEntradas(), carregada.getCamadaOculta().getNumEntradas());
+        assertEquals(original.getCamadaOculta().getNumNeuronios(), carregada.getCamadaOculta().getNumNeuronios());
+        assertEquals(original.getCamadaSaida().getNumNeuronios(), carregada.getCamadaSaida().getNumNeuronios());
+        assertArrayEquals(original.getCamadaOculta().getPesos(), carregada.getCamadaOculta().getPesos());
+        assertArrayEquals(original.getCamadaSaida().getPesos(), carregada.getCamadaSaida().getPesos());
+        assertArrayEquals(original.getNormalizador().getMinimos(), carregada.getNormalizador().getMinimos());
+        assertArrayEquals(original.getNormalizador().getMaximos(), carregada.getNormalizador().getMaximos());
+
+        Random rand = new Random(4);
+        for (int i = 0; i < 100; i++) {
+            double[] entrada = {rand.nextDouble() * 20 - 5, rand.nextDouble() * 10, rand.nextGaussian()};
+            double[] esperada = original.prever(original.normalizar(entrada), null);
+            double[] obtida = carregada.prever(carregada.normalizar(entrada), null);
+            assertArrayEquals(esperada, obtida);
+            assertEquals(original.preverClasse(original.normalizar(entrada)),
+                    carregada.preverClasse(carregada.normalizar(entrada)));
+        }
+    }
+
+    // Rede 3-4-3 treinada algumas épocas em dados sintéticos
+    private static RedeNeural treinar(FuncaoAtivacao funcao, FuncaoPerda perda) {
+        Random rand = new Random(8);
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(3);
+        String[] classes = {"baixo", "médio", "alto"};
+        for (int i = 0; i < 60; i++) {
+            int classe = i % 3;
+            construtor.adicionar(new double[]{classe * 5 + rand.nextDouble(), rand.nextDouble() * 10, rand.nextGaussian()},
+                    classes[classe]);
+        }
+        ConjuntoDados dados = construtor.construir();
+        RedeNeural rede = new RedeNeural(3, 4, 3, funcao, 0.1, dados);
+        rede.setFuncaoPerda(perda);
+        double[] entradas = new double[3];
+        for (int epoca = 0; epoca < 20; epoca++) {
+            for (int i = 0; i < dados.getNumeroDeInstancias(); i++) {
+                dados.copiarEntradas(i, entradas, 0);
+                rede.backpropagation(rede.normalizar(entradas), rede.getVetorAlvo(dados.getClasseId(i)));
+            }
+        }
+        return rede;
+    }
+
+    private File salvar(RedeNeural rede) throws IOException {
+        File arquivo = Files.createTempFile(pasta, "rede", ArquivoModelo.EXTENSAO).toFile();
+        ArquivoModelo.salvar(rede, arquivo);
+        return arquivo;
+    }
+
+    // Os inteiros do arquivo são little-endian
+    private static void alterarInt(File arquivo, long posicao, int valor) throws IOException {
+        try (RandomAccessFile acesso = new RandomAccessFile(arquivo, "rw")) {
+            acesso.seek(posicao);
+            acesso.writeInt(Integer.reverseBytes(valor));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoBusca;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuscaHiperparametrosTest {
+
+    private static final String[] CLASSES = {"A", "B", "C"};
+    private static final long SEMENTE = 17;
+    private static final int MAX_EPOCAS = 20;
+
+    // O mesmo critério da busca: mais acertos e, no empate, menor erro de validação
+    private static final Comparator<Tentativa> POR_DESEMPENHO = Comparator
+            .comparingInt((Tentativa t) -> -t.acertos)
+            .thenComparingDouble(t -> t.erroValidacao);
+
+    // 9 configurações, fator 3, 2 épocas iniciais: a rodada 0 treina 9 por 2 épocas, a rodada 1
+    // treina 3 até 6 e a última treina até o maxEpocas
+    @Test
+    void divisaoSucessivaCortaPorRodada() throws InterruptedException {
+        List<ConfiguracaoTreinamento> candidatas = candidatas();
+        ConjuntoDados treino = gerarDados(60, 1);
+        ConjuntoDados validacao = gerarDados(30, 2);
+        List<ResultadoBusca> placar = new BuscaHiperparametros(3).setEpocasIniciais(2).setFatorReducao(3)
+                .setSemente(SEMENTE).executar(candidatas, treino, validacao);
+
+        assertEquals(9, placar.size());
+        int[] porRodada = new int[3];
+        for (ResultadoBusca r : placar) {
+            porRodada[r.getRodadaAlcancada()]++;
+            int epocasEsperadas = r.getRodadaAlcancada() == 2 ? MAX_EPOCAS : r.getRodadaAlcancada() == 1 ? 6 : 2;
+            assertEquals(epocasEsperadas, r.getEpocas(), "rodada " + r.getRodadaAlcancada());
+            assertEquals(30, r.getTotalValidacao());
+        }
+        // Ficam 9 / 3 = 3 e depois 3 / 3 = 1
+        assertArrayEquals(new int[]{6, 2, 1}, porRodada);
+
+        // Placar: rodada alcançada decrescente e, dentro dela, mais acertos e menor erro primeiro
+        for (int i = 1; i < placar.size(); i++) {
+            ResultadoBusca antes = placar.get(i - 1);
+            ResultadoBusca depois = placar.get(i);
+            assertTrue(antes.getRodadaAlcancada() >= depois.getRodadaAlcancada(), "posição " + i);
+            if (antes.getRodadaAlcancada() == depois.getRodadaAlcancada()) {
+                assertTrue(antes.getAcertos() > depois.getAcertos() || antes.getAcertos() == depois.getAcertos()
+                        && antes.getErroValidacao() <= depois.getErroValidacao(), "posição " + i);
+            }
+        }
+
+        // Repete as rodadas com as mesmas sementes: cada corte fica com as melhores da rodada,
+        // e as cortadas aparecem no placar na ordem em que foram classificadas
+        List<Tentativa> rodadaZero = new ArrayList<>();
+        List<Tentativa> rodadaUm = new ArrayList<>();
+        Tentativa vencedora = replay(candidatas, treino, validacao, rodadaZero, rodadaUm);
+        assertSame(vencedora.configuracao, placar.get(0).getConfiguracao());
+        assertEquals(vencedora.acertos, placar.get(0).getAcertos());
+        assertEquals(vencedora.erroValidacao, placar.get(0).getErroValidacao());
+        for (int i = 1; i < 3; i++)
+            assertSame(rodadaUm.get(i).configuracao, placar.get(i).getConfiguracao(), "posição " + i);
+        for (int i = 3; i < 9; i++)
+            assertSame(rodadaZero.get(i).configuracao, placar.get(i).getConfiguracao(), "posição " + i);
+    }
+
+    // A semente define os pesos iniciais e os embaralhamentos: a mesma semente dá o mesmo placar
+    @Test
+    void mesmaSementeMesmoPlacar() throws InterruptedException {
+        ConjuntoDados treino = gerarDados(60, 1);
+        ConjuntoDados validacao = gerarDados(30, 2);
+        List<ConfiguracaoTreinamento> candidatas = candidatas();
+        List<ResultadoBusca> primeiro = new BuscaHiperparametros(2).setEpocasIniciais(2).setSemente(SEMENTE)
+                .executar(candidatas, treino, validacao);
+        List<ResultadoBusca> segundo = new BuscaHiperparametros(4).setEpocasIniciais(2).setSemente(SEMENTE)
+                .executar(candidatas, treino, validacao);
+        for (int i = 0; i < primeiro.size(); i++) {
+            assertSame(primeiro.get(i).getConfiguracao(), segundo.get(i).getConfiguracao());
+            assertEquals(primeiro.get(i).getErroValidacao(), segundo.get(i).getErroValidacao());
+            assertArrayEquals(primeiro.get(i).getRede().getCamadaSaida().getPesos(),
+                    segundo.get(i).getRede().getCamadaSaida().getPesos());
+        }
+    }
+
+    @Test
+    void orcamentoCresceSemEstourar() {
+        assertEquals(30, BuscaHiperparametros.proximoOrcamento(10, 3, 5));
+        assertEquals(Integer.MAX_VALUE, BuscaHiperparametros.proximoOrcamento(10, 3, 1));
+        // Integer.MAX_VALUE / 3 = 715827882 ainda cabe multiplicado; um a mais estouraria
+        assertEquals(2147483646, BuscaHiperparametros.proximoOrcamento(715827882, 3, 2));
+        assertEquals(Integer.MAX_VALUE, BuscaHiperparametros.proximoOrcamento(715827883, 3, 2));
+        assertEquals(Integer.MAX_VALUE, BuscaHiperparametros.proximoOrcamento(Integer.MAX_VALUE, 2, 2));
+    }
+
+    // As mesmas rodadas da busca, em sequência. Preenche a classificação de cada rodada (melhor primeiro)
+    // e retorna a vencedora, treinada até o maxEpocas
+    private static Tentativa replay(List<ConfiguracaoTreinamento> candidatas, ConjuntoDados treino,
+                                    ConjuntoDados validacao, List<Tentativa> rodadaZero, List<Tentativa> rodadaUm) {
+        Normalizador normalizador = new Normalizador(treino);
+        DadosNormalizados treinoNormalizado = normalizador.normalizar(treino);
+        DadosNormalizados validacaoNormalizada = normalizador.normalizar(validacao);
+        List<String> classes = treino.getListaClassesUnicas();
+        int[] traducao = validacao.traduzirClasses(classes);
+        int[] alvos = new int[validacao.getNumeroDeInstancias()];
+        for (int i = 0; i < alvos.length; i++)
+            alvos[i] = traducao[validacao.getClasseId(i)];
+        int[] linhasValidacao = Indices.sequencia(alvos.length);
+
+        Random sementes = new Random(SEMENTE);
+        for (ConfiguracaoTreinamento configuracao : candidatas)
+            rodadaZero.add(new Tentativa(configuracao, normalizador, classes,
+                    Indices.sequencia(treino.getNumeroDeInstancias()), sementes.nextLong()));
+        for (Tentativa t : rodadaZero) {
+            t.treinarAte(2, treinoNormalizado);
+            t.avaliar(validacaoNormalizada, linhasValidacao, alvos);
+        }
+        rodadaZero.sort(POR_DESEMPENHO);
+
+        rodadaUm.addAll(rodadaZero.subList(0, 3));
+        for (Tentativa t : rodadaUm) {
+            t.treinarAte(6, treinoNormalizado);
+            t.avaliar(validacaoNormalizada, linhasValidacao, alvos);
+        }
+        rodadaUm.sort(POR_DESEMPENHO);
+
+        Tentativa vencedora = rodadaUm.get(0);
+        vencedora.treinarAte(Integer.MAX_VALUE, treinoNormalizado);
+        vencedora.avaliar(validacaoNormalizada, linhasValidacao, alvos);
+        return vencedora;
+    }
+
+    // 3 tamanhos de camada oculta x 3 taxas, sem parada por erro desejado
+    private static List<ConfiguracaoTreinamento> candidatas() {
+        ConfiguracaoTreinamento base = new ConfiguracaoTreinamento().setMaxEpocas(MAX_EPOCAS).setErroDesejado(0);
+        return new EspacoBusca().setNumOculta(2, 4, 8).setTaxasAprendizado(0.01, 0.1, 0.5).grade(base);
+    }
+
+    private static ConjuntoDados gerarDados(int linhas, long semente) {
+        Random rand = new Random(semente);
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(3);
+        for (int i = 0; i < linhas; i++) {
+            int classe = i % 3;
+            construtor.adicionar(new double[]{classe * 2 + rand.nextGaussian(), rand.nextDouble(),
+                    classe == 2 ? rand.nextGaussian() + 1 : rand.nextGaussian()}, CLASSES[classe]);
+        }
+        return construtor.construir();
+    }
+}
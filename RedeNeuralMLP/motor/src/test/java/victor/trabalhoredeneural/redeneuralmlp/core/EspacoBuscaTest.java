@@ -0,0 +1,96 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EspacoBuscaTest {
+
+    private static final ConfiguracaoTreinamento BASE = new ConfiguracaoTreinamento().setMaxEpocas(50).setTamanhoLote(4);
+
+    // Produto cartesiano na ordem de uma base mista: numOculta varia mais rápido, depois a taxa, depois a função
+    @Test
+    void gradeEhOProdutoCartesiano() {
+        EspacoBusca espaco = new EspacoBusca().setNumOculta(2, 4).setTaxasAprendizado(0.1, 0.2, 0.3)
+                .setFuncoesAtivacao(FuncaoAtivacao.LOGISTICA, FuncaoAtivacao.HIPERBOLICA);
+        assertEquals(12, espaco.getTamanho());
+        List<ConfiguracaoTreinamento> grade = espaco.grade(BASE);
+        assertEquals(12, grade.size());
+        Set<String> pontos = new HashSet<>();
+        for (int i = 0; i < grade.size(); i++) {
+            ConfiguracaoTreinamento c = grade.get(i);
+            assertEquals(i % 2 == 0 ? 2 : 4, c.getNumOculta(), "ponto " + i);
+            assertEquals(0.1 * (i / 2 % 3 + 1), c.getTaxaAprendizado(), 1e-12, "ponto " + i);
+            assertEquals(i < 6 ? FuncaoAtivacao.LOGISTICA : FuncaoAtivacao.HIPERBOLICA, c.getFuncaoAtivacao());
+            // O que o espaço não define vem da base
+            assertEquals(50, c.getMaxEpocas());
+            assertEquals(4, c.getTamanhoLote());
+            pontos.add(c.getNumOculta() + "/" + c.getTaxaAprendizado() + "/" + c.getFuncaoAtivacao());
+        }
+        assertEquals(12, pontos.size());
+        // A base não é alterada
+        assertEquals(8, BASE.getNumOculta());
+    }
+
+    @Test
+    void espacoVazioTemSoABase() {
+        List<ConfiguracaoTreinamento> grade = new EspacoBusca().grade(BASE);
+        assertEquals(1, grade.size());
+        assertEquals(BASE.getNumOculta(), grade.get(0).getNumOculta());
+    }
+
+    @Test
+    void aleatoriasSemRepeticao() {
+        EspacoBusca espaco = new EspacoBusca().setNumOculta(1, 2, 3, 4, 5).setTamanhosLote(1, 8, 32, 64)
+                .setOtimizadores(TipoOtimizador.SGD, TipoOtimizador.ADAM);
+        List<ConfiguracaoTreinamento> sorteadas = espaco.aleatorias(BASE, 15, new Random(3));
+        assertEquals(15, sorteadas.size());
+        Set<String> pontos = new HashSet<>();
+        for (ConfiguracaoTreinamento c : sorteadas)
+            assertTrue(pontos.add(c.getNumOculta() + "/" + c.getTamanhoLote() + "/" + c.getOtimizador()));
+
+        // A mesma semente sorteia os mesmos pontos
+        List<ConfiguracaoTreinamento> repetidas = espaco.aleatorias(BASE, 15, new Random(3));
+        for (int i = 0; i < 15; i++) {
+            assertEquals(sorteadas.get(i).getNumOculta(), repetidas.get(i).getNumOculta());
+            assertEquals(sorteadas.get(i).getTamanhoLote(), repetidas.get(i).getTamanhoLote());
+            assertEquals(sorteadas.get(i).getOtimizador(), repetidas.get(i).getOtimizador());
+        }
+    }
+
+    // Pedir mais pontos que a grade tem devolve a grade toda, embaralhada
+    @Test
+    void aleatoriasMaiorQueAGradeDevolveAGrade() {
+        EspacoBusca espaco = new EspacoBusca().setNumOculta(2, 4, 6);
+        List<ConfiguracaoTreinamento> sorteadas = espaco.aleatorias(BASE, 10, new Random(1));
+        assertEquals(3, sorteadas.size());
+        Set<Integer> ocultas = new HashSet<>();
+        for (ConfiguracaoTreinamento c : sorteadas)
+            ocultas.add(c.getNumOculta());
+        assertEquals(Set.of(2, 4, 6), ocultas);
+        assertThrows(IllegalArgumentException.class, () -> espaco.aleatorias(BASE, 0, new Random(1)));
+    }
+
+    // Com intervalo, a taxa é sorteada dentro dele (e ocupa as duas metades da escala logarítmica)
+    @Test
+    void taxaContinuaDentroDoIntervalo() {
+        EspacoBusca espaco = new EspacoBusca().setNumOculta(4).setIntervaloTaxa(0.001, 0.1);
+        int abaixoDoMeio = 0;
+        for (ConfiguracaoTreinamento c : espaco.aleatorias(BASE, 200, new Random(9))) {
+            double taxa = c.getTaxaAprendizado();
+            assertTrue(taxa >= 0.001 && taxa <= 0.1, "taxa " + taxa);
+            if (taxa < 0.01)
+                abaixoDoMeio++;
+        }
+        assertTrue(abaixoDoMeio > 60 && abaixoDoMeio < 140, "abaixo de 0.01: " + abaixoDoMeio);
+        assertThrows(IllegalArgumentException.class, () -> espaco.setIntervaloTaxa(0, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> espaco.setIntervaloTaxa(0.2, 0.1));
+    }
+}
@@ -0,0 +1,134 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//Garante que as funções _RAPIDA ficam dentro do erro máximo documentado em relação às exatas
+class FuncaoAtivacaoTest {
+
+    private static final double LIMITE_GRADE = 40.0;
+    private static final double PASSO_GRADE = 1.0 / 1024;
+    private static final int PONTOS_ALEATORIOS = 200_000;
+
+    @Test
+    void logisticaRapidaFicaDentroDoErroMaximo() {
+        verificarErro(FuncaoAtivacao.LOGISTICA_RAPIDA, FuncaoAtivacao.LOGISTICA);
+    }
+
+    @Test
+    void hiperbolicaRapidaFicaDentroDoErroMaximo() {
+        verificarErro(FuncaoAtivacao.HIPERBOLICA_RAPIDA, FuncaoAtivacao.HIPERBOLICA);
+    }
+
+    @Test
+    void funcoesExatasNaoTemErro() {
+        assertEquals(0.0, FuncaoAtivacao.LOGISTICA.getErroMaximo());
+        assertEquals(0.0, FuncaoAtivacao.HIPERBOLICA.getErroMaximo());
+        assertEquals(0.0, FuncaoAtivacao.LINEAR.getErroMaximo());
+    }
+
+    @Test
+    void versoesEmVetorIgualamAsEscalares() {
+        for (FuncaoAtivacao rapida : new FuncaoAtivacao[]{FuncaoAtivacao.LOGISTICA_RAPIDA, FuncaoAtivacao.HIPERBOLICA_RAPIDA}) {
+            double[] nets = pontos();
+            double[] saidas = new double[nets.length];
+            rapida.ativar(nets, saidas, nets.length);
+            for (int i = 0; i < nets.length; i++)
+                assertEquals(rapida.ativar(nets[i]), saidas[i], 0.0, rapida + " em " + nets[i]);
+
+            double[] derivadas = new double[nets.length];
+            rapida.derivada(saidas, derivadas, saidas.length);
+            for (int i = 0; i < saidas.length; i++)
+                assertEquals(rapida.derivada(saidas[i]), derivadas[i], 0.0, rapida + " em " + nets[i]);
+
+            // Só os n primeiros são tocados
+            double[] parcial = {0.5, 0.5, 7.0};
+            rapida.ativar(parcial, parcial, 2);
+            assertEquals(7.0, parcial[2]);
+        }
+    }
+
+    @Test
+    void versoesEmFloatFicamDentroDoErroMaximo() {
+        verificarFloat(FuncaoAtivacao.LOGISTICA_RAPIDA, FuncaoAtivacao.LOGISTICA);
+        verificarFloat(FuncaoAtivacao.HIPERBOLICA_RAPIDA, FuncaoAtivacao.HIPERBOLICA);
+    }
+
+    @Test
+    void saturaForaDaTabela() {
+        for (double net : new double[]{16.0, 17.0, 100.0, 1e6, Double.MAX_VALUE, Double.POSITIVE_INFINITY}) {
+            assertEquals(1.0, FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(net), FuncaoAtivacao.LOGISTICA_RAPIDA.getErroMaximo());
+            assertEquals(0.0, FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(-net), FuncaoAtivacao.LOGISTICA_RAPIDA.getErroMaximo());
+            assertEquals(1.0, FuncaoAtivacao.HIPERBOLICA_RAPIDA.ativar(net), FuncaoAtivacao.HIPERBOLICA_RAPIDA.getErroMaximo());
+            assertEquals(-1.0, FuncaoAtivacao.HIPERBOLICA_RAPIDA.ativar(-net), FuncaoAtivacao.HIPERBOLICA_RAPIDA.getErroMaximo());
+        }
+        // Saturada, a saída não depende mais da entrada
+        assertEquals(FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(20.0), FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(1e9));
+        assertEquals(FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(-20.0), FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(-1e9));
+    }
+
+    @Test
+    void naNContinuaNaN() {
+        assertTrue(Double.isNaN(FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(Double.NaN)));
+        assertTrue(Double.isNaN(FuncaoAtivacao.HIPERBOLICA_RAPIDA.ativar(Double.NaN)));
+
+        double[] saidas = new double[1];
+        FuncaoAtivacao.LOGISTICA_RAPIDA.ativar(new double[]{Double.NaN}, saidas, 1);
+        assertTrue(Double.isNaN(saidas[0]));
+        float[] saidasFloat = new float[1];
+        FuncaoAtivacao.HIPERBOLICA_RAPIDA.ativar(new float[]{Float.NaN}, saidasFloat, 1);
+        assertTrue(Float.isNaN(saidasFloat[0]));
+    }
+
+    // Compara ativação e derivada (calculada a partir da saída de cada função) na grade e nos pontos aleatórios
+    private static void verificarErro(FuncaoAtivacao rapida, FuncaoAtivacao exata) {
+        double erroMaximo = rapida.getErroMaximo();
+        assertTrue(erroMaximo > 0.0);
+        double maiorErro = 0.0;
+        double maiorErroDerivada = 0.0;
+        for (double net : pontos()) {
+            double saidaRapida = rapida.ativar(net);
+            double saidaExata = exata.ativar(net);
+            maiorErro = Math.max(maiorErro, Math.abs(saidaRapida - saidaExata));
+            maiorErroDerivada = Math.max(maiorErroDerivada,
+                    Math.abs(rapida.derivada(saidaRapida) - exata.derivada(saidaExata)));
+        }
+        assertTrue(maiorErro <= erroMaximo, rapida + ": erro " + maiorErro + " > " + erroMaximo);
+        assertTrue(maiorErroDerivada <= erroMaximo, rapida + ": erro da derivada " + maiorErroDerivada + " > " + erroMaximo);
+    }
+
+    // Em float, além do erro da tabela, entra o arredondamento da saída (meio ulp de 1.0f)
+    private static void verificarFloat(FuncaoAtivacao rapida, FuncaoAtivacao exata) {
+        double[] pontos = pontos();
+        float[] nets = new float[pontos.length];
+        for (int i = 0; i < pontos.length; i++)
+            nets[i] = (float) pontos[i];
+        float[] saidas = new float[nets.length];
+        rapida.ativar(nets, saidas, nets.length);
+        float[] derivadas = new float[nets.length];
+        rapida.derivada(saidas, derivadas, saidas.length);
+
+        double tolerancia = rapida.getErroMaximo() + Math.ulp(1.0f);
+        for (int i = 0; i < nets.length; i++) {
+            double exato = exata.ativar(nets[i]);
+            assertEquals(exato, saidas[i], tolerancia, rapida + " em " + nets[i]);
+            assertEquals(exata.derivada(exato), derivadas[i], 2 * tolerancia, rapida + " (derivada) em " + nets[i]);
+        }
+    }
+
+    // Grade densa em [-40, 40] mais pontos aleatórios (semente fixa) no mesmo intervalo
+    private static double[] pontos() {
+        int numGrade = (int) (2 * LIMITE_GRADE / PASSO_GRADE) + 1;
+        double[] pontos = new double[numGrade + PONTOS_ALEATORIOS];
+        for (int i = 0; i < numGrade; i++)
+            pontos[i] = -LIMITE_GRADE + i * PASSO_GRADE;
+        Random rand = new Random(42);
+        for (int i = 0; i < PONTOS_ALEATORIOS; i++)
+            pontos[numGrade + i] = (rand.nextDouble() * 2 - 1) * LIMITE_GRADE;
+        return pontos;
+    }
+}
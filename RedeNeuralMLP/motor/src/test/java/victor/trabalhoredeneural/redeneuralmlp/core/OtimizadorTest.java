@@ -0,0 +1,102 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OtimizadorTest {
+
+    private static final double TOLERANCIA = 1e-6;
+
+    // Os gradientes chegam somados no lote: soma {1, -4, 0} em um lote de 2 é a média g = {0.5, -2, 0}
+    private static final double[] SOMA = {1, -4, 0};
+    private static final int LOTE = 2;
+
+    @Test
+    void sgdDaUmPassoNaMediaDoLote() {
+        double[] pesos = {1, 1, 1};
+        Otimizador.criar(TipoOtimizador.SGD, 3, 0.9).aplicar(pesos, SOMA, LOTE, 0.1);
+        assertArrayEquals(new double[]{1.05, 0.8, 1}, pesos, TOLERANCIA);
+    }
+
+    @Test
+    void momentumENesterovAcumulamAVelocidade() {
+        // Momentum: v1 = g, v2 = 0.9 g + g = 1.9 g; peso = 1 + 0.1 (g + 1.9 g) = 1 + 0.29 g
+        double[] pesos = {1, 1, 1};
+        Otimizador momentum = Otimizador.criar(TipoOtimizador.MOMENTUM, 3, 0.9);
+        momentum.aplicar(pesos, SOMA, LOTE, 0.1);
+        momentum.aplicar(pesos, SOMA, LOTE, 0.1);
+        assertArrayEquals(new double[]{1 + 0.29 * 0.5, 1 - 0.29 * 2, 1}, pesos, TOLERANCIA);
+
+        // Nesterov: passos de 0.1 (0.9 v + g), com v1 = g e v2 = 1.9 g: 0.1 (1.9 g) + 0.1 (2.71 g) = 0.461 g
+        pesos = new double[]{1, 1, 1};
+        Otimizador nesterov = Otimizador.criar(TipoOtimizador.NESTEROV, 3, 0.9);
+        nesterov.aplicar(pesos, SOMA, LOTE, 0.1);
+        nesterov.aplicar(pesos, SOMA, LOTE, 0.1);
+        assertArrayEquals(new double[]{1 + 0.461 * 0.5, 1 - 0.461 * 2, 1}, pesos, TOLERANCIA);
+    }
+
+    @Test
+    void rmsPropNormalizaPelaRaizDaMediaDosQuadrados() {
+        // Com g constante: s1 = 0.1 g², s2 = 0.19 g²; cada passo anda taxa / sqrt(s / g²) no sinal de g
+        double[] pesos = {1, 1, 1};
+        Otimizador rmsProp = Otimizador.criar(TipoOtimizador.RMSPROP, 3, 0.9);
+        rmsProp.aplicar(pesos, SOMA, LOTE, 0.01);
+        assertArrayEquals(new double[]{1 + 0.01 / Math.sqrt(0.1), 1 - 0.01 / Math.sqrt(0.1), 1}, pesos, TOLERANCIA);
+        rmsProp.aplicar(pesos, SOMA, LOTE, 0.01);
+        double doisPassos = 0.01 / Math.sqrt(0.1) + 0.01 / Math.sqrt(0.19);
+        assertArrayEquals(new double[]{1 + doisPassos, 1 - doisPassos, 1}, pesos, TOLERANCIA);
+
+        // g muda de 0.5 para 1: s2 = 0.9 (0.1 * 0.25) + 0.1 * 1 = 0.1225
+        pesos = new double[]{1};
+        rmsProp = Otimizador.criar(TipoOtimizador.RMSPROP, 1, 0.9);
+        rmsProp.aplicar(pesos, new double[]{0.5}, 1, 0.01);
+        rmsProp.aplicar(pesos, new double[]{1.0}, 1, 0.01);
+        assertEquals(1 + 0.01 * 0.5 / Math.sqrt(0.025) + 0.01 * 1.0 / Math.sqrt(0.1225), pesos[0], TOLERANCIA);
+    }
+
+    @Test
+    void adamCorrigeOViesDosPrimeirosPassos() {
+        // Com a correção de viés, o primeiro passo anda exatamente a taxa no sinal de g, e com g constante o segundo também
+        double[] pesos = {1, 1, 1};
+        Otimizador adam = Otimizador.criar(TipoOtimizador.ADAM, 3, 0.9);
+        adam.aplicar(pesos, SOMA, LOTE, 0.1);
+        assertArrayEquals(new double[]{1.1, 0.9, 1}, pesos, TOLERANCIA);
+        adam.aplicar(pesos, SOMA, LOTE, 0.1);
+        assertArrayEquals(new double[]{1.2, 0.8, 1}, pesos, TOLERANCIA);
+
+        // g muda de 0.5 para 1: m2 = 0.9 * 0.05 + 0.1 = 0.145, v2 = 0.999 * 0.00025 + 0.001 = 0.00124975
+        // e o passo corrigido é taxa * sqrt(1 - 0.999²) / (1 - 0.9²)
+        pesos = new double[]{1};
+        adam = Otimizador.criar(TipoOtimizador.ADAM, 1, 0.9);
+        adam.aplicar(pesos, new double[]{0.5}, 1, 0.1);
+        adam.aplicar(pesos, new double[]{1.0}, 1, 0.1);
+        double passo = 0.1 * Math.sqrt(1 - 0.999 * 0.999) / (1 - 0.9 * 0.9);
+        assertEquals(1.1 + passo * 0.145 / Math.sqrt(0.00124975), pesos[0], TOLERANCIA);
+    }
+
+    // Atualizar por faixas disjuntas (como as threads do modo síncrono) dá o mesmo que aplicar de uma vez
+    @Test
+    void faixasDisjuntasIguaisAoVetorInteiro() {
+        Random rand = new Random(5);
+        for (TipoOtimizador tipo : TipoOtimizador.values()) {
+            double[] inteiro = new double[37];
+            double[] porFaixas = new double[37];
+            Otimizador otimizadorInteiro = Otimizador.criar(tipo, 37, 0.9);
+            Otimizador otimizadorFaixas = Otimizador.criar(tipo, 37, 0.9);
+            for (int passo = 0; passo < 4; passo++) {
+                double[] soma = new double[37];
+                for (int i = 0; i < soma.length; i++)
+                    soma[i] = rand.nextGaussian();
+                otimizadorInteiro.aplicar(inteiro, soma, 3, 0.05);
+                otimizadorFaixas.iniciarPasso();
+                for (int de = 0; de < 37; de += 10)
+                    otimizadorFaixas.aplicarFaixa(porFaixas, soma, de, Math.min(37, de + 10), 3, 0.05);
+            }
+            assertArrayEquals(inteiro, porFaixas, 1e-12, tipo.name());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.util.AcumuladorAvaliacao;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PontuadorArquivoTest {
+
+    private static final String[] CLASSES = {"baixo", "médio", "alto"};
+
+    @TempDir
+    Path pasta;
+
+    // Com várias threads e blocos minúsculos (muitas fronteiras no meio das linhas), a linha i da saída
+    // continua sendo a pontuação da linha i da entrada, inclusive nas linhas rejeitadas
+    @Test
+    void saidaAlinhadaComAEntradaComClasse() throws Exception {
+        verificarAlinhamento(true);
+    }
+
+    @Test
+    void saidaAlinhadaComAEntradaSemClasse() throws Exception {
+        verificarAlinhamento(false);
+    }
+
+    private void verificarAlinhamento(boolean comClasse) throws Exception {
+        RedeNeural rede = treinar();
+        Random rand = new Random(comClasse ? 21 : 22);
+        StringBuilder csv = new StringBuilder(comClasse ? "X1,X2,X3,classe\n" : "X1,X2,X3\n");
+        // Uma entrada por linha de dados: os valores e o rótulo, ou null se a linha é rejeitada
+        List<double[]> valores = new ArrayList<>();
+        List<String> rotulos = new ArrayList<>();
+        int validas = 0;
+        for (int i = 0; i < 1500; i++) {
+            String fim = rand.nextInt(5) == 0 ? "\r\n" : "\n";
+            String sufixo = comClasse ? "," + rotulo(rand) : "";
+            switch (rand.nextInt(12)) {
+                case 0: csv.append("1,2").append(fim); break;                              // faltam campos
+                case 1: csv.append("1,abc,3").append(sufixo).append(fim); break;           // número inválido
+                case 2: csv.append("1,2,3,4").append(sufixo).append(fim); break;           // coluna a mais
+                default: {
+                    double[] linha = {rand.nextDouble() * 15, rand.nextDouble() * 10, rand.nextGaussian()};
+                    String rotulo = comClasse ? rotulo(rand) : null;
+                    csv.append(linha[0]).append(',').append(linha[1]).append(',').append(linha[2]);
+                    if (comClasse) csv.append(',').append(rotulo);
+                    csv.append(fim);
+                    valores.add(linha);
+                    rotulos.add(rotulo);
+                    validas++;
+                    continue;
+                }
+            }
+            valores.add(null);
+            rotulos.add(null);
+        }
+        File entrada = Files.createTempFile(pasta, "entrada", ".csv").toFile();
+        Files.write(entrada.toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        for (int numThreads : new int[]{2, 4}) {
+            for (int tamanhoBloco : new int[]{16, 100, 4096}) {
+                for (boolean probabilidades : new boolean[]{false, true}) {
+                    String caso = numThreads + " threads, bloco " + tamanhoBloco + ", probabilidades " + probabilidades;
+                    File saida = Files.createTempFile(pasta, "saida", ".csv").toFile();
+                    AcumuladorAvaliacao avaliacao = new AcumuladorAvaliacao(rede.getNomesClasses(), 2);
+                    long linhas = new PontuadorArquivo(rede, numThreads, probabilidades, tamanhoBloco)
+                            .pontuar(entrada, saida, avaliacao);
+                    assertEquals(validas, linhas, caso);
+                    assertEquals(comClasse ? validas : 0, avaliacao.getNumeroDeAmostras(), caso);
+                    verificarSaida(rede, saida, valores, rotulos, probabilidades, caso);
+                }
+            }
+        }
+    }
+
+    private static void verificarSaida(RedeNeural rede, File saida, List<double[]> valores, List<String> rotulos,
+                                       boolean probabilidades, String caso) throws IOException {
+        List<String> linhas = Files.readAllLines(saida.toPath(), StandardCharsets.UTF_8);
+        assertEquals(valores.size() + 1, linhas.size(), caso);
+        int numSaidas = CLASSES.length;
+        boolean comClasse = linhas.get(0).endsWith(",classe");
+        int numCampos = 1 + (probabilidades ? 2 : 1) * numSaidas + (comClasse ? 1 : 0);
+
+        for (int i = 0; i < valores.size(); i++) {
+            String[] campos = linhas.get(i + 1).split(",", -1);
+            assertEquals(numCampos, campos.length, caso + ", linha " + i);
+            if (valores.get(i) == null) {
+                // Linha rejeitada: todos os campos vazios
+                for (String campo : campos)
+                    assertEquals("", campo, caso + ", linha " + i);
+                continue;
+            }
+            double[] esperadas = rede.prever(rede.normalizar(valores.get(i)), null);
+            int prevista = 0;
+            for (int c = 1; c < numSaidas; c++)
+                if (esperadas[c] > esperadas[prevista]) prevista = c;
+            assertEquals(rede.getNomeClasse(prevista), campos[0], caso + ", linha " + i);
+            for (int c = 0; c < numSaidas; c++)
+                assertEquals(esperadas[c], Double.parseDouble(campos[1 + c]), 1e-6, caso + ", linha " + i);
+            if (comClasse)
+                assertEquals(rotulos.get(i), campos[numCampos - 1], caso + ", linha " + i);
+            else
+                assertNull(rotulos.get(i));
+        }
+    }
+
+    // Às vezes um rótulo que a rede não conhece
+    private static String rotulo(Random rand) {
+        return rand.nextInt(10) == 0 ? "outra" : CLASSES[rand.nextInt(CLASSES.length)];
+    }
+
+    // Rede 3-4-3 treinada algumas épocas em dados sintéticos
+    private static RedeNeural treinar() {
+        Random rand = new Random(8);
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(3);
+        for (int i = 0; i < 60; i++) {
+            int classe = i % 3;
+            construtor.adicionar(new double[]{classe * 5 + rand.nextDouble(), rand.nextDouble() * 10, rand.nextGaussian()},
+                    CLASSES[classe]);
+        }
+        ConjuntoDados dados = construtor.construir();
+        RedeNeural rede = new RedeNeural(3, 4, 3, FuncaoAtivacao.LOGISTICA, 0.1, dados);
+        double[] entradas = new double[3];
+        for (int epoca = 0; epoca < 20; epoca++) {
+            for (int i = 0; i < dados.getNumeroDeInstancias(); i++) {
+                dados.copiarEntradas(i, entradas, 0);
+                rede.backpropagation(rede.normalizar(entradas), rede.getVetorAlvo(dados.getClasseId(i)));
+            }
+        }
+        return rede;
+    }
+}
@@ -0,0 +1,114 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizadosSimples;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedeNeuralSimplesTest {
+
+    private static final String[] CLASSES = {"A", "B", "C"};
+    private static final int EPOCAS = 5;
+
+    // Dos mesmos pesos iniciais e na mesma ordem, o treino em float acompanha o treino em double
+    // (a diferença é só o arredondamento de float, que não cresce muito em poucas épocas)
+    @Test
+    void treinoEmFloatAcompanhaODouble() {
+        for (boolean acumuladorDuplo : new boolean[]{false, true}) {
+            for (int tamanhoLote : new int[]{1, 8}) {
+                ConjuntoDados conjunto = gerarDados(300, 1);
+                RedeNeural dupla = criarRede(conjunto);
+                RedeNeuralSimples simples = new RedeNeuralSimples(dupla, acumuladorDuplo);
+                DadosNormalizados dados = dupla.normalizar(conjunto);
+                DadosNormalizadosSimples dadosSimples = dupla.getNormalizador().normalizarSimples(conjunto);
+
+                int[] ordem = Indices.sequencia(conjunto.getNumeroDeInstancias());
+                Random rand = new Random(2);
+                String caso = "acumulador duplo " + acumuladorDuplo + ", lote " + tamanhoLote;
+                for (int epoca = 0; epoca < EPOCAS; epoca++) {
+                    Indices.embaralhar(ordem, rand);
+                    double erroDuplo = ServicoTreinamento.treinarEpocaEmLotes(dupla, dados, ordem, tamanhoLote, null);
+                    double erroSimples = ServicoTreinamento.treinarEpocaSimples(simples, dadosSimples, ordem, tamanhoLote, null);
+                    assertEquals(erroDuplo, erroSimples, 1e-4 * erroDuplo, caso + ", época " + epoca);
+                }
+                assertProximos(dupla.getCamadaOculta().getPesos(), simples.getCamadaOculta().getPesos(), caso);
+                assertProximos(dupla.getCamadaSaida().getPesos(), simples.getCamadaSaida().getPesos(), caso);
+            }
+        }
+    }
+
+    // A predição em float dá a mesma classe que a rede convertida para double, salvo empates dentro do erro de float
+    @Test
+    void predicaoEmFloatIgualADouble() {
+        ConjuntoDados conjunto = gerarDados(2000, 3);
+        RedeNeural dupla = criarRede(conjunto);
+        DadosNormalizados dados = dupla.normalizar(conjunto);
+        int[] ordem = Indices.sequencia(conjunto.getNumeroDeInstancias());
+        for (int epoca = 0; epoca < 3; epoca++)
+            ServicoTreinamento.treinarEpocaEmLotes(dupla, dados, ordem, 4, null);
+
+        for (boolean acumuladorDuplo : new boolean[]{false, true}) {
+            RedeNeuralSimples simples = new RedeNeuralSimples(dupla, acumuladorDuplo);
+            RedeNeural convertida = simples.paraRedeNeural();
+            int[] classesSimples = simples.preverLote(dupla.getNormalizador().normalizarSimples(conjunto));
+            int[] classesDupla = convertida.preverLote(convertida.normalizar(conjunto));
+            double[] entradas = new double[conjunto.getNumeroDeAtributos()];
+            int comparadas = 0;
+            for (int i = 0; i < classesSimples.length; i++) {
+                dados.copiarEntradas(i, entradas, 0);
+                double[] saidas = convertida.prever(entradas, null);
+                if (margem(saidas) < 1e-5) continue;
+                assertEquals(classesDupla[i], classesSimples[i], "linha " + i);
+                comparadas++;
+            }
+            assertTrue(comparadas > 0.99 * classesSimples.length, "comparadas " + comparadas);
+        }
+    }
+
+    // Diferença entre as duas maiores saídas
+    private static double margem(double[] saidas) {
+        double maior = Double.NEGATIVE_INFINITY;
+        double segunda = Double.NEGATIVE_INFINITY;
+        for (double s : saidas) {
+            if (s > maior) {
+                segunda = maior;
+                maior = s;
+            } else if (s > segunda) {
+                segunda = s;
+            }
+        }
+        return maior - segunda;
+    }
+
+    private static void assertProximos(double[] esperados, float[] obtidos, String caso) {
+        assertEquals(esperados.length, obtidos.length);
+        for (int i = 0; i < esperados.length; i++)
+            assertEquals(esperados[i], obtidos[i], 1e-4 * Math.max(1.0, Math.abs(esperados[i])), caso + ", peso " + i);
+    }
+
+    // Rede com pesos iniciais já representáveis em float, para as duas versões partirem do mesmo ponto
+    private static RedeNeural criarRede(ConjuntoDados dados) {
+        RedeNeural rede = new RedeNeural(4, 6, 3, FuncaoAtivacao.LOGISTICA, 0.3, dados);
+        for (double[] pesos : new double[][]{rede.getCamadaOculta().getPesos(), rede.getCamadaSaida().getPesos()})
+            for (int i = 0; i < pesos.length; i++)
+                pesos[i] = (float) pesos[i];
+        return rede;
+    }
+
+    private static ConjuntoDados gerarDados(int linhas, long semente) {
+        Random rand = new Random(semente);
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(4);
+        for (int i = 0; i < linhas; i++) {
+            int classe = i % 3;
+            construtor.adicionar(new double[]{classe * 4 + rand.nextGaussian(), rand.nextDouble() * 10,
+                    classe == 1 ? 5 + rand.nextDouble() : rand.nextDouble(), rand.nextGaussian()}, CLASSES[classe]);
+        }
+        return construtor.construir();
+    }
+}
@@ -0,0 +1,158 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RedeNeuralTest {
+
+    private static final Normalizador IDENTIDADE = new Normalizador(new double[]{0, 0, 0}, new double[]{1, 1, 1});
+
+    // Cada classe precisa de um neurônio de saída, nem mais nem menos
+    @Test
+    void classesDiferentesDosNeuroniosDeSaidaDaErro() {
+        assertThrows(IllegalArgumentException.class, () -> new RedeNeural(new Camada(4, 3), new Camada(2, 4),
+                FuncaoAtivacao.LOGISTICA, 0.1, IDENTIDADE, Arrays.asList("A", "B", "C")));
+        assertThrows(IllegalArgumentException.class, () -> new RedeNeural(new Camada(4, 3), new Camada(3, 4),
+                FuncaoAtivacao.LOGISTICA, 0.1, IDENTIDADE, Arrays.asList("A", "B")));
+    }
+
+    @Test
+    void vetoresAlvoUmPorClasse() {
+        RedeNeural rede = new RedeNeural(new Camada(4, 3), new Camada(3, 4),
+                FuncaoAtivacao.LOGISTICA, 0.1, IDENTIDADE, Arrays.asList("A", "B", "C"));
+        assertArrayEquals(new double[]{1, 0, 0}, rede.getVetorAlvo(0));
+        assertArrayEquals(new double[]{0, 1, 0}, rede.getVetorAlvo(1));
+        assertArrayEquals(new double[]{0, 0, 1}, rede.getVetorAlvo(2));
+    }
+
+    // Nets de 1000 em diante estourariam um exp direto; o softmax estável dá as mesmas probabilidades de nets pequenos
+    @Test
+    void softmaxSomaUmEEstavelComNetsGrandes() {
+        // Uma entrada com valor 1; os nets são bias + peso: {1000, 1001, 999} e {-1000, -1000, 2000}
+        Camada camada = new Camada(3, 1, new double[]{1000, 0, 1001, 0, 999, 0});
+        double[] p = camada.calcularSaidasSoftmax(new double[]{1});
+        double soma = Math.exp(0) + Math.exp(1) + Math.exp(-1);
+        assertArrayEquals(new double[]{1 / soma, Math.E / soma, Math.exp(-1) / soma}, p, 1e-12);
+        assertEquals(1.0, p[0] + p[1] + p[2], 1e-12);
+
+        Camada extrema = new Camada(3, 1, new double[]{0, -1000, 0, -1000, 0, 2000});
+        double[] lote = extrema.calcularSaidasLoteSoftmax(new double[]{1, 0, -1}, 3);
+        for (int linha = 0; linha < 3; linha++) {
+            double somaLinha = 0;
+            for (int n = 0; n < 3; n++) {
+                double v = lote[linha * 3 + n];
+                assertTrue(Double.isFinite(v) && v >= 0, "linha " + linha);
+                somaLinha += v;
+            }
+            assertEquals(1.0, somaLinha, 1e-12, "linha " + linha);
+        }
+        assertArrayEquals(new double[]{0, 0, 1}, Arrays.copyOfRange(lote, 0, 3), 1e-12);
+        assertArrayEquals(new double[]{1 / 3.0, 1 / 3.0, 1 / 3.0}, Arrays.copyOfRange(lote, 3, 6), 1e-12);
+        assertArrayEquals(new double[]{0.5, 0.5, 0}, Arrays.copyOfRange(lote, 6, 9), 1e-12);
+    }
+
+    // Com softmax + entropia cruzada o delta da saída é y - t; a Camada guarda a direção de descida, t - y
+    @Test
+    void deltaDaSaidaComEntropiaCruzada() {
+        RedeNeural rede = criarRede(FuncaoAtivacao.LOGISTICA, FuncaoPerda.ENTROPIA_CRUZADA, 1);
+        double[] alvo = rede.getVetorAlvo(1);
+        double[] y = rede.feedforward(new double[]{0.2, 0.7, 0.4}).clone();
+        rede.calcularGradientes(alvo);
+        double[] delta = rede.getCamadaSaida().getGradientes();
+        for (int n = 0; n < 3; n++)
+            assertEquals(-(y[n] - alvo[n]), delta[n], 1e-15, "neurônio " + n);
+
+        // No lote, a mesma conta linha a linha
+        double[] entradas = {0.2, 0.7, 0.4, 0.9, 0.1, 0.5};
+        double[] alvos = new double[6];
+        System.arraycopy(rede.getVetorAlvo(2), 0, alvos, 0, 3);
+        System.arraycopy(rede.getVetorAlvo(0), 0, alvos, 3, 3);
+        double[] saidas = rede.feedforwardLote(entradas, 2).clone();
+        rede.calcularGradientesLote(entradas, alvos, 2);
+        // Gradiente do bias da saída = soma dos deltas do lote
+        double[] gradienteSaida = rede.getCamadaSaida().getGradientePesos();
+        int largura = rede.getCamadaSaida().getLargura();
+        for (int n = 0; n < 3; n++)
+            assertEquals(alvos[n] - saidas[n] + alvos[3 + n] - saidas[3 + n], gradienteSaida[n * largura], 1e-15);
+    }
+
+    // Os gradientes do lote batem com a derivada numérica da perda (com o sinal trocado: direção de descida)
+    @Test
+    void gradientesIguaisADiferencasFinitas() {
+        for (FuncaoPerda perda : FuncaoPerda.values()) {
+            for (FuncaoAtivacao funcao : new FuncaoAtivacao[]{FuncaoAtivacao.LOGISTICA, FuncaoAtivacao.HIPERBOLICA}) {
+                RedeNeural rede = criarRede(funcao, perda, 2);
+                Random rand = new Random(3);
+                int tamanho = 5;
+                double[] entradas = new double[tamanho * 3];
+                double[] alvos = new double[tamanho * 3];
+                for (int b = 0; b < tamanho; b++) {
+                    for (int j = 0; j < 3; j++)
+                        entradas[b * 3 + j] = rand.nextDouble();
+                    System.arraycopy(rede.getVetorAlvo(b % 3), 0, alvos, b * 3, 3);
+                }
+
+                rede.feedforwardLote(entradas, tamanho);
+                rede.calcularGradientesLote(entradas, alvos, tamanho);
+                String caso = perda + "/" + funcao;
+                verificarGradientes(rede, rede.getCamadaOculta(), entradas, alvos, tamanho, caso + " oculta");
+                verificarGradientes(rede, rede.getCamadaSaida(), entradas, alvos, tamanho, caso + " saída");
+            }
+        }
+    }
+
+    private static void verificarGradientes(RedeNeural rede, Camada camada, double[] entradas, double[] alvos,
+                                            int tamanho, String caso) {
+        double[] analitico = camada.getGradientePesos().clone();
+        double[] pesos = camada.getPesos();
+        double h = 1e-6;
+        for (int i = 0; i < pesos.length; i++) {
+            double original = pesos[i];
+            pesos[i] = original + h;
+            double perdaMais = perda(rede, entradas, alvos, tamanho);
+            pesos[i] = original - h;
+            double perdaMenos = perda(rede, entradas, alvos, tamanho);
+            pesos[i] = original;
+            double numerico = -(perdaMais - perdaMenos) / (2 * h);
+            assertEquals(numerico, analitico[i], 1e-7 + 1e-5 * Math.abs(numerico), caso + ", peso " + i);
+        }
+    }
+
+    // Soma da perda no lote: 0.5 * Σ(t - y)² ou -Σ t * log(p)
+    private static double perda(RedeNeural rede, double[] entradas, double[] alvos, int tamanho) {
+        double[] saidas = rede.feedforwardLote(entradas, tamanho);
+        double total = 0;
+        for (int i = 0; i < tamanho * 3; i++) {
+            if (rede.getFuncaoPerda() == FuncaoPerda.ENTROPIA_CRUZADA) {
+                if (alvos[i] > 0)
+                    total -= alvos[i] * Math.log(saidas[i]);
+            } else {
+                double erro = alvos[i] - saidas[i];
+                total += 0.5 * erro * erro;
+            }
+        }
+        return total;
+    }
+
+    // Rede 3-4-3 com pesos aleatórios de semente fixa
+    private static RedeNeural criarRede(FuncaoAtivacao funcao, FuncaoPerda perda, long semente) {
+        Random rand = new Random(semente);
+        double[] pesosOculta = new double[4 * 4];
+        double[] pesosSaida = new double[3 * 5];
+        for (int i = 0; i < pesosOculta.length; i++)
+            pesosOculta[i] = rand.nextDouble() * 2 - 1;
+        for (int i = 0; i < pesosSaida.length; i++)
+            pesosSaida[i] = rand.nextDouble() * 2 - 1;
+        RedeNeural rede = new RedeNeural(new Camada(4, 3, pesosOculta), new Camada(3, 4, pesosSaida),
+                funcao, 0.1, IDENTIDADE, Arrays.asList("A", "B", "C"));
+        rede.setFuncaoPerda(perda);
+        return rede;
+    }
+}
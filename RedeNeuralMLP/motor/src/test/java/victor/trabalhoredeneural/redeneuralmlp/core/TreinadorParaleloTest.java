@@ -0,0 +1,162 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+import victor.trabalhoredeneural.redeneuralmlp.model.DadosNormalizados;
+import victor.trabalhoredeneural.redeneuralmlp.util.Indices;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TreinadorParaleloTest {
+
+    private static final String[] CLASSES = {"A", "B", "C"};
+
+    // Um passo síncrono em N threads (lotes de 8 por thread) é um passo em lote com as 8N linhas juntas
+    @Test
+    void passoSincronoIgualAoLoteConcatenado() throws InterruptedException {
+        ConjuntoDados conjunto = gerarDados(32, 1);
+        for (TipoOtimizador otimizador : new TipoOtimizador[]{TipoOtimizador.SGD, TipoOtimizador.MOMENTUM, TipoOtimizador.ADAM}) {
+            for (FuncaoPerda perda : FuncaoPerda.values()) {
+                RedeNeural paralela = criarRede(conjunto, otimizador, perda);
+                RedeNeural sequencial = copiar(paralela, conjunto, otimizador, perda);
+                DadosNormalizados dados = paralela.normalizar(conjunto);
+                int[] ordem = Indices.sequencia(32);
+                Indices.embaralhar(ordem, new Random(2));
+
+                TreinadorParalelo treinador = new TreinadorParalelo(paralela, 4, 8, TreinadorParalelo.Modo.SINCRONO);
+                double erroParalelo = treinador.treinarEpoca(dados, ordem);
+                treinador.encerrar();
+                double erroSequencial = ServicoTreinamento.treinarEpocaEmLotes(sequencial, dados, ordem, 32, null);
+
+                String caso = otimizador + " / " + perda;
+                assertEquals(erroSequencial, erroParalelo, 1e-9, caso);
+                assertPesosIguais(sequencial, paralela, 1e-12, caso);
+            }
+        }
+    }
+
+    // Várias épocas (com a última fatia incompleta e threads sem linhas no último passo) dão os mesmos
+    // pesos que o treino em lotes de tamanhoLote * numThreads em uma thread, na mesma ordem
+    @Test
+    void epocasSincronasIguaisAUmaThread() throws InterruptedException {
+        ConjuntoDados conjunto = gerarDados(500, 3);
+        for (int numThreads : new int[]{2, 3, 8}) {
+            RedeNeural paralela = criarRede(conjunto, TipoOtimizador.ADAM, FuncaoPerda.ERRO_QUADRATICO);
+            RedeNeural sequencial = copiar(paralela, conjunto, TipoOtimizador.ADAM, FuncaoPerda.ERRO_QUADRATICO);
+            DadosNormalizados dados = paralela.normalizar(conjunto);
+            TreinadorParalelo treinador = new TreinadorParalelo(paralela, numThreads, 16, TreinadorParalelo.Modo.SINCRONO);
+            int[] ordem = Indices.sequencia(500);
+            Random rand = new Random(4);
+            try {
+                for (int epoca = 0; epoca < 5; epoca++) {
+                    Indices.embaralhar(ordem, rand);
+                    double erroParalelo = treinador.treinarEpoca(dados, ordem);
+                    double erroSequencial = ServicoTreinamento.treinarEpocaEmLotes(sequencial, dados, ordem,
+                            16 * numThreads, null);
+                    assertEquals(erroSequencial, erroParalelo, 1e-8, numThreads + " threads, época " + epoca);
+                }
+            } finally {
+                treinador.encerrar();
+            }
+            assertPesosIguais(sequencial, paralela, 1e-10, numThreads + " threads");
+        }
+    }
+
+    @Test
+    void hogwildReduzOErro() throws InterruptedException {
+        ConjuntoDados conjunto = gerarDados(2000, 5);
+        RedeNeural rede = criarRede(conjunto, TipoOtimizador.SGD, FuncaoPerda.ERRO_QUADRATICO);
+        rede.setTaxaAprendizado(0.5);
+        DadosNormalizados dados = rede.normalizar(conjunto);
+        TreinadorParalelo treinador = new TreinadorParalelo(rede, 4, 4, TreinadorParalelo.Modo.HOGWILD);
+        int[] ordem = Indices.sequencia(2000);
+        Random rand = new Random(6);
+        try {
+            double primeiro = 0.0;
+            double ultimo = 0.0;
+            for (int epoca = 0; epoca < 30; epoca++) {
+                Indices.embaralhar(ordem, rand);
+                ultimo = treinador.treinarEpoca(dados, ordem);
+                if (epoca == 0) primeiro = ultimo;
+                assertTrue(Double.isFinite(ultimo));
+            }
+            assertTrue(ultimo < 0.5 * primeiro, "erro inicial " + primeiro + ", final " + ultimo);
+        } finally {
+            treinador.encerrar();
+        }
+    }
+
+    // Uma thread que falha no meio do passo não deixa as outras presas nas barreiras
+    @Test
+    @Timeout(30)
+    void falhaEmUmaThreadNaoTravaAsOutras() {
+        ConjuntoDados conjunto = gerarDados(256, 7);
+        RedeNeural rede = criarRede(conjunto, TipoOtimizador.SGD, FuncaoPerda.ERRO_QUADRATICO);
+        DadosNormalizados dados = rede.normalizar(conjunto);
+        int[] ordem = Indices.sequencia(256);
+        ordem[100] = 1_000_000;   // Linha inexistente na fatia de uma das threads
+        TreinadorParalelo treinador = new TreinadorParalelo(rede, 4, 16, TreinadorParalelo.Modo.SINCRONO);
+        try {
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> treinador.treinarEpoca(dados, ordem));
+            assertTrue(e.getCause() instanceof IndexOutOfBoundsException, String.valueOf(e.getCause()));
+            // O treinador continua usável depois da falha
+            assertDoesNotThrow(() -> treinador.treinarEpoca(dados, Indices.sequencia(256)));
+        } finally {
+            treinador.encerrar();
+        }
+    }
+
+    @Test
+    void validarRejeitaLotesPequenosNoModoSincrono() {
+        ConfiguracaoTreinamento configuracao = new ConfiguracaoTreinamento().setNumThreads(4).setTamanhoLote(1);
+        assertThrows(IllegalArgumentException.class, configuracao::validar);
+        configuracao.setTamanhoLote(TreinadorParalelo.LOTE_MINIMO_SINCRONO);
+        assertDoesNotThrow(configuracao::validar);
+        configuracao.setTamanhoLote(1).setModoParalelo(TreinadorParalelo.Modo.HOGWILD);
+        assertDoesNotThrow(configuracao::validar);
+        configuracao.setNumThreads(1).setModoParalelo(TreinadorParalelo.Modo.SINCRONO);
+        assertDoesNotThrow(configuracao::validar);
+    }
+
+    // Três classes que dependem dos atributos, para a rede ter o que aprender
+    private static ConjuntoDados gerarDados(int linhas, long semente) {
+        Random rand = new Random(semente);
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(4);
+        for (int i = 0; i < linhas; i++) {
+            int classe = i % 3;
+            construtor.adicionar(new double[]{classe * 4 + rand.nextGaussian(), rand.nextDouble() * 10,
+                    classe == 1 ? 5 + rand.nextDouble() : rand.nextDouble(), rand.nextGaussian()}, CLASSES[classe]);
+        }
+        return construtor.construir();
+    }
+
+    private static RedeNeural criarRede(ConjuntoDados dados, TipoOtimizador otimizador, FuncaoPerda perda) {
+        RedeNeural rede = new RedeNeural(4, 6, 3, FuncaoAtivacao.LOGISTICA, 0.2, dados);
+        rede.usarOtimizador(otimizador, 0.9);
+        rede.setFuncaoPerda(perda);
+        return rede;
+    }
+
+    // Outra rede com os mesmos pesos iniciais (e otimizador zerado)
+    private static RedeNeural copiar(RedeNeural original, ConjuntoDados dados, TipoOtimizador otimizador, FuncaoPerda perda) {
+        RedeNeural copia = criarRede(dados, otimizador, perda);
+        copia.setTaxaAprendizado(original.getTaxaAprendizado());
+        double[] pesosOculta = original.getCamadaOculta().getPesos();
+        double[] pesosSaida = original.getCamadaSaida().getPesos();
+        System.arraycopy(pesosOculta, 0, copia.getCamadaOculta().getPesos(), 0, pesosOculta.length);
+        System.arraycopy(pesosSaida, 0, copia.getCamadaSaida().getPesos(), 0, pesosSaida.length);
+        return copia;
+    }
+
+    private static void assertPesosIguais(RedeNeural esperada, RedeNeural obtida, double tolerancia, String caso) {
+        assertArrayEquals(esperada.getCamadaOculta().getPesos(), obtida.getCamadaOculta().getPesos(), tolerancia, caso);
+        assertArrayEquals(esperada.getCamadaSaida().getPesos(), obtida.getCamadaSaida().getPesos(), tolerancia, caso);
+    }
+}
@@ -0,0 +1,92 @@
+package victor.trabalhoredeneural.redeneuralmlp.core;
+
+import org.junit.jupiter.api.Test;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidacaoCruzadaTest {
+
+    // As dobras de teste particionam [0, n) e têm tamanhos que diferem em no máximo 1
+    @Test
+    void dobrasParticionamAsLinhas() {
+        Random rand = new Random(4);
+        for (boolean estratificada : new boolean[]{false, true}) {
+            for (int n : new int[]{10, 11, 37, 100}) {
+                ConjuntoDados dados = gerarDados(n, new int[]{5, 1, 3}, rand);
+                for (int k : new int[]{2, 3, 7, 10}) {
+                    int[][] dobras = ValidacaoCruzada.criarDobras(dados, k, estratificada, rand);
+                    String caso = (estratificada ? "estratificada" : "simples") + ", n = " + n + ", k = " + k;
+                    assertEquals(k, dobras.length, caso);
+
+                    int[] vezes = new int[n];
+                    int menor = Integer.MAX_VALUE;
+                    int maior = 0;
+                    for (int[] dobra : dobras) {
+                        menor = Math.min(menor, dobra.length);
+                        maior = Math.max(maior, dobra.length);
+                        for (int linha : dobra)
+                            vezes[linha]++;
+                    }
+                    for (int linha = 0; linha < n; linha++)
+                        assertEquals(1, vezes[linha], caso + ", linha " + linha);
+                    assertTrue(maior - menor <= 1, caso + ": tamanhos entre " + menor + " e " + maior);
+                }
+            }
+        }
+    }
+
+    // Na estratificada, cada classe se espalha pelas dobras com contagens que diferem em no máximo 1
+    @Test
+    void dobrasEstratificadasMantemAsClasses() {
+        Random rand = new Random(6);
+        // Classes desbalanceadas: pesos 8, 3 e 1
+        ConjuntoDados dados = gerarDados(120, new int[]{8, 3, 1}, rand);
+        int numClasses = dados.getNumeroDeClasses();
+        for (int k : new int[]{3, 5, 7}) {
+            int[][] dobras = ValidacaoCruzada.criarDobras(dados, k, true, rand);
+            for (int c = 0; c < numClasses; c++) {
+                int menor = Integer.MAX_VALUE;
+                int maior = 0;
+                for (int[] dobra : dobras) {
+                    int contagem = 0;
+                    for (int linha : dobra)
+                        if (dados.getClasseId(linha) == c) contagem++;
+                    menor = Math.min(menor, contagem);
+                    maior = Math.max(maior, contagem);
+                }
+                assertTrue(maior - menor <= 1, "k = " + k + ", classe " + c + ": entre " + menor + " e " + maior);
+            }
+        }
+    }
+
+    // A mesma semente dá as mesmas dobras
+    @Test
+    void mesmaSementeMesmasDobras() {
+        ConjuntoDados dados = gerarDados(50, new int[]{1, 1}, new Random(1));
+        for (boolean estratificada : new boolean[]{false, true}) {
+            int[][] primeiras = ValidacaoCruzada.criarDobras(dados, 4, estratificada, new Random(9));
+            int[][] segundas = ValidacaoCruzada.criarDobras(dados, 4, estratificada, new Random(9));
+            for (int d = 0; d < 4; d++)
+                assertArrayEquals(primeiras[d], segundas[d]);
+        }
+    }
+
+    // Cada linha sorteia a classe com chance proporcional a 'pesos'
+    private static ConjuntoDados gerarDados(int linhas, int[] pesos, Random rand) {
+        int total = 0;
+        for (int p : pesos) total += p;
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(2);
+        for (int i = 0; i < linhas; i++) {
+            int sorteio = rand.nextInt(total);
+            int classe = 0;
+            while (sorteio >= pesos[classe]) sorteio -= pesos[classe++];
+            construtor.adicionar(new double[]{classe + rand.nextDouble(), rand.nextGaussian()}, "C" + classe);
+        }
+        return construtor.construir();
+    }
+}
@@ -0,0 +1,93 @@
+package victor.trabalhoredeneural.redeneuralmlp.servidor;
+
+import org.junit.jupiter.api.Test;
+import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoAtivacao;
+import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgrupadorLotesTest {
+
+    @Test
+    void respondeOsPedidos() throws Exception {
+        AgrupadorLotes agrupador = new AgrupadorLotes(criarRede(), 8, 100_000, new MetricasServidor());
+        try {
+            List<CompletableFuture<Integer>> respostas = new ArrayList<>();
+            for (int i = 0; i < 50; i++)
+                respostas.add(agrupador.enviar(new double[]{i % 2, 1 - i % 2}));
+            for (CompletableFuture<Integer> resposta : respostas) {
+                int classe = resposta.get(10, TimeUnit.SECONDS);
+                assertTrue(classe == 0 || classe == 1);
+            }
+        } finally {
+            agrupador.encerrar();
+        }
+    }
+
+    @Test
+    void pedidoDepoisDoEncerramentoRecebeErro() {
+        AgrupadorLotes agrupador = new AgrupadorLotes(criarRede(), 8, 0, new MetricasServidor());
+        agrupador.encerrar();
+        ExecutionException erro = assertThrows(ExecutionException.class,
+                () -> agrupador.enviar(new double[]{0, 1}).get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, erro.getCause());
+    }
+
+    // Pedidos enviados enquanto o agrupador é encerrado: todos terminam (com a classe ou com erro), nenhum fica pendurado
+    @Test
+    void encerrarDuranteOsEnviosNaoDeixaPedidoSemResposta() throws Exception {
+        for (int rodada = 0; rodada < 20; rodada++) {
+            AgrupadorLotes agrupador = new AgrupadorLotes(criarRede(), 4, 1_000_000, new MetricasServidor());
+            int numThreads = 4;
+            List<List<CompletableFuture<Integer>>> porThread = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            CountDownLatch largada = new CountDownLatch(1);
+            for (int t = 0; t < numThreads; t++) {
+                List<CompletableFuture<Integer>> respostas = new ArrayList<>();
+                porThread.add(respostas);
+                Thread thread = new Thread(() -> {
+                    try {
+                        largada.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 2000; i++)
+                        respostas.add(agrupador.enviar(new double[]{0, 1}));
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            largada.countDown();
+            Thread.sleep(rodada % 3);
+            agrupador.encerrar();
+            for (Thread thread : threads)
+                thread.join();
+
+            for (List<CompletableFuture<Integer>> respostas : porThread)
+                for (CompletableFuture<Integer> resposta : respostas) {
+                    try {
+                        resposta.get(10, TimeUnit.SECONDS);
+                    } catch (ExecutionException e) {
+                        assertInstanceOf(IllegalStateException.class, e.getCause());
+                    }
+                }
+        }
+    }
+
+    private static RedeNeural criarRede() {
+        ConjuntoDados.Construtor construtor = new ConjuntoDados.Construtor(2);
+        construtor.adicionar(new double[]{0, 1}, "A");
+        construtor.adicionar(new double[]{1, 0}, "B");
+        return new RedeNeural(2, 3, 2, FuncaoAtivacao.LOGISTICA, 0.1, construtor.construir());
+    }
+}
@@ -0,0 +1,200 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AcumuladorAvaliacaoTest {
+
+    private static final List<String> CLASSES = Arrays.asList("A", "B", "C");
+    private static final double TOLERANCIA = 1e-12;
+
+    // Exemplo pequeno com as métricas calculadas à mão:
+    //   real A [0.7 0.2 0.1] -> A (certo, top-2)    erro 0.5*(0.09+0.04+0.01) = 0.07
+    //   real B [0.5 0.4 0.1] -> A (errado, top-2)   erro 0.5*(0.25+0.36+0.01) = 0.31
+    //   real C [0.6 0.3 0.1] -> A (errado, fora)    erro 0.5*(0.36+0.09+0.81) = 0.63
+    //   real B [0.1 0.8 0.1] -> B (certo, top-2)    erro 0.5*(0.01+0.04+0.01) = 0.03
+    //   real C, só a prevista C (sem pontuações)
+    // Matriz: A = [1 0 0], B = [1 1 0], C = [1 0 1]
+    @Test
+    void metricasDoExemploPequeno() {
+        AcumuladorAvaliacao acumulador = exemplo();
+
+        assertEquals(5, acumulador.getNumeroDeAmostras());
+        assertEquals(3, acumulador.getAcertos());
+        assertEquals(0, acumulador.getDesconhecidas());
+        assertEquals(0.6, acumulador.getAcuracia(), TOLERANCIA);
+        assertEquals(0.6, acumulador.getF1Micro(), TOLERANCIA);
+
+        MatrizConfusao matriz = acumulador.getMatriz();
+        int[][] esperada = {{1, 0, 0}, {1, 1, 0}, {1, 0, 1}};
+        for (int r = 0; r < 3; r++)
+            for (int p = 0; p < 3; p++)
+                assertEquals(esperada[r][p], matriz.getValor(r, p), "célula " + r + "," + p);
+
+        // Precisão A = 1/3, B = 1, C = 1; revocação A = 1, B = 1/2, C = 1/2
+        assertEquals(1.0 / 3, matriz.getPrecisao(0), TOLERANCIA);
+        assertEquals(1.0, matriz.getPrecisao(1), TOLERANCIA);
+        assertEquals(1.0, matriz.getPrecisao(2), TOLERANCIA);
+        assertEquals(1.0, matriz.getRevocacao(0), TOLERANCIA);
+        assertEquals(0.5, matriz.getRevocacao(1), TOLERANCIA);
+        assertEquals(0.5, matriz.getRevocacao(2), TOLERANCIA);
+        // F1 A = 0.5, B = C = 2/3
+        assertEquals(0.5, matriz.getF1(0), TOLERANCIA);
+        assertEquals(2.0 / 3, matriz.getF1(1), TOLERANCIA);
+        assertEquals(2.0 / 3, matriz.getF1(2), TOLERANCIA);
+
+        assertEquals(7.0 / 9, acumulador.getPrecisaoMacro(), TOLERANCIA);
+        assertEquals(2.0 / 3, acumulador.getRevocacaoMacro(), TOLERANCIA);
+        assertEquals(11.0 / 18, acumulador.getF1Macro(), TOLERANCIA);
+
+        // Só as 4 amostras com pontuações entram no top-k, no log-loss e no erro quadrático
+        assertEquals(0.75, acumulador.getAcuraciaTopK(), TOLERANCIA);
+        double logLoss = -(Math.log(0.7) + Math.log(0.4) + Math.log(0.1) + Math.log(0.8)) / 4;
+        assertEquals(logLoss, acumulador.getLogLoss(), TOLERANCIA);
+        assertEquals((0.07 + 0.31 + 0.63 + 0.03) / 4, acumulador.getErroQuadratico(), TOLERANCIA);
+    }
+
+    // Pontuações que não somam 1 são divididas pela soma (as negativas valem 0) no log-loss
+    @Test
+    void logLossNormalizaAsPontuacoes() {
+        AcumuladorAvaliacao acumulador = new AcumuladorAvaliacao(CLASSES, 1);
+        acumulador.registrar(1, new double[]{0.5, 1.5, -0.2}, 0);
+        assertEquals(-Math.log(0.75), acumulador.getLogLoss(), TOLERANCIA);
+        assertEquals(1.0, acumulador.getAcuraciaTopK(), TOLERANCIA);
+    }
+
+    // Classe real -1: conta como erro, fica fora da matriz, o log-loss usa a probabilidade mínima
+    // e o erro quadrático é contra um alvo todo zero
+    @Test
+    void classeDesconhecida() {
+        AcumuladorAvaliacao acumulador = new AcumuladorAvaliacao(CLASSES, 2);
+        acumulador.registrar(-1, new double[]{0.2, 0.5, 0.3}, 0);
+        acumulador.registrar(0, new double[]{0.9, 0.05, 0.05}, 0);
+        acumulador.registrar(-1, 2);
+
+        assertEquals(3, acumulador.getNumeroDeAmostras());
+        assertEquals(1, acumulador.getAcertos());
+        assertEquals(2, acumulador.getDesconhecidas());
+        assertEquals(1.0 / 3, acumulador.getAcuracia(), TOLERANCIA);
+        assertEquals(1, acumulador.getMatriz().getTotal());
+        assertEquals(0.5, acumulador.getAcuraciaTopK(), TOLERANCIA);
+        assertEquals((-Math.log(1e-15) - Math.log(0.9)) / 2, acumulador.getLogLoss(), TOLERANCIA);
+        double erroDesconhecida = 0.5 * (0.04 + 0.25 + 0.09);
+        double erroConhecida = 0.5 * (0.01 + 0.0025 + 0.0025);
+        assertEquals((erroDesconhecida + erroConhecida) / 2, acumulador.getErroQuadratico(), TOLERANCIA);
+    }
+
+    // -infinito marca uma classe que o modelo não tem: nunca é prevista, vale 0 no erro quadrático
+    // e, sendo a classe real, dá probabilidade 0 (cortada na mínima) e fica fora do top-k
+    @Test
+    void pontuacaoMenosInfinito() {
+        AcumuladorAvaliacao acumulador = new AcumuladorAvaliacao(CLASSES, 2);
+        acumulador.registrar(0, new double[]{Double.NEGATIVE_INFINITY, 0.6, 0.4}, 0);
+
+        assertEquals(1, acumulador.getMatriz().getValor(0, 1));
+        assertEquals(0, acumulador.getAcertos());
+        assertEquals(0.0, acumulador.getAcuraciaTopK(), TOLERANCIA);
+        assertEquals(-Math.log(1e-15), acumulador.getLogLoss(), TOLERANCIA);
+        assertEquals(0.5 * (1.0 + 0.36 + 0.16), acumulador.getErroQuadratico(), TOLERANCIA);
+
+        // Como classe prevista: mesmo na primeira posição, perde para qualquer pontuação finita
+        AcumuladorAvaliacao outro = new AcumuladorAvaliacao(CLASSES, 1);
+        outro.registrar(2, new double[]{Double.NEGATIVE_INFINITY, 0.1, 0.2}, 0);
+        assertEquals(1, outro.getAcertos());
+    }
+
+    @Test
+    void registrarLoteIgualARegistrarUmAUm() {
+        Random rand = new Random(3);
+        int tamanho = 50;
+        int[] reais = new int[tamanho + 5];
+        double[] pontuacoes = new double[tamanho * CLASSES.size()];
+        for (int i = 0; i < reais.length; i++)
+            reais[i] = rand.nextInt(CLASSES.size() + 1) - 1;
+        for (int i = 0; i < pontuacoes.length; i++)
+            pontuacoes[i] = rand.nextDouble();
+
+        AcumuladorAvaliacao emLote = new AcumuladorAvaliacao(CLASSES, 2);
+        emLote.registrarLote(reais, 5, pontuacoes, tamanho);
+        AcumuladorAvaliacao umAUm = new AcumuladorAvaliacao(CLASSES, 2);
+        for (int b = 0; b < tamanho; b++)
+            umAUm.registrar(reais[5 + b], pontuacoes, b * CLASSES.size());
+        assertIguais(umAUm, emLote, 0.0);
+    }
+
+    // Dividir as amostras entre vários acumuladores e combinar dá o mesmo resultado de uma passada só
+    @Test
+    void combinarIgualAUmaPassada() {
+        Random rand = new Random(12);
+        AcumuladorAvaliacao unico = new AcumuladorAvaliacao(CLASSES, 2);
+        AcumuladorAvaliacao[] partes = new AcumuladorAvaliacao[4];
+        for (int p = 0; p < partes.length; p++)
+            partes[p] = new AcumuladorAvaliacao(CLASSES, 2);
+
+        for (int i = 0; i < 1000; i++) {
+            int real = rand.nextInt(CLASSES.size() + 1) - 1;
+            AcumuladorAvaliacao parte = partes[rand.nextInt(partes.length)];
+            if (rand.nextInt(5) == 0) {
+                int prevista = rand.nextInt(CLASSES.size());
+                unico.registrar(real, prevista);
+                parte.registrar(real, prevista);
+            } else {
+                double[] pontuacoes = {rand.nextDouble(), rand.nextDouble(), rand.nextDouble()};
+                unico.registrar(real, pontuacoes, 0);
+                parte.registrar(real, pontuacoes, 0);
+            }
+        }
+
+        AcumuladorAvaliacao combinado = new AcumuladorAvaliacao(CLASSES, 2);
+        for (AcumuladorAvaliacao parte : partes)
+            assertSame(combinado, combinado.combinar(parte));
+        assertIguais(unico, combinado, 1e-9);
+
+        // Em outra ordem de agrupamento: (p0 + p1) + (p2 + p3)
+        AcumuladorAvaliacao esquerda = new AcumuladorAvaliacao(CLASSES, 2).combinar(partes[0]).combinar(partes[1]);
+        AcumuladorAvaliacao direita = new AcumuladorAvaliacao(CLASSES, 2).combinar(partes[2]).combinar(partes[3]);
+        assertIguais(unico, esquerda.combinar(direita), 1e-9);
+    }
+
+    @Test
+    void combinarRejeitaClassesOuKDiferentes() {
+        AcumuladorAvaliacao acumulador = new AcumuladorAvaliacao(CLASSES, 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> acumulador.combinar(new AcumuladorAvaliacao(Arrays.asList("A", "B", "D"), 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> acumulador.combinar(new AcumuladorAvaliacao(Arrays.asList("A", "B"), 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> acumulador.combinar(new AcumuladorAvaliacao(CLASSES, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new AcumuladorAvaliacao(CLASSES, 0));
+    }
+
+    private static AcumuladorAvaliacao exemplo() {
+        AcumuladorAvaliacao acumulador = new AcumuladorAvaliacao(CLASSES, 2);
+        acumulador.registrar(0, new double[]{0.7, 0.2, 0.1}, 0);
+        acumulador.registrar(1, new double[]{0.5, 0.4, 0.1}, 0);
+        acumulador.registrar(2, new double[]{0.6, 0.3, 0.1}, 0);
+        acumulador.registrar(1, new double[]{0.1, 0.8, 0.1}, 0);
+        acumulador.registrar(2, 2);
+        return acumulador;
+    }
+
+    private static void assertIguais(AcumuladorAvaliacao esperado, AcumuladorAvaliacao obtido, double tolerancia) {
+        assertEquals(esperado.getNumeroDeAmostras(), obtido.getNumeroDeAmostras());
+        assertEquals(esperado.getAcertos(), obtido.getAcertos());
+        assertEquals(esperado.getDesconhecidas(), obtido.getDesconhecidas());
+        for (int r = 0; r < CLASSES.size(); r++)
+            for (int p = 0; p < CLASSES.size(); p++)
+                assertEquals(esperado.getMatriz().getValor(r, p), obtido.getMatriz().getValor(r, p));
+        assertEquals(esperado.getAcuraciaTopK(), obtido.getAcuraciaTopK(), tolerancia);
+        assertEquals(esperado.getLogLoss(), obtido.getLogLoss(), tolerancia);
+        assertEquals(esperado.getErroQuadratico(), obtido.getErroQuadratico(), tolerancia);
+        assertEquals(esperado.getF1Macro(), obtido.getF1Macro(), tolerancia);
+    }
+}
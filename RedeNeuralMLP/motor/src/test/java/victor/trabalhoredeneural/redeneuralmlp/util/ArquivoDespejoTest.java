@@ -0,0 +1,173 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArquivoDespejoTest {
+
+    @TempDir
+    Path pasta;
+
+    // Min/max, classes e cada registro do despejo são os mesmos do ConjuntoDados lido do mesmo CSV
+    @Test
+    void despejoIgualAoCarregarDados() throws IOException {
+        File csv = criarCsv(5000, new Random(3));
+        ConjuntoDados dados = LeitorCSV.carregarDados(csv);
+        File destino = pasta.resolve("dados.rnmd").toFile();
+
+        try (ArquivoDespejo criado = ArquivoDespejo.criar(csv, destino)) {
+            verificarIgual(dados, criado);
+        }
+        assertTrue(ArquivoDespejo.ehDespejo(destino));
+        assertFalse(ArquivoDespejo.ehDespejo(csv));
+        try (ArquivoDespejo aberto = ArquivoDespejo.abrir(destino)) {
+            verificarIgual(dados, aberto);
+        }
+    }
+
+    @Test
+    void rodapeTruncadoDaIOException() throws IOException {
+        File destino = criarDespejo();
+        long tamanho = destino.length();
+        for (long corte : new long[]{1, 8, 17, tamanho - 33, tamanho - 31, tamanho - 8}) {
+            File copia = copiar(destino);
+            try (RandomAccessFile arquivo = new RandomAccessFile(copia, "rw")) {
+                arquivo.setLength(tamanho - corte);
+            }
+            assertThrows(IOException.class, () -> ArquivoDespejo.abrir(copia).close(), "corte de " + corte);
+        }
+    }
+
+    @Test
+    void rodapeCorrompidoDaIOException() throws IOException {
+        File destino = criarDespejo();
+        long posicaoRodape = lerCabecalho(destino).getLong(20);
+        // Número de classes negativo, zero e enorme
+        for (int numClasses : new int[]{-1, 0, Integer.MAX_VALUE}) {
+            File copia = copiar(destino);
+            try (RandomAccessFile arquivo = new RandomAccessFile(copia, "rw")) {
+                arquivo.seek(posicaoRodape);
+                arquivo.writeInt(numClasses);
+            }
+            assertThrows(IOException.class, () -> ArquivoDespejo.abrir(copia).close(), "classes " + numClasses);
+        }
+        // Bytes a mais depois do rodapé
+        File comSobra = copiar(destino);
+        try (RandomAccessFile arquivo = new RandomAccessFile(comSobra, "rw")) {
+            arquivo.seek(arquivo.length());
+            arquivo.writeInt(42);
+        }
+        assertThrows(IOException.class, () -> ArquivoDespejo.abrir(comSobra).close());
+    }
+
+    @Test
+    void cabecalhoCorrompidoDaIOException() throws IOException {
+        File destino = criarDespejo();
+        // Mágico, versão, atributos, linhas e posição do rodapé (little-endian, como no arquivo)
+        int[][] alteracoes = {{0, 0x12345678}, {4, 99}, {8, -3}, {8, 1000}, {12, -1}, {20, 7}};
+        for (int[] alteracao : alteracoes) {
+            File copia = copiar(destino);
+            try (RandomAccessFile arquivo = new RandomAccessFile(copia, "rw")) {
+                arquivo.seek(alteracao[0]);
+                arquivo.writeInt(Integer.reverseBytes(alteracao[1]));
+            }
+            assertThrows(IOException.class, () -> ArquivoDespejo.abrir(copia).close(), "posição " + alteracao[0]);
+        }
+        File curto = pasta.resolve("curto.rnmd").toFile();
+        Files.write(curto.toPath(), new byte[10]);
+        assertThrows(IOException.class, () -> ArquivoDespejo.abrir(curto).close());
+    }
+
+    @Test
+    void falhaNaCriacaoApagaOArquivo() throws IOException {
+        File semLinhas = pasta.resolve("vazio.csv").toFile();
+        Files.write(semLinhas.toPath(), "X1,classe\n".getBytes(StandardCharsets.UTF_8));
+        File destino = pasta.resolve("vazio.rnmd").toFile();
+        assertThrows(IOException.class, () -> ArquivoDespejo.criar(semLinhas, destino));
+        assertFalse(destino.exists());
+    }
+
+    // X1 = número da linha, X2 aleatório e 4 classes
+    static File criarCsv(Path pasta, int numLinhas, Random rand) throws IOException {
+        StringBuilder sb = new StringBuilder("X1,X2,classe\n");
+        String[] classes = {"CD", "CB", "CA", "CC"};
+        for (int i = 0; i < numLinhas; i++)
+            sb.append(i).append(',').append(rand.nextGaussian() * 100).append(',')
+                    .append(classes[rand.nextInt(classes.length)]).append('\n');
+        File csv = Files.createTempFile(pasta, "dados", ".csv").toFile();
+        Files.write(csv.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        return csv;
+    }
+
+    private File criarCsv(int numLinhas, Random rand) throws IOException {
+        return criarCsv(pasta, numLinhas, rand);
+    }
+
+    private File criarDespejo() throws IOException {
+        File destino = pasta.resolve("original.rnmd").toFile();
+        ArquivoDespejo.criar(criarCsv(100, new Random(5)), destino).close();
+        return destino;
+    }
+
+    private File copiar(File arquivo) throws IOException {
+        Path copia = Files.createTempFile(pasta, "copia", ".rnmd");
+        Files.copy(arquivo.toPath(), copia, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        return copia.toFile();
+    }
+
+    private static ByteBuffer lerCabecalho(File arquivo) throws IOException {
+        byte[] bytes = Files.readAllBytes(arquivo.toPath());
+        return ByteBuffer.wrap(bytes, 0, 32).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void verificarIgual(ConjuntoDados dados, ArquivoDespejo despejo) throws IOException {
+        int numAtributos = dados.getNumeroDeAtributos();
+        assertEquals(numAtributos, despejo.getNumeroDeAtributos());
+        assertEquals(dados.getNumeroDeInstancias(), despejo.getNumeroDeLinhas());
+        assertEquals(dados.getListaClassesUnicas(), despejo.getNomesClasses());
+        assertEquals(dados.getMinimos(), paraLista(despejo.getMinimos()));
+        assertEquals(dados.getMaximos(), paraLista(despejo.getMaximos()));
+
+        // Leitura sequencial em blocos de tamanho que não divide o total (último bloco parcial)
+        ByteBuffer registros = despejo.criarBuffer(333);
+        double[] valores = new double[numAtributos];
+        long linha = 0;
+        while (linha < despejo.getNumeroDeLinhas()) {
+            int lidas = despejo.lerRegistros(linha, 333, registros);
+            for (int r = 0; r < lidas; r++) {
+                int classe = despejo.decodificar(registros, r, valores, 0);
+                double[] esperado = new double[numAtributos];
+                dados.copiarEntradas((int) linha + r, esperado, 0);
+                assertArrayEquals(esperado, valores);
+                assertEquals(dados.getClasseId((int) linha + r), classe);
+            }
+            linha += lidas;
+        }
+        assertEquals(dados.getNumeroDeInstancias(), linha);
+    }
+
+    private static List<Double> paraLista(double[] valores) {
+        List<Double> lista = new ArrayList<>();
+        for (double v : valores)
+            lista.add(v);
+        return lista;
+    }
+}
@@ -0,0 +1,79 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import victor.trabalhoredeneural.redeneuralmlp.core.Normalizador;
+import victor.trabalhoredeneural.redeneuralmlp.model.LoteAmostras;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbaralhadorFluxoTest {
+
+    @TempDir
+    Path pasta;
+
+    // Cada linha sai exatamente uma vez por época, para vários números de blocos:
+    // 1, 2, primos (7, 13), compostos em que muitos passos têm mdc > 1 (12, 30, 63, 100, 143, 1000)
+    // e último bloco parcial
+    @Test
+    void cadaLinhaSaiUmaVezPorEpoca() throws IOException {
+        int numLinhas = 1000;
+        File csv = ArquivoDespejoTest.criarCsv(pasta, numLinhas, new Random(1));
+        try (ArquivoDespejo arquivo = ArquivoDespejo.criar(csv, pasta.resolve("dados.rnmd").toFile())) {
+            // X1 = número da linha; com min 0 e max 1 a normalização não muda o valor
+            Normalizador identidade = new Normalizador(new double[]{0, 0}, new double[]{1, 1});
+            int[] linhasPorBloco = {1000, 500, 143, 77, 10, 84, 34, 16, 1, 999, 7};
+            for (int porBloco : linhasPorBloco) {
+                for (int capacidade : new int[]{1, 10, 256, 5000}) {
+                    EmbaralhadorFluxo embaralhador = new EmbaralhadorFluxo(arquivo, identidade, capacidade, porBloco,
+                            new Random(porBloco * 31L + capacidade));
+                    for (int epoca = 0; epoca < 3; epoca++) {
+                        embaralhador.iniciarEpoca();
+                        verificarEpoca(embaralhador, numLinhas, "bloco " + porBloco + ", buffer " + capacidade);
+                    }
+                }
+            }
+        }
+    }
+
+    // Com buffer pequeno a ordem dos blocos muda de uma época para outra
+    @Test
+    void ordemMudaEntreEpocas() throws IOException {
+        File csv = ArquivoDespejoTest.criarCsv(pasta, 1000, new Random(2));
+        try (ArquivoDespejo arquivo = ArquivoDespejo.criar(csv, pasta.resolve("dados.rnmd").toFile())) {
+            Normalizador identidade = new Normalizador(new double[]{0, 0}, new double[]{1, 1});
+            EmbaralhadorFluxo embaralhador = new EmbaralhadorFluxo(arquivo, identidade, 1, 10, new Random(9));
+            LoteAmostras lote = new LoteAmostras(1000, 2);
+            assertTrue(embaralhador.preencher(lote));
+            double[] primeira = lote.getEntradas().clone();
+            embaralhador.iniciarEpoca();
+            assertTrue(embaralhador.preencher(lote));
+            assertFalse(java.util.Arrays.equals(primeira, lote.getEntradas()));
+        }
+    }
+
+    private static void verificarEpoca(EmbaralhadorFluxo embaralhador, int numLinhas, String caso) {
+        int[] vezes = new int[numLinhas];
+        LoteAmostras lote = new LoteAmostras(37, 2);
+        int total = 0;
+        while (embaralhador.preencher(lote)) {
+            for (int i = 0; i < lote.getTamanho(); i++) {
+                double x1 = lote.getEntradas()[i * 2];
+                vezes[(int) x1]++;
+            }
+            total += lote.getTamanho();
+        }
+        assertEquals(numLinhas, total, caso);
+        for (int i = 0; i < numLinhas; i++)
+            assertEquals(1, vezes[i], caso + ": linha " + i);
+        // Depois do fim, a época continua vazia
+        assertFalse(embaralhador.preencher(lote), caso);
+    }
+}
@@ -0,0 +1,47 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndicesTest {
+
+    @Test
+    void complementoEmOrdemCrescente() {
+        assertArrayEquals(new int[]{0, 2, 4, 5}, Indices.complemento(new int[]{3, 1, 6}, 7));
+        assertArrayEquals(new int[]{0, 1, 2}, Indices.complemento(new int[0], 3));
+        assertArrayEquals(new int[0], Indices.complemento(new int[]{2, 0, 1}, 3));
+    }
+
+    // Linhas + complemento = [0, n), sem repetição
+    @Test
+    void complementoDeSubconjuntosAleatorios() {
+        Random rand = new Random(11);
+        for (int n = 1; n < 60; n++) {
+            int[] ordem = Indices.sequencia(n);
+            Indices.embaralhar(ordem, rand);
+            int[] linhas = Arrays.copyOf(ordem, rand.nextInt(n + 1));
+            int[] resto = Indices.complemento(linhas, n);
+
+            int[] juntas = Arrays.copyOf(linhas, n);
+            System.arraycopy(resto, 0, juntas, linhas.length, resto.length);
+            Arrays.sort(juntas);
+            assertArrayEquals(Indices.sequencia(n), juntas, "n = " + n);
+            for (int i = 1; i < resto.length; i++)
+                assertTrue(resto[i - 1] < resto[i], "n = " + n);
+        }
+    }
+
+    @Test
+    void embaralharEhUmaPermutacao() {
+        int[] ordem = Indices.sequencia(100);
+        Indices.embaralhar(ordem, new Random(2));
+        int[] ordenada = ordem.clone();
+        Arrays.sort(ordenada);
+        assertArrayEquals(Indices.sequencia(100), ordenada);
+    }
+}
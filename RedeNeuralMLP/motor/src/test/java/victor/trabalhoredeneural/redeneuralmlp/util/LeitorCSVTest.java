@@ -0,0 +1,192 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LeitorCSVTest {
+
+    @TempDir
+    Path pasta;
+
+    // Casos em que o caminho rápido precisa desistir ou acertar o arredondamento
+    private static final String[] NUMEROS = {
+            "0", "-0", "+0", "0.0", "-0.0", "007", "000.500", "00000000000000000000001",
+            "1", "-1", "+3.25", "-0.5", "1.", ".5", "-.5", "+.25", "3.14159",
+            "123456789012345678", "1234567890123456789", "12345678901234567890123",
+            "0.1234567890123456789012", "9007199254740993", "9007199254740992.5",
+            "1.7976931348623157e308", "4.9e-324", "2.2250738585072014E-308",
+            "1e22", "1e23", "1e-22", "1e-23", "1.5e300", "-2.5E-300", "1e+5", "1E-5", "5e0",
+            "123.456e7", "0.000000000000000000000000001", "1e400", "-1e400", "1e-400",
+            "0.1", "0.2", "0.3", "2.675", "1.005", "  12.5  ", "\t-7\t", "NaN", "Infinity", "-Infinity",
+    };
+
+    @Test
+    void numerosIguaisAoParseDouble() throws IOException {
+        List<String> textos = new ArrayList<>(Arrays.asList(NUMEROS));
+        Random rand = new Random(7);
+        for (int i = 0; i < 20000; i++)
+            textos.add(numeroAleatorio(rand));
+        verificarNumeros(textos, "\n");
+    }
+
+    @Test
+    void numerosComFinaisDeLinhaWindows() throws IOException {
+        verificarNumeros(Arrays.asList(NUMEROS), "\r\n");
+    }
+
+    @Test
+    void rotulosComEspacosECr() throws IOException {
+        File arquivo = escrever("X1,classe\r\n1, CA \r\n2,CB\r\n3,\tCA\r\n");
+        ConjuntoDados dados = LeitorCSV.carregarDados(arquivo);
+        assertEquals(Arrays.asList("CA", "CB"), dados.getListaClassesUnicas());
+        assertEquals("CA", dados.getClasse(0));
+        assertEquals("CB", dados.getClasse(1));
+        assertEquals("CA", dados.getClasse(2));
+    }
+
+    @Test
+    void linhasInvalidasSaoPuladas() throws IOException {
+        File arquivo = escrever("X1,X2,classe\n"
+                + "1,2,A\n"
+                + "1,B\n"            // falta um atributo
+                + "1,2,3,C\n"        // coluna a mais
+                + "1,abc,D\n"        // número inválido
+                + "\n"
+                + "   \n"
+                + "3,4,B\n"
+                + "5,6,A");          // sem quebra de linha no final
+        ConjuntoDados dados = LeitorCSV.carregarDados(arquivo);
+        assertEquals(3, dados.getNumeroDeInstancias());
+        assertArrayEquals(new double[]{1, 3, 5}, Arrays.copyOf(dados.getColuna(0), 3));
+        assertArrayEquals(new double[]{2, 4, 6}, Arrays.copyOf(dados.getColuna(1), 3));
+        assertEquals(Arrays.asList("A", "B"), dados.getListaClassesUnicas());
+    }
+
+    @Test
+    void arquivoVazioDaErro() throws IOException {
+        File arquivo = escrever("");
+        assertThrows(IOException.class, () -> LeitorCSV.carregarDados(arquivo));
+    }
+
+    // O mesmo arquivo lido em um pedaço e em muitos (com fronteiras no meio das linhas) dá o mesmo conjunto
+    @Test
+    void pedacosDiferentesDaoOMesmoConjunto() throws IOException {
+        Random rand = new Random(11);
+        StringBuilder sb = new StringBuilder("X1,X2,X3,classe\n");
+        String[] classes = {"CE", "CA", "CD", "CB", "CC"};
+        int validas = 0;
+        for (int i = 0; i < 3000; i++) {
+            String fim = rand.nextInt(4) == 0 ? "\r\n" : "\n";
+            switch (rand.nextInt(20)) {
+                case 0: sb.append("1,2,3,CA,9").append(fim); break;                 // coluna a mais
+                case 1: sb.append("1,x,3,CA").append(fim); break;                   // número inválido
+                case 2: sb.append("1,2").append(fim); break;                        // mal formada
+                case 3: sb.append(fim); break;                                      // em branco
+                default:
+                    sb.append(numeroAleatorio(rand)).append(',').append(rand.nextInt(1000)).append(',')
+                            .append(rand.nextGaussian()).append(',').append(classes[rand.nextInt(classes.length)])
+                            .append(fim);
+                    validas++;
+            }
+        }
+        File arquivo = escrever(sb.toString());
+
+        ConjuntoDados umPedaco = LeitorCSV.carregarDados(arquivo);
+        assertEquals(validas, umPedaco.getNumeroDeInstancias());
+        for (long tamanhoPedaco : new long[]{1, 7, 37, 1000, 4096}) {
+            ConjuntoDados varios = LeitorCSV.carregarDados(arquivo, tamanhoPedaco);
+            assertIguais(umPedaco, varios);
+        }
+    }
+
+    @Test
+    void lerLinhasSemClasse() {
+        List<double[]> linhas = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        LeitorCSV.DestinoLinhas destino = new LeitorCSV.DestinoLinhas() {
+            @Override
+            public int idDaClasse(String classe) {
+                throw new AssertionError("Sem a coluna de classe não há rótulos");
+            }
+
+            @Override
+            public void adicionar(double[] valores, int idClasse) {
+                linhas.add(valores.clone());
+                ids.add(idClasse);
+            }
+        };
+        byte[] bytes = "1,2\r\n3,4,5\n6\n7.5,-8\n".getBytes(StandardCharsets.UTF_8);
+        LeitorCSV.lerLinhas(java.nio.ByteBuffer.wrap(bytes), 2, false, destino);
+        assertEquals(2, linhas.size());
+        assertArrayEquals(new double[]{1, 2}, linhas.get(0));
+        assertArrayEquals(new double[]{7.5, -8}, linhas.get(1));
+        assertEquals(Arrays.asList(-1, -1), ids);
+    }
+
+    private void verificarNumeros(List<String> textos, String fimDeLinha) throws IOException {
+        StringBuilder sb = new StringBuilder("X1,classe").append(fimDeLinha);
+        for (String texto : textos)
+            sb.append(texto).append(",A").append(fimDeLinha);
+        ConjuntoDados dados = LeitorCSV.carregarDados(escrever(sb.toString()));
+        assertEquals(textos.size(), dados.getNumeroDeInstancias());
+        for (int i = 0; i < textos.size(); i++)
+            assertEquals(Double.parseDouble(textos.get(i).trim()), dados.getValor(i, 0), 0.0, textos.get(i));
+    }
+
+    private static void assertIguais(ConjuntoDados esperado, ConjuntoDados obtido) {
+        assertEquals(esperado.getNumeroDeInstancias(), obtido.getNumeroDeInstancias());
+        assertEquals(esperado.getListaClassesUnicas(), obtido.getListaClassesUnicas());
+        int n = esperado.getNumeroDeInstancias();
+        for (int a = 0; a < esperado.getNumeroDeAtributos(); a++)
+            assertArrayEquals(Arrays.copyOf(esperado.getColuna(a), n), Arrays.copyOf(obtido.getColuna(a), n));
+        for (int i = 0; i < n; i++)
+            assertEquals(esperado.getClasseId(i), obtido.getClasseId(i));
+        assertEquals(esperado.getMinimos(), obtido.getMinimos());
+        assertEquals(esperado.getMaximos(), obtido.getMaximos());
+    }
+
+    // Sinal, zeros à esquerda, até 25 dígitos, ponto em qualquer posição e expoente opcional
+    private static String numeroAleatorio(Random rand) {
+        StringBuilder sb = new StringBuilder();
+        int sinal = rand.nextInt(3);
+        if (sinal == 1) sb.append('-');
+        if (sinal == 2) sb.append('+');
+        int zeros = rand.nextInt(4) == 0 ? rand.nextInt(4) : 0;
+        for (int i = 0; i < zeros; i++) sb.append('0');
+        int digitos = 1 + rand.nextInt(25);
+        int ponto = rand.nextInt(digitos + 2) - 1;
+        for (int i = 0; i < digitos; i++) {
+            if (i == ponto) sb.append('.');
+            sb.append((char) ('0' + rand.nextInt(10)));
+        }
+        if (ponto == digitos) sb.append('.');
+        if (rand.nextInt(3) == 0) {
+            sb.append(rand.nextBoolean() ? 'e' : 'E');
+            int expoente = rand.nextInt(80) - 40;
+            if (expoente >= 0 && rand.nextBoolean()) sb.append('+');
+            sb.append(expoente);
+        }
+        return sb.toString();
+    }
+
+    private File escrever(String conteudo) throws IOException {
+        Path arquivo = Files.createTempFile(pasta, "dados", ".csv");
+        Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+        return arquivo.toFile();
+    }
+}
@@ -0,0 +1,154 @@
+package victor.trabalhoredeneural.redeneuralmlp.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import victor.trabalhoredeneural.redeneuralmlp.core.Normalizador;
+import victor.trabalhoredeneural.redeneuralmlp.model.LoteAmostras;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(30)
+class PreBuscaLotesTest {
+
+    @TempDir
+    Path pasta;
+
+    // 10 linhas por época em lotes de 3: 3 + 3 + 3 + 1 e o fim da época, sempre com os mesmos 2 lotes
+    @Test
+    void lotesCirculamEntreAsFilas() throws InterruptedException {
+        FonteContagem fonte = new FonteContagem(10);
+        PreBuscaLotes fila = new PreBuscaLotes(fonte, 2, 3, 1);
+        Set<LoteAmostras> vistos = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (int epoca = 0; epoca < 3; epoca++) {
+                int esperada = 0;
+                for (int tamanho : new int[]{3, 3, 3, 1}) {
+                    LoteAmostras lote = fila.proximo();
+                    assertNotNull(lote, "época " + epoca);
+                    assertEquals(tamanho, lote.getTamanho(), "época " + epoca);
+                    for (int i = 0; i < tamanho; i++)
+                        assertEquals(esperada++, lote.getEntradas()[i], "época " + epoca);
+                    vistos.add(lote);
+                    fila.devolver(lote);
+                }
+                assertNull(fila.proximo(), "época " + epoca);
+            }
+        } finally {
+            assertTrue(fila.encerrar());
+        }
+        assertEquals(2, vistos.size());
+        assertTrue(fonte.epocas.get() >= 3);
+        assertFalse(fonte.interrompida.get());
+    }
+
+    // Uma exceção da fonte chega ao consumidor depois dos lotes que já estavam prontos
+    @Test
+    void falhaDaFonteChegaAoConsumidor() throws InterruptedException {
+        UncheckedIOException erro = new UncheckedIOException(new IOException("disco"));
+        FonteContagem fonte = new FonteContagem(10) {
+            @Override
+            public boolean preencher(LoteAmostras lote) {
+                if (proxima >= 3)
+                    throw erro;
+                return super.preencher(lote);
+            }
+        };
+        PreBuscaLotes fila = new PreBuscaLotes(fonte, 2, 3, 1);
+        try {
+            LoteAmostras primeiro = fila.proximo();
+            assertEquals(3, primeiro.getTamanho());
+            fila.devolver(primeiro);
+            UncheckedIOException lancada = assertThrows(UncheckedIOException.class, fila::proximo);
+            assertSame(erro, lancada);
+        } finally {
+            assertTrue(fila.encerrar());
+        }
+    }
+
+    // Encerrar no meio da época, com a produtora esperando um lote livre, termina a thread sem interrompê-la
+    @Test
+    void encerrarNoMeioDaEpoca() throws InterruptedException {
+        FonteContagem fonte = new FonteContagem(1000);
+        PreBuscaLotes fila = new PreBuscaLotes(fonte, 2, 3, 1);
+        // O consumidor fica com os dois lotes: a produtora não tem onde escrever
+        LoteAmostras primeiro = fila.proximo();
+        LoteAmostras segundo = fila.proximo();
+        assertNotNull(primeiro);
+        assertNotNull(segundo);
+        assertTrue(fila.encerrar());
+        assertEquals(6, fonte.proxima);
+        assertFalse(fonte.interrompida.get());
+        // Encerrar de novo não faz nada
+        assertTrue(fila.encerrar());
+    }
+
+    // A produtora lendo um ArquivoDespejo de verdade: depois de encerrar no meio da época o canal continua aberto
+    @Test
+    void encerrarNaoFechaOArquivo() throws IOException, InterruptedException {
+        File csv = ArquivoDespejoTest.criarCsv(pasta, 5000, new Random(3));
+        try (ArquivoDespejo arquivo = ArquivoDespejo.criar(csv, pasta.resolve("dados.rnmd").toFile())) {
+            Normalizador identidade = new Normalizador(new double[]{0, 0}, new double[]{1, 1});
+            for (int tentativa = 0; tentativa < 20; tentativa++) {
+                EmbaralhadorFluxo fonte = new EmbaralhadorFluxo(arquivo, identidade, 64, 16, new Random(tentativa));
+                PreBuscaLotes fila = new PreBuscaLotes(fonte, 2, 8, 2);
+                // Consome alguns lotes para pegar a produtora em pontos diferentes da leitura
+                for (int i = 0; i < tentativa; i++) {
+                    LoteAmostras lote = fila.proximo();
+                    if (lote != null)
+                        fila.devolver(lote);
+                }
+                assertTrue(fila.encerrar(), "tentativa " + tentativa);
+            }
+            ByteBuffer registros = arquivo.criarBuffer(10);
+            assertEquals(10, arquivo.lerRegistros(0, 10, registros));
+        }
+    }
+
+    // Linhas numeradas 0, 1, 2... (uma coluna), em ordem; registra se viu a thread interrompida
+    private static class FonteContagem implements FonteLotes {
+        final int linhasPorEpoca;
+        final AtomicInteger epocas = new AtomicInteger();
+        final AtomicBoolean interrompida = new AtomicBoolean();
+        volatile int proxima;
+
+        FonteContagem(int linhasPorEpoca) {
+            this.linhasPorEpoca = linhasPorEpoca;
+        }
+
+        @Override
+        public void iniciarEpoca() {
+            epocas.incrementAndGet();
+            proxima = 0;
+        }
+
+        @Override
+        public boolean preencher(LoteAmostras lote) {
+            if (Thread.currentThread().isInterrupted())
+                interrompida.set(true);
+            int n = Math.min(lote.getCapacidade(), linhasPorEpoca - proxima);
+            for (int b = 0; b < n; b++)
+                lote.getEntradas()[b] = proxima++;
+            lote.setTamanho(n);
+            return n > 0;
+        }
+    }
+}
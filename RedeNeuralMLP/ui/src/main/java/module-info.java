@@ -1,8 +1,9 @@
 module victor.trabalhoredeneural.redeneuralmlp {
     requires javafx.controls;
     requires javafx.fxml;
+    requires victor.trabalhoredeneural.redeneuralmlp.motor;
 
 
     opens victor.trabalhoredeneural.redeneuralmlp to javafx.fxml;
     exports victor.trabalhoredeneural.redeneuralmlp;
-}
\ No newline at end of file
+}
@@ -14,8 +14,10 @@ import javafx.stage.Window;
 import javafx.util.Pair;
 
 // Imports da lógica
+import victor.trabalhoredeneural.redeneuralmlp.core.ConfiguracaoTreinamento;
 import victor.trabalhoredeneural.redeneuralmlp.core.FuncaoAtivacao;
-import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
+import victor.trabalhoredeneural.redeneuralmlp.core.ServicoTreinamento;
+import victor.trabalhoredeneural.redeneuralmlp.core.TreinadorParalelo;
 import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
 import victor.trabalhoredeneural.redeneuralmlp.model.Instancia;
 import victor.trabalhoredeneural.redeneuralmlp.model.ResultadoTreinamento;
@@ -44,6 +46,12 @@ public class MainController {
     @FXML
     private TextField txtTaxaAprendizado;
     @FXML
+    private TextField txtTamanhoLote;
+    @FXML
+    private TextField txtThreads;
+    @FXML
+    private CheckBox checkHogwild;
+    @FXML
     private ToggleGroup funcaoTransferenciaGroup;
     @FXML
     private RadioButton radioLinear;
@@ -64,20 +72,6 @@ public class MainController {
     private Label lblArquivoTeste;
     @FXML
     private TableView<Instancia> tableViewDados;
-    @FXML
-    private TableColumn<Instancia, Double> colX1;
-    @FXML
-    private TableColumn<Instancia, Double> colX2;
-    @FXML
-    private TableColumn<Instancia, Double> colX3;
-    @FXML
-    private TableColumn<Instancia, Double> colX4;
-    @FXML
-    private TableColumn<Instancia, Double> colX5;
-    @FXML
-    private TableColumn<Instancia, Double> colX6;
-    @FXML
-    private TableColumn<Instancia, String> colClasse;
 
     @FXML
     private Button btnIniciar;
@@ -92,14 +86,24 @@ public class MainController {
 
     @FXML
     public void initialize() {
-        // Configura as colunas da tabela
-        colX1.setCellValueFactory(cellData -> new SimpleDoubleProperty(cellData.getValue().getEntradas().get(0)).asObject());
-        colX2.setCellValueFactory(cellData -> new SimpleDoubleProperty(cellData.getValue().getEntradas().get(1)).asObject());
-        colX3.setCellValueFactory(cellData -> new SimpleDoubleProperty(cellData.getValue().getEntradas().get(2)).asObject());
-        colX4.setCellValueFactory(cellData -> new SimpleDoubleProperty(cellData.getValue().getEntradas().get(3)).asObject());
-        colX5.setCellValueFactory(cellData -> new SimpleDoubleProperty(cellData.getValue().getEntradas().get(4)).asObject());
-        colX6.setCellValueFactory(cellData -> new SimpleDoubleProperty(cellData.getValue().getEntradas().get(5)).asObject());
+        // Configura as colunas da tabela (o padrão do trabalho: 6 entradas e a classe)
+        configurarColunasTabela(6);
+    }
+
+    // Cria uma coluna para cada atributo (X1 ... Xn) e a coluna da classe
+    private void configurarColunasTabela(int numAtributos) {
+        tableViewDados.getColumns().clear();
+        for (int i = 0; i < numAtributos; i++) {
+            final int atributo = i;
+            TableColumn<Instancia, Double> coluna = new TableColumn<>("X" + (i + 1));
+            coluna.setPrefWidth(75.0);
+            coluna.setCellValueFactory(cellData -> new SimpleDoubleProperty(cellData.getValue().getEntrada(atributo)).asObject());
+            tableViewDados.getColumns().add(coluna);
+        }
+        TableColumn<Instancia, String> colClasse = new TableColumn<>("Classe");
+        colClasse.setPrefWidth(75.0);
         colClasse.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getClasse()));
+        tableViewDados.getColumns().add(colClasse);
     }
 
     // --- Métodos de Clique dos Botões ---
@@ -136,6 +140,7 @@ public class MainController {
                 // Popula campos e tabela
                 txtEntrada.setText(String.valueOf(dadosCarregadoPrincipal.getNumeroDeAtributos()));
                 txtSaida.setText(String.valueOf(dadosCarregadoPrincipal.getNumeroDeClasses()));
+                configurarColunasTabela(dadosCarregadoPrincipal.getNumeroDeAtributos());
                 tableViewDados.getItems().setAll(dadosCarregadoPrincipal.getInstancias());
                 System.out.println("Arquivo Principal carregado.");
 
@@ -169,6 +174,8 @@ public class MainController {
         int numOculta = 0; // Inicializa com 0
         double erroDesejado = 0.0; // Inicializa com 0.0
         double taxaAprendizado = 0.0; // Inicializa com 0.0
+        int tamanhoLote = 1; // 1 = treinamento online (uma atualização por instância)
+        int numThreads = 1; // 1 = treinamento na própria thread da Task
 
         // Flag para controlar se a validação passou
         boolean parametrosValidos = true;
@@ -179,6 +186,8 @@ public class MainController {
             erroDesejado = Double.parseDouble(txtErro.getText());
             taxaAprendizado = Double.parseDouble(txtTaxaAprendizado.getText());
             numOculta = Integer.parseInt(txtOculta.getText());
+            tamanhoLote = Integer.parseInt(txtTamanhoLote.getText());
+            numThreads = Integer.parseInt(txtThreads.getText());
 
             if (taxaAprendizado <= 0 || taxaAprendizado > 1) {
                 exibirAlertaErro("Parâmetro Inválido", "A Taxa de Aprendizado (N) deve ser > 0 e <= 1.");
@@ -192,15 +201,20 @@ public class MainController {
                     parametrosValidos = false; // Define a flag como falsa
                 }
             }
+
+            if ((tamanhoLote <= 0 || numThreads <= 0) && parametrosValidos) {
+                exibirAlertaErro("Parâmetro Inválido", "O Tamanho do Lote e o número de Threads devem ser maiores que 0.");
+                parametrosValidos = false;
+            }
         } catch (NumberFormatException e) {
-            exibirAlertaErro("Parâmetro Inválido", "Verifique os valores de Épocas, Erro, Taxa e Camada Oculta. Devem ser números.");
+            exibirAlertaErro("Parâmetro Inválido", "Verifique os valores de Épocas, Erro, Taxa, Camada Oculta, Lote e Threads. Devem ser números.");
             parametrosValidos = false; // Define a flag como falsa
         }
 
         // Somente executa o restante do código se a flag for verdadeira
         if (parametrosValidos) {
             // Pega a função de ativação selecionada
-            FuncaoAtivacao funcao = FuncaoAtivacao.getFuncaoSelecionada(radioLinear, radioLogistica, radioHiperbolica);
+            FuncaoAtivacao funcao = getFuncaoSelecionada();
 
             // Prepara os conjuntos de dados
             final ConjuntoDados dadosTreinoFinal;
@@ -214,8 +228,8 @@ public class MainController {
                 dadosTesteFinal = datasets.getValue();
 
                 System.out.println("Dividindo arquivo único:");
-                System.out.println("Instâncias de Treino: " + dadosTreinoFinal.getInstancias().size());
-                System.out.println("Instâncias de Teste: " + dadosTesteFinal.getInstancias().size());
+                System.out.println("Instâncias de Treino: " + dadosTreinoFinal.getNumeroDeInstancias());
+                System.out.println("Instâncias de Teste: " + dadosTesteFinal.getNumeroDeInstancias());
             }
             else {
                 // Modo Dois Arquivos: Apenas usa os dados carregados
@@ -223,89 +237,28 @@ public class MainController {
                 dadosTesteFinal = dadosCarregadoTeste;
             }
 
-            // Copia final das variáveis para usar dentro da Task
-            final double taxaAprendizadoFinal = taxaAprendizado;
-            final int numOcultaFinal = numOculta;
-            final int epocasFinal = epocas;
-            final double erroDesejadoFinal = erroDesejado;
-
+            // Monta a configuração do treinamento (os valores já foram validados acima)
+            ConfiguracaoTreinamento configuracao = new ConfiguracaoTreinamento()
+                    .setNumOculta(numOculta)
+                    .setFuncaoAtivacao(funcao)
+                    .setTaxaAprendizado(taxaAprendizado)
+                    .setMaxEpocas(epocas)
+                    .setErroDesejado(erroDesejado)
+                    .setTamanhoLote(tamanhoLote)
+                    .setNumThreads(numThreads)
+                    .setModoParalelo(checkHogwild.isSelected()
+                            ? TreinadorParalelo.Modo.HOGWILD
+                            : TreinadorParalelo.Modo.SINCRONO);
+
+            // No platô, a thread de treino espera o usuário escolher na janela de treinamento
+            ServicoTreinamento servico = new ServicoTreinamento(configuracao,
+                    (epoca, erroEpoca, desvioPadrao) -> treinamentoController.aguardarAcaoPlato().join());
 
             // Criação da tarefa de Treinamento
             Task<ResultadoTreinamento> tarefaTreinamento = new Task<>() {
                 @Override
                 protected ResultadoTreinamento call() throws Exception {
-                    double taxaAprendizadoAtual = taxaAprendizadoFinal;
-
-                    // Instancia a Rede Neural
-                    RedeNeural rede = new RedeNeural(
-                            dadosTreinoFinal.getNumeroDeAtributos(), // Usa o 'Final'
-                            numOcultaFinal,
-                            dadosTreinoFinal.getNumeroDeClasses(), // Usa o 'Final'
-                            funcao,
-                            taxaAprendizadoAtual,
-                            dadosTreinoFinal // Passa o 'Final' (ele contém o Min/Max correto)
-                    );
-
-                    // Loop de Treinamento (Épocas)
-                    int epocaAtual = 0;
-                    double erroEpoca = 1.0;
-                    List<Instancia> instanciasTreino = new ArrayList<>(dadosTreinoFinal.getInstancias()); // Usa o 'Final'
-                    List<Double> historicoErros = new ArrayList<>();
-
-                    LinkedList<Double> ultimosErros = new LinkedList<>();
-                    final int TAMANHO_JANELA_PLATO = 10;
-                    final double LIMIAR_PLATO = 0.00001;
-
-                    // Flag booleana para controlar o loop
-                    boolean treinamentoAtivo = true;
-
-                    while (epocaAtual < epocasFinal && erroEpoca > erroDesejadoFinal && treinamentoAtivo) {
-
-                        Collections.shuffle(instanciasTreino);
-                        double somaErrosQuadradicos = 0.0;
-                        for (Instancia inst : instanciasTreino) {
-                            List<Double> entradasNormalizadas = rede.normalizar(inst.getEntradas());
-                            List<Double> vetorAlvo = rede.getVetorAlvo(inst.getClasse());
-                            List<Double> saidasRede = rede.feedforward(entradasNormalizadas);
-                            rede.backpropagation(entradasNormalizadas, vetorAlvo);
-                            for (int i = 0; i < vetorAlvo.size(); i++) {
-                                double erro = vetorAlvo.get(i) - saidasRede.get(i);
-                                somaErrosQuadradicos += 0.5 * (erro * erro);
-                            }
-                        }
-
-                        epocaAtual++;
-                        erroEpoca = somaErrosQuadradicos / instanciasTreino.size();
-                        historicoErros.add(erroEpoca);
-
-                        // Atualizar a Ui de treinamento
-                        treinamentoController.atualizarStatus(epocaAtual, erroEpoca);
-
-                        // Logica de detecção de plato
-                        ultimosErros.add(erroEpoca);
-                        if (ultimosErros.size() > TAMANHO_JANELA_PLATO)
-                            ultimosErros.removeFirst();
-
-                        if (ultimosErros.size() == TAMANHO_JANELA_PLATO) {
-                            double desvioPadrao = calcularDesvioPadrao(ultimosErros);
-
-                            if (desvioPadrao >= 0 && desvioPadrao <= LIMIAR_PLATO) {
-                                System.out.println(">>> PLATÔ DETECTADO! Desvio Padrão: " + desvioPadrao);
-                                TreinamentoController.AcaoPlato acao = treinamentoController.aguardarAcaoPlato().get();
-
-                                if (acao == TreinamentoController.AcaoPlato.PARAR) {
-                                    treinamentoAtivo = false; // Define a flag como falsa em vez de 'break'
-                                }
-                                else if (acao == TreinamentoController.AcaoPlato.REDUZIR_TAXA) {
-                                    taxaAprendizadoAtual *= 0.90;
-                                    rede.setTaxaAprendizado(taxaAprendizadoAtual);
-                                }
-                                ultimosErros.clear();
-                            }
-                        }
-                    }
-                    // Retorna os resultados
-                    return new ResultadoTreinamento(rede, erroEpoca, epocaAtual, historicoErros);
+                    return servico.treinar(dadosTreinoFinal);
                 }
             };
 
@@ -325,34 +278,18 @@ public class MainController {
                 e.printStackTrace();
             });
             abrirJanelaTreinamento();
+            servico.adicionarOuvinte(treinamentoController);
             new Thread(tarefaTreinamento).start();
         }
     }
 
     // Divide um Conjunto de Dados em Treino e Teste
     private Pair<ConjuntoDados, ConjuntoDados> splitDataSet(ConjuntoDados dadosCompletos, double porcentagemTreino) {
-        // Pega os valores globais Mín, Máx e Classes
-        List<Double> minimos = dadosCompletos.getMinimos();
-        List<Double> maximos = dadosCompletos.getMaximos();
-        Set<String> classes = dadosCompletos.getClassesUnicas();
-
-        // Embaralha todas as instâncias
-        List<Instancia> todasInstancias = new ArrayList<>(dadosCompletos.getInstancias());
-        Collections.shuffle(todasInstancias);
-
-        // Calcula o ponto de divisão
-        int pontoDivisao = (int) (todasInstancias.size() * porcentagemTreino);
-
-        // Cria as sub-listas
-        List<Instancia> listaTreino = new ArrayList<>(todasInstancias.subList(0, pontoDivisao));
-        List<Instancia> listaTeste = new ArrayList<>(todasInstancias.subList(pontoDivisao, todasInstancias.size()));
-
-        // Cria os novos ConjuntoDados usando o construtor que nao recalcula min/max
-        ConjuntoDados dadosTreino = new ConjuntoDados(listaTreino, minimos, maximos, classes);
-        ConjuntoDados dadosTeste = new ConjuntoDados(listaTeste, minimos, maximos, classes);
+        // Embaralha as instâncias e cria os novos ConjuntoDados mantendo os Mín, Máx e Classes globais
+        ConjuntoDados[] partes = dadosCompletos.dividir(porcentagemTreino, new Random());
 
         // Retorna o "Par" de datasets
-        return new Pair<>(dadosTreino, dadosTeste);
+        return new Pair<>(partes[0], partes[1]);
     }
 
 
@@ -422,6 +359,17 @@ public class MainController {
         btnIniciar.setDisable(!pronto);
     }
 
+    //Pega a função selecionada nos RadioButtons
+    private FuncaoAtivacao getFuncaoSelecionada() {
+        if (radioLinear.isSelected()) {
+            return FuncaoAtivacao.LINEAR;
+        }
+        if (radioHiperbolica.isSelected()) {
+            return FuncaoAtivacao.HIPERBOLICA;
+        }
+        return FuncaoAtivacao.LOGISTICA;
+    }
+
     private Window getJanelaPrincipal() {
         return btnIniciar.getScene().getWindow();
     }
@@ -433,25 +381,4 @@ public class MainController {
         alert.setContentText(mensagem);
         alert.showAndWait();
     }
-
-    private double calcularDesvioPadrao(List<Double> lista) {
-        double resultado = 0.0; // Valor padrão de retorno
-
-        // Se a lista for válida, calcula o desvio
-        if (lista != null && lista.size() >= 2) {
-            double soma = 0.0;
-            for (double val : lista)
-                soma += val;
-            double media = soma / lista.size();
-            double somaVariancia = 0.0;
-            for (double val : lista)
-                somaVariancia += Math.pow(val - media, 2);
-            double variancia = somaVariancia / (lista.size() - 1);
-
-            resultado = Math.sqrt(variancia); // Define o resultado
-        }
-
-        // Retorna o 'resultado' (seja 0.0 ou o valor calculado)
-        return resultado;
-    }
-}
\ No newline at end of file
+}
@@ -5,18 +5,24 @@ import javafx.beans.property.SimpleStringProperty;
 import javafx.fxml.FXML;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.XYChart;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
+import javafx.stage.FileChooser;
 
 // Imports do seu projeto
+import victor.trabalhoredeneural.redeneuralmlp.core.ArquivoModelo;
+import victor.trabalhoredeneural.redeneuralmlp.core.Avaliador;
 import victor.trabalhoredeneural.redeneuralmlp.core.RedeNeural;
 import victor.trabalhoredeneural.redeneuralmlp.model.ConjuntoDados;
 import victor.trabalhoredeneural.redeneuralmlp.util.MatrizConfusao;
 
 // Imports do Java
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public class ResultadosController {
 
@@ -25,52 +31,83 @@ public class ResultadosController {
     @FXML
     private Label lblErroFinal;
     @FXML
-    private TableView<Map.Entry<String, Map<String, Integer>>> tabelaMatriz;
+    private TableView<Integer> tabelaMatriz; // Cada linha é o id da classe real
     @FXML
     private LineChart<String, Number> graficoErro;
 
+    // Rede exibida nesta tela (para poder salvar o modelo)
+    private RedeNeural rede;
+
     //Este metodo é chamado pelo MainController para popular esta tela
     public void iniciar(RedeNeural rede, ConjuntoDados dadosTeste, double erroFinal,
                         int epocasTotal, List<Double> historicoErros) {
+        this.rede = rede;
 
         // Preenche os rótulos de estatísticas
         lblEpocas.setText(String.valueOf(epocasTotal));
         lblErroFinal.setText(String.format("%.10f", erroFinal)); // Formata o erro
 
         // Cria e exibir a Matriz de Confusão
-        MatrizConfusao matriz = new MatrizConfusao(rede, dadosTeste);
+        MatrizConfusao matriz = Avaliador.avaliar(rede, dadosTeste, 1).getMatriz();
         construirTabelaMatriz(matriz);
 
         // Popula o gráfico de erro
         popularGraficoErro(historicoErros);
     }
 
+    // Grava a rede treinada em um arquivo de modelo (.rnm)
+    @FXML
+    protected void onSalvarModeloClick() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Salvar Modelo");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Modelos da Rede (*" + ArquivoModelo.EXTENSAO + ")", "*" + ArquivoModelo.EXTENSAO));
+        fileChooser.setInitialFileName("rede" + ArquivoModelo.EXTENSAO);
+        File arquivo = fileChooser.showSaveDialog(lblEpocas.getScene().getWindow());
+        if (arquivo != null) {
+            try {
+                ArquivoModelo.salvar(rede, arquivo);
+                System.out.println("Modelo salvo em " + arquivo.getAbsolutePath());
+            } catch (IOException e) {
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Erro ao salvar");
+                alert.setHeaderText(null);
+                alert.setContentText("Não foi possível salvar o modelo: " + e.getMessage());
+                alert.showAndWait();
+            }
+        }
+    }
+
     // Constrói dinamicamente as colunas e linhas da Tabela da Matriz de Confusão
     private void construirTabelaMatriz(MatrizConfusao matriz) {
         // Pega a lista de classes (ex: "CA", "CB", ...)
         List<String> classes = matriz.getListaClasses();
 
         // Cria a primeira coluna (Classe Real)
-        TableColumn<Map.Entry<String, Map<String, Integer>>, String> colReal = new TableColumn<>("Real");
+        TableColumn<Integer, String> colReal = new TableColumn<>("Real");
 
-        // Define como pegar o valor: Pega o Map.Entry e usa a Chave (Key)
-        colReal.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getKey()));
+        // Define como pegar o valor: o id da linha vira o nome da classe
+        colReal.setCellValueFactory(cellData -> new SimpleStringProperty(classes.get(cellData.getValue())));
         tabelaMatriz.getColumns().add(colReal);
 
         // Cria colunas dinâmicas (Classes Preditas)
-        for (String classePredita : classes) {
+        for (int p = 0; p < classes.size(); p++) {
+            final int classePredita = p;
             // Cria uma coluna com o nome da classe (ex: "CA")
-            TableColumn<Map.Entry<String, Map<String, Integer>>, String> colPredita = new TableColumn<>(classePredita);
+            TableColumn<Integer, String> colPredita = new TableColumn<>(classes.get(classePredita));
 
-            // Define como pegar o valor:
+            // Define como pegar o valor: célula [classe real][classe predita]
             colPredita.setCellValueFactory(cellData ->
-                    new SimpleStringProperty(cellData.getValue().getValue().get(classePredita).toString())
+                    new SimpleStringProperty(String.valueOf(matriz.getValor(cellData.getValue(), classePredita)))
             );
             tabelaMatriz.getColumns().add(colPredita);
         }
 
-        // Adiciona os dados (linhas) na tabela
-        tabelaMatriz.getItems().setAll(matriz.getMatriz().entrySet());
+        // Adiciona os dados (linhas) na tabela: um id de classe por linha
+        List<Integer> linhas = new ArrayList<>();
+        for (int r = 0; r < classes.size(); r++)
+            linhas.add(r);
+        tabelaMatriz.getItems().setAll(linhas);
     }
 
     // Popula o gráfico de linha com o histórico de erros
@@ -4,17 +4,13 @@ import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
+import victor.trabalhoredeneural.redeneuralmlp.core.AcaoPlato;
+import victor.trabalhoredeneural.redeneuralmlp.core.OuvinteTreinamento;
 
 import java.util.concurrent.CompletableFuture;
 
-public class TreinamentoController {
-
-    // Enum para as ações do usuário
-    public enum AcaoPlato {
-        PARAR,
-        CONTINUAR,
-        REDUZIR_TAXA
-    }
+//A janela de treinamento é um ouvinte do ServicoTreinamento e responde aos platôs pelo usuário
+public class TreinamentoController implements OuvinteTreinamento {
 
     @FXML
     private Label lblEpocaAtual;
@@ -37,6 +33,16 @@ public class TreinamentoController {
         });
     }
 
+    @Override
+    public void epocaConcluida(int epoca, double erroEpoca) {
+        atualizarStatus(epoca, erroEpoca);
+    }
+
+    @Override
+    public void platoDetectado(int epoca, double desvioPadrao, AcaoPlato acao) {
+        System.out.println(">>> PLATÔ DETECTADO na época " + epoca + "! Desvio Padrão: " + desvioPadrao + " -> " + acao);
+    }
+
     //Mostra a caixa de diálogo do platô e espera uma resposta
     public CompletableFuture<AcaoPlato> aguardarAcaoPlato() {
         acaoPlatoFuture = new CompletableFuture<>();